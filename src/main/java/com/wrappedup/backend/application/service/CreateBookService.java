@@ -3,6 +3,7 @@ package com.wrappedup.backend.application.service;
 import com.wrappedup.backend.domain.exception.BookPersistenceException;
 import com.wrappedup.backend.domain.model.Book;
 import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.BookUpsertResult;
 import com.wrappedup.backend.domain.port.in.CreateBookUseCase;
 import com.wrappedup.backend.domain.port.out.BookRepository;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +11,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Service implementation of the CreateBookUseCase.
  */
@@ -62,4 +66,39 @@ public class CreateBookService implements CreateBookUseCase {
             throw new RuntimeException("Failed to create book due to an internal error", e);
         }
     }
+    
+    @Override
+    @Transactional
+    public List<BookUpsertResult> createOrUpdateBooks(List<CreateBookCommand> commands) {
+        log.debug("Creating or updating {} books", commands.size());
+        
+        try {
+            List<Book> books = new ArrayList<>(commands.size());
+            for (CreateBookCommand command : commands) {
+                books.add(Book.createNewBook(
+                        command.title(),
+                        command.author(),
+                        command.isbn() != null && !command.isbn().isBlank() ? command.isbn() : null,
+                        command.description(),
+                        command.coverImageUrl(),
+                        command.pageCount(),
+                        command.genres(),
+                        command.language(),
+                        command.publicationDate(),
+                        command.publisher(),
+                        command.openLibraryKey()
+                ));
+            }
+            
+            List<BookUpsertResult> results = bookRepository.saveAll(books);
+            log.info("Saved a batch of {} books", results.size());
+            
+            return results;
+        } catch (BookPersistenceException | IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to save books: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to save books due to an internal error", e);
+        }
+    }
 } 
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.wrappedup.backend.application.service;
 
+import com.wrappedup.backend.domain.exception.BookPersistenceException;
 import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookCursor;
 import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.BookSummary;
+import com.wrappedup.backend.domain.model.BookSummaryPage;
+import com.wrappedup.backend.domain.model.OpenLibraryWorkKey;
 import com.wrappedup.backend.domain.port.in.GetBookUseCase;
 import com.wrappedup.backend.domain.port.out.BookRepository;
+import com.wrappedup.backend.domain.port.out.BookSearchPort;
+import com.wrappedup.backend.domain.port.out.FuzzyBookSearchPort;
 import com.wrappedup.backend.domain.port.out.OpenLibraryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +20,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the GetBookUseCase for retrieving book information.
@@ -22,8 +31,13 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class GetBookService implements GetBookUseCase {
     
+    static final int MAX_SEARCH_RESULTS = 100;
+    
     private final BookRepository bookRepository;
     private final OpenLibraryPort openLibraryPort;
+    private final BookSearchPort bookSearchPort;
+    private final FuzzyBookSearchPort fuzzyBookSearchPort;
+    private final SingleFlight<String, Optional<Book>> persistByKeyFlights = new SingleFlight<>();
     
     @Override
     @Transactional(readOnly = true)
@@ -51,7 +65,14 @@ public class GetBookService implements GetBookUseCase {
             log.warn("Attempted to search books with null or blank title");
             return Collections.emptyList();
         }
-        return bookRepository.findByTitleContaining(titleText);
+        List<Book> books = bookSearchPort.isReady()
+                ? bookRepository.findByIds(bookSearchPort.searchByTitle(titleText, MAX_SEARCH_RESULTS))
+                : bookRepository.findByTitleContaining(titleText);
+        if (books.isEmpty() && fuzzyBookSearchPort.isReady()) {
+            // Probably misspelled, try titles that are spelled similarly
+            return bookRepository.findByIds(fuzzyBookSearchPort.findSimilarTitles(titleText, MAX_SEARCH_RESULTS));
+        }
+        return books;
     }
     
     @Override
@@ -62,7 +83,14 @@ public class GetBookService implements GetBookUseCase {
             log.warn("Attempted to search books with null or blank author");
             return Collections.emptyList();
         }
-        return bookRepository.findByAuthorContaining(authorText);
+        List<Book> books = bookSearchPort.isReady()
+                ? bookRepository.findByIds(bookSearchPort.searchByAuthor(authorText, MAX_SEARCH_RESULTS))
+                : bookRepository.findByAuthorContaining(authorText);
+        if (books.isEmpty() && fuzzyBookSearchPort.isReady()) {
+            // Probably misspelled, try authors that are spelled similarly
+            return bookRepository.findByIds(fuzzyBookSearchPort.findSimilarAuthors(authorText, MAX_SEARCH_RESULTS));
+        }
+        return books;
     }
     
     @Override
@@ -87,6 +115,86 @@ public class GetBookService implements GetBookUseCase {
         return bookRepository.findAll(page, size);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> getBookSummaries(int page, int size) {
+        log.debug("Retrieving book summaries with pagination - page: {}, size: {}", page, size);
+        if (page < 0 || size <= 0) {
+            log.warn("Invalid pagination parameters: page={}, size={}", page, size);
+            return Collections.emptyList();
+        }
+        return bookRepository.findSummaries(page, size);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public BookSummaryPage getBookSummaryPage(BookCursor after, int size) {
+        log.debug("Retrieving book summaries after cursor: {}, size: {}", after, size);
+        if (size <= 0) {
+            log.warn("Invalid page size: {}", size);
+            return BookSummaryPage.empty();
+        }
+        return bookRepository.findSummaryPage(after, size);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachBookSummary(Consumer<BookSummary> action) {
+        log.debug("Streaming summaries of all books");
+        bookRepository.forEachSummary(action);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> searchBookSummariesByTitle(String titleText, int limit) {
+        log.debug("Searching book summaries by title: {}", titleText);
+        if (titleText == null || titleText.isBlank() || limit <= 0) {
+            log.warn("Attempted to search books with null or blank title or no results");
+            return Collections.emptyList();
+        }
+        int maxResults = Math.min(limit, MAX_SEARCH_RESULTS);
+        List<BookSummary> summaries = bookSearchPort.isReady()
+                ? bookRepository.findSummariesByIds(bookSearchPort.searchByTitle(titleText, maxResults))
+                : limit(bookRepository.findSummariesByTitleContaining(titleText), maxResults);
+        if (summaries.isEmpty() && fuzzyBookSearchPort.isReady()) {
+            return bookRepository.findSummariesByIds(fuzzyBookSearchPort.findSimilarTitles(titleText, maxResults));
+        }
+        return summaries;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> searchBookSummariesByAuthor(String authorText, int limit) {
+        log.debug("Searching book summaries by author: {}", authorText);
+        if (authorText == null || authorText.isBlank() || limit <= 0) {
+            log.warn("Attempted to search books with null or blank author or no results");
+            return Collections.emptyList();
+        }
+        int maxResults = Math.min(limit, MAX_SEARCH_RESULTS);
+        List<BookSummary> summaries = bookSearchPort.isReady()
+                ? bookRepository.findSummariesByIds(bookSearchPort.searchByAuthor(authorText, maxResults))
+                : limit(bookRepository.findSummariesByAuthorContaining(authorText), maxResults);
+        if (summaries.isEmpty() && fuzzyBookSearchPort.isReady()) {
+            return bookRepository.findSummariesByIds(fuzzyBookSearchPort.findSimilarAuthors(authorText, maxResults));
+        }
+        return summaries;
+    }
+    
+    private static <T> List<T> limit(List<T> results, int maxResults) {
+        return results.size() > maxResults ? results.subList(0, maxResults) : results;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> getBookSummariesByGenre(String genre) {
+        log.debug("Retrieving book summaries by genre: {}", genre);
+        if (genre == null || genre.isBlank()) {
+            log.warn("Attempted to find books with null or blank genre");
+            return Collections.emptyList();
+        }
+        return bookRepository.findSummariesByGenre(genre);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public long countBooks() {
@@ -94,6 +202,17 @@ public class GetBookService implements GetBookUseCase {
         return bookRepository.count();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public long countBooksByGenre(String genre) {
+        log.debug("Counting books by genre: {}", genre);
+        if (genre == null || genre.isBlank()) {
+            log.warn("Attempted to count books with null or blank genre");
+            return 0;
+        }
+        return bookRepository.countByGenre(genre);
+    }
+    
     /**
      * Searches for books in the OpenLibrary using the provided query.
      * This method will query the OpenLibrary API and return the results.
@@ -119,53 +238,127 @@ public class GetBookService implements GetBookUseCase {
         }
     }
     
+    /**
+     * Searches for books in the OpenLibrary without blocking the calling thread,
+     * so callers can overlap the external request with local queries.
+     * 
+     * @param query The search query
+     * @return Future completed with the Book objects matching the query, never exceptionally
+     */
+    public CompletableFuture<List<Book>> searchBooksInOpenLibraryAsync(String query) {
+        log.info("Searching books in OpenLibrary asynchronously with query: {}", query);
+        if (query == null || query.isBlank()) {
+            log.warn("Attempted to search OpenLibrary with null or blank query");
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        
+        try {
+            return openLibraryPort.searchBooksAsync(query)
+                    .exceptionally(e -> {
+                        log.error("Error searching OpenLibrary: {}", e.getMessage(), e);
+                        return Collections.emptyList();
+                    });
+        } catch (Exception e) {
+            log.error("Error searching OpenLibrary: {}", e.getMessage(), e);
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+    }
+    
     /**
      * Retrieves a book from OpenLibrary by its key and persists it if not already in the database.
+     * The key may be given in any spelling of a work key (e.g. OL123W or /works/OL123W), and
+     * stored books are also found under the keys of works redirected to them.
+     * Concurrent calls for the same work are coalesced: one caller fetches and persists the book
+     * and every other caller receives that same result.
+     * No transaction is held here so that the book is committed before waiting callers use it.
      * 
-     * @param openLibraryKey The OpenLibrary key
+     * @param openLibraryKey The OpenLibrary work key
      * @return Optional containing the Book if found, empty otherwise
      */
-    @Transactional
     public Optional<Book> getAndPersistBookByOpenLibraryKey(String openLibraryKey) {
         log.info("Retrieving and persisting book from OpenLibrary with key: {}", openLibraryKey);
         if (openLibraryKey == null || openLibraryKey.isBlank()) {
             log.warn("Attempted to retrieve book from OpenLibrary with null or blank key");
             return Optional.empty();
         }
+        Optional<OpenLibraryWorkKey> workKey = OpenLibraryWorkKey.parse(openLibraryKey);
+        if (workKey.isEmpty()) {
+            log.warn("Invalid OpenLibrary work key: '{}'", openLibraryKey);
+            return Optional.empty();
+        }
         
         try {
-            // First, check if the book already exists in the database by its Open Library key
-            Optional<Book> existingBookByKey = bookRepository.findByOpenLibraryKey(openLibraryKey);
-            if (existingBookByKey.isPresent()) {
-                log.info("Book with Open Library key {} already exists in database", openLibraryKey);
-                return existingBookByKey;
-            }
-            
-            // If not found, fetch from Open Library API
-            List<Book> results = openLibraryPort.getBookByKey(openLibraryKey);
-            if (results.isEmpty()) {
-                log.warn("No book found in OpenLibrary for key: {}", openLibraryKey);
-                return Optional.empty();
+            return persistByKeyFlights.execute(workKey.get().getValue(),
+                    () -> fetchAndPersistBookByOpenLibraryKey(workKey.get()));
+        } catch (Exception e) {
+            log.error("Error retrieving book from OpenLibrary: {}", e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Returns the coalescing statistics of {@link #getAndPersistBookByOpenLibraryKey(String)}.
+     * 
+     * @return The single-flight group used for OpenLibrary key lookups
+     */
+    public SingleFlight<String, Optional<Book>> getPersistByKeyFlights() {
+        return persistByKeyFlights;
+    }
+    
+    private Optional<Book> fetchAndPersistBookByOpenLibraryKey(OpenLibraryWorkKey workKey) {
+        // First, check if the book already exists in the database under this key or a redirect
+        Optional<Book> existingBookByKey = bookRepository.findByOpenLibraryKey(workKey);
+        if (existingBookByKey.isPresent()) {
+            log.info("Book with Open Library key {} already exists in database", workKey);
+            return existingBookByKey;
+        }
+        
+        // If not found, fetch from Open Library API
+        List<Book> results = openLibraryPort.getBookByKey(workKey.getValue());
+        if (results.isEmpty()) {
+            log.warn("No book found in OpenLibrary for key: {}", workKey);
+            return Optional.empty();
+        }
+        
+        // The port may return a cached instance, which must not pick up this lookup's aliases
+        Book openLibraryBook = results.get(0).copy();
+        Optional<OpenLibraryWorkKey> resolvedKey = openLibraryBook.getOpenLibraryWorkKey();
+        
+        // OpenLibrary may have answered with the work the requested one redirects to
+        if (resolvedKey.isPresent() && !resolvedKey.get().equals(workKey)) {
+            Optional<Book> existingBookByResolvedKey = bookRepository.findByOpenLibraryKey(resolvedKey.get());
+            if (existingBookByResolvedKey.isPresent()) {
+                log.info("Key {} redirects to {}, which already exists in database", workKey, resolvedKey.get());
+                bookRepository.addOpenLibraryKeyAliases(existingBookByResolvedKey.get().getId(), List.of(workKey));
+                return existingBookByResolvedKey;
             }
-            
-            Book openLibraryBook = results.get(0);
-            
-            // Also check if book with same ISBN already exists
-            if (openLibraryBook.getIsbn() != null && !openLibraryBook.getIsbn().isBlank()) {
-                Optional<Book> existingBookByIsbn = bookRepository.findByIsbn(openLibraryBook.getIsbn());
-                if (existingBookByIsbn.isPresent()) {
-                    log.info("Book with ISBN {} already exists in database", openLibraryBook.getIsbn());
-                    return existingBookByIsbn;
-                }
+            openLibraryBook.addOpenLibraryKeyAliases(List.of(workKey.getValue()));
+        }
+        
+        // Also check if book with same ISBN already exists
+        if (openLibraryBook.getIsbn() != null && !openLibraryBook.getIsbn().isBlank()) {
+            Optional<Book> existingBookByIsbn = bookRepository.findByIsbn(openLibraryBook.getIsbn());
+            if (existingBookByIsbn.isPresent()) {
+                log.info("Book with ISBN {} already exists in database", openLibraryBook.getIsbn());
+                return existingBookByIsbn;
             }
-            
-            // Persist the new book
+        }
+        
+        // Persist the new book
+        try {
             Book savedBook = bookRepository.save(openLibraryBook);
             log.info("Successfully persisted book from OpenLibrary with ID: {}", savedBook.getId());
             return Optional.of(savedBook);
-        } catch (Exception e) {
-            log.error("Error retrieving book from OpenLibrary: {}", e.getMessage(), e);
-            return Optional.empty();
+        } catch (BookPersistenceException e) {
+            // Another node may have inserted the same work first
+            Optional<Book> concurrentlySaved = resolvedKey.isPresent()
+                    ? bookRepository.findByOpenLibraryKey(resolvedKey.get())
+                    : Optional.empty();
+            if (concurrentlySaved.isPresent()) {
+                log.info("Book with Open Library key {} was persisted concurrently", resolvedKey.get());
+                return concurrentlySaved;
+            }
+            throw e;
         }
     }
-} 
\ No newline at end of file
+}
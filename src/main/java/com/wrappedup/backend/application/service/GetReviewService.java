@@ -64,4 +64,15 @@ public class GetReviewService implements GetReviewUseCase {
         }
         return reviewRepository.findPublicReviewsByBookId(bookId);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countPublicReviewsByBookId(BookId bookId) {
+        log.debug("Counting public reviews by book ID: {}", bookId);
+        if (bookId == null) {
+            log.warn("Attempted to count public reviews with null book ID");
+            return 0;
+        }
+        return reviewRepository.countPublicReviewsByBookId(bookId);
+    }
 } 
\ No newline at end of file
@@ -3,8 +3,12 @@ package com.wrappedup.backend.domain.model;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Domain entity representing a book in the system.
@@ -22,6 +26,7 @@ public class Book {
     private LocalDate publicationDate;
     private String publisher;
     private String openLibraryKey;
+    private final Set<String> openLibraryKeyAliases = new LinkedHashSet<>();
     private final LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -51,13 +56,13 @@ public class Book {
         this.language = language;
         this.publicationDate = publicationDate;
         this.publisher = publisher;
-        this.openLibraryKey = openLibraryKey;
+        this.openLibraryKey = OpenLibraryWorkKey.canonicalize(openLibraryKey);
         this.createdAt = Objects.requireNonNull(createdAt, "Created at cannot be null");
         this.updatedAt = Objects.requireNonNull(updatedAt, "Updated at cannot be null");
     }
     
     /**
-     * Creates a new book with generated ID.
+     * Creates a new book with generated ID, derived from the OpenLibrary work key if it has one.
      */
     public static Book createNewBook(
             String title,
@@ -73,7 +78,7 @@ public class Book {
             String openLibraryKey) {
         LocalDateTime now = LocalDateTime.now();
         return new Book(
-                BookId.generate(),
+                BookId.forOpenLibraryKey(openLibraryKey),
                 title,
                 author,
                 isbn,
@@ -126,6 +131,16 @@ public class Book {
         );
     }
     
+    /**
+     * @return A copy of this book, including its key aliases, that can be changed on its own
+     */
+    public Book copy() {
+        Book copy = reconstitute(id, title, author, isbn, description, coverImageUrl, pageCount, genres,
+                language, publicationDate, publisher, openLibraryKey, createdAt, updatedAt);
+        copy.openLibraryKeyAliases.addAll(openLibraryKeyAliases);
+        return copy;
+    }
+    
     // Domain behavior methods
     
     public void updateDetails(
@@ -171,7 +186,7 @@ public class Book {
             this.publisher = publisher;
         }
         if (openLibraryKey != null) {
-            this.openLibraryKey = openLibraryKey;
+            this.openLibraryKey = OpenLibraryWorkKey.canonicalize(openLibraryKey);
         }
         this.updatedAt = LocalDateTime.now();
     }
@@ -226,6 +241,33 @@ public class Book {
         return openLibraryKey;
     }
     
+    /**
+     * Records other work keys that OpenLibrary redirects to this book's work, e.g. of merged works.
+     * Invalid keys and the book's own key are ignored.
+     */
+    public void addOpenLibraryKeyAliases(Collection<String> keys) {
+        for (String key : keys) {
+            OpenLibraryWorkKey.parse(key)
+                    .map(OpenLibraryWorkKey::getValue)
+                    .filter(alias -> !alias.equals(openLibraryKey))
+                    .ifPresent(openLibraryKeyAliases::add);
+        }
+    }
+    
+    /**
+     * @return The canonical work keys redirecting to this book's work
+     */
+    public Set<String> getOpenLibraryKeyAliases() {
+        return new LinkedHashSet<>(openLibraryKeyAliases);
+    }
+    
+    /**
+     * @return The book's OpenLibrary key as a work key, empty if it has none or it is not a work key
+     */
+    public Optional<OpenLibraryWorkKey> getOpenLibraryWorkKey() {
+        return OpenLibraryWorkKey.parse(openLibraryKey);
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
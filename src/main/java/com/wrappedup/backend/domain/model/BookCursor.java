@@ -0,0 +1,84 @@
+package com.wrappedup.backend.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Value object representing a position in the catalog ordered by creation time and book ID: the
+ * keys of the last book of a page, after which the next page continues.
+ *
+ * Clients see it only as an opaque token, so the keys it consists of can change without breaking them.
+ */
+public class BookCursor {
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createdAt;
+    private final BookId bookId;
+
+    private BookCursor(LocalDateTime createdAt, BookId bookId) {
+        this.createdAt = Objects.requireNonNull(createdAt, "Creation time cannot be null");
+        this.bookId = Objects.requireNonNull(bookId, "Book ID cannot be null");
+    }
+
+    public static BookCursor of(LocalDateTime createdAt, BookId bookId) {
+        return new BookCursor(createdAt, bookId);
+    }
+
+    /**
+     * @throws IllegalArgumentException If the token was not created by {@link #toToken()}
+     */
+    public static BookCursor fromToken(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Invalid book cursor: " + token);
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new BookCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    BookId.of(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid book cursor: " + token);
+        }
+    }
+
+    /**
+     * @return The cursor as a URL-safe token
+     */
+    public String toToken() {
+        String value = createdAt.toString() + SEPARATOR + bookId.getValue();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public BookId getBookId() {
+        return bookId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BookCursor that = (BookCursor) o;
+        return createdAt.equals(that.createdAt) && bookId.equals(that.bookId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(createdAt, bookId);
+    }
+
+    @Override
+    public String toString() {
+        return "BookCursor{" +
+                "createdAt=" + createdAt +
+                ", bookId=" + bookId +
+                '}';
+    }
+}
@@ -1,5 +1,9 @@
 package com.wrappedup.backend.domain.model;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -7,6 +11,12 @@ import java.util.UUID;
  * Value object representing a unique book identifier.
  */
 public class BookId {
+    /**
+     * The RFC 4122 namespace for URLs, OpenLibrary work ids are derived from the work's URL.
+     */
+    private static final UUID URL_NAMESPACE = UUID.fromString("6ba7b811-9dad-11d1-80b4-00c04fd430c8");
+    private static final String OPENLIBRARY_URL = "https://openlibrary.org";
+    
     private final UUID value;
     
     private BookId(UUID value) {
@@ -22,7 +32,36 @@ public class BookId {
     }
     
     public static BookId generate() {
-        return new BookId(UUID.randomUUID());
+        return new BookId(TimeOrderedUuid.generate());
+    }
+    
+    /**
+     * Creates the id of an OpenLibrary work, the same work always gets the same id.
+     *
+     * The id is the name-based (version 5) UUID of the work's URL, e.g.
+     * {@code https://openlibrary.org/works/OL45804W}, in the RFC 4122 URL namespace.
+     * Being a hash, it is as random as a version 4 id: books with a work key are inserted at
+     * random positions of the primary key, only books without one get time-ordered ids. That
+     * is the price of finding a work's book by its id without a lookup.
+     *
+     * @param key the canonical work key
+     * @return the work's BookId
+     */
+    public static BookId forOpenLibraryWork(OpenLibraryWorkKey key) {
+        return new BookId(nameBasedUuid(URL_NAMESPACE, OPENLIBRARY_URL + key.getValue()));
+    }
+    
+    /**
+     * Creates the id of a book from its OpenLibrary key, or a new time-ordered id if it has no work key.
+     * Most books come from OpenLibrary, so most book ids are name-based, see {@link #forOpenLibraryWork}.
+     *
+     * @param openLibraryKey any spelling of an OpenLibrary key, may be null
+     * @return a deterministic BookId for work keys, a new time-ordered one otherwise
+     */
+    public static BookId forOpenLibraryKey(String openLibraryKey) {
+        return OpenLibraryWorkKey.parse(openLibraryKey)
+                .map(BookId::forOpenLibraryWork)
+                .orElseGet(BookId::generate);
     }
     
     /**
@@ -35,6 +74,25 @@ public class BookId {
         return new BookId(uuid);
     }
     
+    static UUID nameBasedUuid(UUID namespace, String name) {
+        MessageDigest sha1;
+        try {
+            sha1 = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+        sha1.update(ByteBuffer.allocate(16)
+                .putLong(namespace.getMostSignificantBits())
+                .putLong(namespace.getLeastSignificantBits())
+                .array());
+        ByteBuffer hash = ByteBuffer.wrap(sha1.digest(name.getBytes(StandardCharsets.UTF_8)));
+        long msb = hash.getLong();
+        long lsb = hash.getLong();
+        msb = (msb & ~0xF000L) | 0x5000L;
+        lsb = (lsb & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+    
     public UUID getValue() {
         return value;
     }
@@ -0,0 +1,95 @@
+package com.wrappedup.backend.domain.model;
+
+import java.util.Objects;
+
+/**
+ * Read model of a book for lists and search results: only what a book list shows.
+ */
+public class BookSummary {
+    private final BookId id;
+    private final String title;
+    private final String author;
+    private final String coverImageUrl;
+    private final Integer firstPublishYear;
+    private final String openLibraryKey;
+    
+    public BookSummary(
+            BookId id,
+            String title,
+            String author,
+            String coverImageUrl,
+            Integer firstPublishYear,
+            String openLibraryKey) {
+        this.id = Objects.requireNonNull(id, "Book ID cannot be null");
+        this.title = title;
+        this.author = author;
+        this.coverImageUrl = coverImageUrl;
+        this.firstPublishYear = firstPublishYear;
+        this.openLibraryKey = openLibraryKey;
+    }
+    
+    /**
+     * Summarizes a fully loaded book.
+     */
+    public static BookSummary of(Book book) {
+        return new BookSummary(
+                book.getId(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getCoverImageUrl(),
+                book.getPublicationDate() != null ? book.getPublicationDate().getYear() : null,
+                book.getOpenLibraryKey()
+        );
+    }
+    
+    public BookId getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getAuthor() {
+        return author;
+    }
+    
+    public String getCoverImageUrl() {
+        return coverImageUrl;
+    }
+    
+    public Integer getFirstPublishYear() {
+        return firstPublishYear;
+    }
+    
+    public String getOpenLibraryKey() {
+        return openLibraryKey;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BookSummary that = (BookSummary) o;
+        return Objects.equals(id, that.id)
+                && Objects.equals(title, that.title)
+                && Objects.equals(author, that.author)
+                && Objects.equals(coverImageUrl, that.coverImageUrl)
+                && Objects.equals(firstPublishYear, that.firstPublishYear)
+                && Objects.equals(openLibraryKey, that.openLibraryKey);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, author, coverImageUrl, firstPublishYear, openLibraryKey);
+    }
+    
+    @Override
+    public String toString() {
+        return "BookSummary{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", author='" + author + '\'' +
+                '}';
+    }
+}
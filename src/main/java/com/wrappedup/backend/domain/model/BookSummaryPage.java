@@ -0,0 +1,57 @@
+package com.wrappedup.backend.domain.model;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A page of book summaries in catalog order, with the cursor the next page continues after.
+ */
+public class BookSummaryPage {
+    private final List<BookSummary> books;
+    private final BookCursor nextCursor;
+
+    /**
+     * @param nextCursor Position of the last book of the page, null if it is the last page
+     */
+    public BookSummaryPage(List<BookSummary> books, BookCursor nextCursor) {
+        this.books = List.copyOf(Objects.requireNonNull(books, "Books cannot be null"));
+        this.nextCursor = nextCursor;
+    }
+
+    public static BookSummaryPage empty() {
+        return new BookSummaryPage(List.of(), null);
+    }
+
+    public List<BookSummary> getBooks() {
+        return books;
+    }
+
+    /**
+     * @return The cursor of the next page, or empty if there are no more books
+     */
+    public Optional<BookCursor> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BookSummaryPage that = (BookSummaryPage) o;
+        return books.equals(that.books) && Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(books, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "BookSummaryPage{" +
+                "books=" + books.size() +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.wrappedup.backend.domain.model;
+
+import java.util.Objects;
+
+/**
+ * Outcome of writing one book of a batch: whether it was inserted or matched a stored book
+ * that was updated, and the id it is stored under.
+ */
+public class BookUpsertResult {
+    
+    public enum Outcome {
+        CREATED,
+        UPDATED
+    }
+    
+    private final BookId bookId;
+    private final Outcome outcome;
+    
+    private BookUpsertResult(BookId bookId, Outcome outcome) {
+        this.bookId = Objects.requireNonNull(bookId, "Book ID cannot be null");
+        this.outcome = Objects.requireNonNull(outcome, "Outcome cannot be null");
+    }
+    
+    public static BookUpsertResult created(BookId bookId) {
+        return new BookUpsertResult(bookId, Outcome.CREATED);
+    }
+    
+    public static BookUpsertResult updated(BookId bookId) {
+        return new BookUpsertResult(bookId, Outcome.UPDATED);
+    }
+    
+    /**
+     * @return The id of the stored book, which for an update is the id it was stored under before
+     */
+    public BookId getBookId() {
+        return bookId;
+    }
+    
+    public Outcome getOutcome() {
+        return outcome;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BookUpsertResult that = (BookUpsertResult) o;
+        return bookId.equals(that.bookId) && outcome == that.outcome;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(bookId, outcome);
+    }
+    
+    @Override
+    public String toString() {
+        return "BookUpsertResult{" +
+                "bookId=" + bookId +
+                ", outcome=" + outcome +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package com.wrappedup.backend.domain.model;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Value object representing the key of an OpenLibrary work in its canonical form, e.g. {@code /works/OL45883W}.
+ *
+ * Accepts the spellings clients and OpenLibrary use for the same work: the bare id ({@code OL45883W}),
+ * the path with or without its leading slash, and work URLs, optionally followed by a title slug or
+ * {@code .json}. The id is case-insensitive.
+ */
+public class OpenLibraryWorkKey {
+    private static final String PREFIX = "/works/";
+    private static final Pattern KEY_PATTERN = Pattern.compile(
+            "^(?:https?://[^/]+)?/?(?:works/)?(OL\\d+W)(?:[/.?#].*)?$", Pattern.CASE_INSENSITIVE
+    );
+    
+    private final String id;
+    
+    private OpenLibraryWorkKey(String id) {
+        this.id = id;
+    }
+    
+    /**
+     * @throws IllegalArgumentException If the value is not an OpenLibrary work key
+     */
+    public static OpenLibraryWorkKey of(String value) {
+        return parse(value).orElseThrow(() -> new IllegalArgumentException("Invalid OpenLibrary work key: " + value));
+    }
+    
+    /**
+     * @return The key, or empty if the value is not an OpenLibrary work key
+     */
+    public static Optional<OpenLibraryWorkKey> parse(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = KEY_PATTERN.matcher(value.trim());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new OpenLibraryWorkKey(matcher.group(1).toUpperCase(Locale.ROOT)));
+    }
+    
+    /**
+     * Canonicalizes a key if it is a work key.
+     *
+     * @return The canonical form of a work key, any other value unchanged
+     */
+    public static String canonicalize(String value) {
+        return parse(value).map(OpenLibraryWorkKey::getValue).orElse(value);
+    }
+    
+    /**
+     * @return The canonical key, e.g. /works/OL45883W
+     */
+    public String getValue() {
+        return PREFIX + id;
+    }
+    
+    /**
+     * @return The bare work id, e.g. OL45883W
+     */
+    public String getId() {
+        return id;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OpenLibraryWorkKey that = (OpenLibraryWorkKey) o;
+        return Objects.equals(id, that.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+    
+    @Override
+    public String toString() {
+        return getValue();
+    }
+}
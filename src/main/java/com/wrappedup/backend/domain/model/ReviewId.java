@@ -28,10 +28,10 @@ public class ReviewId {
     }
     
     /**
-     * Generates a new random ReviewId.
+     * Generates a new time-ordered ReviewId.
      */
     public static ReviewId generate() {
-        return new ReviewId(UUID.randomUUID());
+        return new ReviewId(TimeOrderedUuid.generate());
     }
     
     /**
@@ -0,0 +1,51 @@
+package com.wrappedup.backend.domain.model;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the time-ordered (version 7) UUIDs of new ids.
+ *
+ * The first 48 bits are the Unix time in milliseconds, so ids generated later sort later and new
+ * rows are appended to the end of primary key indexes instead of being inserted at random
+ * positions. The next 12 bits count the ids of the same millisecond, which keeps the ids of one
+ * instance strictly increasing even when the clock stands still or goes back; the remaining 62
+ * bits are random. Ids are still ordinary UUIDs, so the random (version 4) ids created before
+ * compare, parse and store the same way.
+ */
+final class TimeOrderedUuid {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final TimeOrderedUuid GENERATOR = new TimeOrderedUuid();
+
+    /**
+     * The millisecond and counter of the last id, as {@code millis << 12 | counter}.
+     */
+    private final AtomicLong last = new AtomicLong();
+
+    TimeOrderedUuid() {
+    }
+
+    static UUID generate() {
+        return GENERATOR.next(System.currentTimeMillis());
+    }
+
+    UUID next(long epochMillis) {
+        // A full counter carries over into the next millisecond
+        long next = last.updateAndGet(previous -> Math.max(previous + 1, epochMillis << 12));
+        long msb = (next >>> 12) << 16 | 0x7000L | (next & 0xFFFL);
+        long lsb = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * @return The Unix time in milliseconds a version 7 UUID was generated at
+     */
+    static long epochMillisOf(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a time-ordered UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
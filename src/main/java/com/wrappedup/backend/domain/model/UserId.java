@@ -22,7 +22,7 @@ public class UserId {
     }
     
     public static UserId generate() {
-        return new UserId(UUID.randomUUID());
+        return new UserId(TimeOrderedUuid.generate());
     }
     
     /**
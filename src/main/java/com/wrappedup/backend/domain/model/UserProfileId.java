@@ -22,7 +22,7 @@ public class UserProfileId {
     }
     
     public static UserProfileId generate() {
-        return new UserProfileId(UUID.randomUUID());
+        return new UserProfileId(TimeOrderedUuid.generate());
     }
     
     public UUID getValue() {
@@ -34,12 +34,12 @@ public final class WishlistItemId {
     }
     
     /**
-     * Generates a new random WishlistItemId.
+     * Generates a new time-ordered WishlistItemId.
      *
-     * @return a new random WishlistItemId
+     * @return a new time-ordered WishlistItemId
      */
     public static WishlistItemId generate() {
-        return new WishlistItemId(UUID.randomUUID());
+        return new WishlistItemId(TimeOrderedUuid.generate());
     }
     
     /**
@@ -2,6 +2,7 @@ package com.wrappedup.backend.domain.port.in;
 
 import com.wrappedup.backend.domain.model.Book;
 import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.BookUpsertResult;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -60,4 +61,13 @@ public interface CreateBookUseCase {
      * @return The ID of the created book
      */
     BookId createBook(CreateBookCommand command);
+    
+    /**
+     * Create several books at once. A book with the OpenLibrary key or ISBN of a stored book
+     * updates that book instead of failing.
+     * 
+     * @param commands The create book commands
+     * @return One result per command, in the order of the commands
+     */
+    List<BookUpsertResult> createOrUpdateBooks(List<CreateBookCommand> commands);
 } 
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.wrappedup.backend.domain.port.in;
 
 import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookCursor;
 import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.BookSummary;
+import com.wrappedup.backend.domain.model.BookSummaryPage;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Input port for retrieving book information.
@@ -60,10 +64,69 @@ public interface GetBookUseCase {
      */
     List<Book> getAllBooks(int page, int size);
     
+    /**
+     * Get summaries of all books with pagination.
+     * 
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @return A list of book summaries for the requested page
+     */
+    List<BookSummary> getBookSummaries(int page, int size);
+    
+    /**
+     * Get a page of book summaries in a stable order, continuing after the previous page.
+     * 
+     * @param after The cursor of the previous page, or null for the first page
+     * @param size The page size
+     * @return The summaries of the page and the cursor of the next one
+     */
+    BookSummaryPage getBookSummaryPage(BookCursor after, int size);
+    
+    /**
+     * Pass the summaries of all books, in the same order as the pages, to an action as they are read.
+     * 
+     * @param action Called once per book
+     */
+    void forEachBookSummary(Consumer<BookSummary> action);
+    
+    /**
+     * Search for summaries of books by the words of their title.
+     * 
+     * @param titleText Words to search in titles
+     * @param limit Maximum number of results
+     * @return List of summaries of matching books, most relevant first
+     */
+    List<BookSummary> searchBookSummariesByTitle(String titleText, int limit);
+    
+    /**
+     * Search for summaries of books by the words of their author's name.
+     * 
+     * @param authorText Words to search in author names
+     * @param limit Maximum number of results
+     * @return List of summaries of matching books, most relevant first
+     */
+    List<BookSummary> searchBookSummariesByAuthor(String authorText, int limit);
+    
+    /**
+     * Get summaries of books by genre.
+     * 
+     * @param genre The genre to filter by
+     * @return List of summaries of books in the specified genre
+     */
+    List<BookSummary> getBookSummariesByGenre(String genre);
+    
     /**
      * Get the total number of books.
      * 
      * @return The total number of books
      */
     long countBooks();
+    
+    /**
+     * Get the number of books in a genre.
+     * 
+     * @param genre The genre
+     * @return The number of books in the genre
+     */
+    long countBooksByGenre(String genre);
 } 
\ No newline at end of file
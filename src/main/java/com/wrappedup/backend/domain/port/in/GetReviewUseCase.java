@@ -45,4 +45,12 @@ public interface GetReviewUseCase {
      * @return The list of public reviews
      */
     List<Review> getPublicReviewsByBookId(BookId bookId);
+
+    /**
+     * Gets the number of public reviews for a book.
+     *
+     * @param bookId The ID of the book
+     * @return The number of public reviews
+     */
+    long countPublicReviewsByBookId(BookId bookId);
 } 
\ No newline at end of file
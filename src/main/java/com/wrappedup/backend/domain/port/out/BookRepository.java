@@ -1,10 +1,17 @@
 package com.wrappedup.backend.domain.port.out;
 
 import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookCursor;
 import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.BookSummary;
+import com.wrappedup.backend.domain.model.BookSummaryPage;
+import com.wrappedup.backend.domain.model.BookUpsertResult;
+import com.wrappedup.backend.domain.model.OpenLibraryWorkKey;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Output port for book repository operations.
@@ -18,6 +25,14 @@ public interface BookRepository {
      */
     Book save(Book book);
     
+    /**
+     * Save several books at once, inserting new books in batches. A book that has the OpenLibrary
+     * key or ISBN of a stored book updates that book instead, keeping its ID.
+     * @param books The books to save
+     * @return One result per book, in the order of the books
+     */
+    List<BookUpsertResult> saveAll(List<Book> books);
+    
     /**
      * Find a book by its ID.
      * @param id The book ID
@@ -74,6 +89,65 @@ public interface BookRepository {
      */
     List<Book> findAll(int page, int size);
     
+    /**
+     * Find summaries of all books with pagination, reading only the books table.
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @return A list of book summaries for the requested page
+     */
+    List<BookSummary> findSummaries(int page, int size);
+    
+    /**
+     * Find a page of book summaries in catalog order, by creation time and then ID. The page is
+     * found by seeking to the cursor instead of skipping rows, so every page costs the same.
+     * @param after The cursor of the previous page, or null for the first page
+     * @param size The page size
+     * @return The summaries of the page and the cursor of the next one
+     */
+    BookSummaryPage findSummaryPage(BookCursor after, int size);
+    
+    /**
+     * Pass the summaries of all books in catalog order to an action, reading them from the
+     * database as they are consumed rather than all at once.
+     * @param action Called once per book
+     */
+    void forEachSummary(Consumer<BookSummary> action);
+    
+    /**
+     * Find summaries of books by title containing the given text.
+     * @param titleText Text to search in titles
+     * @return List of summaries of the books matching the title search
+     */
+    List<BookSummary> findSummariesByTitleContaining(String titleText);
+    
+    /**
+     * Find summaries of books by author containing the given text.
+     * @param authorText Text to search in author names
+     * @return List of summaries of the books matching the author search
+     */
+    List<BookSummary> findSummariesByAuthorContaining(String authorText);
+    
+    /**
+     * Find summaries of books by genre.
+     * @param genre The genre to search for
+     * @return List of summaries of the books in the specified genre
+     */
+    List<BookSummary> findSummariesByGenre(String genre);
+    
+    /**
+     * Find books by their IDs.
+     * @param ids The book IDs
+     * @return The books that exist, in the order of the given IDs
+     */
+    List<Book> findByIds(List<BookId> ids);
+    
+    /**
+     * Find summaries of books by their IDs.
+     * @param ids The book IDs
+     * @return Summaries of the books that exist, in the order of the given IDs
+     */
+    List<BookSummary> findSummariesByIds(List<BookId> ids);
+    
     /**
      * Count the total number of books.
      * @return The total number of books
@@ -81,9 +155,24 @@ public interface BookRepository {
     long count();
     
     /**
-     * Find a book by its OpenLibrary key.
-     * @param openLibraryKey The OpenLibrary key to search for
+     * Count the books in a genre.
+     * @param genre The genre
+     * @return The number of books in the genre
+     */
+    long countByGenre(String genre);
+    
+    /**
+     * Find a book by its OpenLibrary key or any key that redirects to it.
+     * @param openLibraryKey The OpenLibrary work key to search for
      * @return An optional containing the book if found
      */
-    Optional<Book> findByOpenLibraryKey(String openLibraryKey);
+    Optional<Book> findByOpenLibraryKey(OpenLibraryWorkKey openLibraryKey);
+    
+    /**
+     * Record additional OpenLibrary keys under which a book can be found.
+     * Keys already known for another book are left unchanged.
+     * @param id The book ID
+     * @param aliases The keys to add
+     */
+    void addOpenLibraryKeyAliases(BookId id, Collection<OpenLibraryWorkKey> aliases);
 } 
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.wrappedup.backend.domain.port.out;
+
+import com.wrappedup.backend.domain.model.BookId;
+
+import java.util.List;
+
+/**
+ * Output port for full-text search over the local book catalog.
+ */
+public interface BookSearchPort {
+    
+    /**
+     * Whether the search index is complete. Until it is, searches may miss books.
+     * @return true if the index holds every stored book
+     */
+    boolean isReady();
+    
+    /**
+     * Search books by the words of their title.
+     * @param text The words to search for; the last one may be incomplete
+     * @param limit Maximum number of results
+     * @return IDs of the matching books, most relevant first
+     */
+    List<BookId> searchByTitle(String text, int limit);
+    
+    /**
+     * Search books by the words of their author's name.
+     * @param text The words to search for; the last one may be incomplete
+     * @param limit Maximum number of results
+     * @return IDs of the matching books, most relevant first
+     */
+    List<BookId> searchByAuthor(String text, int limit);
+}
@@ -0,0 +1,33 @@
+package com.wrappedup.backend.domain.port.out;
+
+import com.wrappedup.backend.domain.model.BookId;
+
+import java.util.List;
+
+/**
+ * Output port for typo-tolerant lookups in the local book catalog.
+ */
+public interface FuzzyBookSearchPort {
+    
+    /**
+     * Whether the index is complete. Until it is, lookups may miss books.
+     * @return true if the index holds every stored book
+     */
+    boolean isReady();
+    
+    /**
+     * Find books whose title is spelled similarly to the given text.
+     * @param text The text, possibly misspelled
+     * @param limit Maximum number of results
+     * @return IDs of the similar books, most similar first
+     */
+    List<BookId> findSimilarTitles(String text, int limit);
+    
+    /**
+     * Find books whose author's name is spelled similarly to the given text.
+     * @param text The text, possibly misspelled
+     * @param limit Maximum number of results
+     * @return IDs of the similar books, most similar first
+     */
+    List<BookId> findSimilarAuthors(String text, int limit);
+}
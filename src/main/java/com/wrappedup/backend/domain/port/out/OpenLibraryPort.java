@@ -3,6 +3,7 @@ package com.wrappedup.backend.domain.port.out;
 import com.wrappedup.backend.domain.model.Book;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Output port for OpenLibrary operations.
@@ -17,6 +18,16 @@ public interface OpenLibraryPort {
      */
     List<Book> searchBooks(String query);
     
+    /**
+     * Search for books in OpenLibrary without blocking the calling thread.
+     * The returned future never completes exceptionally because of upstream errors,
+     * it completes with an empty list instead.
+     * 
+     * @param query The search query
+     * @return Future completed with the list of matching books
+     */
+    CompletableFuture<List<Book>> searchBooksAsync(String query);
+    
     /**
      * Get a book by its OpenLibrary key.
      * 
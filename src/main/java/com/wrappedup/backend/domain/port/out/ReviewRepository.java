@@ -37,6 +37,11 @@ public interface ReviewRepository {
      */
     List<Review> findPublicReviewsByBookId(BookId bookId);
     
+    /**
+     * Count the public reviews for a book.
+     */
+    long countPublicReviewsByBookId(BookId bookId);
+    
     /**
      * Delete a review by its ID.
      */
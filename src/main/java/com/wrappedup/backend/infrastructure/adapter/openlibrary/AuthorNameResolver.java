@@ -0,0 +1,199 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.AuthorJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.AuthorJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves OpenLibrary author keys to display names.
+ *
+ * Names are looked up in an in-memory cache first, then (optionally) in the local
+ * {@code authors} table, and only then on OpenLibrary. Several unknown authors are
+ * resolved with a single author search request instead of one request per author.
+ */
+@Component
+@Slf4j
+public class AuthorNameResolver {
+
+    private static final String AUTHOR_PREFIX = "/authors/";
+
+    private final RestTemplate restTemplate;
+    private final AuthorJpaRepository authorJpaRepository;
+    private final OpenLibraryEndpoints endpoints;
+    private final boolean persistent;
+    private final int batchSize;
+    private final Cache<String, String> names;
+
+    public AuthorNameResolver(
+            RestTemplate restTemplate,
+            AuthorJpaRepository authorJpaRepository,
+            OpenLibraryEndpoints endpoints,
+            @Value("${openlibrary.authors.cache-size:50000}") long cacheSize,
+            @Value("${openlibrary.authors.persistent:true}") boolean persistent,
+            @Value("${openlibrary.authors.batch-size:50}") int batchSize) {
+        this.restTemplate = restTemplate;
+        this.authorJpaRepository = authorJpaRepository;
+        this.endpoints = endpoints;
+        this.persistent = persistent;
+        this.batchSize = Math.max(1, batchSize);
+        this.names = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    /**
+     * Resolves a single author name.
+     *
+     * @param authorKey The author key, with or without the {@code /authors/} prefix
+     * @return The author name, or empty if it could not be resolved
+     */
+    public Optional<String> resolveName(String authorKey) {
+        String key = normalizeKey(authorKey);
+        return Optional.ofNullable(resolveNames(List.of(key)).get(key));
+    }
+
+    /**
+     * Resolves several author names at once.
+     *
+     * @param authorKeys The author keys, with or without the {@code /authors/} prefix
+     * @return Names by normalized author key (e.g. OL23919A); unresolved keys are absent
+     */
+    public Map<String, String> resolveNames(Collection<String> authorKeys) {
+        Set<String> keys = authorKeys.stream()
+                .filter(key -> key != null && !key.isBlank())
+                .map(AuthorNameResolver::normalizeKey)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<String, String> resolved = new LinkedHashMap<>(names.getAllPresent(keys));
+        Set<String> missing = new LinkedHashSet<>(keys);
+        missing.removeAll(resolved.keySet());
+
+        if (!missing.isEmpty() && persistent) {
+            Map<String, String> stored = loadStored(missing);
+            names.putAll(stored);
+            resolved.putAll(stored);
+            missing.removeAll(stored.keySet());
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, String> fetched = fetch(missing);
+            names.putAll(fetched);
+            resolved.putAll(fetched);
+            store(fetched);
+        }
+
+        return resolved;
+    }
+
+    /**
+     * @return The author key without the {@code /authors/} prefix, e.g. OL23919A
+     */
+    public static String normalizeKey(String authorKey) {
+        String key = authorKey.trim();
+        if (key.startsWith(AUTHOR_PREFIX)) {
+            key = key.substring(AUTHOR_PREFIX.length());
+        } else if (key.startsWith("authors/")) {
+            key = key.substring("authors/".length());
+        }
+        return key;
+    }
+
+    private Map<String, String> fetch(Set<String> keys) {
+        if (keys.size() == 1) {
+            String key = keys.iterator().next();
+            return fetchOne(key).map(name -> Map.of(key, name)).orElse(Map.of());
+        }
+
+        Map<String, String> fetched = new LinkedHashMap<>();
+        List<String> pending = new ArrayList<>(keys);
+        for (int start = 0; start < pending.size(); start += batchSize) {
+            List<String> batch = pending.subList(start, Math.min(start + batchSize, pending.size()));
+            fetched.putAll(fetchBatch(batch));
+        }
+
+        // Authors the search index does not know yet are fetched individually
+        for (String key : keys) {
+            if (!fetched.containsKey(key)) {
+                fetchOne(key).ifPresent(name -> fetched.put(key, name));
+            }
+        }
+        return fetched;
+    }
+
+    private Map<String, String> fetchBatch(List<String> keys) {
+        String url = UriComponentsBuilder.fromUriString(endpoints.authorsSearchUrl())
+                .queryParam("q", "key:(" + String.join(" OR ", keys) + ")")
+                .queryParam("fields", "key,name")
+                .queryParam("limit", keys.size())
+                .build()
+                .toUriString();
+
+        Map<String, String> fetched = new LinkedHashMap<>();
+        try {
+            JsonNode response = restTemplate.getForObject(url, JsonNode.class);
+            if (response == null || !response.has("docs")) {
+                return fetched;
+            }
+            for (JsonNode doc : response.get("docs")) {
+                if (doc.hasNonNull("key") && doc.hasNonNull("name")) {
+                    fetched.put(normalizeKey(doc.get("key").asText()), doc.get("name").asText());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Error resolving {} author names in batch: {}", keys.size(), e.getMessage());
+        }
+        return fetched;
+    }
+
+    private Optional<String> fetchOne(String key) {
+        try {
+            JsonNode authorData = restTemplate.getForObject(endpoints.authorUrl(key), JsonNode.class);
+            if (authorData != null && authorData.hasNonNull("name")) {
+                return Optional.of(authorData.get("name").asText());
+            }
+        } catch (Exception e) {
+            log.warn("Error getting author information: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private Map<String, String> loadStored(Set<String> keys) {
+        try {
+            return authorJpaRepository.findAllById(keys).stream()
+                    .collect(Collectors.toMap(AuthorJpaEntity::getAuthorKey, AuthorJpaEntity::getName));
+        } catch (Exception e) {
+            log.warn("Error loading stored author names: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private void store(Map<String, String> fetched) {
+        if (!persistent || fetched.isEmpty()) {
+            return;
+        }
+        try {
+            authorJpaRepository.saveAll(fetched.entrySet().stream()
+                    .map(entry -> new AuthorJpaEntity(entry.getKey(), entry.getValue()))
+                    .toList());
+        } catch (Exception e) {
+            log.warn("Error storing author names: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,470 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.OpenLibraryWorkKey;
+import com.wrappedup.backend.domain.port.out.OpenLibraryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caching decorator for the OpenLibrary adapter.
+ *
+ * Responses are kept in a size-bounded cache keyed on the normalized query or work key.
+ * Every entry goes through three phases:
+ * <ul>
+ *     <li>fresh: served straight from the cache</li>
+ *     <li>stale-while-revalidate: served from the cache while a background refresh runs</li>
+ *     <li>stale-if-error: refetched synchronously, the stale value is served if the refetch fails</li>
+ * </ul>
+ * Empty results are cached as well, with a shorter TTL, so repeated misses do not reach OpenLibrary.
+ * The wrapped adapter reports failures as empty results, so an empty refetch of a previously
+ * non-empty entry is treated as an upstream error.
+ *
+ * Users mostly open one of the first few search results next, so after each search the works
+ * details of the top results are prefetched into the cache on a small low-priority pool, in one
+ * task per search so the names of their authors are resolved together. A
+ * detail lookup that arrives while its prefetch is running waits for it, for at most the prefetch
+ * max-wait, instead of fetching again; one whose prefetch is still queued fetches right away.
+ * Prefetched entries that expire or are evicted unused count as wasted.
+ *
+ * Background refreshes and prefetches are sent in the {@link RequestLane#BACKGROUND} lane, so
+ * they never take the rate of the requests users are waiting for.
+ */
+@Component
+@Primary
+@Slf4j
+public class CachingOpenLibraryAdapter implements OpenLibraryPort {
+
+    private static final String SEARCH_PREFIX = "search:";
+    private static final String WORK_PREFIX = "work:";
+
+    private final OpenLibraryAdapter delegate;
+    private final Cache<String, CacheEntry> cache;
+    private final Ticker ticker;
+    private final Executor refreshExecutor;
+    private final Set<String> refreshesInFlight = ConcurrentHashMap.newKeySet();
+
+    private final int prefetchCount;
+    private final Executor prefetchExecutor;
+    private final long prefetchMaxWaitNanos;
+    private final Map<String, Prefetch> prefetchesInFlight = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> unusedPrefetches;
+    private final AtomicLong prefetchIssuedCount = new AtomicLong();
+    private final AtomicLong prefetchHitCount = new AtomicLong();
+    private final AtomicLong prefetchWastedCount = new AtomicLong();
+    private final AtomicLong prefetchRejectedCount = new AtomicLong();
+
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final long staleWhileRevalidateNanos;
+    private final long staleIfErrorNanos;
+
+    @Autowired
+    public CachingOpenLibraryAdapter(
+            OpenLibraryAdapter delegate,
+            @Value("${openlibrary.cache.maximum-size:10000}") long maximumSize,
+            @Value("${openlibrary.cache.ttl:10m}") Duration ttl,
+            @Value("${openlibrary.cache.negative-ttl:1m}") Duration negativeTtl,
+            @Value("${openlibrary.cache.stale-while-revalidate:30m}") Duration staleWhileRevalidate,
+            @Value("${openlibrary.cache.stale-if-error:24h}") Duration staleIfError,
+            @Value("${openlibrary.prefetch.count:3}") int prefetchCount,
+            @Value("${openlibrary.prefetch.max-wait:${openlibrary.rate-limit.detail.max-wait:2s}}") Duration prefetchMaxWait,
+            @Value("${openlibrary.prefetch.threads:2}") int prefetchThreads,
+            @Value("${openlibrary.prefetch.queue-size:32}") int prefetchQueueSize) {
+        this(delegate, maximumSize, ttl, negativeTtl, staleWhileRevalidate, staleIfError,
+                Ticker.systemTicker(), newRefreshExecutor(),
+                prefetchCount, prefetchMaxWait, newPrefetchExecutor(prefetchThreads, prefetchQueueSize));
+    }
+
+    CachingOpenLibraryAdapter(
+            OpenLibraryAdapter delegate,
+            long maximumSize,
+            Duration ttl,
+            Duration negativeTtl,
+            Duration staleWhileRevalidate,
+            Duration staleIfError,
+            Ticker ticker,
+            Executor refreshExecutor,
+            int prefetchCount,
+            Duration prefetchMaxWait,
+            Executor prefetchExecutor) {
+        this.delegate = delegate;
+        this.ticker = ticker;
+        this.refreshExecutor = refreshExecutor;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.staleWhileRevalidateNanos = staleWhileRevalidate.toNanos();
+        this.staleIfErrorNanos = Math.max(staleIfError.toNanos(), staleWhileRevalidateNanos);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new EntryExpiry())
+                .ticker(ticker)
+                .build();
+        this.prefetchCount = prefetchCount;
+        this.prefetchMaxWaitNanos = prefetchMaxWait.toNanos();
+        this.prefetchExecutor = prefetchExecutor;
+        this.unusedPrefetches = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .<String, Boolean>removalListener((key, value, cause) -> {
+                    if (cause.wasEvicted()) {
+                        prefetchWastedCount.incrementAndGet();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public List<Book> searchBooks(String query) {
+        if (query == null || query.isBlank()) {
+            return delegate.searchBooks(query);
+        }
+        List<Book> books = get(SEARCH_PREFIX + normalizeQuery(query), () -> delegate.searchBooks(query));
+        prefetch(query, books);
+        return books;
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> searchBooksAsync(String query) {
+        if (query == null || query.isBlank()) {
+            return delegate.searchBooksAsync(query);
+        }
+        String cacheKey = SEARCH_PREFIX + normalizeQuery(query);
+        List<Book> cached = serveFromCache(cacheKey, () -> delegate.searchBooks(query));
+        if (cached != null) {
+            prefetch(query, cached);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CacheEntry previous = cache.getIfPresent(cacheKey);
+        return delegate.searchBooksAsync(query).handle((books, error) -> {
+            if (error != null) {
+                if (previous != null) {
+                    log.warn("OpenLibrary request failed for {}, serving stale response: {}", cacheKey, error.getMessage());
+                    return previous.books();
+                }
+                throw error instanceof CompletionException completionException
+                        ? completionException
+                        : new CompletionException(error);
+            }
+            List<Book> stored = store(cacheKey, books, previous);
+            prefetch(query, stored);
+            return stored;
+        });
+    }
+
+    @Override
+    public List<Book> getBookByKey(String openLibraryKey) {
+        if (openLibraryKey == null || openLibraryKey.isBlank()) {
+            return delegate.getBookByKey(openLibraryKey);
+        }
+        String cacheKey = WORK_PREFIX + normalizeKey(openLibraryKey);
+        Prefetch prefetch = prefetchesInFlight.get(cacheKey);
+        // A queued prefetch may wait long for the background lane, fetching directly is faster
+        if (prefetch != null && prefetch.started) {
+            try {
+                prefetch.result.get(prefetchMaxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.debug("Prefetch of {} is slow, fetching it directly", cacheKey);
+            } catch (ExecutionException e) {
+                log.debug("Prefetch of {} failed, fetching it again: {}", cacheKey, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (unusedPrefetches.asMap().remove(cacheKey) != null) {
+            prefetchHitCount.incrementAndGet();
+        }
+        return get(cacheKey, () -> delegate.getBookByKey(openLibraryKey));
+    }
+
+    /**
+     * Removes every cached response.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long getPrefetchIssuedCount() {
+        return prefetchIssuedCount.get();
+    }
+
+    public long getPrefetchHitCount() {
+        return prefetchHitCount.get();
+    }
+
+    public long getPrefetchWastedCount() {
+        unusedPrefetches.cleanUp();
+        return prefetchWastedCount.get();
+    }
+
+    public long getPrefetchRejectedCount() {
+        return prefetchRejectedCount.get();
+    }
+
+    /**
+     * Prefetches the works details of the top search results, key lookups excepted.
+     */
+    private void prefetch(String query, List<Book> books) {
+        if (prefetchCount <= 0 || books == null || query.startsWith("key:")) {
+            return;
+        }
+        Map<String, Prefetch> prefetches = new LinkedHashMap<>();
+        books.stream()
+                .limit(prefetchCount)
+                .map(Book::getOpenLibraryKey)
+                .filter(Objects::nonNull)
+                .forEach(openLibraryKey -> {
+                    String cacheKey = WORK_PREFIX + normalizeKey(openLibraryKey);
+                    if (cache.getIfPresent(cacheKey) != null || prefetches.containsKey(openLibraryKey)) {
+                        return;
+                    }
+                    Prefetch prefetch = new Prefetch();
+                    if (prefetchesInFlight.putIfAbsent(cacheKey, prefetch) == null) {
+                        prefetches.put(openLibraryKey, prefetch);
+                    }
+                });
+        if (!prefetches.isEmpty()) {
+            prefetchWorks(prefetches);
+        }
+    }
+
+    /**
+     * Fetches the works of one search in a single task, so their authors are resolved together.
+     */
+    private void prefetchWorks(Map<String, Prefetch> prefetches) {
+        try {
+            prefetchExecutor.execute(() -> {
+                prefetches.values().forEach(prefetch -> prefetch.started = true);
+                try {
+                    Map<String, List<Book>> works = RequestLane.callIn(RequestLane.BACKGROUND,
+                            () -> delegate.getBooksByKeys(prefetches.keySet()));
+                    prefetches.forEach((openLibraryKey, prefetch) -> {
+                        String cacheKey = WORK_PREFIX + normalizeKey(openLibraryKey);
+                        List<Book> books = works.get(openLibraryKey);
+                        // Failures come back empty, caching them would turn the user's click into a miss
+                        if (books != null && !books.isEmpty()) {
+                            store(cacheKey, books, null);
+                            unusedPrefetches.put(cacheKey, Boolean.TRUE);
+                        }
+                        prefetch.result.complete(books);
+                    });
+                } catch (RuntimeException e) {
+                    prefetches.values().forEach(prefetch -> prefetch.result.completeExceptionally(e));
+                } finally {
+                    prefetches.forEach((openLibraryKey, prefetch) ->
+                            prefetchesInFlight.remove(WORK_PREFIX + normalizeKey(openLibraryKey), prefetch));
+                }
+            });
+            prefetchIssuedCount.addAndGet(prefetches.size());
+        } catch (RejectedExecutionException e) {
+            prefetches.forEach((openLibraryKey, prefetch) -> {
+                prefetchesInFlight.remove(WORK_PREFIX + normalizeKey(openLibraryKey), prefetch);
+                prefetch.result.completeExceptionally(e);
+            });
+            prefetchRejectedCount.addAndGet(prefetches.size());
+            log.debug("Prefetch of {} works rejected, prefetch queue is full", prefetches.size());
+        }
+    }
+
+    private List<Book> get(String cacheKey, Supplier<List<Book>> loader) {
+        List<Book> cached = serveFromCache(cacheKey, loader);
+        if (cached != null) {
+            return cached;
+        }
+        return load(cacheKey, loader, cache.getIfPresent(cacheKey));
+    }
+
+    /**
+     * Returns the cached books while the entry is fresh or within its stale-while-revalidate
+     * window, scheduling a background refresh in the latter case.
+     *
+     * @return The cached books, or {@code null} if the entry must be fetched again
+     */
+    private List<Book> serveFromCache(String cacheKey, Supplier<List<Book>> loader) {
+        CacheEntry entry = cache.getIfPresent(cacheKey);
+        if (entry == null) {
+            log.debug("OpenLibrary cache miss for {}", cacheKey);
+            return null;
+        }
+
+        long age = ticker.read() - entry.storedAt();
+        long freshFor = entry.isNegative() ? negativeTtlNanos : ttlNanos;
+
+        if (age < freshFor) {
+            log.debug("OpenLibrary cache hit for {}", cacheKey);
+            return entry.books();
+        }
+        if (age < freshFor + staleWhileRevalidateNanos) {
+            log.debug("Serving stale OpenLibrary response for {} while revalidating", cacheKey);
+            scheduleRefresh(cacheKey, loader);
+            return entry.books();
+        }
+        log.debug("OpenLibrary cache entry for {} is stale, refetching", cacheKey);
+        return null;
+    }
+
+    private List<Book> load(String cacheKey, Supplier<List<Book>> loader, CacheEntry previous) {
+        List<Book> books;
+        try {
+            books = loader.get();
+        } catch (RuntimeException e) {
+            if (previous != null) {
+                log.warn("OpenLibrary request failed for {}, serving stale response: {}", cacheKey, e.getMessage());
+                return previous.books();
+            }
+            throw e;
+        }
+        return store(cacheKey, books, previous);
+    }
+
+    private List<Book> store(String cacheKey, List<Book> books, CacheEntry previous) {
+        if (isUpstreamFailure(books, previous)) {
+            log.warn("OpenLibrary returned no results for previously known {}, serving stale response", cacheKey);
+            return previous.books();
+        }
+
+        CacheEntry entry = new CacheEntry(books == null ? Collections.emptyList() : List.copyOf(books), ticker.read());
+        cache.put(cacheKey, entry);
+        return entry.books();
+    }
+
+    private void scheduleRefresh(String cacheKey, Supplier<List<Book>> loader) {
+        if (!refreshesInFlight.add(cacheKey)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    RequestLane.runIn(RequestLane.BACKGROUND,
+                            () -> load(cacheKey, loader, cache.getIfPresent(cacheKey)));
+                } catch (Exception e) {
+                    log.warn("Background refresh of {} failed: {}", cacheKey, e.getMessage());
+                } finally {
+                    refreshesInFlight.remove(cacheKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshesInFlight.remove(cacheKey);
+            log.debug("Background refresh of {} rejected, refresh queue is full", cacheKey);
+        }
+    }
+
+    private boolean isUpstreamFailure(List<Book> books, CacheEntry previous) {
+        return (books == null || books.isEmpty()) && previous != null && !previous.isNegative();
+    }
+
+    static String normalizeQuery(String query) {
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizeKey(String openLibraryKey) {
+        Optional<OpenLibraryWorkKey> workKey = OpenLibraryWorkKey.parse(openLibraryKey);
+        if (workKey.isPresent()) {
+            return workKey.get().getId();
+        }
+        String key = openLibraryKey.trim();
+        if (key.startsWith("/")) {
+            key = key.substring(1);
+        }
+        if (key.startsWith("works/")) {
+            key = key.substring(6);
+        }
+        return key.toUpperCase(Locale.ROOT);
+    }
+
+    private static Executor newRefreshExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                1, 2, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(100),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "openlibrary-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static Executor newPrefetchExecutor(int threads, int queueSize) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "openlibrary-prefetch");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Keeps each entry for its freshness period plus the stale-if-error window.
+     */
+    private class EntryExpiry implements Expiry<String, CacheEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, CacheEntry entry, long currentTime) {
+            return (entry.isNegative() ? negativeTtlNanos : ttlNanos) + staleIfErrorNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CacheEntry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CacheEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * The prefetch of one work, started once the prefetch task runs.
+     */
+    private static final class Prefetch {
+
+        private final CompletableFuture<List<Book>> result = new CompletableFuture<>();
+        private volatile boolean started;
+    }
+
+    private record CacheEntry(List<Book> books, long storedAt) {
+
+        boolean isNegative() {
+            return books.isEmpty();
+        }
+    }
+}
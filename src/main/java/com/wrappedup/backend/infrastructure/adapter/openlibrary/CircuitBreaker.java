@@ -0,0 +1,166 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * While closed, the outcomes of the last {@code slidingWindowSize} calls are recorded and the
+ * breaker opens once the failure rate reaches the threshold. While open, every call is rejected.
+ * After {@code openDuration} the breaker lets a few probe calls through (half-open): if all of
+ * them succeed it closes again, a single failure opens it for another {@code openDuration}.
+ *
+ * Permissions carry the generation they were granted in, so results of calls started before a
+ * state change do not count towards the new state.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    /**
+     * Returned by {@link #tryAcquirePermission()} when the call must not be made.
+     */
+    public static final long NOT_PERMITTED = -1;
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final Ticker ticker;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+    private long notPermittedCount;
+
+    /**
+     * @param name Name used in log messages
+     * @param failureRateThreshold Failure rate in percent at which the breaker opens
+     * @param slidingWindowSize Number of most recent calls the failure rate is computed over
+     * @param minimumCalls Calls needed in the window before the failure rate is evaluated
+     * @param openDuration How long the breaker stays open before probing
+     * @param halfOpenProbes Probe calls let through, and required to succeed, while half-open
+     * @param ticker Time source
+     */
+    public CircuitBreaker(String name, int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                          Duration openDuration, int halfOpenProbes, Ticker ticker) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[Math.max(1, slidingWindowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.ticker = ticker;
+    }
+
+    /**
+     * Asks for permission to make a call. Every granted permission must be followed by exactly
+     * one {@link #onResult(long, boolean)}.
+     *
+     * @return The permission, or {@link #NOT_PERMITTED} if the call must not be made
+     */
+    public synchronized long tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (ticker.read() - openedAt < openDurationNanos) {
+                notPermittedCount++;
+                return NOT_PERMITTED;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= halfOpenProbes) {
+                notPermittedCount++;
+                return NOT_PERMITTED;
+            }
+            probesStarted++;
+        }
+        return generation;
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param permission The value returned by {@link #tryAcquirePermission()}
+     * @param success Whether the call succeeded
+     */
+    public synchronized void onResult(long permission, boolean success) {
+        if (permission != generation) {
+            return;
+        }
+        switch (state) {
+            case CLOSED -> {
+                record(success);
+                if (windowCalls >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCalls) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case HALF_OPEN -> {
+                if (!success) {
+                    transitionTo(State.OPEN);
+                } else if (++probesSucceeded >= halfOpenProbes) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // Only reachable for stale permissions, which are filtered above
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && ticker.read() - openedAt >= openDurationNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * @return Calls rejected because the breaker was open or out of probes
+     */
+    public synchronized long getNotPermittedCount() {
+        return notPermittedCount;
+    }
+
+    private void record(boolean success) {
+        if (windowCalls == window.length) {
+            if (!window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = success;
+        if (!success) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        if (next == State.OPEN) {
+            log.warn("Circuit breaker '{}' opened, failure rate {}/{}", name, windowFailures, windowCalls);
+            openedAt = ticker.read();
+        } else {
+            log.info("Circuit breaker '{}' is now {}", name, next);
+        }
+        state = next;
+        generation++;
+        windowIndex = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+        probesStarted = 0;
+        probesSucceeded = 0;
+    }
+}
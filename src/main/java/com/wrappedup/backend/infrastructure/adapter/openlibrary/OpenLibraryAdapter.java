@@ -2,22 +2,24 @@ package com.wrappedup.backend.infrastructure.adapter.openlibrary;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.wrappedup.backend.domain.model.Book;
-import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.OpenLibraryWorkKey;
 import com.wrappedup.backend.domain.port.out.OpenLibraryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Adapter implementation for OpenLibrary operations.
@@ -27,11 +29,14 @@ import java.util.stream.StreamSupport;
 @Slf4j
 public class OpenLibraryAdapter implements OpenLibraryPort {
     
-    private static final String SEARCH_URL = "https://openlibrary.org/search.json";
-    private static final String COVER_URL = "https://covers.openlibrary.org/b/id/";
-    private static final String WORKS_API_URL = "https://openlibrary.org";
-    
+    static final String COVER_URL = "https://covers.openlibrary.org/b/id/";
+
     private final RestTemplate restTemplate;
+    private final OpenLibraryHttpClient openLibraryHttpClient;
+    private final AuthorNameResolver authorNameResolver;
+    private final OpenLibraryGuard openLibraryGuard;
+    private final OpenLibraryEndpoints endpoints;
+    private final OpenLibrarySearchDecoder searchDecoder = new OpenLibrarySearchDecoder();
     
     @Override
     public List<Book> searchBooks(String query) {
@@ -49,221 +54,213 @@ public class OpenLibraryAdapter implements OpenLibraryPort {
             String key = query.substring(4);
             
             List<Book> directResult = getBookByKey(key);
-            if (!directResult.isEmpty()) {
+            if (!directResult.isEmpty() || !retryPermitted(query)) {
                 return directResult;
             }
         }
         
-        String url;
+        String url = buildSearchUrl(query);
         
+        try {
+            List<Book> books = restTemplate.execute(url, HttpMethod.GET, null,
+                    response -> searchDecoder.decode(response.getBody()));
+            return resultsOrEmpty(books, query);
+        } catch (Exception e) {
+            log.error("Error searching books: {}", e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+    
+    @Override
+    public CompletableFuture<List<Book>> searchBooksAsync(String query) {
         if (query.startsWith("key:")) {
-            String key = query.substring(4); 
-            url = UriComponentsBuilder.fromHttpUrl(SEARCH_URL)
-                    .queryParam("q", "key:" + key) 
-                    .queryParam("mode", "everything")
-                    .queryParam("fields", String.join(",", 
-                        "key", "redirects", "title", "subtitle", "alternative_title", "alternative_subtitle",
-                        "cover_i", "ebook_access", "edition_count", "edition_key", "format", "by_statement",
-                        "publish_date", "lccn", "ia", "oclc", "isbn", "contributor", "publish_place",
-                        "publisher", "first_sentence", "author_key", "author_name", "author_alternative_name",
-                        "subject", "person", "place", "time", "has_fulltext", "title_suggest", "publish_year",
-                        "language", "number_of_pages_median", "ia_count", "publisher_facet", "author_facet",
-                        "first_publish_year", "ratings_count", "readinglog_count", "want_to_read_count",
-                        "currently_reading_count", "already_read_count", "subject_key", "person_key",
-                        "place_key", "time_key", "lcc", "ddc", "lcc_sort", "ddc_sort"
-                    ))
-                    .build()
-                    .toUriString();
-        } else {
-            url = UriComponentsBuilder.fromHttpUrl(SEARCH_URL)
-                    .queryParam("q", query)
-                    .queryParam("fields", String.join(",", 
-                        "key", "redirects", "title", "subtitle", "alternative_title", "alternative_subtitle",
-                        "cover_i", "ebook_access", "edition_count", "edition_key", "format", "by_statement",
-                        "publish_date", "lccn", "ia", "oclc", "isbn", "contributor", "publish_place",
-                        "publisher", "first_sentence", "author_key", "author_name", "author_alternative_name",
-                        "subject", "person", "place", "time", "has_fulltext", "title_suggest", "publish_year",
-                        "language", "number_of_pages_median", "ia_count", "publisher_facet", "author_facet",
-                        "first_publish_year", "ratings_count", "readinglog_count", "want_to_read_count",
-                        "currently_reading_count", "already_read_count", "subject_key", "person_key",
-                        "place_key", "time_key", "lcc", "ddc", "lcc_sort", "ddc_sort"
-                    ))
-                    .build()
-                    .toUriString();
+            // Key lookups chain several dependent requests, run them off the caller's thread
+            return CompletableFuture.supplyAsync(() -> searchBooks(query), openLibraryHttpClient.getExecutor());
         }
         
-        try {
-            JsonNode response = restTemplate.getForObject(url, JsonNode.class);
-            if (response == null || !response.has("docs")) {
-                log.warn("No results found for query: {}", query);
-                return Collections.emptyList();
-            }
+        return openLibraryHttpClient.getAsync(buildSearchUrl(query), searchDecoder::decode)
+                .thenApply(books -> resultsOrEmpty(books, query))
+                .exceptionally(e -> {
+                    log.error("Error searching books asynchronously: {}", e.getMessage(), e);
+                    return Collections.emptyList();
+                });
+    }
     
-            return StreamSupport.stream(response.get("docs").spliterator(), false)
-                    .map(this::mapToBook)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error searching books: {}", e.getMessage(), e);
+    /**
+     * Builds the search URL. Plain searches only request the fields shown in result lists,
+     * key lookups stand in for a works detail and request every field.
+     */
+    private String buildSearchUrl(String query) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(endpoints.searchUrl())
+                .queryParam("q", query);
+        SearchFieldProfile profile = SearchFieldProfile.SEARCH_LIST;
+        if (query.startsWith("key:")) {
+            builder.queryParam("mode", "everything");
+            profile = SearchFieldProfile.FULL_DETAIL;
+        }
+        return builder
+                .queryParam("fields", profile.fields())
+                .build()
+                .toUriString();
+    }
+    
+    private List<Book> resultsOrEmpty(List<Book> books, String query) {
+        if (books == null || books.isEmpty()) {
+            log.warn("No results found for query: {}", query);
             return Collections.emptyList();
         }
+        return books;
     }
     
     @Override
     public List<Book> getBookByKey(String openLibraryKey) {
+        return getBooksByKeys(Collections.singletonList(openLibraryKey)).get(openLibraryKey);
+    }
+    
+    /**
+     * Gets the books of several works like {@link #getBookByKey(String)}, but resolves the names
+     * of all their authors at once, so unknown authors cost one author search instead of one
+     * request each.
+     *
+     * @param openLibraryKeys The OpenLibrary keys
+     * @return The books found for each key, in the given order, empty lists for keys not found
+     */
+    public Map<String, List<Book>> getBooksByKeys(Collection<String> openLibraryKeys) {
+        Map<String, WorkLookup> lookups = new LinkedHashMap<>();
+        for (String openLibraryKey : openLibraryKeys) {
+            if (!lookups.containsKey(openLibraryKey)) {
+                lookups.put(openLibraryKey, lookUpWork(openLibraryKey));
+            }
+        }
+        
+        Map<String, String> authorNames = resolveAuthorNames(lookups.values());
+        
+        Map<String, List<Book>> books = new LinkedHashMap<>();
+        lookups.forEach((openLibraryKey, lookup) -> books.put(openLibraryKey, toBooks(lookup, authorNames)));
+        return books;
+    }
+    
+    /**
+     * Fetches the work of a key, following a redirect once, or falls back to searching for it.
+     */
+    private WorkLookup lookUpWork(String openLibraryKey) {
         try {
-            openLibraryKey = openLibraryKey.trim();
-            if (!openLibraryKey.startsWith("/works/")) {
-                if (openLibraryKey.matches("OL\\d+W")) {
-                    openLibraryKey = "/works/" + openLibraryKey;
-                } 
-                else if (openLibraryKey.startsWith("works/")) {
-                    openLibraryKey = "/" + openLibraryKey;
-                }
-                else {
-                    log.warn("Invalid OpenLibrary key format: '{}'", openLibraryKey);
-                }
+            Optional<OpenLibraryWorkKey> workKey = OpenLibraryWorkKey.parse(openLibraryKey);
+            if (workKey.isPresent()) {
+                openLibraryKey = workKey.get().getValue();
+            } else {
+                openLibraryKey = openLibraryKey.trim();
+                log.warn("Invalid OpenLibrary key format: '{}'", openLibraryKey);
             }
             
-            String url = WORKS_API_URL + openLibraryKey + ".json";
+            String url = endpoints.workUrl(openLibraryKey);
             final String finalOpenLibraryKey = openLibraryKey; // Create final variable for lambda
 
             JsonNode workData;
             try {
-                workData = restTemplate.getForObject(url, JsonNode.class);
+                workData = fetchWork(url);
+            } catch (OpenLibraryGuard.CallNotPermittedException e) {
+                // OpenLibrary is down or saturated, fallbacks would be rejected as well
+                log.warn("OpenLibrary request not permitted: {}", e.getMessage());
+                return WorkLookup.of(Collections.emptyList());
             } catch (Exception e) {
                 log.error("Error requesting OpenLibrary: {} - {}", e.getClass().getName(), e.getMessage(), e);
-                return searchAlternative(finalOpenLibraryKey);
+                return WorkLookup.of(searchAlternative(finalOpenLibraryKey));
             }
             
             if (workData == null) {
                 log.warn("API response is null for key: '{}'", openLibraryKey);
-                return searchAlternative(finalOpenLibraryKey);
-            }
-            
-            String title;
-            try {
-                title = workData.has("title") ? workData.get("title").asText() : "Unknown Title";
-            } catch (Exception e) {
-                log.error("Error extracting title: {}", e.getMessage(), e);
-                title = "Unknown Title";
-            }
-            
-            int firstPublishYear = 0;
-            try {
-                if (workData.has("first_publish_date")) {
-                    String dateStr = workData.get("first_publish_date").asText();
-                    if (dateStr.matches(".*\\d{4}.*")) {
-                        firstPublishYear = Integer.parseInt(dateStr.replaceAll(".*?(\\d{4}).*", "$1"));
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Error extracting publication year: {}", e.getMessage(), e);
-            }
-            
-            String authorName = "Unknown Author";
-            try {
-                if (workData.has("authors") && workData.get("authors").isArray() && workData.get("authors").size() > 0) {
-                    JsonNode authorNode = workData.get("authors").get(0);
-                    
-                    if (authorNode.has("author") && authorNode.get("author").has("key")) {
-                        String authorKey = authorNode.get("author").get("key").asText();
-                        try {
-                            String authorUrl = WORKS_API_URL + authorKey + ".json";
-                            JsonNode authorData = restTemplate.getForObject(authorUrl, JsonNode.class);
-                            if (authorData != null && authorData.has("name")) {
-                                authorName = authorData.get("name").asText();
-                            } else {
-                                authorName = "Author: " + authorKey.replace("/authors/", "");
-                            }
-                        } catch (Exception e) {
-                            log.warn("Error getting author information: {}", e.getMessage());
-                            authorName = "Author: " + authorKey.replace("/authors/", "");
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Error processing author information: {}", e.getMessage(), e);
+                return WorkLookup.of(searchAlternative(finalOpenLibraryKey));
             }
             
-            String coverUrl = null;
-            try {
-                if (workData.has("covers") && workData.get("covers").isArray() && workData.get("covers").size() > 0) {
-                    long coverId = workData.get("covers").get(0).asLong();
-                    coverUrl = COVER_URL + coverId + "-L.jpg";
-                }
-            } catch (Exception e) {
-                log.error("Error extracting cover: {}", e.getMessage(), e);
-            }
-            
-            // Calculate the description
-            String description = null;
-            try {
-                if (workData.has("description")) {
-                    if (workData.get("description").isTextual()) {
-                        description = workData.get("description").asText();
-                    } else if (workData.get("description").has("value")) {
-                        description = workData.get("description").get("value").asText();
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Error extracting description: {}", e.getMessage(), e);
-            }
-            
-            List<String> genres = new ArrayList<>();
-            try {
-                if (workData.has("subjects") && workData.get("subjects").isArray()) {
-                    workData.get("subjects").forEach(subject -> 
-                        genres.add(subject.asText()));
-                }
-            } catch (Exception e) {
-                log.error("Error extracting genres: {}", e.getMessage(), e);
-            }
-            
-            // Get primary ISBN if available
-            String isbn = null;
-            try {
-                if (workData.has("identifiers") && workData.get("identifiers").has("isbn_10") && 
-                    workData.get("identifiers").get("isbn_10").isArray() && 
-                    workData.get("identifiers").get("isbn_10").size() > 0) {
-                    isbn = workData.get("identifiers").get("isbn_10").get(0).asText();
-                } else if (workData.has("identifiers") && workData.get("identifiers").has("isbn_13") && 
-                    workData.get("identifiers").get("isbn_13").isArray() && 
-                    workData.get("identifiers").get("isbn_13").size() > 0) {
-                    isbn = workData.get("identifiers").get("isbn_13").get(0).asText();
+            String bookKey = finalOpenLibraryKey;
+            Optional<OpenLibraryWorkKey> redirectTarget = redirectTarget(workData);
+            if (redirectTarget.isPresent()) {
+                // Merged works answer with a redirect record, follow it once
+                bookKey = redirectTarget.get().getValue();
+                log.debug("OpenLibrary work {} redirects to {}", finalOpenLibraryKey, bookKey);
+                workData = fetchWork(endpoints.workUrl(bookKey));
+                if (workData == null || redirectTarget(workData).isPresent()) {
+                    return WorkLookup.of(searchAlternative(finalOpenLibraryKey));
                 }
-            } catch (Exception e) {
-                log.error("Error extracting ISBN: {}", e.getMessage(), e);
             }
             
-            // Create the domain model
-            LocalDateTime now = LocalDateTime.now();
-            
-            Book book = Book.reconstitute(
-                BookId.generate(),
-                title,
-                authorName,
-                isbn,
-                description,
-                coverUrl,
-                null, // pageCount
-                genres,
-                null, // language
-                firstPublishYear > 0 ? LocalDate.of(firstPublishYear, 1, 1) : null,
-                null, // publisher
-                finalOpenLibraryKey, // Add the OpenLibrary key
-                now,
-                now
-            );
-            
-            return Collections.singletonList(book);
+            return new WorkLookup(finalOpenLibraryKey, bookKey, workData, null);
             
         } catch (RestClientException e) {
             log.error("Error querying Works API for key {}: {}", openLibraryKey, e.getMessage());
-            return searchAlternative(openLibraryKey);
+            return WorkLookup.of(searchAlternative(openLibraryKey));
         } catch (Exception e) {
             log.error("Unexpected error processing Works API information: {}", e.getMessage());
-            return searchAlternative(openLibraryKey);
+            return WorkLookup.of(searchAlternative(openLibraryKey));
+        }
+    }
+    
+    /**
+     * Resolves the first authors of all fetched works with a single resolver call.
+     *
+     * @return Names by normalized author key, empty if they could not be resolved
+     */
+    private Map<String, String> resolveAuthorNames(Collection<WorkLookup> lookups) {
+        List<String> authorKeys = lookups.stream()
+                .filter(lookup -> lookup.work() != null)
+                .map(lookup -> OpenLibraryWorkMapper.firstAuthorKey(lookup.work()))
+                .flatMap(Optional::stream)
+                .toList();
+        if (authorKeys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return authorNameResolver.resolveNames(authorKeys);
+        } catch (Exception e) {
+            log.error("Error processing author information: {}", e.getMessage(), e);
+            return Collections.emptyMap();
+        }
+    }
+    
+    private List<Book> toBooks(WorkLookup lookup, Map<String, String> authorNames) {
+        if (lookup.work() == null) {
+            return lookup.books();
+        }
+        try {
+            String authorName = OpenLibraryWorkMapper.firstAuthorKey(lookup.work())
+                    .map(authorKey -> authorNames.getOrDefault(AuthorNameResolver.normalizeKey(authorKey),
+                            OpenLibraryWorkMapper.unresolvedAuthorName(authorKey)))
+                    .orElse(null);
+            Book book = OpenLibraryWorkMapper.toBook(lookup.bookKey(), lookup.work(), authorName);
+            book.addOpenLibraryKeyAliases(List.of(lookup.requestedKey()));
+            return Collections.singletonList(book);
+        } catch (Exception e) {
+            log.error("Unexpected error processing Works API information: {}", e.getMessage());
+            return searchAlternative(lookup.requestedKey());
+        }
+    }
+    
+    /**
+     * Fetches a Works API document. Detail lookups block user requests, so they are hedged when hedging is enabled.
+     */
+    private JsonNode fetchWork(String url) {
+        if (!openLibraryHttpClient.isHedgingEnabled()) {
+            return restTemplate.getForObject(url, JsonNode.class);
+        }
+        try {
+            return openLibraryHttpClient.getHedgedJsonAsync(url).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * @return The work a Works API redirect record points to, empty for regular works
+     */
+    private static Optional<OpenLibraryWorkKey> redirectTarget(JsonNode workData) {
+        if (!"/type/redirect".equals(workData.path("type").path("key").asText())) {
+            return Optional.empty();
         }
+        return OpenLibraryWorkKey.parse(workData.path("location").asText(null));
     }
     
     private List<Book> searchAlternative(String key) {
@@ -273,8 +270,11 @@ public class OpenLibraryAdapter implements OpenLibraryPort {
         }
         
         try {
+            if (!retryPermitted(key)) {
+                return Collections.emptyList();
+            }
             List<Book> results = searchBooks("key:" + query, true);
-            if (!results.isEmpty()) {
+            if (!results.isEmpty() || !retryPermitted(key)) {
                 return results;
             }
             
@@ -291,95 +291,24 @@ public class OpenLibraryAdapter implements OpenLibraryPort {
         }
     }
     
-    private Book mapToBook(JsonNode doc) {
-        String title = getTextValue(doc, "title");
-        String author = getFirstAuthorName(doc);
-        int firstPublishYear = getFirstPublishYear(doc);
-        
-        // Extract cover details
-        String coverUrl = null;
-        Long coverId = null;
-        if (doc.has("cover_i")) {
-            coverId = doc.get("cover_i").asLong(0);
-            if (coverId > 0) {
-                coverUrl = COVER_URL + coverId + "-L.jpg";
-            }
-        }
-        
-        // Extract OpenLibrary key - ensure it's properly formatted
-        String key = getTextValue(doc, "key");
-        if (key != null && !key.startsWith("/works/") && !key.startsWith("works/")) {
-            key = "/works/" + key;
-        }
-        
-        String isbn = null;
-        if (doc.has("isbn") && doc.get("isbn").isArray() && doc.get("isbn").size() > 0) {
-            isbn = doc.get("isbn").get(0).asText();
-        }
-        
-        String description = getTextValue(doc, "first_sentence");
-        
-        List<String> genres = new ArrayList<>();
-        if (doc.has("subject") && doc.get("subject").isArray()) {
-            doc.get("subject").forEach(subject -> genres.add(subject.asText()));
-        }
-        
-        String language = null;
-        if (doc.has("language") && doc.get("language").isArray() && doc.get("language").size() > 0) {
-            language = doc.get("language").get(0).asText();
-        }
-        
-        Integer pageCount = getIntegerValue(doc, "number_of_pages_median");
-        
-        String publisher = null;
-        if (doc.has("publisher") && doc.get("publisher").isArray() && doc.get("publisher").size() > 0) {
-            publisher = doc.get("publisher").get(0).asText();
-        }
-        
-        LocalDate publicationDate = null;
-        if (firstPublishYear > 0) {
-            publicationDate = LocalDate.of(firstPublishYear, 1, 1);
-        }
-        
-        LocalDateTime now = LocalDateTime.now();
-        
-        return Book.reconstitute(
-            BookId.generate(),
-            title,
-            author,
-            isbn,
-            description,
-            coverUrl,
-            pageCount,
-            genres,
-            language,
-            publicationDate,
-            publisher,
-            key, // Include the OpenLibrary key
-            now,
-            now
-        );
-    }
-    
-    private String getFirstAuthorName(JsonNode doc) {
-        if (doc.has("author_name") && doc.get("author_name").isArray() && doc.get("author_name").size() > 0) {
-            return doc.get("author_name").get(0).asText();
+    /**
+     * Fallback searches are extra calls for a single lookup, only make them while the retry budget allows.
+     */
+    private boolean retryPermitted(String key) {
+        if (openLibraryGuard.tryAcquireRetry()) {
+            return true;
         }
-        return "Unknown Author";
+        log.warn("Retry budget exhausted, skipping fallback search for: {}", key);
+        return false;
     }
     
-    private int getFirstPublishYear(JsonNode doc) {
-        if (doc.has("first_publish_year")) {
-            return doc.get("first_publish_year").asInt(0);
+    /**
+     * A fetched work and the key it was requested by, or the books found instead when there was no work.
+     */
+    private record WorkLookup(String requestedKey, String bookKey, JsonNode work, List<Book> books) {
+        
+        static WorkLookup of(List<Book> books) {
+            return new WorkLookup(null, null, null, books);
         }
-        return 0;
-    }
-    
-    private String getTextValue(JsonNode doc, String field) {
-        return doc.has(field) && !doc.get(field).isNull() ? doc.get(field).asText() : null;
-    }
-    
-    private Integer getIntegerValue(JsonNode doc, String field) {
-        return doc.has(field) && !doc.get(field).isNull() ? doc.get(field).asInt() : null;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
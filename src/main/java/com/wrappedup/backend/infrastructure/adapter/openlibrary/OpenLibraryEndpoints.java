@@ -0,0 +1,54 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * URLs of the OpenLibrary APIs, relative to a configurable base URL so the application can be
+ * pointed at a stand-in server (see {@code standin.OpenLibraryStandInServer}) instead of openlibrary.org.
+ */
+@Component
+public class OpenLibraryEndpoints {
+
+    public static final String DEFAULT_BASE_URL = "https://openlibrary.org";
+
+    private final String baseUrl;
+
+    public OpenLibraryEndpoints(@Value("${openlibrary.base-url:" + DEFAULT_BASE_URL + "}") String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * @return The books search URL, without query parameters
+     */
+    public String searchUrl() {
+        return baseUrl + "/search.json";
+    }
+
+    /**
+     * @return The authors search URL, without query parameters
+     */
+    public String authorsSearchUrl() {
+        return baseUrl + "/search/authors.json";
+    }
+
+    /**
+     * @param workKey A works key including its prefix, e.g. /works/OL45883W
+     * @return The Works API URL for the key
+     */
+    public String workUrl(String workKey) {
+        return baseUrl + workKey + ".json";
+    }
+
+    /**
+     * @param authorKey A normalized author key, e.g. OL23919A
+     * @return The Authors API URL for the key
+     */
+    public String authorUrl(String authorKey) {
+        return baseUrl + "/authors/" + authorKey + ".json";
+    }
+}
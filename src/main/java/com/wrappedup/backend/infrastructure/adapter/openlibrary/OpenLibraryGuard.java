@@ -0,0 +1,215 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer shared by every outgoing OpenLibrary call, blocking or not.
+ *
+ * <ul>
+ *   <li>a bulkhead caps the number of calls in flight, calls over the cap fail immediately
+ *   instead of tying up request threads behind a slow upstream;</li>
+ *   <li>a {@link CircuitBreaker} stops calling OpenLibrary while it keeps failing and probes
+ *   it again after a while;</li>
+ *   <li>a {@link RetryBudget} limits fallback and retry calls to a fraction of regular calls,
+ *   so fallbacks cannot multiply the load during an outage.</li>
+ * </ul>
+ */
+@Component
+public class OpenLibraryGuard {
+
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final AtomicLong bulkheadRejectedCount = new AtomicLong();
+
+    @Autowired
+    public OpenLibraryGuard(
+            @Value("${openlibrary.resilience.max-concurrent-calls:64}") int maxConcurrentCalls,
+            @Value("${openlibrary.resilience.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${openlibrary.resilience.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${openlibrary.resilience.minimum-calls:10}") int minimumCalls,
+            @Value("${openlibrary.resilience.open-duration:30s}") Duration openDuration,
+            @Value("${openlibrary.resilience.half-open-probes:3}") int halfOpenProbes,
+            @Value("${openlibrary.resilience.retry-ratio:0.1}") double retryRatio,
+            @Value("${openlibrary.resilience.min-retries-per-second:1}") double minRetriesPerSecond) {
+        this(new CircuitBreaker("openlibrary", failureRateThreshold, slidingWindowSize, minimumCalls,
+                        openDuration, halfOpenProbes, Ticker.systemTicker()),
+                new RetryBudget(retryRatio, minRetriesPerSecond, Math.max(10, minRetriesPerSecond), Ticker.systemTicker()),
+                maxConcurrentCalls);
+    }
+
+    OpenLibraryGuard(CircuitBreaker circuitBreaker, RetryBudget retryBudget, int maxConcurrentCalls) {
+        this.circuitBreaker = circuitBreaker;
+        this.retryBudget = retryBudget;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+    }
+
+    /**
+     * Acquires a permit for a regular call. The caller records the outcome on the permit and
+     * closes it once the call, including reading the response, is done.
+     *
+     * @return The permit
+     * @throws CallNotPermittedException If the bulkhead is full or the circuit is open
+     */
+    public Permit acquire() {
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejectedCount.incrementAndGet();
+            throw new CallNotPermittedException("Too many concurrent OpenLibrary requests");
+        }
+        long permission = circuitBreaker.tryAcquirePermission();
+        if (permission == CircuitBreaker.NOT_PERMITTED) {
+            bulkhead.release();
+            throw new CallNotPermittedException("OpenLibrary circuit breaker is open");
+        }
+        retryBudget.deposit();
+        return new Permit(permission);
+    }
+
+    /**
+     * Runs an asynchronous call under a permit.
+     *
+     * @param call Starts the call
+     * @return The call's future, or a failed future if the call was not permitted
+     */
+    public <T> CompletableFuture<T> guardAsync(Supplier<CompletableFuture<T>> call) {
+        Permit permit;
+        try {
+            permit = acquire();
+        } catch (CallNotPermittedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            permit.recordFailure();
+            permit.close();
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> {
+            if (error != null && isUpstreamFailure(error)) {
+                permit.recordFailure();
+            } else {
+                permit.recordSuccess();
+            }
+            permit.close();
+        });
+    }
+
+    /**
+     * Asks the retry budget for a retry or fallback call.
+     *
+     * @return Whether the retry may be made
+     */
+    public boolean tryAcquireRetry() {
+        return retryBudget.tryWithdraw();
+    }
+
+    /**
+     * @return Whether a response with this status means OpenLibrary is unhealthy, as opposed
+     * to a problem with the request itself
+     */
+    public static boolean isUpstreamFailure(HttpStatusCode status) {
+        return status.is5xxServerError() || status.value() == 429;
+    }
+
+    static boolean isUpstreamFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            // Cancelled by the caller, e.g. a hedged request that lost the race
+            return false;
+        }
+        if (cause instanceof OpenLibraryHttpClient.OpenLibraryHttpException httpException) {
+            return isUpstreamFailure(HttpStatusCode.valueOf(httpException.getStatusCode()));
+        }
+        return true;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public long getCircuitRejectedCount() {
+        return circuitBreaker.getNotPermittedCount();
+    }
+
+    public long getBulkheadRejectedCount() {
+        return bulkheadRejectedCount.get();
+    }
+
+    public int getInFlightCount() {
+        return maxConcurrentCalls - bulkhead.availablePermits();
+    }
+
+    public long getRetriesAllowedCount() {
+        return retryBudget.getAllowedCount();
+    }
+
+    public long getRetriesRejectedCount() {
+        return retryBudget.getRejectedCount();
+    }
+
+    /**
+     * A slot in the bulkhead plus a circuit breaker permission for one call.
+     * The first recorded outcome counts; closing a permit without an outcome counts as a failure.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final long permission;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Permit(long permission) {
+            this.permission = permission;
+        }
+
+        public void recordSuccess() {
+            record(true);
+        }
+
+        public void recordFailure() {
+            record(false);
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                record(false);
+                bulkhead.release();
+            }
+        }
+
+        private void record(boolean success) {
+            if (recorded.compareAndSet(false, true)) {
+                circuitBreaker.onResult(permission, success);
+            }
+        }
+    }
+
+    /**
+     * Raised when a call is rejected without reaching OpenLibrary.
+     */
+    public static class CallNotPermittedException extends RejectedExecutionException {
+
+        public CallNotPermittedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * RestTemplate interceptor that runs every blocking OpenLibrary call under an {@link OpenLibraryGuard} permit.
+ * The permit is held until the response is closed, so calls still streaming their body count
+ * against the bulkhead.
+ */
+public class OpenLibraryGuardInterceptor implements ClientHttpRequestInterceptor {
+
+    private final OpenLibraryGuard guard;
+
+    public OpenLibraryGuardInterceptor(OpenLibraryGuard guard) {
+        this.guard = guard;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        OpenLibraryGuard.Permit permit = guard.acquire();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+            if (OpenLibraryGuard.isUpstreamFailure(response.getStatusCode())) {
+                permit.recordFailure();
+            } else {
+                permit.recordSuccess();
+            }
+        } catch (IOException | RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        return new GuardedResponse(response, permit);
+    }
+
+    private static final class GuardedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final OpenLibraryGuard.Permit permit;
+
+        private GuardedResponse(ClientHttpResponse delegate, OpenLibraryGuard.Permit permit) {
+            this.delegate = delegate;
+            this.permit = permit;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                permit.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Shared, pooled HTTP client for OpenLibrary.
+ *
+ * Wraps a single JDK {@link HttpClient} that negotiates HTTP/2, keeps connections alive
+ * and runs its callbacks on a small bounded executor. Responses are requested gzip-encoded.
+ * Every request first waits for an {@link OpenLibraryRateLimiter} token in its {@link RequestLane},
+ * then runs under an {@link OpenLibraryGuard} permit, so requests over the concurrency cap or
+ * against an open circuit fail fast instead of queueing behind a slow upstream.
+ * Successful responses are kept in the {@link OpenLibraryResponseStore}: fresh stored responses
+ * are served without a request, and expired ones stand in when a request fails.
+ * Requests made through the hedged variants are hedged by the {@link RequestHedger}.
+ */
+@Component
+@Slf4j
+public class OpenLibraryHttpClient {
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final OpenLibraryGuard guard;
+    private final OpenLibraryRateLimiter rateLimiter;
+    private final OpenLibraryResponseStore store;
+    private final RequestHedger hedger;
+
+    public OpenLibraryHttpClient(
+            ObjectMapper objectMapper,
+            OpenLibraryGuard guard,
+            OpenLibraryRateLimiter rateLimiter,
+            OpenLibraryResponseStore store,
+            RequestHedger hedger,
+            @Value("${openlibrary.http.connect-timeout:3s}") Duration connectTimeout,
+            @Value("${openlibrary.http.request-timeout:5s}") Duration requestTimeout,
+            @Value("${openlibrary.http.threads:4}") int threads) {
+        this.objectMapper = objectMapper;
+        this.guard = guard;
+        this.rateLimiter = rateLimiter;
+        this.store = store;
+        this.hedger = hedger;
+        this.requestTimeout = requestTimeout;
+        this.executor = Executors.newFixedThreadPool(threads, daemonThreadFactory());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Fetches and parses a JSON document without blocking the calling thread.
+     *
+     * @param url The absolute URL to fetch, unencoded as for RestTemplate
+     * @return A future completed with the parsed document, or {@code null} for a 404
+     */
+    public CompletableFuture<JsonNode> getJsonAsync(String url) {
+        return getAsync(url, objectMapper::readTree);
+    }
+
+    /**
+     * Fetches a document without blocking the calling thread and decodes its body as it streams in.
+     *
+     * @param url The absolute URL to fetch, unencoded as for RestTemplate
+     * @param decoder Decoder for the (already decompressed) response body
+     * @return A future completed with the decoded body, or {@code null} for a 404
+     */
+    public <T> CompletableFuture<T> getAsync(String url, BodyDecoder<T> decoder) {
+        return get(url, decoder, false);
+    }
+
+    /**
+     * Like {@link #getJsonAsync(String)}, but sends a second request if the first one is slow.
+     * Meant for lookups that block a user request, where tail latency matters most.
+     *
+     * @param url The absolute URL to fetch, unencoded as for RestTemplate
+     * @return A future completed with the parsed document, or {@code null} for a 404
+     */
+    public CompletableFuture<JsonNode> getHedgedJsonAsync(String url) {
+        return get(url, objectMapper::readTree, true);
+    }
+
+    /**
+     * @return Whether hedged requests are actually hedged
+     */
+    public boolean isHedgingEnabled() {
+        return hedger.isEnabled();
+    }
+
+    private <T> CompletableFuture<T> get(String url, BodyDecoder<T> decoder, boolean hedged) {
+        if (!store.isEnabled()) {
+            return fetch(url, decoder, hedged);
+        }
+        Optional<byte[]> fresh = store.getFresh(url);
+        if (fresh.isPresent()) {
+            return CompletableFuture.completedFuture(decodeStored(url, fresh.get(), decoder));
+        }
+        return fetch(url, body -> {
+                    byte[] bytes = body.readAllBytes();
+                    store.put(url, bytes);
+                    return bytes;
+                }, hedged)
+                .exceptionally(error -> {
+                    Optional<byte[]> stale = store.getStale(url);
+                    if (stale.isEmpty() || !OpenLibraryGuard.isUpstreamFailure(error)) {
+                        throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                    }
+                    log.debug("Serving stored response for {} after error: {}", url, error.getMessage());
+                    return stale.get();
+                })
+                .thenApply(bytes -> bytes == null ? null : decodeStored(url, bytes, decoder));
+    }
+
+    private <T> CompletableFuture<T> fetch(String url, BodyDecoder<T> decoder, boolean hedged) {
+        HttpRequest request = HttpRequest.newBuilder(UriComponentsBuilder.fromUriString(url).encode().build().toUri())
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+
+        if (!hedged) {
+            return send(url, request, decoder, new CompletableFuture<>());
+        }
+        return hedger.execute(cancelled -> send(url, request, decoder, cancelled));
+    }
+
+    private <T> CompletableFuture<T> send(String url, HttpRequest request, BodyDecoder<T> decoder,
+                                         CompletableFuture<Void> cancelled) {
+        // The lane is taken from the calling thread, before the wait moves to the limiter's thread
+        RequestLane lane = RequestLane.forUrl(url);
+        return rateLimiter.acquireAsync(lane).thenCompose(granted -> {
+            if (cancelled.isDone()) {
+                return CompletableFuture.failedFuture(new CancellationException("Cancelled while rate limited"));
+            }
+            return guard.guardAsync(() -> {
+                CompletableFuture<HttpResponse<InputStream>> sent =
+                        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+                // Cancelling the JDK client's future aborts the exchange
+                cancelled.thenRun(() -> sent.cancel(true));
+                return sent.thenApply(response -> decodeBody(url, response, decoder));
+            });
+        });
+    }
+
+    /**
+     * @return The underlying JDK client, shared with the blocking RestTemplate
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * @return The per-request timeout
+     */
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * @return The executor that runs client callbacks
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    @PreDestroy
+    public void close() {
+        httpClient.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private <T> T decodeBody(String url, HttpResponse<InputStream> response, BodyDecoder<T> decoder) {
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            try (InputStream ignored = response.body()) {
+                if (status == 404) {
+                    return null;
+                }
+                throw new OpenLibraryHttpException(status, url);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading OpenLibrary response from " + url, e);
+            }
+        }
+        try (InputStream body = decode(response)) {
+            return decoder.decode(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading OpenLibrary response from " + url, e);
+        }
+    }
+
+    private static <T> T decodeStored(String url, byte[] body, BodyDecoder<T> decoder) {
+        try {
+            return decoder.decode(new ByteArrayInputStream(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading stored OpenLibrary response for " + url, e);
+        }
+    }
+
+    private static InputStream decode(HttpResponse<InputStream> response) throws IOException {
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        return gzip ? new GZIPInputStream(response.body()) : response.body();
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "openlibrary-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Decodes a response body stream.
+     */
+    @FunctionalInterface
+    public interface BodyDecoder<T> {
+        T decode(InputStream body) throws IOException;
+    }
+
+    /**
+     * Raised when OpenLibrary answers with a non-successful status code.
+     */
+    public static class OpenLibraryHttpException extends RuntimeException {
+
+        private final int statusCode;
+
+        public OpenLibraryHttpException(int statusCode, String url) {
+            super("OpenLibrary returned HTTP " + statusCode + " for " + url);
+            this.statusCode = statusCode;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+    }
+}
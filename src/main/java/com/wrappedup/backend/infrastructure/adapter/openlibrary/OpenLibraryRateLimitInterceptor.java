@@ -0,0 +1,29 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * RestTemplate interceptor that makes every blocking OpenLibrary call wait for an
+ * {@link OpenLibraryRateLimiter} token in its {@link RequestLane}. It runs after the response
+ * store, so stored responses need no token, and before the guard, so waiting calls hold no permit.
+ */
+public class OpenLibraryRateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final OpenLibraryRateLimiter rateLimiter;
+
+    public OpenLibraryRateLimitInterceptor(OpenLibraryRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        rateLimiter.acquire(RequestLane.forUrl(request.getURI().toString()));
+        return execution.execute(request, body);
+    }
+}
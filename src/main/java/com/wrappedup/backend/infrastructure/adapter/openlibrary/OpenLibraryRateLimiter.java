@@ -0,0 +1,374 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound rate limiter shared by every OpenLibrary request, blocking or not.
+ *
+ * A global token bucket caps the overall request rate, and every {@link RequestLane} has a
+ * bucket of its own, so background work cannot use up the rate interactive requests need.
+ * Requests that find no token wait in their lane's queue; queued lanes are served by weighted
+ * fair queueing, each lane getting a share of the global rate proportional to its weight.
+ *
+ * A request fails fast with a {@link RateLimitedException} when its estimated wait exceeds the
+ * lane's maximum wait, and a queued request fails once it has waited that long.
+ */
+@Component
+public class OpenLibraryRateLimiter {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    /**
+     * Tolerance for the rounding of refills, a bucket a hair short of a token has one.
+     */
+    private static final double TOKEN_EPSILON = 1e-9;
+
+    private final boolean enabled;
+    private final Ticker ticker;
+    private final TokenBucket global;
+    private final Map<RequestLane, Lane> lanes = new EnumMap<>(RequestLane.class);
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by this
+    private double virtualTime;
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpAt;
+    private long wakeUpGeneration;
+
+    @Autowired
+    public OpenLibraryRateLimiter(
+            @Value("${openlibrary.rate-limit.enabled:true}") boolean enabled,
+            @Value("${openlibrary.rate-limit.requests-per-second:10}") double requestsPerSecond,
+            @Value("${openlibrary.rate-limit.burst:20}") int burst,
+            @Value("${openlibrary.rate-limit.search.requests-per-second:10}") double searchRequestsPerSecond,
+            @Value("${openlibrary.rate-limit.search.weight:4}") int searchWeight,
+            @Value("${openlibrary.rate-limit.search.max-wait:1s}") Duration searchMaxWait,
+            @Value("${openlibrary.rate-limit.detail.requests-per-second:10}") double detailRequestsPerSecond,
+            @Value("${openlibrary.rate-limit.detail.weight:4}") int detailWeight,
+            @Value("${openlibrary.rate-limit.detail.max-wait:2s}") Duration detailMaxWait,
+            @Value("${openlibrary.rate-limit.background.requests-per-second:1}") double backgroundRequestsPerSecond,
+            @Value("${openlibrary.rate-limit.background.weight:1}") int backgroundWeight,
+            @Value("${openlibrary.rate-limit.background.max-wait:60s}") Duration backgroundMaxWait) {
+        this(enabled, requestsPerSecond, burst, Map.of(
+                RequestLane.INTERACTIVE_SEARCH, new LaneLimit(searchRequestsPerSecond, searchWeight, searchMaxWait),
+                RequestLane.INTERACTIVE_DETAIL, new LaneLimit(detailRequestsPerSecond, detailWeight, detailMaxWait),
+                RequestLane.BACKGROUND, new LaneLimit(backgroundRequestsPerSecond, backgroundWeight, backgroundMaxWait)));
+    }
+
+    /**
+     * @param limits Limits by lane, lanes without limits only share the global rate
+     */
+    public OpenLibraryRateLimiter(boolean enabled, double requestsPerSecond, int burst, Map<RequestLane, LaneLimit> limits) {
+        this(enabled, requestsPerSecond, burst, limits, Ticker.systemTicker());
+    }
+
+    OpenLibraryRateLimiter(boolean enabled, double requestsPerSecond, int burst, Map<RequestLane, LaneLimit> limits,
+                           Ticker ticker) {
+        this.enabled = enabled;
+        this.ticker = ticker;
+        long now = ticker.read();
+        this.global = new TokenBucket(requestsPerSecond, burst, now);
+        for (RequestLane lane : RequestLane.values()) {
+            LaneLimit limit = limits.getOrDefault(lane, new LaneLimit(requestsPerSecond, 1, Duration.ofSeconds(1)));
+            lanes.put(lane, new Lane(lane, limit, now));
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "openlibrary-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Rate, weight and maximum wait of one lane.
+     *
+     * @param requestsPerSecond The lane's own rate, it may burst up to one second's worth
+     * @param weight The lane's share of the global rate while other lanes are queued as well
+     * @param maxWait How long a request may wait for a token before it fails
+     */
+    public record LaneLimit(double requestsPerSecond, int weight, Duration maxWait) {
+    }
+
+    /**
+     * Waits for a token without blocking the calling thread.
+     *
+     * @return A future completed once the request may be sent, or failed with a
+     *         {@link RateLimitedException} if it cannot be sent in time
+     */
+    public CompletableFuture<Void> acquireAsync(RequestLane lane) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Lane queue = lanes.get(lane);
+        CompletableFuture<Void> granted = new CompletableFuture<>();
+        synchronized (this) {
+            long now = ticker.read();
+            refill(now);
+            if (queue.waiters.isEmpty() && queue.bucket.hasToken() && global.hasToken() && !othersQueued()) {
+                take(queue, now, now);
+                return CompletableFuture.completedFuture(null);
+            }
+            long estimatedWait = estimateWait(queue);
+            if (estimatedWait > queue.maxWaitNanos) {
+                queue.rejectedCount++;
+                return CompletableFuture.failedFuture(new RateLimitedException(
+                        "OpenLibrary rate limit reached for " + lane + ", estimated wait "
+                                + TimeUnit.NANOSECONDS.toMillis(estimatedWait) + "ms"));
+            }
+            double start = Math.max(virtualTime, queue.lastFinishTag);
+            queue.lastFinishTag = start + 1.0 / queue.weight;
+            queue.waiters.add(new Waiter(granted, now, now + queue.maxWaitNanos, queue.lastFinishTag));
+        }
+        dispatch();
+        return granted;
+    }
+
+    /**
+     * Waits for a token, blocking the calling thread.
+     *
+     * @throws RateLimitedException If the request cannot be sent in time
+     */
+    public void acquire(RequestLane lane) {
+        try {
+            acquireAsync(lane).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized int getQueueDepth(RequestLane lane) {
+        return lanes.get(lane).waiters.size();
+    }
+
+    public synchronized long getGrantedCount(RequestLane lane) {
+        return lanes.get(lane).grantedCount;
+    }
+
+    public synchronized long getRejectedCount(RequestLane lane) {
+        return lanes.get(lane).rejectedCount;
+    }
+
+    /**
+     * @return The total time granted requests of a lane waited for their token
+     */
+    public synchronized Duration getTotalWait(RequestLane lane) {
+        return Duration.ofNanos(lanes.get(lane).totalWaitNanos);
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Grants tokens to queued requests in finish tag order, fails the ones past their deadline
+     * and schedules the next run for when the next token becomes available.
+     */
+    void dispatch() {
+        List<Runnable> completions = new ArrayList<>();
+        synchronized (this) {
+            long now = ticker.read();
+            refill(now);
+            expire(now, completions);
+            while (global.hasToken()) {
+                Lane next = null;
+                for (Lane lane : lanes.values()) {
+                    Waiter head = lane.waiters.peek();
+                    if (head != null && lane.bucket.hasToken()
+                            && (next == null || head.finishTag < next.waiters.peek().finishTag)) {
+                        next = lane;
+                    }
+                }
+                if (next == null) {
+                    break;
+                }
+                Waiter waiter = next.waiters.poll();
+                virtualTime = Math.max(virtualTime, waiter.finishTag);
+                take(next, waiter.enqueuedAt, now);
+                completions.add(() -> waiter.future.complete(null));
+            }
+            scheduleDispatch(now);
+        }
+        // Outside the lock, the callers' continuations may start requests of their own
+        completions.forEach(Runnable::run);
+    }
+
+    /**
+     * Runs a scheduled dispatch. The wake up it was scheduled as is over once it runs, so the
+     * dispatch schedules the next one even if it is due later.
+     */
+    private void wakeUp(long generation) {
+        synchronized (this) {
+            if (generation == wakeUpGeneration) {
+                wakeUp = null;
+            }
+        }
+        dispatch();
+    }
+
+    private void expire(long now, List<Runnable> completions) {
+        for (Lane lane : lanes.values()) {
+            Iterator<Waiter> waiters = lane.waiters.iterator();
+            while (waiters.hasNext()) {
+                Waiter waiter = waiters.next();
+                if (waiter.deadline - now > 0) {
+                    continue;
+                }
+                waiters.remove();
+                lane.rejectedCount++;
+                RateLimitedException error = new RateLimitedException(
+                        "Waited too long for the OpenLibrary rate limit in " + lane.lane);
+                completions.add(() -> waiter.future.completeExceptionally(error));
+            }
+        }
+    }
+
+    private void scheduleDispatch(long now) {
+        long delay = Long.MAX_VALUE;
+        for (Lane lane : lanes.values()) {
+            Waiter head = lane.waiters.peek();
+            if (head == null) {
+                continue;
+            }
+            long tokenDelay = Math.max(global.nanosUntilToken(), lane.bucket.nanosUntilToken());
+            delay = Math.min(delay, Math.min(tokenDelay, head.deadline - now));
+        }
+        if (delay == Long.MAX_VALUE) {
+            return;
+        }
+        long at = now + Math.max(delay, 0);
+        if (wakeUp != null && !wakeUp.isDone() && wakeUpAt - at <= 0) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpAt = at;
+        long generation = ++wakeUpGeneration;
+        wakeUp = scheduler.schedule(() -> wakeUp(generation), Math.max(delay, 0), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Estimates how long a request joining a lane's queue would wait: for the lane's own tokens,
+     * and for the global tokens taken by the requests served before it, which include the
+     * other lanes' queued requests up to their weighted share.
+     */
+    private long estimateWait(Lane lane) {
+        int position = lane.waiters.size() + 1;
+        double laneWait = Math.max(0, position - lane.bucket.tokens) / lane.bucket.tokensPerNano;
+        double ahead = position;
+        for (Lane other : lanes.values()) {
+            if (other != lane) {
+                ahead += Math.min(other.waiters.size(), (double) position * other.weight / lane.weight);
+            }
+        }
+        double globalWait = Math.max(0, ahead - global.tokens) / global.tokensPerNano;
+        return (long) Math.max(laneWait, globalWait);
+    }
+
+    private boolean othersQueued() {
+        for (Lane lane : lanes.values()) {
+            if (!lane.waiters.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void refill(long now) {
+        global.refill(now);
+        lanes.values().forEach(lane -> lane.bucket.refill(now));
+    }
+
+    private void take(Lane lane, long requestedAt, long now) {
+        global.tokens--;
+        lane.bucket.tokens--;
+        lane.grantedCount++;
+        lane.totalWaitNanos += now - requestedAt;
+    }
+
+    /**
+     * Raised when a request cannot get a token before its lane's maximum wait.
+     */
+    public static class RateLimitedException extends OpenLibraryGuard.CallNotPermittedException {
+
+        public RateLimitedException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(double requestsPerSecond, double capacity, long now) {
+            this.tokensPerNano = requestsPerSecond / NANOS_PER_SECOND;
+            this.capacity = Math.max(1, capacity);
+            this.tokens = this.capacity;
+            this.refilledAt = now;
+        }
+
+        void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+
+        boolean hasToken() {
+            return tokens >= 1 - TOKEN_EPSILON;
+        }
+
+        long nanosUntilToken() {
+            return hasToken() ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+
+    private static final class Lane {
+
+        private final RequestLane lane;
+        private final TokenBucket bucket;
+        private final int weight;
+        private final long maxWaitNanos;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private double lastFinishTag;
+        private long grantedCount;
+        private long rejectedCount;
+        private long totalWaitNanos;
+
+        private Lane(RequestLane lane, LaneLimit limit, long now) {
+            this.lane = lane;
+            this.bucket = new TokenBucket(limit.requestsPerSecond(), limit.requestsPerSecond(), now);
+            this.weight = Math.max(1, limit.weight());
+            this.maxWaitNanos = limit.maxWait().toNanos();
+        }
+    }
+
+    private record Waiter(CompletableFuture<Void> future, long enqueuedAt, long deadline, double finishTag) {
+    }
+}
@@ -0,0 +1,605 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Disk-backed store of raw OpenLibrary responses that survives restarts.
+ *
+ * Responses are kept in append-only, memory-mapped segment files. Bodies are content-addressed:
+ * each distinct body is written once as a blob under its SHA-256 hash, and every URL (normalized,
+ * see {@link #normalizeUrl(String)}) is written as a small key record pointing at a blob.
+ * The in-memory index of keys and blobs is rebuilt by scanning the segments on startup; a torn
+ * record at the end of a segment fails its checksum and is ignored.
+ *
+ * Entries are fresh for {@code ttl}. Expired entries stay readable until the next compaction,
+ * which rewrites the live entries into new segments, drops expired ones and, if the store is
+ * still above 80% of {@code max-size}, the oldest ones. Compaction runs on a background thread
+ * once a write takes the store above {@code max-size}, so the write itself returns right away.
+ */
+@Component
+@Slf4j
+public class OpenLibraryResponseStore {
+
+    private static final byte BLOB = 1;
+    private static final byte KEY = 2;
+    private static final int HASH_LENGTH = 32;
+    private static final int CRC_LENGTH = 4;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration ttl;
+    private final long maxSize;
+    private final int segmentSize;
+    private final Clock clock;
+    private final Executor compactor;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, KeyEntry> keys = new ConcurrentHashMap<>();
+    private final Map<String, BlobEntry> blobs = new ConcurrentHashMap<>();
+    private final Map<Integer, Segment> segments = new HashMap<>();
+    private Segment activeSegment;
+    private long writtenBytes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong staleHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    @Autowired
+    public OpenLibraryResponseStore(
+            @Value("${openlibrary.store.enabled:true}") boolean enabled,
+            @Value("${openlibrary.store.directory:data/openlibrary-store}") Path directory,
+            @Value("${openlibrary.store.ttl:7d}") Duration ttl,
+            @Value("${openlibrary.store.max-size:1GB}") DataSize maxSize,
+            @Value("${openlibrary.store.segment-size:64MB}") DataSize segmentSize) {
+        this(enabled, directory, ttl, maxSize, segmentSize, Clock.systemUTC(),
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "openlibrary-store-compaction");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    OpenLibraryResponseStore(boolean enabled, Path directory, Duration ttl, DataSize maxSize,
+                             DataSize segmentSize, Clock clock, Executor compactor) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.ttl = ttl;
+        this.maxSize = maxSize.toBytes();
+        this.segmentSize = (int) Math.min(segmentSize.toBytes(), Integer.MAX_VALUE);
+        this.clock = clock;
+        this.compactor = compactor;
+        if (enabled) {
+            open();
+        }
+    }
+
+    /**
+     * Looks up a fresh response.
+     *
+     * @param url The request URL
+     * @return The response body, if stored and not older than the TTL
+     */
+    public Optional<byte[]> getFresh(String url) {
+        Optional<StoredResponse> stored = get(url);
+        if (stored.isPresent() && isFresh(stored.get())) {
+            hitCount.incrementAndGet();
+            return Optional.of(stored.get().body());
+        }
+        missCount.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Looks up a response of any age, e.g. to answer while OpenLibrary is failing.
+     *
+     * @param url The request URL
+     * @return The response body, if still stored
+     */
+    public Optional<byte[]> getStale(String url) {
+        Optional<byte[]> body = get(url).map(StoredResponse::body);
+        body.ifPresent(b -> staleHitCount.incrementAndGet());
+        return body;
+    }
+
+    /**
+     * Stores a response body under its URL.
+     *
+     * @param url The request URL
+     * @param body The (decompressed) response body
+     */
+    public void put(String url, byte[] body) {
+        if (!enabled) {
+            return;
+        }
+        String key = normalizeUrl(url);
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (blobRecordSize(body.length) + keyRecordSize(keyBytes.length) > segmentSize || keyBytes.length > Short.MAX_VALUE) {
+            log.debug("Response for {} is too large to store ({} bytes)", key, body.length);
+            return;
+        }
+        String hash = sha256(body);
+        long storedAt = clock.millis();
+
+        boolean full;
+        lock.writeLock().lock();
+        try {
+            if (!blobs.containsKey(hash)) {
+                appendBlob(hash, body);
+            }
+            appendKey(key, keyBytes, storedAt, hash);
+            full = writtenBytes > maxSize;
+        } catch (IOException e) {
+            log.warn("Could not store OpenLibrary response for {}: {}", key, e.getMessage());
+            return;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (full) {
+            scheduleCompaction();
+        }
+    }
+
+    /**
+     * Hands a compaction to the background thread, unless one is already waiting or running.
+     */
+    private void scheduleCompaction() {
+        if (!compactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (UncheckedIOException e) {
+                    log.warn(e.getMessage(), e.getCause());
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Closed, the next start compacts on its first write
+            compactionScheduled.set(false);
+        }
+    }
+
+    /**
+     * Rewrites the live entries into new segments, dropping expired entries and, while above
+     * 80% of the maximum size, the oldest ones.
+     */
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (segments.isEmpty()) {
+                // Closed
+                return;
+            }
+            long now = clock.millis();
+            List<Map.Entry<String, KeyEntry>> live = keys.entrySet().stream()
+                    .filter(entry -> now - entry.getValue().storedAt() < ttl.toMillis())
+                    .sorted(Comparator.comparingLong((Map.Entry<String, KeyEntry> entry) -> entry.getValue().storedAt()).reversed())
+                    .collect(Collectors.toCollection(ArrayList::new));
+
+            long target = maxSize * 8 / 10;
+            Map<String, byte[]> keptBlobs = new HashMap<>();
+            List<Map.Entry<String, KeyEntry>> kept = new ArrayList<>();
+            long size = 0;
+            for (Map.Entry<String, KeyEntry> entry : live) {
+                String hash = entry.getValue().hash();
+                long entrySize = keyRecordSize(entry.getKey().getBytes(StandardCharsets.UTF_8).length);
+                byte[] body = keptBlobs.get(hash);
+                if (body == null) {
+                    BlobEntry blob = blobs.get(hash);
+                    entrySize += blobRecordSize(blob.length());
+                    if (size + entrySize > target) {
+                        continue;
+                    }
+                    keptBlobs.put(hash, segments.get(blob.segment()).read(blob.offset(), blob.length()));
+                } else if (size + entrySize > target) {
+                    continue;
+                }
+                size += entrySize;
+                kept.add(entry);
+            }
+
+            List<Segment> old = new ArrayList<>(segments.values());
+            int dropped = keys.size() - kept.size();
+            segments.clear();
+            keys.clear();
+            blobs.clear();
+            writtenBytes = 0;
+            activeSegment = newSegment(old.stream().mapToInt(Segment::id).max().orElse(0) + 1);
+            for (int i = kept.size() - 1; i >= 0; i--) {
+                Map.Entry<String, KeyEntry> entry = kept.get(i);
+                String hash = entry.getValue().hash();
+                if (!blobs.containsKey(hash)) {
+                    appendBlob(hash, keptBlobs.get(hash));
+                }
+                appendKey(entry.getKey(), entry.getKey().getBytes(StandardCharsets.UTF_8),
+                        entry.getValue().storedAt(), hash);
+            }
+            for (Segment segment : old) {
+                segment.delete();
+            }
+            log.info("Compacted OpenLibrary response store: {} entries kept, {} dropped, {} bytes",
+                    keys.size(), dropped, writtenBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact OpenLibrary response store in " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Normalizes a URL into a store key: lower-case scheme and host, query parameters sorted by name,
+     * path and query in one canonical encoding.
+     *
+     * This is the only place keys are made, and it accepts both forms they arrive in: the unencoded
+     * URL strings given to {@link OpenLibraryHttpClient} and the encoded URIs of RestTemplate
+     * requests seen by {@link ResponseStoreInterceptor}, so both find the same entries.
+     */
+    public static String normalizeUrl(String url) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(url).build();
+        UriComponentsBuilder normalized = UriComponentsBuilder.newInstance()
+                .scheme(uri.getScheme() != null ? uri.getScheme().toLowerCase() : null)
+                .host(uri.getHost() != null ? uri.getHost().toLowerCase() : null)
+                .port(uri.getPort())
+                .path(decode(uri.getPath()));
+        uri.getQueryParams().entrySet().stream()
+                .map(param -> Map.entry(decode(param.getKey()),
+                        param.getValue().stream().map(OpenLibraryResponseStore::decode).toArray()))
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(param -> normalized.queryParam(param.getKey(), param.getValue()));
+        return normalized.build().encode().toUriString();
+    }
+
+    /**
+     * Decodes an encoded component; one that is not validly encoded was not encoded to begin with.
+     */
+    private static String decode(String component) {
+        if (component == null) {
+            return null;
+        }
+        try {
+            return UriUtils.decode(component, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return component;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getEntryCount() {
+        return keys.size();
+    }
+
+    public long getWrittenBytes() {
+        lock.readLock().lock();
+        try {
+            return writtenBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getStaleHitCount() {
+        return staleHitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (compactor instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            segments.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Optional<StoredResponse> get(String url) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        KeyEntry entry = keys.get(normalizeUrl(url));
+        if (entry == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            BlobEntry blob = blobs.get(entry.hash());
+            Segment segment = blob != null ? segments.get(blob.segment()) : null;
+            if (segment == null) {
+                // Compacted away in the meantime
+                return Optional.empty();
+            }
+            return Optional.of(new StoredResponse(segment.read(blob.offset(), blob.length()), entry.storedAt()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isFresh(StoredResponse response) {
+        return clock.millis() - response.storedAt() < ttl.toMillis();
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.filter(path -> segmentId(path) >= 0)
+                        .sorted(Comparator.comparingInt(OpenLibraryResponseStore::segmentId))
+                        .toList();
+            }
+            for (Path file : files) {
+                Segment segment = Segment.open(file, segmentId(file), segmentSize);
+                segments.put(segment.id(), segment);
+                scan(segment);
+                activeSegment = segment;
+            }
+            if (activeSegment == null) {
+                activeSegment = newSegment(1);
+            }
+            log.info("Opened OpenLibrary response store in {} with {} entries ({} bytes)",
+                    directory, keys.size(), writtenBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open OpenLibrary response store in " + directory, e);
+        }
+    }
+
+    /**
+     * Replays the records of a segment into the index, stopping at the first empty or damaged record.
+     */
+    private void scan(Segment segment) {
+        ByteBuffer buffer = segment.buffer().duplicate();
+        int position = 0;
+        while (position < buffer.capacity()) {
+            byte type = buffer.get(position);
+            int size;
+            if (type == BLOB && position + 1 + HASH_LENGTH + 4 <= buffer.capacity()) {
+                int length = buffer.getInt(position + 1 + HASH_LENGTH);
+                size = blobRecordSize(length);
+                if (length < 0 || !checksumMatches(buffer, position, size)) {
+                    break;
+                }
+                byte[] hash = new byte[HASH_LENGTH];
+                buffer.get(position + 1, hash);
+                blobs.put(HexFormat.of().formatHex(hash),
+                        new BlobEntry(segment.id(), position + 1 + HASH_LENGTH + 4, length));
+            } else if (type == KEY && position + 3 <= buffer.capacity()) {
+                short keyLength = buffer.getShort(position + 1);
+                size = keyRecordSize(keyLength);
+                if (keyLength < 0 || !checksumMatches(buffer, position, size)) {
+                    break;
+                }
+                byte[] key = new byte[keyLength];
+                buffer.get(position + 3, key);
+                long storedAt = buffer.getLong(position + 3 + keyLength);
+                byte[] hash = new byte[HASH_LENGTH];
+                buffer.get(position + 3 + keyLength + 8, hash);
+                keys.put(new String(key, StandardCharsets.UTF_8),
+                        new KeyEntry(HexFormat.of().formatHex(hash), storedAt));
+            } else {
+                break;
+            }
+            position += size;
+            writtenBytes += size;
+        }
+        segment.position(position);
+    }
+
+    private static boolean checksumMatches(ByteBuffer buffer, int position, int size) {
+        if (size <= CRC_LENGTH || position + size > buffer.capacity()) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position, size - CRC_LENGTH));
+        return (int) crc.getValue() == buffer.getInt(position + size - CRC_LENGTH);
+    }
+
+    private void appendBlob(String hash, byte[] body) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(blobRecordSize(body.length));
+        record.put(BLOB).put(HexFormat.of().parseHex(hash)).putInt(body.length).put(body);
+        int offset = append(record);
+        blobs.put(hash, new BlobEntry(activeSegment.id(), offset + 1 + HASH_LENGTH + 4, body.length));
+    }
+
+    private void appendKey(String key, byte[] keyBytes, long storedAt, String hash) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(keyRecordSize(keyBytes.length));
+        record.put(KEY).putShort((short) keyBytes.length).put(keyBytes).putLong(storedAt)
+                .put(HexFormat.of().parseHex(hash));
+        append(record);
+        keys.put(key, new KeyEntry(hash, storedAt));
+    }
+
+    /**
+     * Appends a record (without its checksum, which is added here) and returns its offset.
+     */
+    private int append(ByteBuffer record) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, record.position());
+        record.putInt((int) crc.getValue());
+        record.flip();
+        if (!activeSegment.fits(record.remaining())) {
+            activeSegment = newSegment(activeSegment.id() + 1);
+        }
+        writtenBytes += record.remaining();
+        return activeSegment.append(record);
+    }
+
+    private Segment newSegment(int id) throws IOException {
+        Path file = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        Files.deleteIfExists(file);
+        Segment segment = Segment.open(file, id, segmentSize);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private static int blobRecordSize(int bodyLength) {
+        return 1 + HASH_LENGTH + 4 + bodyLength + CRC_LENGTH;
+    }
+
+    private static int keyRecordSize(int keyLength) {
+        return 1 + 2 + keyLength + 8 + HASH_LENGTH + CRC_LENGTH;
+    }
+
+    private static int segmentId(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record KeyEntry(String hash, long storedAt) {
+    }
+
+    private record BlobEntry(int segment, int offset, int length) {
+    }
+
+    private record StoredResponse(byte[] body, long storedAt) {
+    }
+
+    /**
+     * A segment file of fixed capacity, mapped into memory for both appends and reads.
+     */
+    private static final class Segment {
+
+        private final int id;
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        private Segment(int id, Path file, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path file, int id, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            int size = (int) Math.max(channel.size(), capacity);
+            return new Segment(id, file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        int id() {
+            return id;
+        }
+
+        MappedByteBuffer buffer() {
+            return buffer;
+        }
+
+        void position(int position) {
+            this.position = position;
+        }
+
+        boolean fits(int size) {
+            return position + size <= buffer.capacity();
+        }
+
+        int append(ByteBuffer record) {
+            int offset = position;
+            buffer.put(offset, record, 0, record.remaining());
+            position += record.remaining();
+            return offset;
+        }
+
+        byte[] read(int offset, int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(offset, bytes);
+            return bytes;
+        }
+
+        void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close segment {}: {}", file, e.getMessage());
+            }
+        }
+
+        void delete() throws IOException {
+            close();
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookId;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streaming decoder for OpenLibrary {@code search.json} responses.
+ *
+ * Reads the response token by token and maps each entry of {@code docs} straight into a
+ * {@link Book} as it arrives, without building a tree for the whole response.
+ * Fields that are not mapped are skipped without being materialized.
+ */
+public class OpenLibrarySearchDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Decodes a search response.
+     *
+     * @param body The response body, may be empty
+     * @return The mapped books, or an empty list if the response has no {@code docs}
+     * @throws IOException If the body is not valid JSON
+     */
+    public List<Book> decode(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Collections.emptyList();
+            }
+
+            List<Book> books = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("docs".equals(field) && value == JsonToken.START_ARRAY) {
+                    books = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        Book book = readDoc(parser);
+                        if (book != null) {
+                            books.add(book);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return books != null ? books : Collections.emptyList();
+        }
+    }
+
+    private Book readDoc(JsonParser parser) throws IOException {
+        String key = null;
+        String title = null;
+        String author = "Unknown Author";
+        int firstPublishYear = 0;
+        long coverId = 0;
+        String isbn = null;
+        String description = null;
+        List<String> genres = new ArrayList<>();
+        String language = null;
+        Integer pageCount = null;
+        String publisher = null;
+        List<String> redirects = new ArrayList<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "key" -> key = text(parser, value);
+                case "title" -> title = text(parser, value);
+                case "author_name" -> {
+                    String first = first(parser, value);
+                    if (first != null) {
+                        author = first;
+                    }
+                }
+                case "first_publish_year" -> firstPublishYear = value.isScalarValue() ? parser.getValueAsInt(0) : skip(parser, 0);
+                case "cover_i" -> coverId = value.isScalarValue() ? parser.getValueAsLong(0) : skip(parser, 0);
+                case "isbn" -> isbn = first(parser, value);
+                case "first_sentence" -> description = value == JsonToken.START_ARRAY ? first(parser, value) : text(parser, value);
+                case "subject" -> all(parser, value, genres);
+                case "language" -> language = first(parser, value);
+                case "number_of_pages_median" -> pageCount = value.isNumeric() || value == JsonToken.VALUE_STRING
+                        ? Integer.valueOf(parser.getValueAsInt()) : skip(parser, null);
+                case "publisher" -> publisher = first(parser, value);
+                case "redirects" -> all(parser, value, redirects);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (title == null) {
+            // Books cannot exist without a title, skip the doc rather than failing the whole response
+            return null;
+        }
+        Book book = toBook(key, title, author, firstPublishYear, coverId, isbn, description, genres,
+                language, pageCount, publisher);
+        book.addOpenLibraryKeyAliases(redirects);
+        return book;
+    }
+
+    private static Book toBook(String key, String title, String author, int firstPublishYear, long coverId,
+                               String isbn, String description, List<String> genres, String language,
+                               Integer pageCount, String publisher) {
+        String coverUrl = coverId > 0 ? OpenLibraryWorkMapper.coverUrl(coverId) : null;
+
+        LocalDate publicationDate = firstPublishYear > 0 ? LocalDate.of(firstPublishYear, 1, 1) : null;
+        LocalDateTime now = LocalDateTime.now();
+
+        return Book.reconstitute(
+            BookId.forOpenLibraryKey(key),
+            title,
+            author,
+            isbn,
+            description,
+            coverUrl,
+            pageCount,
+            genres,
+            language,
+            publicationDate,
+            publisher,
+            key,
+            now,
+            now
+        );
+    }
+
+    /**
+     * Reads a scalar value as text, skipping structured values.
+     */
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    /**
+     * Reads the first element of an array value, skipping the rest.
+     */
+    private static String first(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            return text(parser, value);
+        }
+        String first = null;
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+            String text = text(parser, element);
+            if (first == null) {
+                first = text;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Adds every scalar element of an array value to the target list.
+     */
+    private static void all(JsonParser parser, JsonToken value, List<String> target) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+            String text = text(parser, element);
+            if (text != null) {
+                target.add(text);
+            }
+        }
+    }
+
+    private static <T> T skip(JsonParser parser, T fallback) throws IOException {
+        parser.skipChildren();
+        return fallback;
+    }
+}
@@ -0,0 +1,158 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookId;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maps OpenLibrary work records, as returned by the Works API and found in the works dump, to books.
+ */
+@Slf4j
+public final class OpenLibraryWorkMapper {
+
+    private OpenLibraryWorkMapper() {
+    }
+
+    /**
+     * @param workData The work record
+     * @return The key of the work's first author (e.g. /authors/OL23919A), if any
+     */
+    public static Optional<String> firstAuthorKey(JsonNode workData) {
+        if (workData.has("authors") && workData.get("authors").isArray() && workData.get("authors").size() > 0) {
+            JsonNode authorNode = workData.get("authors").get(0);
+            if (authorNode.has("author") && authorNode.get("author").has("key")) {
+                return Optional.of(authorNode.get("author").get("key").asText());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return The name shown for an author whose name could not be resolved
+     */
+    public static String unresolvedAuthorName(String authorKey) {
+        return "Author: " + authorKey.replace("/authors/", "");
+    }
+
+    /**
+     * @return The URL of the large image for a cover id
+     */
+    public static String coverUrl(long coverId) {
+        return OpenLibraryAdapter.COVER_URL + coverId + "-L.jpg";
+    }
+
+    /**
+     * @param workData The work record
+     * @return The work's description, which OpenLibrary stores either as plain text or as a typed text value, or null
+     */
+    public static String description(JsonNode workData) {
+        JsonNode description = workData.get("description");
+        if (description == null) {
+            return null;
+        }
+        if (description.isTextual()) {
+            return description.asText();
+        }
+        return description.has("value") ? description.get("value").asText() : null;
+    }
+
+    /**
+     * Maps a work record to a book.
+     *
+     * @param openLibraryKey The work key, e.g. /works/OL45883W
+     * @param workData The work record
+     * @param authorName The resolved name of the first author, or null if the work has none
+     * @return The book
+     */
+    public static Book toBook(String openLibraryKey, JsonNode workData, String authorName) {
+        String title;
+        try {
+            title = workData.has("title") ? workData.get("title").asText() : "Unknown Title";
+        } catch (Exception e) {
+            log.error("Error extracting title: {}", e.getMessage(), e);
+            title = "Unknown Title";
+        }
+        
+        int firstPublishYear = 0;
+        try {
+            if (workData.has("first_publish_date")) {
+                String dateStr = workData.get("first_publish_date").asText();
+                if (dateStr.matches(".*\\d{4}.*")) {
+                    firstPublishYear = Integer.parseInt(dateStr.replaceAll(".*?(\\d{4}).*", "$1"));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error extracting publication year: {}", e.getMessage(), e);
+        }
+        
+        String coverUrl = null;
+        try {
+            if (workData.has("covers") && workData.get("covers").isArray() && workData.get("covers").size() > 0) {
+                coverUrl = coverUrl(workData.get("covers").get(0).asLong());
+            }
+        } catch (Exception e) {
+            log.error("Error extracting cover: {}", e.getMessage(), e);
+        }
+        
+        // Calculate the description
+        String description = null;
+        try {
+            description = description(workData);
+        } catch (Exception e) {
+            log.error("Error extracting description: {}", e.getMessage(), e);
+        }
+        
+        List<String> genres = new ArrayList<>();
+        try {
+            if (workData.has("subjects") && workData.get("subjects").isArray()) {
+                workData.get("subjects").forEach(subject -> 
+                    genres.add(subject.asText()));
+            }
+        } catch (Exception e) {
+            log.error("Error extracting genres: {}", e.getMessage(), e);
+        }
+        
+        // Get primary ISBN if available
+        String isbn = null;
+        try {
+            if (workData.has("identifiers") && workData.get("identifiers").has("isbn_10") && 
+                workData.get("identifiers").get("isbn_10").isArray() && 
+                workData.get("identifiers").get("isbn_10").size() > 0) {
+                isbn = workData.get("identifiers").get("isbn_10").get(0).asText();
+            } else if (workData.has("identifiers") && workData.get("identifiers").has("isbn_13") && 
+                workData.get("identifiers").get("isbn_13").isArray() && 
+                workData.get("identifiers").get("isbn_13").size() > 0) {
+                isbn = workData.get("identifiers").get("isbn_13").get(0).asText();
+            }
+        } catch (Exception e) {
+            log.error("Error extracting ISBN: {}", e.getMessage(), e);
+        }
+        
+        // Create the domain model
+        LocalDateTime now = LocalDateTime.now();
+        
+        return Book.reconstitute(
+            BookId.forOpenLibraryKey(openLibraryKey),
+            title,
+            authorName != null ? authorName : "Unknown Author",
+            isbn,
+            description,
+            coverUrl,
+            null, // pageCount
+            genres,
+            null, // language
+            firstPublishYear > 0 ? LocalDate.of(firstPublishYear, 1, 1) : null,
+            null, // publisher
+            openLibraryKey, // Add the OpenLibrary key
+            now,
+            now
+        );
+    }
+}
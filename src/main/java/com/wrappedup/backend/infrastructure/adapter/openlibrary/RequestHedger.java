@@ -0,0 +1,227 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hedges slow OpenLibrary requests: if a request has not answered after a delay, an identical
+ * second request is sent, the first answer wins and the other request is cancelled.
+ *
+ * The delay tracks a percentile (e.g. p95) of recent request latencies, so only the slowest few
+ * percent of requests are hedged. Hedges are paid for from a {@link RetryBudget}, which caps them
+ * at a small fraction of regular requests however slow OpenLibrary gets.
+ *
+ * Hedges are started on the hedger's own thread, in the {@link RequestLane} of the caller.
+ */
+@Component
+public class RequestHedger {
+
+    private static final int WINDOW_SIZE = 1024;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final RetryBudget budget;
+    private final Ticker ticker;
+    private final ScheduledExecutorService scheduler;
+
+    private final long[] latencies = new long[WINDOW_SIZE];
+    private int sampleCount;
+    private long delayNanos;
+
+    private final AtomicLong hedgedCount = new AtomicLong();
+    private final AtomicLong hedgeWonCount = new AtomicLong();
+    private final AtomicLong budgetRejectedCount = new AtomicLong();
+
+    @Autowired
+    public RequestHedger(
+            @Value("${openlibrary.hedging.enabled:false}") boolean enabled,
+            @Value("${openlibrary.hedging.percentile:95}") double percentile,
+            @Value("${openlibrary.hedging.initial-delay:300ms}") Duration initialDelay,
+            @Value("${openlibrary.hedging.min-delay:20ms}") Duration minDelay,
+            @Value("${openlibrary.hedging.budget-ratio:0.05}") double budgetRatio) {
+        this(enabled, percentile, initialDelay, minDelay,
+                new RetryBudget(budgetRatio, 0, 10, Ticker.systemTicker()), Ticker.systemTicker());
+    }
+
+    RequestHedger(boolean enabled, double percentile, Duration initialDelay, Duration minDelay,
+                  RetryBudget budget, Ticker ticker) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.budget = budget;
+        this.ticker = ticker;
+        this.delayNanos = initialDelay.toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "openlibrary-hedger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A request that can be started more than once.
+     */
+    @FunctionalInterface
+    public interface HedgeableCall<T> {
+
+        /**
+         * Starts one attempt.
+         *
+         * @param cancelled Completed when the attempt's result is no longer needed, the attempt
+         *                  should then abort its request
+         * @return The attempt's result
+         */
+        CompletableFuture<T> start(CompletableFuture<Void> cancelled);
+    }
+
+    /**
+     * Runs a call, hedged if hedging is enabled.
+     *
+     * @return The result of the first attempt to succeed, or the failure of the last one to fail
+     */
+    public <T> CompletableFuture<T> execute(HedgeableCall<T> call) {
+        if (!enabled) {
+            return call.start(new CompletableFuture<>());
+        }
+        budget.deposit();
+        Hedge<T> hedge = new Hedge<>(call);
+        hedge.startPrimary(currentDelay());
+        return hedge.result;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return How long a request may take before it is hedged
+     */
+    public synchronized Duration currentDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    public long getHedgedCount() {
+        return hedgedCount.get();
+    }
+
+    public long getHedgeWonCount() {
+        return hedgeWonCount.get();
+    }
+
+    public long getBudgetRejectedCount() {
+        return budgetRejectedCount.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    synchronized void recordLatency(long nanos) {
+        latencies[sampleCount % WINDOW_SIZE] = nanos;
+        sampleCount++;
+        if (sampleCount >= MIN_SAMPLES && (sampleCount < WINDOW_SIZE || sampleCount % RECOMPUTE_EVERY == 0)) {
+            long[] window = Arrays.copyOf(latencies, Math.min(sampleCount, WINDOW_SIZE));
+            Arrays.sort(window);
+            int index = (int) Math.ceil(percentile / 100 * window.length) - 1;
+            delayNanos = Math.max(minDelay.toNanos(), window[Math.max(0, Math.min(index, window.length - 1))]);
+        }
+    }
+
+    /**
+     * State of one hedged call: the primary attempt, at most one hedge, and the shared result.
+     */
+    private final class Hedge<T> {
+
+        private final HedgeableCall<T> call;
+        private final RequestLane lane = RequestLane.current();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final CompletableFuture<Void> cancelPrimary = new CompletableFuture<>();
+        private final CompletableFuture<Void> cancelHedge = new CompletableFuture<>();
+        private int attemptsInFlight;
+        private boolean settled;
+
+        private Hedge(HedgeableCall<T> call) {
+            this.call = call;
+        }
+
+        void startPrimary(Duration delay) {
+            synchronized (this) {
+                attemptsInFlight = 1;
+            }
+            attempt(cancelPrimary, false);
+            ScheduledFuture<?> timer = scheduler.schedule(this::startHedge, delay.toNanos(), TimeUnit.NANOSECONDS);
+            result.whenComplete((value, error) -> {
+                timer.cancel(false);
+                cancelPrimary.complete(null);
+                cancelHedge.complete(null);
+            });
+        }
+
+        private void startHedge() {
+            synchronized (this) {
+                if (result.isDone() || attemptsInFlight == 0) {
+                    return;
+                }
+                if (!budget.tryWithdraw()) {
+                    budgetRejectedCount.incrementAndGet();
+                    return;
+                }
+                attemptsInFlight++;
+            }
+            hedgedCount.incrementAndGet();
+            attempt(cancelHedge, true);
+        }
+
+        private void attempt(CompletableFuture<Void> cancelled, boolean isHedge) {
+            long started = ticker.read();
+            CompletableFuture<T> future;
+            try {
+                future = RequestLane.callIn(lane, () -> call.start(cancelled));
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    recordLatency(ticker.read() - started);
+                    // Count the win before completing, so callers see it once they have the result
+                    boolean first;
+                    synchronized (this) {
+                        first = !settled;
+                        settled = true;
+                    }
+                    if (first) {
+                        if (isHedge) {
+                            hedgeWonCount.incrementAndGet();
+                        }
+                        result.complete(value);
+                    }
+                    return;
+                }
+                // The call only fails once no attempt is left that could still succeed
+                boolean last;
+                synchronized (this) {
+                    last = --attemptsInFlight == 0;
+                }
+                if (last) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+    }
+}
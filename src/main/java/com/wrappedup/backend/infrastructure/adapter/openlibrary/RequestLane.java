@@ -0,0 +1,68 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import java.util.function.Supplier;
+
+/**
+ * Priority lanes of the {@link OpenLibraryRateLimiter}.
+ *
+ * Requests are assigned to the lane set for the current thread with {@link #callIn}, or else
+ * to an interactive lane by their URL.
+ */
+public enum RequestLane {
+
+    /** Searches a user is waiting for. */
+    INTERACTIVE_SEARCH,
+
+    /** Works and author lookups a user is waiting for. */
+    INTERACTIVE_DETAIL,
+
+    /** Work nobody is waiting for, such as refreshes and prefetches. */
+    BACKGROUND;
+
+    private static final ThreadLocal<RequestLane> CURRENT = new ThreadLocal<>();
+
+    /**
+     * @param url The request URL
+     * @return The lane of a request made from the current thread
+     */
+    public static RequestLane forUrl(String url) {
+        RequestLane current = CURRENT.get();
+        if (current != null) {
+            return current;
+        }
+        return url.contains("/search.json") ? INTERACTIVE_SEARCH : INTERACTIVE_DETAIL;
+    }
+
+    /**
+     * @return The lane set for the current thread, null if its requests go by their URLs
+     */
+    static RequestLane current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs a call with every OpenLibrary request it makes from the current thread in the given lane.
+     *
+     * @param lane The lane, or null to assign the requests by their URLs
+     */
+    public static <T> T callIn(RequestLane lane, Supplier<T> call) {
+        RequestLane previous = CURRENT.get();
+        CURRENT.set(lane);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runIn(RequestLane lane, Runnable task) {
+        callIn(lane, () -> {
+            task.run();
+            return null;
+        });
+    }
+}
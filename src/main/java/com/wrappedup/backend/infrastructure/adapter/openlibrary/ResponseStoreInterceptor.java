@@ -0,0 +1,116 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * RestTemplate interceptor that answers GET requests from the {@link OpenLibraryResponseStore}.
+ *
+ * A fresh stored response is returned without any network call. Otherwise the request is made
+ * and a successful response is stored before being handed back; if the request fails or
+ * OpenLibrary is unhealthy, an expired stored response is served instead, when there is one.
+ * It runs first in the chain, so stored responses bypass the guard and arrive decompressed.
+ */
+@Slf4j
+public class ResponseStoreInterceptor implements ClientHttpRequestInterceptor {
+
+    private final OpenLibraryResponseStore store;
+
+    public ResponseStoreInterceptor(OpenLibraryResponseStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!store.isEnabled() || request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+        String url = request.getURI().toString();
+        Optional<byte[]> fresh = store.getFresh(url);
+        if (fresh.isPresent()) {
+            return new StoredResponse(fresh.get());
+        }
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            Optional<byte[]> stale = store.getStale(url);
+            if (stale.isPresent()) {
+                log.debug("Serving stored response for {} after error: {}", url, e.getMessage());
+                return new StoredResponse(stale.get());
+            }
+            throw e;
+        }
+
+        HttpStatusCode status = response.getStatusCode();
+        if (OpenLibraryGuard.isUpstreamFailure(status)) {
+            Optional<byte[]> stale = store.getStale(url);
+            if (stale.isPresent()) {
+                response.close();
+                log.debug("Serving stored response for {} after HTTP {}", url, status.value());
+                return new StoredResponse(stale.get());
+            }
+            return response;
+        }
+        if (status.value() != HttpStatus.OK.value()) {
+            return response;
+        }
+        byte[] bytes;
+        try (response; InputStream in = response.getBody()) {
+            bytes = in.readAllBytes();
+        }
+        store.put(url, bytes);
+        return new StoredResponse(bytes);
+    }
+
+    private static final class StoredResponse implements ClientHttpResponse {
+
+        private final byte[] body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private StoredResponse(byte[] body) {
+            this.body = body;
+            this.headers.setContentType(MediaType.APPLICATION_JSON);
+            this.headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
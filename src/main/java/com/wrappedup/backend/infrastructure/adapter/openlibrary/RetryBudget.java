@@ -0,0 +1,78 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Limits retries and fallback calls to a fraction of regular calls.
+ *
+ * Every regular call deposits {@code ratio} of a token, every retry withdraws a whole one.
+ * A small reserve of {@code minPerSecond} tokens per second lets low-traffic callers retry at all.
+ * The balance is capped, so a long quiet period cannot build up a burst of retries.
+ */
+public class RetryBudget {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double maxBalance;
+    private final Ticker ticker;
+
+    private double balance;
+    private long lastRefill;
+    private long allowedCount;
+    private long rejectedCount;
+
+    /**
+     * @param ratio Tokens deposited per regular call, e.g. 0.1 for one retry per ten calls
+     * @param minPerSecond Tokens added per second regardless of traffic
+     * @param maxBalance Maximum number of tokens that can be saved up
+     * @param ticker Time source
+     */
+    public RetryBudget(double ratio, double minPerSecond, double maxBalance, Ticker ticker) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.maxBalance = Math.max(1, maxBalance);
+        this.ticker = ticker;
+        this.balance = Math.min(this.maxBalance, minPerSecond);
+        this.lastRefill = ticker.read();
+    }
+
+    /**
+     * Records a regular call.
+     */
+    public synchronized void deposit() {
+        refill();
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    /**
+     * Withdraws a token for a retry.
+     *
+     * @return Whether the retry may be made
+     */
+    public synchronized boolean tryWithdraw() {
+        refill();
+        if (balance >= 1) {
+            balance -= 1;
+            allowedCount++;
+            return true;
+        }
+        rejectedCount++;
+        return false;
+    }
+
+    public synchronized long getAllowedCount() {
+        return allowedCount;
+    }
+
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    private void refill() {
+        long now = ticker.read();
+        balance = Math.min(maxBalance, balance + (now - lastRefill) / NANOS_PER_SECOND * minPerSecond);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,50 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+/**
+ * Named field projections for OpenLibrary {@code search.json} requests.
+ * Each profile lists only the fields its use case reads, keeping the response payload small.
+ */
+public enum SearchFieldProfile {
+
+    /**
+     * The fields needed to render a search result list, i.e. everything mapped onto {@code Book}.
+     */
+    SEARCH_LIST(
+            "key", "title", "author_name", "first_publish_year", "cover_i", "isbn",
+            "first_sentence", "subject", "language", "number_of_pages_median", "publisher"),
+
+    /**
+     * Every field the books catalog can store, for detail lookups by work key.
+     */
+    FULL_DETAIL(
+            "key", "redirects", "title", "subtitle", "alternative_title", "alternative_subtitle",
+            "cover_i", "ebook_access", "edition_count", "edition_key", "format", "by_statement",
+            "publish_date", "lccn", "ia", "oclc", "isbn", "contributor", "publish_place",
+            "publisher", "first_sentence", "author_key", "author_name", "author_alternative_name",
+            "subject", "person", "place", "time", "has_fulltext", "title_suggest", "publish_year",
+            "language", "number_of_pages_median", "ia_count", "publisher_facet", "author_facet",
+            "first_publish_year", "ratings_count", "readinglog_count", "want_to_read_count",
+            "currently_reading_count", "already_read_count", "subject_key", "person_key",
+            "place_key", "time_key", "lcc", "ddc", "lcc_sort", "ddc_sort"),
+
+    /**
+     * The fields that change after a work is stored, for the background metadata refresh.
+     */
+    METADATA_REFRESH(
+            "key", "cover_i", "ebook_access", "edition_count", "has_fulltext", "number_of_pages_median",
+            "ratings_count", "readinglog_count", "want_to_read_count", "currently_reading_count",
+            "already_read_count");
+
+    private final String fields;
+
+    SearchFieldProfile(String... fields) {
+        this.fields = String.join(",", fields);
+    }
+
+    /**
+     * @return The comma-separated value for the {@code fields} query parameter
+     */
+    public String fields() {
+        return fields;
+    }
+}
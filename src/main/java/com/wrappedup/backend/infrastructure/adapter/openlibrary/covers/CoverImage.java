@@ -0,0 +1,13 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.covers;
+
+import java.nio.file.Path;
+
+/**
+ * A cover image stored on local disk.
+ *
+ * @param file The image file
+ * @param length The file length in bytes
+ * @param etag Hash of the image bytes, to be used as a strong entity tag
+ */
+public record CoverImage(Path file, long length, String etag) {
+}
@@ -0,0 +1,347 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.covers;
+
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryGuard;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryHttpClient;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryRateLimiter;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.RequestLane;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Local disk cache of OpenLibrary cover images.
+ *
+ * Each image is fetched from the Covers API once and kept as {@code <coverId>-<size>-<hash>.jpg},
+ * where the hash of the image bytes doubles as its entity tag, so the tag survives restarts
+ * without re-reading the file. The cache is bounded by the total size of its files and evicts the
+ * least recently used images first; recency is tracked in memory and, after a restart, starts
+ * out in file modification order. Concurrent requests for the same uncached image share one fetch.
+ *
+ * Fetches wait for an {@link OpenLibraryRateLimiter} token and run under an {@link OpenLibraryGuard}
+ * permit of their own. The Covers API is another host and the cover proxy is public, so cover
+ * traffic gets neither the rate of the API requests users wait for nor their circuit breaker.
+ */
+@Component
+@Slf4j
+public class CoverImageStore {
+
+    private static final Pattern FILE_NAME = Pattern.compile("(\\d+)-([SML])-([0-9a-f]{16})\\.jpg");
+    private static final String TEMP_SUFFIX = ".tmp";
+    /**
+     * Every fetch is made for a user waiting for the image.
+     */
+    private static final RequestLane LANE = RequestLane.INTERACTIVE_DETAIL;
+
+    private final HttpClient httpClient;
+    private final OpenLibraryGuard guard;
+    private final OpenLibraryRateLimiter rateLimiter;
+    private final Duration requestTimeout;
+    private final String baseUrl;
+    private final Path directory;
+    private final long maxSize;
+    private final ConcurrentMap<String, CompletableFuture<Optional<CoverImage>>> fetches = new ConcurrentHashMap<>();
+
+    // Access-ordered, guarded by this
+    private final LinkedHashMap<String, CoverImage> images = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong fetchCount = new AtomicLong();
+    private final AtomicLong notFoundCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    @Autowired
+    public CoverImageStore(
+            OpenLibraryHttpClient openLibraryHttpClient,
+            @Value("${openlibrary.covers.base-url:https://covers.openlibrary.org}") String baseUrl,
+            @Value("${openlibrary.covers.directory:data/covers}") Path directory,
+            @Value("${openlibrary.covers.max-size:2GB}") DataSize maxSize,
+            @Value("${openlibrary.rate-limit.enabled:true}") boolean rateLimitEnabled,
+            @Value("${openlibrary.covers.rate-limit.requests-per-second:10}") double requestsPerSecond,
+            @Value("${openlibrary.covers.rate-limit.burst:20}") int burst,
+            @Value("${openlibrary.covers.rate-limit.max-wait:1s}") Duration maxWait,
+            @Value("${openlibrary.covers.resilience.max-concurrent-calls:16}") int maxConcurrentCalls,
+            @Value("${openlibrary.covers.resilience.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${openlibrary.covers.resilience.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${openlibrary.covers.resilience.minimum-calls:10}") int minimumCalls,
+            @Value("${openlibrary.covers.resilience.open-duration:30s}") Duration openDuration) {
+        // Covers are never retried, the guard's retry budget goes unused
+        this(openLibraryHttpClient.getHttpClient(),
+                new OpenLibraryGuard(maxConcurrentCalls, failureRateThreshold, slidingWindowSize, minimumCalls,
+                        openDuration, 3, 0, 0),
+                new OpenLibraryRateLimiter(rateLimitEnabled, requestsPerSecond, burst,
+                        Map.of(LANE, new OpenLibraryRateLimiter.LaneLimit(requestsPerSecond, 1, maxWait))),
+                openLibraryHttpClient.getRequestTimeout(), baseUrl, directory, maxSize);
+    }
+
+    CoverImageStore(HttpClient httpClient, OpenLibraryGuard guard, OpenLibraryRateLimiter rateLimiter,
+                    Duration requestTimeout, String baseUrl, Path directory, DataSize maxSize) {
+        this.httpClient = httpClient;
+        this.guard = guard;
+        this.rateLimiter = rateLimiter;
+        this.requestTimeout = requestTimeout;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.directory = directory;
+        this.maxSize = maxSize.toBytes();
+        open();
+    }
+
+    /**
+     * Returns a cover image, fetching it from OpenLibrary if it is not stored yet.
+     *
+     * @return The stored image, or empty if OpenLibrary has no such cover
+     * @throws OpenLibraryHttpClient.OpenLibraryHttpException If OpenLibrary answered with an error
+     * @throws OpenLibraryGuard.CallNotPermittedException If the image is not stored and OpenLibrary
+     *         may not be called right now
+     * @throws UncheckedIOException If the image could not be fetched or stored
+     */
+    public Optional<CoverImage> get(long coverId, CoverSize size) {
+        String key = coverId + "-" + size.name();
+        CoverImage stored = lookup(key);
+        if (stored != null) {
+            hitCount.incrementAndGet();
+            return Optional.of(stored);
+        }
+        CompletableFuture<Optional<CoverImage>> fetch = new CompletableFuture<>();
+        CompletableFuture<Optional<CoverImage>> running = fetches.putIfAbsent(key, fetch);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            CoverImage fetchedMeanwhile = lookup(key);
+            Optional<CoverImage> image = fetchedMeanwhile != null ? Optional.of(fetchedMeanwhile) : fetch(key);
+            fetch.complete(image);
+            return image;
+        } catch (RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            fetches.remove(key, fetch);
+        }
+    }
+
+    /**
+     * Drops an image whose file has gone missing, so the next request fetches it again.
+     */
+    public synchronized void forget(long coverId, CoverSize size) {
+        CoverImage image = images.remove(coverId + "-" + size.name());
+        if (image != null) {
+            totalBytes -= image.length();
+        }
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int getImageCount() {
+        return images.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getFetchCount() {
+        return fetchCount.get();
+    }
+
+    public long getNotFoundCount() {
+        return notFoundCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        rateLimiter.close();
+    }
+
+    private synchronized CoverImage lookup(String key) {
+        return images.get(key);
+    }
+
+    private Optional<CoverImage> fetch(String key) {
+        String url = baseUrl + "/b/id/" + key + ".jpg?default=false";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("Accept", "image/jpeg")
+                .GET()
+                .build();
+        // The token first, so waiting fetches hold no permit
+        rateLimiter.acquire(LANE);
+        HttpResponse<byte[]> response;
+        try (OpenLibraryGuard.Permit permit = guard.acquire()) {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (OpenLibraryGuard.isUpstreamFailure(HttpStatusCode.valueOf(response.statusCode()))) {
+                permit.recordFailure();
+            } else {
+                permit.recordSuccess();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error fetching cover " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException("Interrupted fetching cover " + url, new IOException(e));
+        }
+        fetchCount.incrementAndGet();
+        if (response.statusCode() == 404) {
+            notFoundCount.incrementAndGet();
+            return Optional.empty();
+        }
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new OpenLibraryHttpClient.OpenLibraryHttpException(response.statusCode(), url);
+        }
+
+        byte[] body = response.body();
+        String etag = hash(body);
+        Path file = directory.resolve(key + "-" + etag + ".jpg");
+        try {
+            Path temp = Files.createTempFile(directory, key + "-", TEMP_SUFFIX);
+            Files.write(temp, body);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error storing cover " + file, e);
+        }
+        CoverImage image = new CoverImage(file, body.length, etag);
+        add(key, image);
+        log.debug("Stored cover {} ({} bytes)", key, body.length);
+        return Optional.of(image);
+    }
+
+    private static Optional<CoverImage> await(CompletableFuture<Optional<CoverImage>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private synchronized void add(String key, CoverImage image) {
+        CoverImage previous = images.put(key, image);
+        if (previous != null) {
+            totalBytes -= previous.length();
+            if (!previous.file().equals(image.file())) {
+                delete(previous.file());
+            }
+        }
+        totalBytes += image.length();
+        evict();
+    }
+
+    /**
+     * Deletes least recently used images until the cache fits its size, always keeping the newest one.
+     */
+    private synchronized void evict() {
+        Iterator<CoverImage> eldest = images.values().iterator();
+        while (totalBytes > maxSize && images.size() > 1 && eldest.hasNext()) {
+            CoverImage image = eldest.next();
+            eldest.remove();
+            totalBytes -= image.length();
+            evictionCount.incrementAndGet();
+            delete(image.file());
+        }
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(Files::isRegularFile).toList();
+            }
+            Map<Path, FileTime> modified = new LinkedHashMap<>();
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    // Left over from a write that did not finish
+                    delete(file);
+                } else if (FILE_NAME.matcher(file.getFileName().toString()).matches()) {
+                    modified.put(file, Files.getLastModifiedTime(file));
+                }
+            }
+            synchronized (this) {
+                modified.entrySet().stream()
+                        .sorted(Map.Entry.comparingByValue())
+                        .forEach(entry -> index(entry.getKey()));
+                evict();
+            }
+            log.info("Cover image store at {} holds {} images ({} bytes)", directory, images.size(), totalBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open cover image store at " + directory, e);
+        }
+    }
+
+    private void index(Path file) {
+        Matcher name = FILE_NAME.matcher(file.getFileName().toString());
+        if (!name.matches()) {
+            return;
+        }
+        try {
+            String key = name.group(1) + "-" + name.group(2);
+            CoverImage image = new CoverImage(file, Files.size(file), name.group(3));
+            CoverImage previous = images.put(key, image);
+            totalBytes += image.length();
+            if (previous != null) {
+                // An older copy of a re-fetched image
+                totalBytes -= previous.length();
+                delete(previous.file());
+            }
+        } catch (IOException e) {
+            log.warn("Skipping unreadable cover file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete cover file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String hash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.covers;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Cover image sizes served by the OpenLibrary Covers API.
+ */
+public enum CoverSize {
+
+    /** Small, for thumbnails in lists. */
+    S,
+
+    /** Medium. */
+    M,
+
+    /** Large, the original upload. */
+    L;
+
+    /**
+     * @param value Size letter, in either case
+     * @return The size, or empty if the value names none
+     */
+    public static Optional<CoverSize> parse(String value) {
+        try {
+            return Optional.of(valueOf(value.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
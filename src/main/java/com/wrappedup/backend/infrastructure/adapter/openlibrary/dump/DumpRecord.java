@@ -0,0 +1,30 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.dump;
+
+/**
+ * One line of an OpenLibrary dump file.
+ *
+ * Dump lines are tab separated: type, key, revision, last modified and the record as JSON,
+ * e.g. {@code /type/work	/works/OL45883W	12	2023-01-01T00:00:00	{...}}.
+ *
+ * @param type The record type, e.g. /type/work or /type/redirect
+ * @param key The record key, e.g. /works/OL45883W
+ * @param json The record itself
+ */
+public record DumpRecord(String type, String key, String json) {
+
+    /**
+     * @param line A dump line
+     * @return The record, or null if the line does not have the expected columns
+     */
+    public static DumpRecord parse(String line) {
+        int typeEnd = line.indexOf('\t');
+        int keyEnd = typeEnd < 0 ? -1 : line.indexOf('\t', typeEnd + 1);
+        int revisionEnd = keyEnd < 0 ? -1 : line.indexOf('\t', keyEnd + 1);
+        int modifiedEnd = revisionEnd < 0 ? -1 : line.indexOf('\t', revisionEnd + 1);
+        if (modifiedEnd < 0) {
+            return null;
+        }
+        return new DumpRecord(line.substring(0, typeEnd), line.substring(typeEnd + 1, keyEnd),
+                line.substring(modifiedEnd + 1));
+    }
+}
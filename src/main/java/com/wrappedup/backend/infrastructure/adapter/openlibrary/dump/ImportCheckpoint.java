@@ -0,0 +1,58 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.dump;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Remembers how many lines of each dump file have been imported, so an interrupted import
+ * can resume where it stopped. The file is replaced atomically on every save.
+ */
+public class ImportCheckpoint {
+
+    private final Path file;
+    private final Properties lines = new Properties();
+
+    public ImportCheckpoint(Path file) {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                lines.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read import checkpoint " + file, e);
+            }
+        }
+    }
+
+    /**
+     * @return The number of leading lines of the dump that are already imported
+     */
+    public synchronized long linesDone(Path dump) {
+        return Long.parseLong(lines.getProperty(name(dump), "0"));
+    }
+
+    /**
+     * Records that the first {@code linesDone} lines of the dump are imported.
+     */
+    public synchronized void save(Path dump, long linesDone) {
+        lines.setProperty(name(dump), Long.toString(linesDone));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                lines.store(out, "OpenLibrary dump import progress (lines imported per dump file)");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write import checkpoint " + file, e);
+        }
+    }
+
+    private static String name(Path dump) {
+        return dump.getFileName().toString();
+    }
+}
@@ -0,0 +1,29 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.dump;
+
+import java.time.Duration;
+
+/**
+ * Outcome of importing one dump file.
+ *
+ * @param dump The dump file name
+ * @param linesRead Lines read in this run, not counting lines skipped from a previous run
+ * @param imported Records written
+ * @param skipped Lines of other record types or with malformed records
+ * @param failedChunks Chunks that could not be written; the checkpoint stops before the first of them
+ * @param elapsed Wall-clock time of the run
+ */
+public record ImportReport(String dump, long linesRead, long imported, long skipped, long failedChunks,
+                           Duration elapsed) {
+
+    /**
+     * @return Lines processed per second
+     */
+    public double recordsPerSecond() {
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000d;
+        return linesRead / seconds;
+    }
+
+    public boolean isComplete() {
+        return failedChunks == 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.dump;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Runs the OpenLibrary dump import on startup when {@code openlibrary.import.enabled=true}.
+ *
+ * Meant to be started as a one-off batch job, e.g.
+ * {@code java -jar app.jar --spring.main.web-application-type=none --openlibrary.import.enabled=true
+ * --openlibrary.import.authors-file=ol_dump_authors_latest.txt.gz --openlibrary.import.works-file=ol_dump_works_latest.txt.gz}.
+ * Rerunning the same command after an interruption resumes from the checkpoint file.
+ */
+@Component
+@ConditionalOnProperty(name = "openlibrary.import.enabled", havingValue = "true")
+@Slf4j
+public class OpenLibraryDumpImportRunner implements ApplicationRunner {
+
+    private final OpenLibraryDumpImporter importer;
+    private final String authorsFile;
+    private final String worksFile;
+    private final String checkpointFile;
+
+    public OpenLibraryDumpImportRunner(
+            OpenLibraryDumpImporter importer,
+            @Value("${openlibrary.import.authors-file:}") String authorsFile,
+            @Value("${openlibrary.import.works-file:}") String worksFile,
+            @Value("${openlibrary.import.checkpoint-file:openlibrary-import.checkpoint}") String checkpointFile) {
+        this.importer = importer;
+        this.authorsFile = authorsFile;
+        this.worksFile = worksFile;
+        this.checkpointFile = checkpointFile;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(Path.of(checkpointFile));
+        if (!authorsFile.isBlank()) {
+            ImportReport authors = importer.importAuthors(Path.of(authorsFile), checkpoint);
+            if (!authors.isComplete()) {
+                log.error("Authors import did not complete, not importing works");
+                return;
+            }
+        }
+        if (!worksFile.isBlank()) {
+            importer.importWorks(Path.of(worksFile), checkpoint);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.dump;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.AuthorNameResolver;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryWorkMapper;
+import com.wrappedup.backend.infrastructure.adapter.persistence.BookImportWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports OpenLibrary dump files (https://openlibrary.org/developers/dumps) into the books catalog.
+ *
+ * A single reader streams the (gzipped) dump line by line and hands out chunks of lines to a
+ * pool of workers, which parse, map and write them. At most two chunks per worker are in memory
+ * at once, whatever the size of the dump. Progress is checkpointed after every chunk that
+ * completes a contiguous run of lines, so an interrupted import resumes where it stopped.
+ *
+ * Import the authors dump before the works dump, so work records can be mapped with author names.
+ */
+@Component
+@Slf4j
+public class OpenLibraryDumpImporter {
+
+    static final String WORK_TYPE = "/type/work";
+    static final String AUTHOR_TYPE = "/type/author";
+
+    private final BookImportWriter writer;
+    private final ObjectMapper objectMapper;
+    private final int threads;
+    private final int chunkSize;
+    private final Duration reportInterval;
+
+    public OpenLibraryDumpImporter(
+            BookImportWriter writer,
+            ObjectMapper objectMapper,
+            @Value("${openlibrary.import.threads:0}") int threads,
+            @Value("${openlibrary.import.chunk-size:1000}") int chunkSize,
+            @Value("${openlibrary.import.report-interval:30s}") Duration reportInterval) {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = Math.max(1, chunkSize);
+        this.reportInterval = reportInterval;
+    }
+
+    /**
+     * Imports author names from an authors dump into the {@code authors} table.
+     */
+    public ImportReport importAuthors(Path dump, ImportCheckpoint checkpoint) {
+        return run(dump, checkpoint, this::writeAuthors);
+    }
+
+    /**
+     * Imports works from a works dump into the {@code books} table, mapped like Works API responses.
+     */
+    public ImportReport importWorks(Path dump, ImportCheckpoint checkpoint) {
+        return run(dump, checkpoint, this::writeWorks);
+    }
+
+    /**
+     * Writes the records of one chunk and returns how many were written.
+     */
+    @FunctionalInterface
+    interface ChunkWriter {
+        int write(List<String> lines, AtomicLong skipped);
+    }
+
+    private ImportReport run(Path dump, ImportCheckpoint checkpoint, ChunkWriter chunkWriter) {
+        return new ImportRun(dump, checkpoint, chunkWriter).execute();
+    }
+
+    private int writeWorks(List<String> lines, AtomicLong skipped) {
+        Map<String, JsonNode> works = new LinkedHashMap<>();
+        Set<String> authorKeys = new LinkedHashSet<>();
+        for (String line : lines) {
+            DumpRecord record = DumpRecord.parse(line);
+            JsonNode work = parse(record, WORK_TYPE);
+            if (work == null) {
+                skipped.incrementAndGet();
+                continue;
+            }
+            works.put(record.key(), work);
+            OpenLibraryWorkMapper.firstAuthorKey(work).map(AuthorNameResolver::normalizeKey).ifPresent(authorKeys::add);
+        }
+
+        Map<String, String> authorNames = writer.findAuthorNames(authorKeys);
+        List<Book> books = new ArrayList<>(works.size());
+        works.forEach((key, work) -> {
+            Optional<String> authorKey = OpenLibraryWorkMapper.firstAuthorKey(work);
+            String authorName = authorKey
+                    .map(author -> authorNames.getOrDefault(AuthorNameResolver.normalizeKey(author),
+                            OpenLibraryWorkMapper.unresolvedAuthorName(author)))
+                    .orElse(null);
+            books.add(OpenLibraryWorkMapper.toBook(key, work, authorName));
+        });
+        return writer.upsertBooks(books);
+    }
+
+    private int writeAuthors(List<String> lines, AtomicLong skipped) {
+        Map<String, String> names = new LinkedHashMap<>();
+        for (String line : lines) {
+            DumpRecord record = DumpRecord.parse(line);
+            JsonNode author = parse(record, AUTHOR_TYPE);
+            if (author == null || !author.hasNonNull("name") || author.get("name").asText().isBlank()) {
+                skipped.incrementAndGet();
+                continue;
+            }
+            names.put(AuthorNameResolver.normalizeKey(record.key()), author.get("name").asText());
+        }
+        return writer.upsertAuthors(names);
+    }
+
+    /**
+     * @return The record of the given type, or null for other types and malformed lines
+     */
+    private JsonNode parse(DumpRecord record, String type) {
+        if (record == null || !type.equals(record.type())) {
+            return null;
+        }
+        try {
+            JsonNode json = objectMapper.readTree(record.json());
+            return json != null && json.isObject() ? json : null;
+        } catch (IOException e) {
+            log.debug("Skipping malformed record {}: {}", record.key(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static BufferedReader open(Path dump) throws IOException {
+        InputStream in = Files.newInputStream(dump);
+        if (dump.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 1 << 16);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    private static void awaitTermination(ExecutorService workers) {
+        workers.shutdown();
+        try {
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.info("Waiting for import workers to finish");
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> new Thread(runnable, "openlibrary-import-" + counter.incrementAndGet());
+    }
+
+    /**
+     * State of importing one dump file.
+     */
+    private final class ImportRun {
+
+        private final Path dump;
+        private final ImportCheckpoint checkpoint;
+        private final ChunkWriter chunkWriter;
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failedChunks = new AtomicLong();
+        private final Semaphore chunksInMemory = new Semaphore(threads * 2);
+        // Chunks complete out of order; the checkpoint only advances over a contiguous run of
+        // completed chunks, so resuming never skips a chunk that was not written
+        private final TreeMap<Long, Long> completedChunks = new TreeMap<>();
+        private long nextCompletedSequence;
+
+        private ImportRun(Path dump, ImportCheckpoint checkpoint, ChunkWriter chunkWriter) {
+            this.dump = dump;
+            this.checkpoint = checkpoint;
+            this.chunkWriter = chunkWriter;
+        }
+
+        ImportReport execute() {
+            long resumeAfter = checkpoint.linesDone(dump);
+            long started = System.nanoTime();
+            ExecutorService workers = Executors.newFixedThreadPool(threads, workerThreadFactory());
+            if (resumeAfter > 0) {
+                log.info("Resuming import of {} after line {}", dump.getFileName(), resumeAfter);
+            }
+
+            long line = 0;
+            try (BufferedReader reader = open(dump)) {
+                long sequence = 0;
+                long lastReport = started;
+                List<String> chunk = new ArrayList<>(chunkSize);
+                String text;
+                while (failedChunks.get() == 0 && (text = reader.readLine()) != null) {
+                    line++;
+                    if (line <= resumeAfter) {
+                        continue;
+                    }
+                    chunk.add(text);
+                    if (chunk.size() == chunkSize) {
+                        submit(workers, sequence++, line, chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                    long now = System.nanoTime();
+                    if (now - lastReport >= reportInterval.toNanos()) {
+                        lastReport = now;
+                        logProgress(line - resumeAfter, now - started);
+                    }
+                }
+                if (!chunk.isEmpty() && failedChunks.get() == 0) {
+                    submit(workers, sequence, line, chunk);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read dump " + dump, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Import of {} interrupted", dump.getFileName());
+            } finally {
+                awaitTermination(workers);
+            }
+
+            ImportReport report = new ImportReport(dump.getFileName().toString(), Math.max(0, line - resumeAfter),
+                    imported.get(), skipped.get(), failedChunks.get(), Duration.ofNanos(System.nanoTime() - started));
+            log.info("Imported {} records from {} ({} lines read, {} skipped, {} failed chunks) in {}s, {} records/s",
+                    report.imported(), report.dump(), report.linesRead(), report.skipped(), report.failedChunks(),
+                    report.elapsed().toSeconds(), String.format("%.0f", report.recordsPerSecond()));
+            return report;
+        }
+
+        private void submit(ExecutorService workers, long sequence, long lastLine, List<String> chunk)
+                throws InterruptedException {
+            chunksInMemory.acquire();
+            workers.execute(() -> {
+                try {
+                    imported.addAndGet(chunkWriter.write(chunk, skipped));
+                    completed(sequence, lastLine);
+                } catch (RuntimeException e) {
+                    log.error("Could not import lines up to {}: {}", lastLine, e.getMessage(), e);
+                    failedChunks.incrementAndGet();
+                } finally {
+                    chunksInMemory.release();
+                }
+            });
+        }
+
+        private synchronized void completed(long sequence, long lastLine) {
+            completedChunks.put(sequence, lastLine);
+            Long linesDone = null;
+            while (completedChunks.containsKey(nextCompletedSequence)) {
+                linesDone = completedChunks.remove(nextCompletedSequence++);
+            }
+            if (linesDone != null) {
+                checkpoint.save(dump, linesDone);
+            }
+        }
+
+        private void logProgress(long lines, long elapsedNanos) {
+            double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000d;
+            log.info("Importing {}: {} lines read, {} records imported, {} records/s",
+                    dump.getFileName(), lines, imported.get(), String.format("%.0f", lines / seconds));
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.refresh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.CircuitBreaker;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryEndpoints;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryGuard;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryHttpClient;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryWorkMapper;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.RequestLane;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.SearchFieldProfile;
+import com.wrappedup.backend.infrastructure.adapter.persistence.BookMetadata;
+import com.wrappedup.backend.infrastructure.adapter.persistence.BookMetadataWriter;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookRefreshCandidate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the OpenLibrary-sourced metadata of stored books (descriptions, covers, edition and
+ * reading-log counts) up to date in the background.
+ *
+ * Every run picks a batch of stale books, recently viewed ones first and then the ones refreshed
+ * longest ago, fetches their counters with a single search request and their works one by one,
+ * and writes back only the books that changed. Requests go through the
+ * {@link RequestLane#BACKGROUND} lane of the rate limiter with a small number in flight, and the
+ * refresher steps aside whenever the circuit is not closed or interactive traffic has OpenLibrary
+ * requests in flight; books it skips stay stale and are picked up by a later run.
+ *
+ * Responses go through the on-disk response store, so a stale-after shorter than
+ * {@code openlibrary.store.ttl} mostly re-reads stored responses.
+ */
+@Component
+@Slf4j
+public class BookMetadataRefresher {
+
+    private static final int MAX_PREFERRED = 1000;
+
+    private final BookMetadataWriter writer;
+    private final RecentBookViews recentViews;
+    private final OpenLibraryHttpClient httpClient;
+    private final OpenLibraryGuard guard;
+    private final OpenLibraryEndpoints endpoints;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration staleAfter;
+    private final int batchSize;
+    private final Semaphore permits;
+    private final int yieldAboveInFlight;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicInteger ownInFlight = new AtomicInteger();
+
+    private final AtomicLong changedCount = new AtomicLong();
+    private final AtomicLong unchangedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong deferredCount = new AtomicLong();
+
+    public BookMetadataRefresher(
+            BookMetadataWriter writer,
+            RecentBookViews recentViews,
+            OpenLibraryHttpClient httpClient,
+            OpenLibraryGuard guard,
+            OpenLibraryEndpoints endpoints,
+            @Value("${openlibrary.refresh.enabled:false}") boolean enabled,
+            @Value("${openlibrary.refresh.interval:1m}") Duration interval,
+            @Value("${openlibrary.refresh.stale-after:7d}") Duration staleAfter,
+            @Value("${openlibrary.refresh.batch-size:50}") int batchSize,
+            @Value("${openlibrary.refresh.max-in-flight:2}") int maxInFlight,
+            @Value("${openlibrary.refresh.yield-above-in-flight:1}") int yieldAboveInFlight) {
+        this.writer = writer;
+        this.recentViews = recentViews;
+        this.httpClient = httpClient;
+        this.guard = guard;
+        this.endpoints = endpoints;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.staleAfter = staleAfter;
+        this.batchSize = batchSize;
+        this.permits = new Semaphore(maxInFlight);
+        this.yieldAboveInFlight = yieldAboveInFlight;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "openlibrary-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::run, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("OpenLibrary metadata refresher started, every {} for books older than {}", interval, staleAfter);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void run() {
+        try {
+            refreshOnce();
+        } catch (RuntimeException e) {
+            log.error("OpenLibrary metadata refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Refreshes one batch of stale books.
+     *
+     * @return The number of books that changed
+     */
+    public int refreshOnce() {
+        return RequestLane.callIn(RequestLane.BACKGROUND, this::refreshBatch);
+    }
+
+    private int refreshBatch() {
+        if (!upstreamIdle()) {
+            deferredCount.incrementAndGet();
+            return 0;
+        }
+        List<BookRefreshCandidate> candidates = writer.findRefreshCandidates(
+                recentViews.mostRecent(MAX_PREFERRED), LocalDateTime.now().minus(staleAfter), batchSize);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime refreshedAt = LocalDateTime.now();
+        List<String> keys = candidates.stream().map(BookRefreshCandidate::getOpenLibraryKey).toList();
+
+        try {
+            Map<String, JsonNode> searchDocs = fetchSearchDocs(keys);
+            Map<String, CompletableFuture<JsonNode>> works = new LinkedHashMap<>();
+            for (String key : keys) {
+                if (!upstreamIdle()) {
+                    deferredCount.incrementAndGet();
+                    break;
+                }
+                works.put(key, limited(() -> httpClient.getJsonAsync(endpoints.workUrl(key))));
+            }
+
+            Map<String, BookMetadata> metadata = new LinkedHashMap<>();
+            works.forEach((key, work) -> {
+                try {
+                    metadata.put(key, toMetadata(work.join(), searchDocs.get(key)));
+                } catch (CompletionException e) {
+                    failedCount.incrementAndGet();
+                    log.debug("Could not refresh {}: {}", key, e.getMessage());
+                }
+            });
+
+            int changed = writer.applyRefresh(metadata, refreshedAt);
+            changedCount.addAndGet(changed);
+            unchangedCount.addAndGet(metadata.size() - changed);
+            log.debug("Refreshed {} books from OpenLibrary, {} changed", metadata.size(), changed);
+            return changed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    /**
+     * Fetches the counters of a batch of works with one search request.
+     *
+     * @return Search documents by work key, empty if the request failed
+     */
+    private Map<String, JsonNode> fetchSearchDocs(List<String> keys) throws InterruptedException {
+        if (!upstreamIdle()) {
+            return Collections.emptyMap();
+        }
+        String query = keys.stream()
+                .map(key -> key.replace("/works/", ""))
+                .collect(Collectors.joining(" OR ", "key:(", ")"));
+        String url = UriComponentsBuilder.fromUriString(endpoints.searchUrl())
+                .queryParam("q", query)
+                .queryParam("fields", SearchFieldProfile.METADATA_REFRESH.fields())
+                .queryParam("limit", keys.size())
+                .build()
+                .toUriString();
+        try {
+            JsonNode response = limited(() -> httpClient.getJsonAsync(url)).join();
+            Map<String, JsonNode> docs = new HashMap<>();
+            if (response != null && response.path("docs").isArray()) {
+                response.get("docs").forEach(doc -> docs.put(doc.path("key").asText(), doc));
+            }
+            return docs;
+        } catch (CompletionException e) {
+            log.debug("Could not fetch OpenLibrary counters, refreshing works only: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Starts a request once one of the refresher's request slots is free.
+     */
+    private CompletableFuture<JsonNode> limited(Supplier<CompletableFuture<JsonNode>> starter) throws InterruptedException {
+        permits.acquire();
+        ownInFlight.incrementAndGet();
+        CompletableFuture<JsonNode> request;
+        try {
+            request = starter.get();
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        return request.whenComplete((result, error) -> {
+            ownInFlight.decrementAndGet();
+            permits.release();
+        });
+    }
+
+    /**
+     * @return Whether OpenLibrary is healthy and not busy with interactive requests
+     */
+    private boolean upstreamIdle() {
+        return guard.getCircuitState() == CircuitBreaker.State.CLOSED
+                && guard.getInFlightCount() - ownInFlight.get() < yieldAboveInFlight;
+    }
+
+    /**
+     * @param work Works API response, null if the work no longer exists
+     * @param searchDoc Search document with the counters, null if unknown
+     */
+    static BookMetadata toMetadata(JsonNode work, JsonNode searchDoc) {
+        if (work == null) {
+            return BookMetadata.EMPTY;
+        }
+        BookMetadata.BookMetadataBuilder metadata = BookMetadata.builder();
+        if (searchDoc != null) {
+            metadata.editionCount(integer(searchDoc, "edition_count"))
+                    .ebookAccess(searchDoc.hasNonNull("ebook_access") ? searchDoc.get("ebook_access").asText() : null)
+                    .hasFulltext(searchDoc.hasNonNull("has_fulltext") ? searchDoc.get("has_fulltext").asBoolean() : null)
+                    .numberOfPagesMedian(integer(searchDoc, "number_of_pages_median"))
+                    .ratingsCount(integer(searchDoc, "ratings_count"))
+                    .readinglogCount(integer(searchDoc, "readinglog_count"))
+                    .wantToReadCount(integer(searchDoc, "want_to_read_count"))
+                    .currentlyReadingCount(integer(searchDoc, "currently_reading_count"))
+                    .alreadyReadCount(integer(searchDoc, "already_read_count"));
+            long coverId = searchDoc.path("cover_i").asLong();
+            if (coverId > 0) {
+                metadata.coverId(coverId).coverUrl(OpenLibraryWorkMapper.coverUrl(coverId));
+            }
+        }
+        JsonNode covers = work.path("covers");
+        if (covers.isArray() && !covers.isEmpty() && covers.get(0).asLong() > 0) {
+            long coverId = covers.get(0).asLong();
+            metadata.coverId(coverId).coverUrl(OpenLibraryWorkMapper.coverUrl(coverId));
+        }
+        if (work.hasNonNull("title")) {
+            metadata.title(work.get("title").asText());
+        }
+        return metadata.description(OpenLibraryWorkMapper.description(work)).build();
+    }
+
+    private static Integer integer(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asInt() : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getChangedCount() {
+        return changedCount.get();
+    }
+
+    public long getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getDeferredCount() {
+        return deferredCount.get();
+    }
+}
@@ -0,0 +1,57 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.refresh;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Remembers which books were viewed recently, so the metadata refresher can refresh them first.
+ * Bounded in size and age; nothing is persisted, after a restart the refresher falls back to the
+ * stalest books until views come in again.
+ */
+@Component
+public class RecentBookViews {
+
+    private final Cache<UUID, Boolean> views;
+
+    @Autowired
+    public RecentBookViews(
+            @Value("${openlibrary.refresh.recent-views.maximum-size:10000}") long maximumSize,
+            @Value("${openlibrary.refresh.recent-views.ttl:24h}") Duration ttl) {
+        this(maximumSize, ttl, Ticker.systemTicker());
+    }
+
+    RecentBookViews(long maximumSize, Duration ttl, Ticker ticker) {
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+    }
+
+    public void record(UUID bookId) {
+        views.put(bookId, Boolean.TRUE);
+    }
+
+    /**
+     * @param limit Maximum number of ids to return
+     * @return Ids of recently viewed books, most recent first
+     */
+    public List<UUID> mostRecent(int limit) {
+        return views.policy().expireAfterWrite()
+                .map(expiration -> new ArrayList<>(expiration.youngest(limit).keySet()))
+                .orElseGet(ArrayList::new);
+    }
+
+    public long size() {
+        return views.estimatedSize();
+    }
+}
@@ -0,0 +1,94 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.standin;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Upstream behaviour simulated by the {@link OpenLibraryStandInServer}.
+ *
+ * Latencies follow a log-normal distribution fitted to a median and a 99th percentile, which
+ * gives the long right tail real upstreams have; when both are equal every response takes
+ * exactly that long. A fraction of requests fail with {@code errorStatus}, and another
+ * fraction hang for {@code timeoutDelay} and are then dropped without a response.
+ *
+ * @param medianLatency Median response latency
+ * @param p99Latency 99th percentile response latency
+ * @param errorRate Fraction of requests answered with {@code errorStatus}, between 0 and 1
+ * @param errorStatus HTTP status of failed requests, e.g. 503 or 429
+ * @param timeoutRate Fraction of requests that never get a response, between 0 and 1
+ * @param timeoutDelay How long timed-out requests hang before the connection is closed
+ */
+public record FaultProfile(
+        Duration medianLatency,
+        Duration p99Latency,
+        double errorRate,
+        int errorStatus,
+        double timeoutRate,
+        Duration timeoutDelay) {
+
+    // 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.3263478740408408;
+
+    public FaultProfile {
+        if (p99Latency.compareTo(medianLatency) < 0) {
+            throw new IllegalArgumentException("p99 latency must not be below the median latency");
+        }
+        if (errorRate < 0 || errorRate > 1 || timeoutRate < 0 || timeoutRate > 1 || errorRate + timeoutRate > 1) {
+            throw new IllegalArgumentException("Error and timeout rates must be between 0 and 1 and add up to at most 1");
+        }
+    }
+
+    /**
+     * @return A profile that answers every request immediately and successfully
+     */
+    public static FaultProfile none() {
+        return latency(Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * @return A profile with the given latency distribution and no faults
+     */
+    public static FaultProfile latency(Duration median, Duration p99) {
+        return new FaultProfile(median, p99, 0, 503, 0, Duration.ZERO);
+    }
+
+    public FaultProfile withErrors(double rate, int status) {
+        return new FaultProfile(medianLatency, p99Latency, rate, status, timeoutRate, timeoutDelay);
+    }
+
+    public FaultProfile withTimeouts(double rate, Duration delay) {
+        return new FaultProfile(medianLatency, p99Latency, errorRate, errorStatus, rate, delay);
+    }
+
+    /**
+     * Draws a response latency.
+     */
+    public Duration sampleLatency(RandomGenerator random) {
+        long median = medianLatency.toNanos();
+        if (median <= 0 || p99Latency.equals(medianLatency)) {
+            return medianLatency;
+        }
+        double sigma = Math.log((double) p99Latency.toNanos() / median) / Z_99;
+        return Duration.ofNanos((long) (median * Math.exp(sigma * random.nextGaussian())));
+    }
+
+    /**
+     * Draws the outcome of a request.
+     */
+    public Outcome sampleOutcome(RandomGenerator random) {
+        double draw = random.nextDouble();
+        if (draw < timeoutRate) {
+            return Outcome.TIMEOUT;
+        }
+        if (draw < timeoutRate + errorRate) {
+            return Outcome.ERROR;
+        }
+        return Outcome.OK;
+    }
+
+    public enum Outcome {
+        OK,
+        ERROR,
+        TIMEOUT
+    }
+}
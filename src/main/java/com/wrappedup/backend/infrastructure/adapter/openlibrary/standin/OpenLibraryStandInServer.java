@@ -0,0 +1,268 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.standin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Embeddable stand-in for the OpenLibrary APIs, for load tests and tests without network access.
+ *
+ * Serves {@code /search.json}, {@code /search/authors.json}, {@code /works/*.json} and
+ * {@code /authors/*.json} from recorded fixtures, either from the classpath
+ * ({@code openlibrary-standin/}) or from a directory with the same layout:
+ * <ul>
+ *   <li>{@code works/OL893415W.json} and {@code authors/OL79034A.json}: Works and Authors API responses;</li>
+ *   <li>{@code search/<query>.json}: search responses by lower-cased query with runs of other
+ *   characters than letters and digits replaced by {@code -}, falling back to {@code search/default.json}.</li>
+ * </ul>
+ * Author searches are answered from the author fixtures. Every response goes through the
+ * current {@link FaultProfile}, which can be changed while the server runs.
+ *
+ * Point the application at it with {@code openlibrary.base-url}, or run it with the
+ * {@code openlibrary-standin} profile.
+ */
+@Slf4j
+public class OpenLibraryStandInServer implements AutoCloseable {
+
+    public static final String CLASSPATH_FIXTURES = "openlibrary-standin/";
+
+    private static final Pattern AUTHOR_KEY = Pattern.compile("OL\\d+A");
+    private static final byte[] NOT_FOUND = "{\"error\": \"notfound\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Path fixturesDirectory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Optional<byte[]>> fixtures = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile FaultProfile faultProfile;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    /**
+     * @param port Port to listen on, 0 for any free port
+     * @param fixturesDirectory Directory with the fixtures, or null for the classpath fixtures
+     * @param faultProfile Initial upstream behaviour
+     */
+    public OpenLibraryStandInServer(int port, Path fixturesDirectory, FaultProfile faultProfile) {
+        this.fixturesDirectory = fixturesDirectory;
+        this.faultProfile = faultProfile;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start OpenLibrary stand-in on port " + port, e);
+        }
+        // Simulated latencies block their thread, so requests get a thread each
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "openlibrary-standin-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public OpenLibraryStandInServer start() {
+        server.start();
+        log.info("OpenLibrary stand-in listening on {}", getBaseUrl());
+        return this;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return The base URL to configure as {@code openlibrary.base-url}
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public FaultProfile getFaultProfile() {
+        return faultProfile;
+    }
+
+    public void setFaultProfile(FaultProfile faultProfile) {
+        this.faultProfile = faultProfile;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        FaultProfile profile = faultProfile;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (exchange) {
+            switch (profile.sampleOutcome(random)) {
+                case TIMEOUT -> {
+                    timeoutCount.incrementAndGet();
+                    sleep(profile.timeoutDelay());
+                    // Closing the exchange without sending headers drops the connection
+                    return;
+                }
+                case ERROR -> {
+                    errorCount.incrementAndGet();
+                    sleep(profile.sampleLatency(random));
+                    respond(exchange, profile.errorStatus(),
+                            "{\"error\": \"stand-in fault\"}".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                case OK -> sleep(profile.sampleLatency(random));
+            }
+
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, new byte[0]);
+                return;
+            }
+            Optional<byte[]> body = route(exchange);
+            if (body.isPresent()) {
+                respond(exchange, 200, body.get());
+            } else {
+                respond(exchange, 404, NOT_FOUND);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Optional<byte[]> route(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/search.json")) {
+            String query = queryParam(exchange, "q");
+            return fixture("search/" + slug(query) + ".json").or(() -> fixture("search/default.json"));
+        }
+        if (path.equals("/search/authors.json")) {
+            return Optional.of(searchAuthors(queryParam(exchange, "q")));
+        }
+        if ((path.startsWith("/works/") || path.startsWith("/authors/")) && path.endsWith(".json")
+                && !path.contains("..")) {
+            return fixture(path.substring(1));
+        }
+        return Optional.empty();
+    }
+
+    private byte[] searchAuthors(String query) {
+        ObjectNode response = objectMapper.createObjectNode();
+        ArrayNode docs = response.putArray("docs");
+        Matcher keys = AUTHOR_KEY.matcher(query);
+        while (keys.find()) {
+            String key = keys.group();
+            fixture("authors/" + key + ".json").ifPresent(json -> {
+                try {
+                    ObjectNode doc = docs.addObject();
+                    doc.put("key", key);
+                    doc.set("name", objectMapper.readTree(json).get("name"));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Invalid author fixture " + key, e);
+                }
+            });
+        }
+        response.put("numFound", docs.size());
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Optional<byte[]> fixture(String name) {
+        return fixtures.computeIfAbsent(name, this::loadFixture);
+    }
+
+    private Optional<byte[]> loadFixture(String name) {
+        try {
+            if (fixturesDirectory != null) {
+                Path file = fixturesDirectory.resolve(name);
+                return Files.isRegularFile(file) ? Optional.of(Files.readAllBytes(file)) : Optional.empty();
+            }
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream(CLASSPATH_FIXTURES + name)) {
+                return in != null ? Optional.of(in.readAllBytes()) : Optional.empty();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read fixture " + name, e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (body.length > 0 && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            body = gzip(body);
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String queryParam(HttpExchange exchange, String name) {
+        String value = UriComponentsBuilder.fromUri(exchange.getRequestURI()).build()
+                .getQueryParams().getFirst(name);
+        return value != null ? URLDecoder.decode(value, StandardCharsets.UTF_8) : "";
+    }
+
+    static String slug(String query) {
+        String slug = query.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", "-");
+        return slug.replaceAll("^-|-$", "");
+    }
+
+    private static void sleep(Duration duration) throws InterruptedException {
+        if (!duration.isZero() && !duration.isNegative()) {
+            Thread.sleep(duration);
+        }
+    }
+}
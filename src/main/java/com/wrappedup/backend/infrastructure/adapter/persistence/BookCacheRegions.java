@@ -0,0 +1,117 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * The Hibernate second-level cache regions of books, each a bounded in-memory Caffeine cache.
+ *
+ * Books, their ISBN, genre, language and publisher collections and the results of the cacheable
+ * book queries are evicted by how often and how recently they were used once a region holds its
+ * maximum number of entries, and expire after the configured time to live. Hibernate keeps the
+ * regions consistent with its own writes; the time to live bounds how long other application
+ * instances, which have their own caches, may read a stale book. The update timestamps region, which tells Hibernate
+ * when cached query results are out of date, holds one entry per table and is never evicted.
+ *
+ * Every Spring context gets its own cache manager, so contexts sharing a JVM do not share books.
+ */
+@Component
+@Slf4j
+public class BookCacheRegions {
+
+    public static final String BOOKS = "books";
+    public static final String ISBNS = "books.isbns";
+    public static final String GENRES = "books.genres";
+    public static final String LANGUAGES = "books.languages";
+    public static final String PUBLISHERS = "books.publishers";
+    public static final String QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    private static final String PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    private final boolean enabled;
+    private final CacheManager cacheManager;
+
+    public BookCacheRegions(
+            @Value("${persistence.books.cache.enabled:true}") boolean enabled,
+            @Value("${persistence.books.cache.maximum-size:10000}") long maximumSize,
+            @Value("${persistence.books.cache.query-maximum-size:5000}") long queryMaximumSize,
+            @Value("${persistence.books.cache.ttl:10m}") Duration ttl) {
+        this.enabled = enabled;
+        this.cacheManager = Caching.getCachingProvider(PROVIDER)
+                .getCacheManager(URI.create("wrappedup:books:" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : List.of(BOOKS, ISBNS, GENRES, LANGUAGES, PUBLISHERS)) {
+            cacheManager.createCache(region, bounded(maximumSize, ttl));
+        }
+        cacheManager.createCache(QUERY_RESULTS, bounded(queryMaximumSize, ttl));
+        cacheManager.createCache(UPDATE_TIMESTAMPS, new CaffeineConfiguration<>().setNativeStatisticsEnabled(true));
+        log.info("Book cache {}, {} books per region for {}", enabled ? "enabled" : "disabled", maximumSize, ttl);
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maximumSize, Duration ttl) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()))
+                .setNativeStatisticsEnabled(true);
+    }
+
+    @PreDestroy
+    public void close() {
+        cacheManager.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The cache manager Hibernate takes its regions from
+     */
+    public CacheManager getCacheManager() {
+        return cacheManager;
+    }
+
+    /**
+     * @return The names of all regions
+     */
+    public List<String> getRegionNames() {
+        return List.of(BOOKS, ISBNS, GENRES, LANGUAGES, PUBLISHERS, QUERY_RESULTS, UPDATE_TIMESTAMPS);
+    }
+
+    /**
+     * @return Hits, misses and evictions of a region since the start
+     */
+    public CacheStats getStats(String region) {
+        return nativeCache(region).stats();
+    }
+
+    /**
+     * @return The approximate number of entries in a region
+     */
+    public long getEntryCount(String region) {
+        return nativeCache(region).estimatedSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String region) {
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        if (cache == null) {
+            throw new IllegalArgumentException("Unknown book cache region: " + region);
+        }
+        return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+    }
+}
@@ -0,0 +1,24 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Receives the books written or deleted by the persistence adapters, once the writing transaction
+ * has committed. Used to keep derived in-memory structures, such as search indexes, in step with
+ * the books table.
+ */
+public interface BookChangeListener {
+
+    /**
+     * @param books The books inserted or updated, detached from their persistence context
+     */
+    void booksSaved(Collection<BookJpaEntity> books);
+
+    /**
+     * @param ids The ids of the deleted books
+     */
+    void booksDeleted(Collection<UUID> ids);
+}
@@ -0,0 +1,77 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Passes book writes on to every {@link BookChangeListener}.
+ *
+ * Inside a transaction the listeners are called after it commits, so they never see writes that
+ * are rolled back; outside of one they are called right away. A failing listener is logged and
+ * does not affect the write or the other listeners.
+ */
+@Component
+@Slf4j
+public class BookChangeNotifier {
+
+    private final List<BookChangeListener> listeners;
+
+    @Autowired
+    public BookChangeNotifier(ObjectProvider<BookChangeListener> listeners) {
+        this(listeners.orderedStream().toList());
+    }
+
+    BookChangeNotifier(List<BookChangeListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    public void saved(Collection<BookJpaEntity> books) {
+        if (!books.isEmpty()) {
+            List<BookJpaEntity> saved = List.copyOf(books);
+            afterCommit(listener -> listener.booksSaved(saved));
+        }
+    }
+
+    public void deleted(Collection<UUID> ids) {
+        if (!ids.isEmpty()) {
+            List<UUID> deleted = List.copyOf(ids);
+            afterCommit(listener -> listener.booksDeleted(deleted));
+        }
+    }
+
+    private void afterCommit(Consumer<BookChangeListener> notification) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyListeners(notification);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notifyListeners(notification);
+            }
+        });
+    }
+
+    private void notifyListeners(Consumer<BookChangeListener> notification) {
+        for (BookChangeListener listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                log.warn("Book change listener {} failed: {}", listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.AuthorJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.AuthorJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk upserts for the offline OpenLibrary dump import.
+ *
+ * Each call writes one chunk of records in its own transaction. Existing rows are looked up
+ * with a single query per chunk and updated in place, new rows are persisted rather than merged,
+ * so Hibernate can group the inserts into JDBC batches ({@code hibernate.jdbc.batch_size}). The
+ * persistence context is cleared after every chunk to keep memory bounded. The books' keys are recorded in
+ * the key alias table in the same transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookImportWriter {
+
+    private final BookJpaRepository bookJpaRepository;
+    private final AuthorJpaRepository authorJpaRepository;
+    private final JpaBookRepositoryAdapter bookRepositoryAdapter;
+    private final BookKeyAliasWriter keyAliasWriter;
+    private final BookChangeNotifier changeNotifier;
+    private final Counters counters;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Inserts new books and updates the ones already stored under the same OpenLibrary key,
+     * keeping their ids and creation time.
+     *
+     * @param books The books to write; books without an OpenLibrary key are ignored
+     * @return The number of books written
+     */
+    @Transactional
+    public int upsertBooks(Collection<Book> books) {
+        Map<String, Book> byKey = new LinkedHashMap<>();
+        for (Book book : books) {
+            if (book.getOpenLibraryKey() != null) {
+                byKey.put(book.getOpenLibraryKey(), book);
+            }
+        }
+        if (byKey.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, BookJpaEntity> existing = bookJpaRepository.findByOpenLibraryKeyIn(byKey.keySet()).stream()
+                .collect(Collectors.toMap(BookJpaEntity::getOpenLibraryKey, Function.identity(), (a, b) -> a));
+
+        List<BookJpaEntity> written = new ArrayList<>(byKey.size());
+        Map<String, Long> countChanges = new HashMap<>();
+        for (Book book : byKey.values()) {
+            BookJpaEntity current = existing.get(book.getOpenLibraryKey());
+            if (current == null) {
+                BookJpaEntity entity = bookRepositoryAdapter.mapToJpaEntity(book);
+                entityManager.persist(entity);
+                written.add(entity);
+                Counters.addBookChange(countChanges, null, JpaBookRepositoryAdapter.genresOf(entity));
+            } else {
+                // Updated in place, only changed lists are rewritten
+                List<String> genresBefore = JpaBookRepositoryAdapter.genresOf(current);
+                bookRepositoryAdapter.writeInto(current, book);
+                written.add(current);
+                Counters.addBookChange(countChanges, genresBefore, JpaBookRepositoryAdapter.genresOf(current));
+            }
+        }
+        keyAliasWriter.registerBooks(written);
+        changeNotifier.saved(written);
+        counters.add(countChanges);
+        entityManager.flush();
+        entityManager.clear();
+        return byKey.size();
+    }
+
+    /**
+     * Inserts or renames authors.
+     *
+     * @param names Author names by normalized author key (e.g. OL23919A)
+     * @return The number of authors written
+     */
+    @Transactional
+    public int upsertAuthors(Map<String, String> names) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, AuthorJpaEntity> existing = authorJpaRepository.findAllById(names.keySet()).stream()
+                .collect(Collectors.toMap(AuthorJpaEntity::getAuthorKey, Function.identity()));
+
+        names.forEach((key, name) -> {
+            AuthorJpaEntity current = existing.get(key);
+            if (current == null) {
+                entityManager.persist(new AuthorJpaEntity(key, name));
+            } else {
+                current.setName(name);
+            }
+        });
+        entityManager.flush();
+        entityManager.clear();
+        return names.size();
+    }
+
+    /**
+     * @param authorKeys Normalized author keys
+     * @return The stored names by author key; unknown authors are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<String, String> findAuthorNames(Collection<String> authorKeys) {
+        if (authorKeys.isEmpty()) {
+            return Map.of();
+        }
+        return authorJpaRepository.findAllById(authorKeys).stream()
+                .collect(Collectors.toMap(AuthorJpaEntity::getAuthorKey, AuthorJpaEntity::getName));
+    }
+}
@@ -0,0 +1,162 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.domain.model.OpenLibraryWorkKey;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookKeyAliasJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookKeyAliasJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains the {@code book_key_aliases} table, which resolves every known OpenLibrary key of a
+ * book with a single primary key lookup.
+ *
+ * A book's own key always points at the book. Redirected keys only point at the book they were
+ * first recorded for, so a redirect never takes over another book's key. Aliases are only ever
+ * added, rewriting a book without its redirects keeps the ones already recorded.
+ *
+ * New aliases are written with multi-row inserts that resolve conflicts the same way, so
+ * transactions that record the same key at once, like parallel chunks of a dump import, wait
+ * for each other instead of failing on the primary key.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookKeyAliasWriter {
+
+    private static final int INSERT_BATCH_SIZE = 100;
+
+    private final BookKeyAliasJpaRepository aliasRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Records the keys and redirects of written books.
+     *
+     * @return The number of aliases added or moved
+     */
+    @Transactional
+    public int registerBooks(Collection<BookJpaEntity> books) {
+        Map<String, UUID> ownKeys = new LinkedHashMap<>();
+        Map<String, UUID> redirects = new LinkedHashMap<>();
+        for (BookJpaEntity book : books) {
+            OpenLibraryWorkKey.parse(book.getOpenLibraryKey())
+                    .ifPresent(key -> ownKeys.put(key.getValue(), book.getId()));
+            List<String> bookRedirects = book.getLists() != null ? book.getLists().getRedirects() : book.getRedirects();
+            if (bookRedirects != null) {
+                for (String redirect : bookRedirects) {
+                    OpenLibraryWorkKey.parse(redirect)
+                            .ifPresent(key -> redirects.putIfAbsent(key.getValue(), book.getId()));
+                }
+            }
+        }
+        redirects.keySet().removeAll(ownKeys.keySet());
+        if (ownKeys.isEmpty() && redirects.isEmpty()) {
+            return 0;
+        }
+
+        int written = 0;
+        for (BookKeyAliasJpaEntity existing : aliasRepository.findAllById(
+                concat(ownKeys.keySet(), redirects.keySet()))) {
+            UUID owner = ownKeys.remove(existing.getAlias());
+            if (owner != null && !owner.equals(existing.getBookId())) {
+                existing.setBookId(owner);
+                written++;
+            }
+            redirects.remove(existing.getAlias());
+        }
+        written += insert(ownKeys, true) + insert(redirects, false);
+        return written;
+    }
+
+    /**
+     * Records additional keys of one book, leaving keys already recorded for any book unchanged.
+     *
+     * @return The number of aliases added
+     */
+    @Transactional
+    public int register(UUID bookId, Collection<OpenLibraryWorkKey> keys) {
+        Map<String, UUID> aliases = new LinkedHashMap<>();
+        keys.forEach(key -> aliases.put(key.getValue(), bookId));
+        aliasRepository.findAllById(aliases.keySet()).forEach(existing -> aliases.remove(existing.getAlias()));
+        return insert(aliases, false);
+    }
+
+    /**
+     * Removes every alias of a deleted book, so its keys resolve to nothing instead of to a
+     * missing book, and can be recorded for another book again.
+     *
+     * @return The number of aliases removed
+     */
+    @Transactional
+    public int unregister(UUID bookId) {
+        return aliasRepository.deleteByBookId(bookId);
+    }
+
+    /**
+     * Adds the aliases missing for books stored before the alias table existed or written
+     * without going through this class.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    @Transactional
+    public void backfill() {
+        int keys = aliasRepository.insertMissingOpenLibraryKeys();
+        int redirects = aliasRepository.insertMissingRedirects();
+        if (keys + redirects > 0) {
+            log.info("Added {} OpenLibrary key and {} redirect aliases", keys, redirects);
+        }
+    }
+
+    /**
+     * Inserts aliases, in groups of {@value #INSERT_BATCH_SIZE} rows per statement.
+     *
+     * @param takeOver Whether an alias recorded for another book in the meantime is moved to this
+     *                 one (own keys) or left alone (redirects)
+     * @return The number of aliases written
+     */
+    private int insert(Map<String, UUID> aliases, boolean takeOver) {
+        // The same order in every transaction, so concurrent inserts cannot deadlock on each other's rows
+        List<Map.Entry<String, UUID>> rows = new ArrayList<>(aliases.entrySet());
+        rows.sort(Map.Entry.comparingByKey());
+        for (int start = 0; start < rows.size(); start += INSERT_BATCH_SIZE) {
+            List<Map.Entry<String, UUID>> batch = rows.subList(start, Math.min(start + INSERT_BATCH_SIZE, rows.size()));
+            StringBuilder hql = new StringBuilder("INSERT INTO BookKeyAliasJpaEntity (alias, bookId) VALUES ");
+            for (int i = 0; i < batch.size(); i++) {
+                // Cast, as a value row gives the id no column type and it would be bound as text
+                hql.append(i > 0 ? ", " : "").append("(:alias").append(i)
+                        .append(", cast(:bookId").append(i).append(" as java.util.UUID))");
+            }
+            hql.append(takeOver ? " ON CONFLICT (alias) DO UPDATE SET bookId = excluded.bookId" : " ON CONFLICT DO NOTHING");
+            Query insert = entityManager.createQuery(hql.toString());
+            for (int i = 0; i < batch.size(); i++) {
+                insert.setParameter("alias" + i, batch.get(i).getKey());
+                insert.setParameter("bookId" + i, batch.get(i).getValue());
+            }
+            insert.executeUpdate();
+        }
+        return aliases.size();
+    }
+
+    private static List<String> concat(Collection<String> first, Collection<String> second) {
+        List<String> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all;
+    }
+}
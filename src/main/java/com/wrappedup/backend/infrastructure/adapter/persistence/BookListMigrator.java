@@ -0,0 +1,127 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookLists;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves the lists of books still stored in their element collection tables into the
+ * {@code lists} column, when books are stored in {@link BookListStorage#COMPACT} storage.
+ *
+ * Runs once in the background after startup, one batch per transaction, until no row is left.
+ * The tables of non-lookup lists are emptied as rows are moved; ISBN and genre rows stay. Books
+ * saved in the meantime are moved by the save itself. An interrupted migration continues on the
+ * next start.
+ */
+@Component
+@Slf4j
+public class BookListMigrator {
+
+    private final BookJpaRepository bookJpaRepository;
+    private final BookKeyAliasWriter keyAliasWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final ExecutorService executor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BookListMigrator(
+            BookJpaRepository bookJpaRepository,
+            BookKeyAliasWriter keyAliasWriter,
+            PlatformTransactionManager transactionManager,
+            @Value("${persistence.books.list-storage:compact}") BookListStorage listStorage,
+            @Value("${persistence.books.list-migration.batch-size:200}") int batchSize) {
+        this.bookJpaRepository = bookJpaRepository;
+        this.keyAliasWriter = keyAliasWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = listStorage == BookListStorage.COMPACT;
+        this.batchSize = batchSize;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "book-list-migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the migration after the key alias backfill, which still reads redirects from their table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void start() {
+        if (enabled) {
+            executor.execute(this::run);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        try {
+            long migrated = migrateAll();
+            if (migrated > 0) {
+                log.info("Moved the lists of {} books into compact storage", migrated);
+            }
+        } catch (RuntimeException e) {
+            log.error("Book list migration failed, it continues on the next start: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Migrates all remaining rows.
+     *
+     * @return The number of books migrated
+     */
+    public long migrateAll() {
+        long migrated = 0;
+        int batch;
+        do {
+            batch = migrateBatch();
+            migrated += batch;
+        } while (batch == batchSize && !Thread.currentThread().isInterrupted());
+        return migrated;
+    }
+
+    /**
+     * Migrates one batch of rows in its own transaction.
+     *
+     * @return The number of books migrated
+     */
+    int migrateBatch() {
+        Integer migrated = transactionTemplate.execute(status -> {
+            List<BookJpaEntity> books = bookJpaRepository.findWithoutLists(PageRequest.of(0, batchSize));
+            for (BookJpaEntity book : books) {
+                book.setLists(BookLists.from(book));
+                BookLists.clearSideTables(book);
+            }
+            // Redirects are read from the new column from now on, make sure they have their aliases
+            keyAliasWriter.registerBooks(books);
+            entityManager.flush();
+            entityManager.clear();
+            return books.size();
+        });
+        return migrated != null ? migrated : 0;
+    }
+}
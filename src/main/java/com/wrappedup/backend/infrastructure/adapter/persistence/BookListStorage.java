@@ -0,0 +1,22 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+/**
+ * How the list-valued attributes of books are written ({@code persistence.books.list-storage}).
+ *
+ * Both formats can always be read, a row uses its {@code lists} column if it has one.
+ */
+public enum BookListStorage {
+
+    /**
+     * One element collection table per list. Reading a book costs a query per list it uses,
+     * saving one deletes and re-inserts the rows of every changed list.
+     */
+    NORMALIZED,
+
+    /**
+     * All lists in the {@code lists} JSON column, read together with the row. ISBNs and genres
+     * are also kept in their tables for lookups. Rows still in the tables are moved over by
+     * {@link BookListMigrator}.
+     */
+    COMPACT
+}
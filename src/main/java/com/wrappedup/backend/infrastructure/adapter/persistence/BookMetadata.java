@@ -0,0 +1,64 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import lombok.Builder;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The OpenLibrary-sourced fields of a stored book that change after it was first fetched.
+ * A null field is unknown, e.g. because the response it comes from failed, and leaves the stored value alone.
+ */
+@Builder(toBuilder = true)
+public record BookMetadata(
+        String title,
+        String description,
+        Long coverId,
+        String coverUrl,
+        Integer editionCount,
+        String ebookAccess,
+        Boolean hasFulltext,
+        Integer numberOfPagesMedian,
+        Integer ratingsCount,
+        Integer readinglogCount,
+        Integer wantToReadCount,
+        Integer currentlyReadingCount,
+        Integer alreadyReadCount) {
+
+    /**
+     * Metadata that changes nothing, for works OpenLibrary no longer knows.
+     */
+    public static final BookMetadata EMPTY = BookMetadata.builder().build();
+
+    /**
+     * Copies the known fields that differ onto an entity.
+     *
+     * @return Whether any field changed
+     */
+    public boolean applyTo(BookJpaEntity entity) {
+        boolean changed = apply(title, entity::getTitle, entity::setTitle);
+        changed |= apply(description, entity::getDescription, entity::setDescription);
+        changed |= apply(coverId, entity::getCoverId, entity::setCoverId);
+        changed |= apply(coverUrl, entity::getCoverUrl, entity::setCoverUrl);
+        changed |= apply(editionCount, entity::getEditionCount, entity::setEditionCount);
+        changed |= apply(ebookAccess, entity::getEbookAccess, entity::setEbookAccess);
+        changed |= apply(hasFulltext, entity::getHasFulltext, entity::setHasFulltext);
+        changed |= apply(numberOfPagesMedian, entity::getNumberOfPagesMedian, entity::setNumberOfPagesMedian);
+        changed |= apply(ratingsCount, entity::getRatingsCount, entity::setRatingsCount);
+        changed |= apply(readinglogCount, entity::getReadinglogCount, entity::setReadinglogCount);
+        changed |= apply(wantToReadCount, entity::getWantToReadCount, entity::setWantToReadCount);
+        changed |= apply(currentlyReadingCount, entity::getCurrentlyReadingCount, entity::setCurrentlyReadingCount);
+        changed |= apply(alreadyReadCount, entity::getAlreadyReadCount, entity::setAlreadyReadCount);
+        return changed;
+    }
+
+    private static <T> boolean apply(T value, Supplier<T> getter, Consumer<T> setter) {
+        if (value == null || Objects.equals(value, getter.get())) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+}
@@ -0,0 +1,103 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookRefreshCandidate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads and writes for the background refresh of OpenLibrary-sourced book metadata.
+ *
+ * Refreshed books are compared field by field with what is stored. Books that changed are
+ * updated, the others just get their refresh time moved forward; both as managed entities that
+ * Hibernate JDBC batches at flush. A bulk update would evict the whole {@code books} region of
+ * the second-level cache on every refresh run, managed updates keep the cached books current.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookMetadataWriter {
+
+    private final BookJpaRepository bookJpaRepository;
+    private final BookChangeNotifier changeNotifier;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Picks the books to refresh next: stale books among the preferred ones first, in their order,
+     * then the books refreshed longest ago.
+     *
+     * @param preferredIds Ids of books to refresh first, e.g. recently viewed ones
+     * @param staleBefore Books refreshed (or, if never refreshed, updated) at or after this time are skipped
+     * @param limit Maximum number of books to return
+     */
+    @Transactional(readOnly = true)
+    public List<BookRefreshCandidate> findRefreshCandidates(List<UUID> preferredIds, LocalDateTime staleBefore,
+                                                            int limit) {
+        Map<UUID, BookRefreshCandidate> candidates = new LinkedHashMap<>();
+        if (!preferredIds.isEmpty()) {
+            Map<UUID, BookRefreshCandidate> stale = new LinkedHashMap<>();
+            for (BookRefreshCandidate candidate : bookJpaRepository.findStaleAmong(preferredIds, staleBefore)) {
+                stale.put(candidate.getId(), candidate);
+            }
+            for (UUID id : preferredIds) {
+                BookRefreshCandidate candidate = stale.get(id);
+                if (candidate != null && candidates.size() < limit) {
+                    candidates.put(id, candidate);
+                }
+            }
+        }
+        if (candidates.size() < limit) {
+            // Ask for enough rows to make up for the preferred books the query returns again
+            int remaining = limit - candidates.size();
+            for (BookRefreshCandidate candidate : bookJpaRepository.findStalest(staleBefore,
+                    PageRequest.of(0, remaining + candidates.size()))) {
+                if (candidates.size() >= limit) {
+                    break;
+                }
+                candidates.putIfAbsent(candidate.getId(), candidate);
+            }
+        }
+        return new ArrayList<>(candidates.values());
+    }
+
+    /**
+     * Applies refreshed metadata to the stored books and marks them all as refreshed.
+     *
+     * @param metadataByKey Refreshed metadata by OpenLibrary key
+     * @param refreshedAt Time of the refresh
+     * @return The number of books that changed
+     */
+    @Transactional
+    public int applyRefresh(Map<String, BookMetadata> metadataByKey, LocalDateTime refreshedAt) {
+        if (metadataByKey.isEmpty()) {
+            return 0;
+        }
+        List<BookJpaEntity> changed = new ArrayList<>();
+        for (BookJpaEntity entity : bookJpaRepository.findByOpenLibraryKeyIn(metadataByKey.keySet())) {
+            BookMetadata metadata = metadataByKey.get(entity.getOpenLibraryKey());
+            if (metadata != null && metadata.applyTo(entity)) {
+                entity.setMetadataRefreshedAt(refreshedAt);
+                changed.add(entity);
+            } else {
+                entity.markMetadataRefreshed(refreshedAt);
+            }
+        }
+        entityManager.flush();
+        changeNotifier.saved(changed);
+        entityManager.clear();
+        return changed.size();
+    }
+}
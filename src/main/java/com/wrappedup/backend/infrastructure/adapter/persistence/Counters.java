@@ -0,0 +1,282 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.CounterJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.CounterJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.ReviewJpaRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory counts of books, books per genre and public reviews per book, so counting does not
+ * scan tables.
+ *
+ * Every count is a {@link LongAdder}, striped over several cells so concurrent writers do not
+ * contend on one value. The repository adapters add the changes of their writes; inside a
+ * transaction they are applied after it commits, so rolled back writes are never counted.
+ * Changed counts are checkpointed to the counters table in the background and loaded from it
+ * on the next start. A reconciliation then compares every count with a COUNT query and corrects
+ * the drift, e.g. from writes made after the last checkpoint before a crash, and repeats
+ * periodically. A count that changes while it is being counted is left for the next round.
+ *
+ * Until the checkpoint is loaded, or on a first start until the first reconciliation, the counts
+ * are not {@link #isReady() ready} and the adapters count in the database instead.
+ */
+@Component
+@Slf4j
+public class Counters {
+
+    public static final String BOOKS = "books";
+
+    private static final String BOOKS_IN_GENRE = "books.genre:";
+    private static final String PUBLIC_REVIEWS_OF_BOOK = "reviews.public.book:";
+
+    private final CounterJpaRepository counterJpaRepository;
+    private final BookJpaRepository bookJpaRepository;
+    private final ReviewJpaRepository reviewJpaRepository;
+    private final Duration checkpointInterval;
+    private final Duration reconcileInterval;
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    private final AtomicLong correctionCount = new AtomicLong();
+
+    public Counters(
+            CounterJpaRepository counterJpaRepository,
+            BookJpaRepository bookJpaRepository,
+            ReviewJpaRepository reviewJpaRepository,
+            @Value("${counters.checkpoint-interval:30s}") Duration checkpointInterval,
+            @Value("${counters.reconcile-interval:1h}") Duration reconcileInterval) {
+        this.counterJpaRepository = counterJpaRepository;
+        this.bookJpaRepository = bookJpaRepository;
+        this.reviewJpaRepository = reviewJpaRepository;
+        this.checkpointInterval = checkpointInterval;
+        this.reconcileInterval = reconcileInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "counters");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static String booksInGenre(String genre) {
+        return BOOKS_IN_GENRE + genre;
+    }
+
+    public static String publicReviewsOf(UUID bookId) {
+        return PUBLIC_REVIEWS_OF_BOOK + bookId;
+    }
+
+    /**
+     * Adds the count changes of a book write to the changes of a transaction.
+     *
+     * @param genresBefore Genres of the stored book before the write, null if it is inserted
+     * @param genresAfter Genres of the book after the write, null if it is deleted
+     */
+    public static void addBookChange(Map<String, Long> deltas,
+                                     Collection<String> genresBefore,
+                                     Collection<String> genresAfter) {
+        Set<String> before = genresBefore != null ? new HashSet<>(genresBefore) : Set.of();
+        Set<String> after = genresAfter != null ? new HashSet<>(genresAfter) : Set.of();
+        if (genresBefore == null && genresAfter != null) {
+            deltas.merge(BOOKS, 1L, Long::sum);
+        } else if (genresBefore != null && genresAfter == null) {
+            deltas.merge(BOOKS, -1L, Long::sum);
+        }
+        for (String genre : before) {
+            if (!after.contains(genre)) {
+                deltas.merge(booksInGenre(genre), -1L, Long::sum);
+            }
+        }
+        for (String genre : after) {
+            if (!before.contains(genre)) {
+                deltas.merge(booksInGenre(genre), 1L, Long::sum);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void start() {
+        scheduler.execute(() -> {
+            try {
+                load();
+                reconcile();
+            } catch (RuntimeException e) {
+                log.error("Loading the counters failed, counts fall back to the database: {}", e.getMessage(), e);
+            }
+        });
+        scheduler.scheduleWithFixedDelay(() -> run("Checkpointing", this::checkpoint),
+                checkpointInterval.toMillis(), checkpointInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> run("Reconciling", this::reconcile),
+                reconcileInterval.toMillis(), reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        run("Checkpointing", this::checkpoint);
+    }
+
+    private void run(String task, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (RuntimeException e) {
+            log.warn("{} the counters failed: {}", task, e.getMessage(), e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return The current count, 0 for counts never changed
+     */
+    public long get(String name) {
+        LongAdder count = counts.get(name);
+        return count != null ? count.sum() : 0;
+    }
+
+    public void add(String name, long delta) {
+        add(Map.of(name, delta));
+    }
+
+    /**
+     * Adds to several counts, after the current transaction commits if there is one.
+     *
+     * @param deltas Changes by count name
+     */
+    public void add(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(deltas);
+            return;
+        }
+        Map<String, Long> pending = Map.copyOf(deltas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(pending);
+            }
+        });
+    }
+
+    private void apply(Map<String, Long> deltas) {
+        deltas.forEach((name, delta) -> {
+            if (delta != 0) {
+                counts.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+                changed.add(name);
+            }
+        });
+    }
+
+    /**
+     * Adds the checkpointed counts to the changes made since the start.
+     */
+    void load() {
+        List<CounterJpaEntity> stored = counterJpaRepository.findAll();
+        for (CounterJpaEntity counter : stored) {
+            counts.computeIfAbsent(counter.getName(), key -> new LongAdder()).add(counter.getValue());
+        }
+        // Without a checkpoint the counts only become meaningful once reconciled
+        ready = !stored.isEmpty();
+        log.info("Loaded {} counters", stored.size());
+    }
+
+    /**
+     * Writes the counts changed since the last checkpoint to the counters table.
+     */
+    void checkpoint() {
+        if (!ready || changed.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<String> names = new ArrayList<>(changed);
+        changed.removeAll(names);
+        List<CounterJpaEntity> rows = new ArrayList<>(names.size());
+        for (String name : names) {
+            rows.add(new CounterJpaEntity(name, get(name), now));
+        }
+        try {
+            counterJpaRepository.saveAll(rows);
+        } catch (RuntimeException e) {
+            changed.addAll(names);
+            throw e;
+        }
+    }
+
+    /**
+     * Counts books, books per genre and public reviews per book in the database and corrects the
+     * counts that differ.
+     *
+     * @return The number of counts corrected
+     */
+    int reconcile() {
+        Map<String, Long> before = new HashMap<>();
+        counts.forEach((name, count) -> before.put(name, count.sum()));
+
+        Map<String, Long> actual = new HashMap<>();
+        actual.put(BOOKS, bookJpaRepository.count());
+        bookJpaRepository.countByGenres()
+                .forEach(row -> actual.put(booksInGenre(row.getGenre()), row.getBookCount()));
+        reviewJpaRepository.countPublicByBook()
+                .forEach(row -> actual.put(publicReviewsOf(row.getBookId()), row.getReviewCount()));
+        // Genres and books the queries no longer find count zero
+        before.keySet().forEach(name -> actual.putIfAbsent(name, 0L));
+
+        Map<String, Long> drift = new HashMap<>();
+        actual.forEach((name, count) -> {
+            long current = get(name);
+            if (current == before.getOrDefault(name, 0L) && count != current) {
+                drift.put(name, count - current);
+            }
+        });
+        apply(drift);
+        ready = true;
+        correctionCount.addAndGet(drift.size());
+        if (!drift.isEmpty()) {
+            log.info("Corrected {} of {} counters", drift.size(), actual.size());
+        }
+        return drift.size();
+    }
+
+    public int getCounterCount() {
+        return counts.size();
+    }
+
+    public long getCorrectionCount() {
+        return correctionCount.get();
+    }
+}
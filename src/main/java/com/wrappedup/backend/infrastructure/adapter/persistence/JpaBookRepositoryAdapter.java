@@ -2,12 +2,25 @@ package com.wrappedup.backend.infrastructure.adapter.persistence;
 
 import com.wrappedup.backend.domain.exception.BookPersistenceException;
 import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookCursor;
 import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.BookSummary;
+import com.wrappedup.backend.domain.model.BookSummaryPage;
+import com.wrappedup.backend.domain.model.BookUpsertResult;
+import com.wrappedup.backend.domain.model.OpenLibraryWorkKey;
 import com.wrappedup.backend.domain.port.out.BookRepository;
 import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookLists;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookListsConverter;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookIsbnRow;
 import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
-import lombok.RequiredArgsConstructor;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookKeyAliasRow;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookSummaryKeysetRow;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookSummaryRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,28 +30,75 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * JPA implementation of the BookRepository port.
+ *
+ * List-valued attributes are written as configured by {@code persistence.books.list-storage},
+ * see {@link BookListStorage}.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JpaBookRepositoryAdapter implements BookRepository {
     
     private static final String COVER_URL = "https://covers.openlibrary.org/b/id/";
     
     private final BookJpaRepository bookJpaRepository;
+    private final BookKeyAliasWriter keyAliasWriter;
+    private final BookListStorage listStorage;
+    private final BookChangeNotifier changeNotifier;
+    private final Counters counters;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public JpaBookRepositoryAdapter(
+            BookJpaRepository bookJpaRepository,
+            BookKeyAliasWriter keyAliasWriter,
+            @Value("${persistence.books.list-storage:compact}") BookListStorage listStorage,
+            BookChangeNotifier changeNotifier,
+            Counters counters) {
+        this.bookJpaRepository = bookJpaRepository;
+        this.keyAliasWriter = keyAliasWriter;
+        this.listStorage = listStorage;
+        this.changeNotifier = changeNotifier;
+        this.counters = counters;
+    }
     
     @Override
     @Transactional
     public Book save(Book book) {
         try {
-            BookJpaEntity entity = mapToJpaEntity(book);
+            // Stored books are updated in place, so unchanged lists keep their rows
+            Optional<BookJpaEntity> existing = bookJpaRepository.findById(book.getId().getValue());
+            List<String> genresBefore = existing.map(JpaBookRepositoryAdapter::genresOf).orElse(null);
+            BookJpaEntity entity = existing
+                    .map(stored -> {
+                        writeInto(stored, book);
+                        return stored;
+                    })
+                    .orElseGet(() -> mapToJpaEntity(book));
             BookJpaEntity savedEntity = bookJpaRepository.save(entity);
+            keyAliasWriter.registerBooks(List.of(savedEntity));
+            changeNotifier.saved(List.of(savedEntity));
+            Map<String, Long> countChanges = new HashMap<>();
+            Counters.addBookChange(countChanges, genresBefore, genresOf(savedEntity));
+            counters.add(countChanges);
             return mapToDomainEntity(savedEntity);
         } catch (DataIntegrityViolationException e) {
             log.error("Data integrity violation while saving book", e);
@@ -49,6 +109,136 @@ public class JpaBookRepositoryAdapter implements BookRepository {
         }
     }
     
+    /**
+     * Looks up the stored books matching the batch with one query per kind of key, then persists
+     * the new books rather than merging them, so their rows and those of their lists are inserted in
+     * JDBC batches ({@code hibernate.jdbc.batch_size}). A book matches a stored book by OpenLibrary
+     * key, including keys redirecting to it, or else by ISBN if the stored book has no other key.
+     * Books earlier in the batch are matched too, so repeated books update the first one.
+     */
+    @Override
+    @Transactional
+    public List<BookUpsertResult> saveAll(List<Book> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        try {
+            Map<String, BookJpaEntity> byKey = new HashMap<>();
+            Map<String, BookJpaEntity> byIsbn = new HashMap<>();
+            findStored(books, byKey, byIsbn);
+            
+            List<BookUpsertResult> results = new ArrayList<>(books.size());
+            Map<UUID, BookJpaEntity> written = new LinkedHashMap<>();
+            Map<String, Long> countChanges = new HashMap<>();
+            for (Book book : books) {
+                BookJpaEntity entity = book.getOpenLibraryKey() != null ? byKey.get(book.getOpenLibraryKey()) : null;
+                if (entity == null && book.getIsbn() != null) {
+                    BookJpaEntity sameIsbn = byIsbn.get(book.getIsbn());
+                    if (sameIsbn != null && (sameIsbn.getOpenLibraryKey() == null
+                            || sameIsbn.getOpenLibraryKey().equals(book.getOpenLibraryKey()))) {
+                        entity = sameIsbn;
+                    }
+                }
+                if (entity == null) {
+                    entity = mapToJpaEntity(book);
+                    entityManager.persist(entity);
+                    Counters.addBookChange(countChanges, null, genresOf(entity));
+                    results.add(BookUpsertResult.created(BookId.of(entity.getId())));
+                } else {
+                    List<String> genresBefore = genresOf(entity);
+                    String storedKey = entity.getOpenLibraryKey();
+                    writeInto(entity, book);
+                    if (storedKey != null && !storedKey.equals(book.getOpenLibraryKey())) {
+                        // Named by a redirect, the book keeps its own key and records the redirect
+                        keepKey(entity, storedKey, book.getOpenLibraryKey());
+                    }
+                    Counters.addBookChange(countChanges, genresBefore, genresOf(entity));
+                    results.add(BookUpsertResult.updated(BookId.of(entity.getId())));
+                }
+                written.put(entity.getId(), entity);
+                if (entity.getOpenLibraryKey() != null) {
+                    byKey.put(entity.getOpenLibraryKey(), entity);
+                }
+                if (book.getOpenLibraryKey() != null) {
+                    byKey.put(book.getOpenLibraryKey(), entity);
+                }
+                if (book.getIsbn() != null) {
+                    byIsbn.put(book.getIsbn(), entity);
+                }
+            }
+            entityManager.flush();
+            keyAliasWriter.registerBooks(written.values());
+            changeNotifier.saved(written.values());
+            counters.add(countChanges);
+            return results;
+        } catch (Exception e) {
+            log.error("Error saving {} books", books.size(), e);
+            throw new BookPersistenceException("Error saving books: " + e.getMessage(), e);
+        }
+    }
+    
+    private void findStored(List<Book> books, Map<String, BookJpaEntity> byKey, Map<String, BookJpaEntity> byIsbn) {
+        Set<String> keys = new HashSet<>();
+        Set<String> isbns = new HashSet<>();
+        for (Book book : books) {
+            if (book.getOpenLibraryKey() != null) {
+                keys.add(book.getOpenLibraryKey());
+            }
+            if (book.getIsbn() != null) {
+                isbns.add(book.getIsbn());
+            }
+        }
+        Map<UUID, BookJpaEntity> stored = new HashMap<>();
+        if (!keys.isEmpty()) {
+            bookJpaRepository.findByOpenLibraryKeyIn(keys).forEach(entity -> {
+                byKey.put(entity.getOpenLibraryKey(), entity);
+                stored.put(entity.getId(), entity);
+            });
+            // Keys that are no book's own key may still redirect to one
+            keys.removeAll(byKey.keySet());
+            if (!keys.isEmpty()) {
+                List<BookKeyAliasRow> rows = bookJpaRepository.findIdsByKeyAliasIn(keys);
+                load(stored, rows.stream().map(BookKeyAliasRow::getBookId));
+                rows.forEach(row -> byKey.put(row.getAlias(), stored.get(row.getBookId())));
+            }
+        }
+        if (!isbns.isEmpty()) {
+            List<BookIsbnRow> rows = bookJpaRepository.findIdsByIsbnIn(isbns);
+            load(stored, rows.stream().map(BookIsbnRow::getBookId));
+            rows.forEach(row -> byIsbn.putIfAbsent(row.getIsbn(), stored.get(row.getBookId())));
+        }
+        byKey.values().removeIf(Objects::isNull);
+        byIsbn.values().removeIf(Objects::isNull);
+    }
+    
+    /**
+     * Loads the stored books of the given ids that are not loaded yet.
+     */
+    private void load(Map<UUID, BookJpaEntity> stored, Stream<UUID> ids) {
+        Set<UUID> missing = ids.filter(id -> !stored.containsKey(id)).collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            bookJpaRepository.findAllById(missing).forEach(entity -> stored.put(entity.getId(), entity));
+        }
+    }
+    
+    /**
+     * Restores the key of a stored book written from a book named by a redirect, and records
+     * that redirect.
+     */
+    private void keepKey(BookJpaEntity entity, String storedKey, String redirect) {
+        entity.setOpenLibraryKey(storedKey);
+        if (entity.getLists() != null) {
+            BookLists lists = BookListsConverter.copyOf(entity.getLists());
+            lists.setRedirects(union(lists.getRedirects(), List.of(redirect)));
+            entity.setLists(lists);
+        } else {
+            List<String> redirects = union(entity.getRedirects(), List.of(redirect));
+            if (!sameElements(entity.getRedirects(), redirects)) {
+                entity.setRedirects(redirects);
+            }
+        }
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Optional<Book> findById(BookId id) {
@@ -93,7 +283,15 @@ public class JpaBookRepositoryAdapter implements BookRepository {
     @Override
     @Transactional
     public void deleteById(BookId id) {
-        bookJpaRepository.deleteById(id.getValue());
+        bookJpaRepository.findById(id.getValue()).ifPresent(entity -> {
+            List<String> genres = genresOf(entity);
+            bookJpaRepository.delete(entity);
+            keyAliasWriter.unregister(entity.getId());
+            Map<String, Long> countChanges = new HashMap<>();
+            Counters.addBookChange(countChanges, genres, null);
+            counters.add(countChanges);
+        });
+        changeNotifier.deleted(List.of(id.getValue()));
     }
     
     @Override
@@ -113,39 +311,150 @@ public class JpaBookRepositoryAdapter implements BookRepository {
                 .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> findSummaries(int page, int size) {
+        return bookJpaRepository.findSummariesBy(PageRequest.of(page, size))
+                .stream()
+                .map(this::mapToSummary)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public BookSummaryPage findSummaryPage(BookCursor after, int size) {
+        // One row beyond the page tells whether another page follows
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<BookSummaryKeysetRow> rows = after == null
+                ? bookJpaRepository.findKeysetPage(pageable)
+                : bookJpaRepository.findKeysetPageAfter(after.getCreatedAt(), after.getBookId().getValue(), pageable);
+        if (rows.size() <= size) {
+            return new BookSummaryPage(rows.stream().map(this::mapToSummary).toList(), null);
+        }
+        List<BookSummaryKeysetRow> page = rows.subList(0, size);
+        BookSummaryKeysetRow last = page.get(size - 1);
+        return new BookSummaryPage(
+                page.stream().map(this::mapToSummary).toList(),
+                BookCursor.of(last.getCreatedAt(), BookId.of(last.getId())));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachSummary(Consumer<BookSummary> action) {
+        try (Stream<BookSummaryKeysetRow> rows = bookJpaRepository.streamKeysetOrdered()) {
+            rows.map(this::mapToSummary).forEach(action);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> findSummariesByTitleContaining(String titleText) {
+        return bookJpaRepository.findSummariesByTitleContainingIgnoreCase(titleText)
+                .stream()
+                .map(this::mapToSummary)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> findSummariesByAuthorContaining(String authorText) {
+        return bookJpaRepository.findSummariesByAuthorContainingIgnoreCase(authorText)
+                .stream()
+                .map(this::mapToSummary)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> findSummariesByGenre(String genre) {
+        return bookJpaRepository.findSummariesByGenre(genre)
+                .stream()
+                .map(this::mapToSummary)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Book> findByIds(List<BookId> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Book> byId = bookJpaRepository.findAllById(ids.stream().map(BookId::getValue).toList())
+                .stream()
+                .map(this::mapToDomainEntity)
+                .collect(Collectors.toMap(book -> book.getId().getValue(), Function.identity()));
+        return ids.stream()
+                .map(id -> byId.get(id.getValue()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> findSummariesByIds(List<BookId> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, BookSummary> byId = bookJpaRepository.findSummariesByIdIn(ids.stream().map(BookId::getValue).toList())
+                .stream()
+                .map(this::mapToSummary)
+                .collect(Collectors.toMap(summary -> summary.getId().getValue(), Function.identity()));
+        return ids.stream()
+                .map(id -> byId.get(id.getValue()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public long count() {
-        return bookJpaRepository.count();
+        return counters.isReady() ? counters.get(Counters.BOOKS) : bookJpaRepository.count();
     }
     
     @Override
     @Transactional(readOnly = true)
-    public Optional<Book> findByOpenLibraryKey(String openLibraryKey) {
-        return bookJpaRepository.findByOpenLibraryKey(openLibraryKey)
+    public long countByGenre(String genre) {
+        return counters.isReady()
+                ? counters.get(Counters.booksInGenre(genre))
+                : bookJpaRepository.countByGenre(genre);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Book> findByOpenLibraryKey(OpenLibraryWorkKey openLibraryKey) {
+        return bookJpaRepository.findByKeyAlias(openLibraryKey.getValue())
                 .map(this::mapToDomainEntity);
     }
     
+    @Override
+    @Transactional
+    public void addOpenLibraryKeyAliases(BookId id, Collection<OpenLibraryWorkKey> aliases) {
+        keyAliasWriter.register(id.getValue(), aliases);
+    }
+    
     /**
-     * Maps a domain Book entity to a JPA entity.
+     * Maps a domain Book entity to a new JPA entity.
      */
-    private BookJpaEntity mapToJpaEntity(Book book) {
+    BookJpaEntity mapToJpaEntity(Book book) {
         if (book == null) {
             return null;
         }
         
         BookJpaEntity entity = new BookJpaEntity();
         entity.setId(book.getId().getValue());
+        writeInto(entity, book);
+        return entity;
+    }
+    
+    /**
+     * Copies a domain Book into a new or managed JPA entity, keeping its id and creation time.
+     * Lists are only replaced if their content changed, so a managed entity keeps the rows
+     * of unchanged element collections.
+     */
+    void writeInto(BookJpaEntity entity, Book book) {
         entity.setTitle(book.getTitle());
         entity.setAuthor(book.getAuthor());
         
-        // Set ISBN
-        if (book.getIsbn() != null) {
-            List<String> isbns = new ArrayList<>();
-            isbns.add(book.getIsbn());
-            entity.setIsbns(isbns);
-        }
-        
         // Set description as first_sentence
         entity.setFirstSentence(book.getDescription());
         
@@ -169,32 +478,53 @@ public class JpaBookRepositoryAdapter implements BookRepository {
         // Set page count
         entity.setNumberOfPagesMedian(book.getPageCount());
         
-        // Set genres if not empty
-        if (book.getGenres() != null && !book.getGenres().isEmpty()) {
-            entity.setGenres(new ArrayList<>(book.getGenres()));
-        }
+        // Set publication date
+        entity.setFirstPublishYear(book.getPublicationDate() != null ? book.getPublicationDate().getYear() : null);
         
-        // Set language
-        if (book.getLanguage() != null) {
-            List<String> languages = new ArrayList<>();
-            languages.add(book.getLanguage());
-            entity.setLanguages(languages);
-        }
+        // Set OpenLibrary key
+        entity.setOpenLibraryKey(book.getOpenLibraryKey());
         
-        // Set publication date
-        if (book.getPublicationDate() != null) {
-            entity.setFirstPublishYear(book.getPublicationDate().getYear());
+        // ISBNs and genres are always kept in their tables, they are used for lookups
+        List<String> isbns = book.getIsbn() != null ? List.of(book.getIsbn()) : List.of();
+        List<String> genres = book.getGenres() != null ? book.getGenres() : List.of();
+        if (!sameElements(entity.getIsbns(), isbns)) {
+            entity.setIsbns(new ArrayList<>(isbns));
         }
-        
-        // Set publisher
-        if (book.getPublisher() != null) {
-            List<String> publishers = new ArrayList<>();
-            publishers.add(book.getPublisher());
-            entity.setPublishers(publishers);
+        if (!sameElements(entity.getGenres(), genres)) {
+            entity.setGenres(new ArrayList<>(genres));
         }
         
-        // Set OpenLibrary key
-        entity.setOpenLibraryKey(book.getOpenLibraryKey());
+        List<String> languages = book.getLanguage() != null ? List.of(book.getLanguage()) : List.of();
+        List<String> publishers = book.getPublisher() != null ? List.of(book.getPublisher()) : List.of();
+        if (listStorage == BookListStorage.COMPACT) {
+            BookLists lists;
+            if (entity.getLists() != null) {
+                lists = BookListsConverter.copyOf(entity.getLists());
+            } else {
+                // Still in the tables, move the lists into the column
+                lists = BookLists.from(entity);
+                BookLists.clearSideTables(entity);
+            }
+            lists.setIsbns(new ArrayList<>(isbns));
+            lists.setGenres(new ArrayList<>(genres));
+            lists.setLanguages(new ArrayList<>(languages));
+            lists.setPublishers(new ArrayList<>(publishers));
+            lists.setRedirects(union(lists.getRedirects(), book.getOpenLibraryKeyAliases()));
+            entity.setLists(lists);
+        } else {
+            if (!sameElements(entity.getLanguages(), languages)) {
+                entity.setLanguages(new ArrayList<>(languages));
+            }
+            if (!sameElements(entity.getPublishers(), publishers)) {
+                entity.setPublishers(new ArrayList<>(publishers));
+            }
+            List<String> redirects = union(entity.getRedirects(), book.getOpenLibraryKeyAliases());
+            if (!sameElements(entity.getRedirects(), redirects)) {
+                entity.setRedirects(redirects);
+            }
+            // Lists the application does not map are only kept in compact rows
+            entity.setLists(null);
+        }
         
         // Set platform type
         entity.setPlatform("system");
@@ -206,8 +536,20 @@ public class JpaBookRepositoryAdapter implements BookRepository {
         
         entity.setUpdatedAt(book.getUpdatedAt() != null ? 
                 book.getUpdatedAt() : LocalDateTime.now());
-        
-        return entity;
+    }
+    
+    private static boolean sameElements(List<String> current, List<String> values) {
+        // Copied, Hibernate's bags compare by identity
+        return current != null && new ArrayList<>(current).equals(values);
+    }
+    
+    private static List<String> union(List<String> current, Collection<String> added) {
+        Set<String> values = new LinkedHashSet<>();
+        if (current != null) {
+            values.addAll(current);
+        }
+        values.addAll(added);
+        return new ArrayList<>(values);
     }
     
     /**
@@ -218,18 +560,12 @@ public class JpaBookRepositoryAdapter implements BookRepository {
             return null;
         }
         
-        // Handle null values with defaults
-        String isbn = entity.getIsbns() != null && !entity.getIsbns().isEmpty() ? entity.getIsbns().get(0) : null;
-        
-        String language = null;
-        if (entity.getLanguages() != null && !entity.getLanguages().isEmpty()) {
-            language = entity.getLanguages().get(0);
-        }
-        
-        String publisher = null;
-        if (entity.getPublishers() != null && !entity.getPublishers().isEmpty()) {
-            publisher = entity.getPublishers().get(0);
-        }
+        // Compact rows are read without touching the element collection tables
+        BookLists lists = entity.getLists();
+        String isbn = first(lists != null ? lists.getIsbns() : entity.getIsbns());
+        List<String> genres = lists != null ? lists.getGenres() : entity.getGenres();
+        String language = first(lists != null ? lists.getLanguages() : entity.getLanguages());
+        String publisher = first(lists != null ? lists.getPublishers() : entity.getPublishers());
         
         // Extract publication date
         LocalDate publicationDate = entity.getFirstPublishYear() != null 
@@ -253,7 +589,7 @@ public class JpaBookRepositoryAdapter implements BookRepository {
                 entity.getFirstSentence(), // Using first_sentence as description
                 entity.getCoverUrl(),
                 entity.getNumberOfPagesMedian(),
-                entity.getGenres(),
+                genres,
                 language,
                 publicationDate,
                 publisher,
@@ -262,4 +598,28 @@ public class JpaBookRepositoryAdapter implements BookRepository {
                 updatedAt
         );
     }
-} 
\ No newline at end of file
+    
+    private BookSummary mapToSummary(BookSummaryRow row) {
+        return new BookSummary(
+                BookId.of(row.getId()),
+                row.getTitle(),
+                row.getAuthor(),
+                row.getCoverUrl(),
+                row.getFirstPublishYear(),
+                row.getOpenLibraryKey()
+        );
+    }
+    
+    /**
+     * @return A copy of the genres of a stored book, read like {@link #mapToDomainEntity}
+     */
+    static List<String> genresOf(BookJpaEntity entity) {
+        BookLists lists = entity.getLists();
+        List<String> genres = lists != null ? lists.getGenres() : entity.getGenres();
+        return genres != null ? new ArrayList<>(genres) : new ArrayList<>();
+    }
+    
+    private static String first(List<String> values) {
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+}
\ No newline at end of file
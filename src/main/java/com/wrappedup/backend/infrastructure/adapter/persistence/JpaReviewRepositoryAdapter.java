@@ -15,7 +15,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -28,6 +30,7 @@ import java.util.stream.Collectors;
 public class JpaReviewRepositoryAdapter implements ReviewRepository {
 
     private final ReviewJpaRepository jpaRepository;
+    private final Counters counters;
     
     @PersistenceContext
     private EntityManager entityManager;
@@ -39,9 +42,12 @@ public class JpaReviewRepositoryAdapter implements ReviewRepository {
         
         ReviewJpaEntity entity = mapToJpaEntity(review);
         
-        // Check if entity exists
-        boolean exists = jpaRepository.existsById(entity.getId());
+        // Check if entity exists, keeping what it counted for
+        Optional<ReviewJpaEntity> stored = jpaRepository.findById(entity.getId());
+        boolean exists = stored.isPresent();
         log.debug("Review exists in database: {}", exists);
+        Map<String, Long> countChanges = new HashMap<>();
+        stored.ifPresent(before -> countPublicReview(countChanges, before, -1));
         
         // Save entity
         ReviewJpaEntity savedEntity;
@@ -53,6 +59,8 @@ public class JpaReviewRepositoryAdapter implements ReviewRepository {
         } else {
             savedEntity = jpaRepository.save(entity);
         }
+        countPublicReview(countChanges, savedEntity, 1);
+        counters.add(countChanges);
         
         return mapToDomainEntity(savedEntity);
     }
@@ -98,8 +106,12 @@ public class JpaReviewRepositoryAdapter implements ReviewRepository {
     public void deleteById(ReviewId id) {
         log.info("Deleting review with ID: {}", id.getValue());
         try {
-            if (jpaRepository.existsById(id.getValue())) {
-                jpaRepository.deleteById(id.getValue());
+            Optional<ReviewJpaEntity> stored = jpaRepository.findById(id.getValue());
+            if (stored.isPresent()) {
+                jpaRepository.delete(stored.get());
+                Map<String, Long> countChanges = new HashMap<>();
+                countPublicReview(countChanges, stored.get(), -1);
+                counters.add(countChanges);
                 log.info("Successfully deleted review with ID: {}", id.getValue());
             } else {
                 log.warn("Cannot delete review with ID: {} - Review does not exist", id.getValue());
@@ -110,6 +122,20 @@ public class JpaReviewRepositoryAdapter implements ReviewRepository {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long countPublicReviewsByBookId(BookId bookId) {
+        return counters.isReady()
+                ? counters.get(Counters.publicReviewsOf(bookId.getValue()))
+                : jpaRepository.countByBookIdAndIsPublicTrue(bookId.getValue());
+    }
+
+    private static void countPublicReview(Map<String, Long> countChanges, ReviewJpaEntity review, long delta) {
+        if (review.isPublic()) {
+            countChanges.merge(Counters.publicReviewsOf(review.getBookId()), delta, Long::sum);
+        }
+    }
+
     private ReviewJpaEntity mapToJpaEntity(Review review) {
         LocalDateTime now = LocalDateTime.now();
         return ReviewJpaEntity.builder()
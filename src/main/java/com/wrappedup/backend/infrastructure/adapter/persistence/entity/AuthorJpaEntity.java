@@ -0,0 +1,39 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity caching OpenLibrary author names, keyed by the OpenLibrary author key (e.g. OL23919A).
+ */
+@Entity
+@Table(name = "authors")
+@Getter
+@Setter
+@NoArgsConstructor
+public class AuthorJpaEntity {
+    @Id
+    @Column(name = "author_key", length = 32)
+    private String authorKey;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public AuthorJpaEntity(String authorKey, String name) {
+        this.authorKey = authorKey;
+        this.name = name;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -1,11 +1,14 @@
 package com.wrappedup.backend.infrastructure.adapter.persistence.entity;
 
+import com.wrappedup.backend.infrastructure.adapter.persistence.BookCacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.OptimisticLockType;
 import org.hibernate.annotations.OptimisticLocking;
@@ -17,16 +20,26 @@ import java.util.UUID;
 
 /**
  * JPA entity for Book persistence.
+ *
+ * List-valued attributes are either kept in one element collection table each or, in compact
+ * storage, in the {@code lists} JSON column, with only ISBNs and genres also written to their
+ * indexed tables for lookups. Rows whose {@code lists} column is null use the tables.
+ *
+ * Books and the collections read when mapping them are kept in the second-level cache, see
+ * {@link BookCacheRegions}.
  */
 @Entity
 @Table(name = "books", 
        indexes = {
-           @Index(name = "idx_open_library_key", columnList = "open_library_key", unique = true)
+           @Index(name = "idx_open_library_key", columnList = "open_library_key", unique = true),
+           @Index(name = "idx_books_created_at_id", columnList = "created_at, id")
        })
 @Getter
 @Setter
 @NoArgsConstructor
 @OptimisticLocking(type = OptimisticLockType.NONE)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BookCacheRegions.BOOKS)
 public class BookJpaEntity {
     @Id
     @Column(name = "id", columnDefinition = "BINARY(16)")
@@ -120,12 +133,16 @@ public class BookJpaEntity {
     private List<String> oclcs = new ArrayList<>();
 
     @ElementCollection(fetch = FetchType.LAZY)
-    @CollectionTable(name = "book_isbns", joinColumns = @JoinColumn(name = "book_id"))
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BookCacheRegions.ISBNS)
+    @CollectionTable(name = "book_isbns", joinColumns = @JoinColumn(name = "book_id"),
+                     indexes = @Index(name = "idx_book_isbns_isbn", columnList = "isbn"))
     @Column(name = "isbn")
     private List<String> isbns = new ArrayList<>();
 
     @ElementCollection(fetch = FetchType.LAZY)
-    @CollectionTable(name = "book_genres", joinColumns = @JoinColumn(name = "book_id"))
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BookCacheRegions.GENRES)
+    @CollectionTable(name = "book_genres", joinColumns = @JoinColumn(name = "book_id"),
+                     indexes = @Index(name = "idx_book_genres_genre", columnList = "genre"))
     @Column(name = "genre")
     private List<String> genres = new ArrayList<>();
 
@@ -140,6 +157,7 @@ public class BookJpaEntity {
     private List<String> publishPlaces = new ArrayList<>();
 
     @ElementCollection(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BookCacheRegions.PUBLISHERS)
     @CollectionTable(name = "book_publishers", joinColumns = @JoinColumn(name = "book_id"))
     @Column(name = "publisher")
     private List<String> publishers = new ArrayList<>();
@@ -181,6 +199,7 @@ public class BookJpaEntity {
     private Boolean hasFulltext;
 
     @ElementCollection(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BookCacheRegions.LANGUAGES)
     @CollectionTable(name = "book_languages", joinColumns = @JoinColumn(name = "book_id"))
     @Column(name = "language_name")
     private List<String> languages = new ArrayList<>();
@@ -236,6 +255,11 @@ public class BookJpaEntity {
     @Column(name = "ddc")
     private List<String> ddcs = new ArrayList<>();
 
+    // All of the lists above in compact storage, null while they live in their own tables
+    @Convert(converter = BookListsConverter.class)
+    @Column(name = "lists", length = 16_777_215)
+    private BookLists lists;
+
     @Column(name = "lcc_sort")
     private String lccSort;
 
@@ -247,11 +271,27 @@ public class BookJpaEntity {
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Last time the background refresher compared the row with OpenLibrary, changed or not
+    @Column(name = "metadata_refreshed_at")
+    private LocalDateTime metadataRefreshedAt;
     
     // Explicitly mark that no version field should be used
     @Transient
     private transient Object ignoreVersion;
 
+    // Set while the only pending change is the refresh time, which is not an update of the book
+    @Transient
+    private transient boolean refreshOnly;
+
+    /**
+     * Moves the metadata refresh time forward without moving {@code updatedAt}.
+     */
+    public void markMetadataRefreshed(LocalDateTime refreshedAt) {
+        metadataRefreshedAt = refreshedAt;
+        refreshOnly = true;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -260,6 +300,9 @@ public class BookJpaEntity {
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        if (!refreshOnly) {
+            updatedAt = LocalDateTime.now();
+        }
+        refreshOnly = false;
     }
 } 
\ No newline at end of file
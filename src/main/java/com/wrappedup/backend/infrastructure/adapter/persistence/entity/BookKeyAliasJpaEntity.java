@@ -0,0 +1,34 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * JPA entity mapping every known OpenLibrary work key of a book, its own key and the keys of
+ * works redirected to it, in canonical form (e.g. /works/OL45883W) to the book.
+ */
+@Entity
+@Table(name = "book_key_aliases",
+       indexes = {
+           @Index(name = "idx_book_key_aliases_book_id", columnList = "book_id")
+       })
+@Getter
+@Setter
+@NoArgsConstructor
+public class BookKeyAliasJpaEntity {
+    @Id
+    @Column(name = "alias", length = 64)
+    private String alias;
+
+    @Column(name = "book_id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID bookId;
+
+    public BookKeyAliasJpaEntity(String alias, UUID bookId) {
+        this.alias = alias;
+        this.bookId = bookId;
+    }
+}
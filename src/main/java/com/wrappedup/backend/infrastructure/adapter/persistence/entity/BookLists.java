@@ -0,0 +1,125 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The list-valued attributes of a book, stored as one JSON column of the books row.
+ *
+ * Holds the same lists as the element collection tables of {@link BookJpaEntity}. ISBNs and
+ * genres are kept here as well, so a book can be read without touching any side table, while
+ * their tables stay the indexed source for lookups.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class BookLists {
+    private List<String> authorAlternativeNames = new ArrayList<>();
+    private List<Integer> publishYears = new ArrayList<>();
+    private List<String> redirects = new ArrayList<>();
+    private List<String> editionKeys = new ArrayList<>();
+    private List<String> publishDates = new ArrayList<>();
+    private List<String> lccns = new ArrayList<>();
+    private List<String> iaIds = new ArrayList<>();
+    private List<String> oclcs = new ArrayList<>();
+    private List<String> isbns = new ArrayList<>();
+    private List<String> genres = new ArrayList<>();
+    private List<String> contributors = new ArrayList<>();
+    private List<String> publishPlaces = new ArrayList<>();
+    private List<String> publishers = new ArrayList<>();
+    private List<String> authorKeys = new ArrayList<>();
+    private List<String> authorNames = new ArrayList<>();
+    private List<String> subjects = new ArrayList<>();
+    private List<String> persons = new ArrayList<>();
+    private List<String> places = new ArrayList<>();
+    private List<String> times = new ArrayList<>();
+    private List<String> languages = new ArrayList<>();
+    private List<String> subjectKeys = new ArrayList<>();
+    private List<String> personKeys = new ArrayList<>();
+    private List<String> placeKeys = new ArrayList<>();
+    private List<String> timeKeys = new ArrayList<>();
+    private List<String> lccs = new ArrayList<>();
+    private List<String> ddcs = new ArrayList<>();
+
+    /**
+     * Copies the lists of a book still stored in its element collection tables.
+     */
+    public static BookLists from(BookJpaEntity entity) {
+        BookLists lists = new BookLists();
+        lists.authorAlternativeNames = copy(entity.getAuthorAlternativeNames());
+        lists.publishYears = copy(entity.getPublishYears());
+        lists.redirects = copy(entity.getRedirects());
+        lists.editionKeys = copy(entity.getEditionKeys());
+        lists.publishDates = copy(entity.getPublishDates());
+        lists.lccns = copy(entity.getLccns());
+        lists.iaIds = copy(entity.getIaIds());
+        lists.oclcs = copy(entity.getOclcs());
+        lists.isbns = copy(entity.getIsbns());
+        lists.genres = copy(entity.getGenres());
+        lists.contributors = copy(entity.getContributors());
+        lists.publishPlaces = copy(entity.getPublishPlaces());
+        lists.publishers = copy(entity.getPublishers());
+        lists.authorKeys = copy(entity.getAuthorKeys());
+        lists.authorNames = copy(entity.getAuthorNames());
+        lists.subjects = copy(entity.getSubjects());
+        lists.persons = copy(entity.getPersons());
+        lists.places = copy(entity.getPlaces());
+        lists.times = copy(entity.getTimes());
+        lists.languages = copy(entity.getLanguages());
+        lists.subjectKeys = copy(entity.getSubjectKeys());
+        lists.personKeys = copy(entity.getPersonKeys());
+        lists.placeKeys = copy(entity.getPlaceKeys());
+        lists.timeKeys = copy(entity.getTimeKeys());
+        lists.lccs = copy(entity.getLccs());
+        lists.ddcs = copy(entity.getDdcs());
+        return lists;
+    }
+
+    /**
+     * Empties the element collection tables that are not used for lookups, keeping ISBNs and genres.
+     */
+    public static void clearSideTables(BookJpaEntity entity) {
+        clear(entity.getAuthorAlternativeNames());
+        clear(entity.getPublishYears());
+        clear(entity.getRedirects());
+        clear(entity.getEditionKeys());
+        clear(entity.getPublishDates());
+        clear(entity.getLccns());
+        clear(entity.getIaIds());
+        clear(entity.getOclcs());
+        clear(entity.getContributors());
+        clear(entity.getPublishPlaces());
+        clear(entity.getPublishers());
+        clear(entity.getAuthorKeys());
+        clear(entity.getAuthorNames());
+        clear(entity.getSubjects());
+        clear(entity.getPersons());
+        clear(entity.getPlaces());
+        clear(entity.getTimes());
+        clear(entity.getLanguages());
+        clear(entity.getSubjectKeys());
+        clear(entity.getPersonKeys());
+        clear(entity.getPlaceKeys());
+        clear(entity.getTimeKeys());
+        clear(entity.getLccs());
+        clear(entity.getDdcs());
+    }
+
+    private static <T> List<T> copy(List<T> values) {
+        return values != null ? new ArrayList<>(values) : new ArrayList<>();
+    }
+
+    private static void clear(List<?> values) {
+        if (values != null && !values.isEmpty()) {
+            values.clear();
+        }
+    }
+}
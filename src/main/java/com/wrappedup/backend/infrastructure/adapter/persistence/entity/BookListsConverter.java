@@ -0,0 +1,49 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link BookLists} as JSON, leaving out empty lists.
+ */
+@Converter
+public class BookListsConverter implements AttributeConverter<BookLists, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * @return A deep copy, entities must get a new instance for a change to be written
+     */
+    public static BookLists copyOf(BookLists lists) {
+        BookListsConverter converter = new BookListsConverter();
+        return converter.convertToEntityAttribute(converter.convertToDatabaseColumn(lists));
+    }
+
+    @Override
+    public String convertToDatabaseColumn(BookLists lists) {
+        if (lists == null) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(lists);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not write book lists", e);
+        }
+    }
+
+    @Override
+    public BookLists convertToEntityAttribute(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(json, BookLists.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not read book lists", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity for the last checkpointed value of an in-memory counter, e.g. {@code books} or
+ * {@code books.genre:Fantasy}.
+ */
+@Entity
+@Table(name = "counters")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CounterJpaEntity {
+    @Id
+    @Column(name = "name", length = 191)
+    private String name;
+
+    @Column(name = "counter_value", nullable = false)
+    private long value;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public CounterJpaEntity(String name, long value, LocalDateTime updatedAt) {
+        this.name = name;
+        this.value = value;
+        this.updatedAt = updatedAt;
+    }
+}
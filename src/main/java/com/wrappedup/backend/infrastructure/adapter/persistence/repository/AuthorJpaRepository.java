@@ -0,0 +1,12 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.repository;
+
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.AuthorJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for AuthorJpaEntity.
+ */
+@Repository
+public interface AuthorJpaRepository extends JpaRepository<AuthorJpaEntity, String> {
+}
@@ -0,0 +1,13 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of an ISBN and the book it belongs to.
+ */
+public interface BookIsbnRow {
+
+    String getIsbn();
+
+    UUID getBookId();
+}
@@ -5,12 +5,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for BookJpaEntity.
@@ -18,22 +24,126 @@ import java.util.UUID;
 @Repository
 public interface BookJpaRepository extends JpaRepository<BookJpaEntity, UUID> {
     
+    /**
+     * Rows the JDBC driver fetches per round trip while streaming. MySQL only honours it with
+     * {@code useCursorFetch=true} in the connection URL and otherwise reads the whole result.
+     */
+    String STREAM_FETCH_SIZE = "500";
+    
+    /**
+     * Caches the ids a query finds in the query cache. The books themselves come from the entity
+     * cache, and the results are dropped whenever a table the query reads is written.
+     */
+    String CACHEABLE = "org.hibernate.cacheable";
+    
     List<BookJpaEntity> findByTitleContainingIgnoreCase(String title);
     
     List<BookJpaEntity> findByAuthorContainingIgnoreCase(String author);
     
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     @Query("SELECT b FROM BookJpaEntity b JOIN b.isbns i WHERE i = :isbn")
     Optional<BookJpaEntity> findByIsbn(@Param("isbn") String isbn);
     
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM BookJpaEntity b JOIN b.isbns i WHERE i = :isbn")
     boolean existsByIsbn(@Param("isbn") String isbn);
     
+    @Query("SELECT i AS isbn, b.id AS bookId FROM BookJpaEntity b JOIN b.isbns i WHERE i IN :isbns")
+    List<BookIsbnRow> findIdsByIsbnIn(@Param("isbns") Collection<String> isbns);
+    
     @Query("SELECT b FROM BookJpaEntity b JOIN b.genres g WHERE g = :genre")
     List<BookJpaEntity> findByGenre(@Param("genre") String genre);
     
-    Optional<BookJpaEntity> findByOpenLibraryKey(String openLibraryKey);
+    List<BookSummaryRow> findSummariesBy(Pageable pageable);
+    
+    List<BookSummaryRow> findSummariesByTitleContainingIgnoreCase(String title);
+    
+    List<BookSummaryRow> findSummariesByAuthorContainingIgnoreCase(String author);
+    
+    @Query("SELECT b.id AS id, b.title AS title, b.author AS author, b.coverUrl AS coverUrl, "
+            + "b.firstPublishYear AS firstPublishYear, b.openLibraryKey AS openLibraryKey "
+            + "FROM BookJpaEntity b JOIN b.genres g WHERE g = :genre")
+    List<BookSummaryRow> findSummariesByGenre(@Param("genre") String genre);
+    
+    List<BookSummaryRow> findSummariesByIdIn(Collection<UUID> ids);
+    
+    @Query("SELECT COUNT(DISTINCT b) FROM BookJpaEntity b JOIN b.genres g WHERE g = :genre")
+    long countByGenre(@Param("genre") String genre);
+    
+    @Query("SELECT g AS genre, COUNT(DISTINCT b) AS bookCount FROM BookJpaEntity b JOIN b.genres g GROUP BY g")
+    List<GenreCountRow> countByGenres();
+    
+    /**
+     * Walks all books in id order, one page after the other, without an offset to skip.
+     */
+    @Query("SELECT b.id AS id, b.title AS title, b.author AS author, b.coverUrl AS coverUrl, "
+            + "b.firstPublishYear AS firstPublishYear, b.openLibraryKey AS openLibraryKey "
+            + "FROM BookJpaEntity b WHERE b.id > :after ORDER BY b.id")
+    List<BookSummaryRow> findSummariesAfter(@Param("after") UUID after, Pageable pageable);
+    
+    /**
+     * Finds the first page of the catalog ordered by creation time and id.
+     */
+    @Query("SELECT b.id AS id, b.title AS title, b.author AS author, b.coverUrl AS coverUrl, "
+            + "b.firstPublishYear AS firstPublishYear, b.openLibraryKey AS openLibraryKey, b.createdAt AS createdAt "
+            + "FROM BookJpaEntity b ORDER BY b.createdAt, b.id")
+    List<BookSummaryKeysetRow> findKeysetPage(Pageable pageable);
+    
+    /**
+     * Finds the page of the catalog after a book, seeking in the (created_at, id) index instead of
+     * skipping the rows of the pages before.
+     */
+    @Query("SELECT b.id AS id, b.title AS title, b.author AS author, b.coverUrl AS coverUrl, "
+            + "b.firstPublishYear AS firstPublishYear, b.openLibraryKey AS openLibraryKey, b.createdAt AS createdAt "
+            + "FROM BookJpaEntity b "
+            + "WHERE b.createdAt > :createdAt OR (b.createdAt = :createdAt AND b.id > :id) "
+            + "ORDER BY b.createdAt, b.id")
+    List<BookSummaryKeysetRow> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") UUID id,
+                                                   Pageable pageable);
+    
+    /**
+     * Streams the whole catalog ordered by creation time and id. The rows are projections, so the
+     * persistence context does not grow while the stream is consumed; it must be closed in the
+     * transaction that opened it.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = STREAM_FETCH_SIZE))
+    @Query("SELECT b.id AS id, b.title AS title, b.author AS author, b.coverUrl AS coverUrl, "
+            + "b.firstPublishYear AS firstPublishYear, b.openLibraryKey AS openLibraryKey, b.createdAt AS createdAt "
+            + "FROM BookJpaEntity b ORDER BY b.createdAt, b.id")
+    Stream<BookSummaryKeysetRow> streamKeysetOrdered();
+    
+    /**
+     * Finds a book by any of its OpenLibrary keys, in canonical form.
+     */
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
+    @Query("SELECT b FROM BookJpaEntity b WHERE b.id = "
+            + "(SELECT a.bookId FROM BookKeyAliasJpaEntity a WHERE a.alias = :alias)")
+    Optional<BookJpaEntity> findByKeyAlias(@Param("alias") String alias);
+    
+    List<BookJpaEntity> findByOpenLibraryKeyIn(Collection<String> openLibraryKeys);
+    
+    @Query("SELECT a.alias AS alias, a.bookId AS bookId FROM BookKeyAliasJpaEntity a WHERE a.alias IN :aliases")
+    List<BookKeyAliasRow> findIdsByKeyAliasIn(@Param("aliases") Collection<String> aliases);
     
     boolean existsByOpenLibraryKey(String openLibraryKey);
     
     Page<BookJpaEntity> findAll(Pageable pageable);
+    
+    @Query("SELECT b.id AS id, b.openLibraryKey AS openLibraryKey FROM BookJpaEntity b "
+            + "WHERE b.openLibraryKey IS NOT NULL AND b.id IN :ids "
+            + "AND COALESCE(b.metadataRefreshedAt, b.updatedAt) < :staleBefore")
+    List<BookRefreshCandidate> findStaleAmong(@Param("ids") Collection<UUID> ids,
+                                              @Param("staleBefore") LocalDateTime staleBefore);
+    
+    @Query("SELECT b.id AS id, b.openLibraryKey AS openLibraryKey FROM BookJpaEntity b "
+            + "WHERE b.openLibraryKey IS NOT NULL AND COALESCE(b.metadataRefreshedAt, b.updatedAt) < :staleBefore "
+            + "ORDER BY COALESCE(b.metadataRefreshedAt, b.updatedAt)")
+    List<BookRefreshCandidate> findStalest(@Param("staleBefore") LocalDateTime staleBefore, Pageable pageable);
+    
+    /**
+     * Finds books whose lists are still stored in their element collection tables.
+     */
+    @Query("SELECT b FROM BookJpaEntity b WHERE b.lists IS NULL")
+    List<BookJpaEntity> findWithoutLists(Pageable pageable);
 } 
\ No newline at end of file
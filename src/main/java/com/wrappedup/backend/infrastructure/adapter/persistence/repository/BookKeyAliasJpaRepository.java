@@ -0,0 +1,34 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.repository;
+
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookKeyAliasJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for BookKeyAliasJpaEntity.
+ */
+@Repository
+public interface BookKeyAliasJpaRepository extends JpaRepository<BookKeyAliasJpaEntity, String> {
+    
+    @Modifying
+    @Query("INSERT INTO BookKeyAliasJpaEntity (alias, bookId) "
+            + "SELECT b.openLibraryKey, b.id FROM BookJpaEntity b WHERE b.openLibraryKey IS NOT NULL "
+            + "AND NOT EXISTS (SELECT a.alias FROM BookKeyAliasJpaEntity a WHERE a.alias = b.openLibraryKey)")
+    int insertMissingOpenLibraryKeys();
+    
+    @Modifying
+    @Query("INSERT INTO BookKeyAliasJpaEntity (alias, bookId) "
+            + "SELECT r, MIN(b.id) FROM BookJpaEntity b JOIN b.redirects r "
+            + "WHERE NOT EXISTS (SELECT a.alias FROM BookKeyAliasJpaEntity a WHERE a.alias = r) "
+            + "GROUP BY r")
+    int insertMissingRedirects();
+    
+    @Modifying
+    @Query("DELETE FROM BookKeyAliasJpaEntity a WHERE a.bookId = :bookId")
+    int deleteByBookId(@Param("bookId") UUID bookId);
+}
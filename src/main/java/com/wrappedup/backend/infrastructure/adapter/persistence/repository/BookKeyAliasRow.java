@@ -0,0 +1,13 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of an OpenLibrary key alias and the book it resolves to.
+ */
+public interface BookKeyAliasRow {
+
+    String getAlias();
+
+    UUID getBookId();
+}
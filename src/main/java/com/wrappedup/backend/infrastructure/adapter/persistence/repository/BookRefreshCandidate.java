@@ -0,0 +1,13 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of a book due for a metadata refresh, without loading the entity and its collections.
+ */
+public interface BookRefreshCandidate {
+
+    UUID getId();
+
+    String getOpenLibraryKey();
+}
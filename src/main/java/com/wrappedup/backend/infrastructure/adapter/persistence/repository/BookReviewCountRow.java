@@ -0,0 +1,13 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of the number of public reviews of a book.
+ */
+public interface BookReviewCountRow {
+
+    UUID getBookId();
+
+    long getReviewCount();
+}
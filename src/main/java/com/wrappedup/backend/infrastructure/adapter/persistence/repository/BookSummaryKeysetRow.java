@@ -0,0 +1,11 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a book summary together with the creation time that, with the id, orders the catalog.
+ */
+public interface BookSummaryKeysetRow extends BookSummaryRow {
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,21 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of the columns of the books row a book list shows, read without the entity and its lists.
+ */
+public interface BookSummaryRow {
+
+    UUID getId();
+
+    String getTitle();
+
+    String getAuthor();
+
+    String getCoverUrl();
+
+    Integer getFirstPublishYear();
+
+    String getOpenLibraryKey();
+}
@@ -0,0 +1,12 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.repository;
+
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.CounterJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for CounterJpaEntity.
+ */
+@Repository
+public interface CounterJpaRepository extends JpaRepository<CounterJpaEntity, String> {
+}
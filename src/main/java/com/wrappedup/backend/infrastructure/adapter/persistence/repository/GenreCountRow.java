@@ -0,0 +1,11 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence.repository;
+
+/**
+ * Projection of the number of books in a genre.
+ */
+public interface GenreCountRow {
+
+    String getGenre();
+
+    long getBookCount();
+}
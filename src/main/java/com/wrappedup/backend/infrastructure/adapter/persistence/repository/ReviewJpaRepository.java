@@ -2,6 +2,7 @@ package com.wrappedup.backend.infrastructure.adapter.persistence.repository;
 
 import com.wrappedup.backend.infrastructure.adapter.persistence.entity.ReviewJpaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -28,4 +29,16 @@ public interface ReviewJpaRepository extends JpaRepository<ReviewJpaEntity, UUID
      * Find all public reviews by book ID.
      */
     List<ReviewJpaEntity> findByBookIdAndIsPublicTrue(UUID bookId);
+
+    /**
+     * Count the public reviews of a book.
+     */
+    long countByBookIdAndIsPublicTrue(UUID bookId);
+
+    /**
+     * Count the public reviews of every book that has any.
+     */
+    @Query("SELECT r.bookId AS bookId, COUNT(r) AS reviewCount FROM ReviewJpaEntity r "
+            + "WHERE r.isPublic = true GROUP BY r.bookId")
+    List<BookReviewCountRow> countPublicByBook();
 } 
\ No newline at end of file
@@ -0,0 +1,294 @@
+package com.wrappedup.backend.infrastructure.adapter.search;
+
+import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.port.out.BookSearchPort;
+import com.wrappedup.backend.infrastructure.adapter.persistence.BookChangeListener;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookSummaryRow;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Full-text index of book titles and authors, kept in an embedded Lucene index.
+ *
+ * The index is rebuilt from the books table in the background after every start and then kept
+ * up to date from the book writes of the persistence adapters. Until the rebuild has finished
+ * the index reports itself as not ready. Searches require every word of the query, treat the
+ * last one as a prefix so results follow the user's typing, and rank the matches by BM25.
+ *
+ * The index lives in memory unless {@code search.books.directory} names a directory for its
+ * files; it is rebuilt either way.
+ */
+@Component
+@Slf4j
+public class LuceneBookSearchIndex implements BookSearchPort, BookChangeListener {
+
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String AUTHOR = "author";
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final BookJpaRepository bookJpaRepository;
+    private final Directory directory;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final int rebuildBatchSize;
+    private final ExecutorService executor;
+
+    private volatile boolean ready;
+    private final AtomicLong searchCount = new AtomicLong();
+
+    @Autowired
+    public LuceneBookSearchIndex(
+            BookJpaRepository bookJpaRepository,
+            @Value("${search.books.directory:}") String directory,
+            @Value("${search.books.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this(bookJpaRepository, open(directory), rebuildBatchSize);
+    }
+
+    LuceneBookSearchIndex(BookJpaRepository bookJpaRepository, Directory directory, int rebuildBatchSize) {
+        this.bookJpaRepository = bookJpaRepository;
+        this.directory = directory;
+        this.rebuildBatchSize = rebuildBatchSize;
+        try {
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open book search index", e);
+        }
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "book-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Directory open(String directory) {
+        try {
+            return directory == null || directory.isBlank()
+                    ? new ByteBuffersDirectory()
+                    : FSDirectory.open(Path.of(directory));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open book search index at " + directory, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void start() {
+        executor.execute(() -> {
+            try {
+                long indexed = rebuild();
+                log.info("Book search index built with {} books", indexed);
+            } catch (RuntimeException e) {
+                log.error("Building the book search index failed, searches fall back to the database: {}",
+                        e.getMessage(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        executor.shutdownNow();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Indexes every stored book, one page of books at a time.
+     *
+     * @return The number of books indexed
+     */
+    public long rebuild() {
+        long indexed = 0;
+        UUID after = FIRST_ID;
+        List<BookSummaryRow> page;
+        do {
+            page = bookJpaRepository.findSummariesAfter(after, PageRequest.of(0, rebuildBatchSize));
+            for (BookSummaryRow row : page) {
+                index(row.getId(), row.getTitle(), row.getAuthor());
+                after = row.getId();
+            }
+            indexed += page.size();
+        } while (page.size() == rebuildBatchSize && !Thread.currentThread().isInterrupted());
+        refresh();
+        ready = true;
+        return indexed;
+    }
+
+    @Override
+    public void booksSaved(Collection<BookJpaEntity> books) {
+        for (BookJpaEntity book : books) {
+            index(book.getId(), book.getTitle(), book.getAuthor());
+        }
+        refresh();
+    }
+
+    @Override
+    public void booksDeleted(Collection<UUID> ids) {
+        try {
+            writer.deleteDocuments(ids.stream().map(id -> new Term(ID, id.toString())).toArray(Term[]::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not remove books from the search index", e);
+        }
+        refresh();
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<BookId> searchByTitle(String text, int limit) {
+        return search(TITLE, text, limit);
+    }
+
+    @Override
+    public List<BookId> searchByAuthor(String text, int limit) {
+        return search(AUTHOR, text, limit);
+    }
+
+    public long getDocumentCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    public long getSearchCount() {
+        return searchCount.get();
+    }
+
+    void index(UUID id, String title, String author) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        if (title != null) {
+            document.add(new TextField(TITLE, title, Field.Store.NO));
+        }
+        if (author != null) {
+            document.add(new TextField(AUTHOR, author, Field.Store.NO));
+        }
+        try {
+            writer.updateDocument(new Term(ID, id.toString()), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not index book " + id, e);
+        }
+    }
+
+    /**
+     * Makes the documents written so far visible to searches.
+     */
+    void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not refresh the book search index", e);
+        }
+    }
+
+    private List<BookId> search(String field, String text, int limit) {
+        Query query = query(field, text);
+        if (query == null || limit <= 0) {
+            return List.of();
+        }
+        searchCount.incrementAndGet();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query, limit).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<BookId> ids = new ArrayList<>(hits.length);
+                for (ScoreDoc hit : hits) {
+                    ids.add(BookId.of(storedFields.document(hit.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not search the book index", e);
+        }
+    }
+
+    /**
+     * @return A query requiring every word of the text, the last one as word or prefix, or null
+     *         if the text has no words
+     */
+    Query query(String field, String text) {
+        List<String> words = analyze(field, text);
+        if (words.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String word : words.subList(0, words.size() - 1)) {
+            query.add(new TermQuery(new Term(field, word)), BooleanClause.Occur.MUST);
+        }
+        // Whole words score above words that only start with what was typed
+        Term last = new Term(field, words.get(words.size() - 1));
+        query.add(new BooleanQuery.Builder()
+                .add(new TermQuery(last), BooleanClause.Occur.SHOULD)
+                .add(new PrefixQuery(last), BooleanClause.Occur.SHOULD)
+                .build(), BooleanClause.Occur.MUST);
+        return query.build();
+    }
+
+    private List<String> analyze(String field, String text) {
+        List<String> words = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(field, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not analyze search text", e);
+        }
+        return words;
+    }
+}
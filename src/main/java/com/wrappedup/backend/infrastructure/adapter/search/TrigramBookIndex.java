@@ -0,0 +1,163 @@
+package com.wrappedup.backend.infrastructure.adapter.search;
+
+import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.port.out.FuzzyBookSearchPort;
+import com.wrappedup.backend.infrastructure.adapter.persistence.BookChangeListener;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookSummaryRow;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory trigram indexes of book titles and authors, for lookups that tolerate typos.
+ *
+ * Built from the books table in the background after every start and kept up to date from the
+ * book writes of the persistence adapters. A book matches when its title or author contains at
+ * least {@code search.books.fuzzy.min-similarity} of the trigrams of the query; matches are
+ * ranked by the share of trigrams they contain.
+ */
+@Component
+@Slf4j
+public class TrigramBookIndex implements FuzzyBookSearchPort, BookChangeListener {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final BookJpaRepository bookJpaRepository;
+    private final double minSimilarity;
+    private final int rebuildBatchSize;
+    private final ExecutorService executor;
+
+    // Guarded by this
+    private final TrigramIndex titles = new TrigramIndex();
+    private final TrigramIndex authors = new TrigramIndex();
+
+    private volatile boolean ready;
+    private final AtomicLong lookupCount = new AtomicLong();
+
+    public TrigramBookIndex(
+            BookJpaRepository bookJpaRepository,
+            @Value("${search.books.fuzzy.min-similarity:0.4}") double minSimilarity,
+            @Value("${search.books.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.bookJpaRepository = bookJpaRepository;
+        this.minSimilarity = minSimilarity;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "book-trigram-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void start() {
+        executor.execute(() -> {
+            try {
+                long indexed = rebuild();
+                log.info("Book trigram index built with {} books ({} bytes of postings)", indexed, getPostingBytes());
+            } catch (RuntimeException e) {
+                log.error("Building the book trigram index failed, typo-tolerant lookups stay off: {}",
+                        e.getMessage(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Indexes every stored book, one page of books at a time.
+     *
+     * @return The number of books indexed
+     */
+    public long rebuild() {
+        long indexed = 0;
+        UUID after = FIRST_ID;
+        List<BookSummaryRow> page;
+        do {
+            page = bookJpaRepository.findSummariesAfter(after, PageRequest.of(0, rebuildBatchSize));
+            synchronized (this) {
+                for (BookSummaryRow row : page) {
+                    put(row.getId(), row.getTitle(), row.getAuthor());
+                    after = row.getId();
+                }
+            }
+            indexed += page.size();
+        } while (page.size() == rebuildBatchSize && !Thread.currentThread().isInterrupted());
+        ready = true;
+        return indexed;
+    }
+
+    @Override
+    public synchronized void booksSaved(Collection<BookJpaEntity> books) {
+        for (BookJpaEntity book : books) {
+            put(book.getId(), book.getTitle(), book.getAuthor());
+        }
+    }
+
+    @Override
+    public synchronized void booksDeleted(Collection<UUID> ids) {
+        for (UUID id : ids) {
+            titles.remove(id);
+            authors.remove(id);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<BookId> findSimilarTitles(String text, int limit) {
+        return lookup(titles, text, limit);
+    }
+
+    @Override
+    public List<BookId> findSimilarAuthors(String text, int limit) {
+        return lookup(authors, text, limit);
+    }
+
+    public synchronized int getBookCount() {
+        return titles.size();
+    }
+
+    public synchronized long getPostingBytes() {
+        return titles.postingBytes() + authors.postingBytes();
+    }
+
+    public long getLookupCount() {
+        return lookupCount.get();
+    }
+
+    private void put(UUID id, String title, String author) {
+        titles.put(id, title);
+        authors.put(id, author);
+    }
+
+    private List<BookId> lookup(TrigramIndex index, String text, int limit) {
+        lookupCount.incrementAndGet();
+        List<TrigramIndex.Match> matches;
+        synchronized (this) {
+            matches = index.search(text, limit, minSimilarity);
+        }
+        return matches.stream().map(match -> BookId.of(match.bookId())).toList();
+    }
+}
@@ -0,0 +1,394 @@
+package com.wrappedup.backend.infrastructure.adapter.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Inverted index from the trigrams of one text per book to the books containing them, for
+ * typo-tolerant lookups.
+ *
+ * Texts are folded to lower case letters and digits without accents and every word is padded
+ * with two spaces in front and one behind, so {@code "Tolkien"} yields
+ * {@code "  t", " to", "tol", ..., "en "}.
+ * Each distinct text is indexed once, as one document listing the books that share it, which
+ * keeps author lookups independent of how many books an author wrote. Every new text gets the
+ * next document number, so posting lists only ever grow at their end and are stored as
+ * variable-length encoded gaps between document numbers in a byte array. Texts no book uses
+ * any more are only marked deleted; once deleted documents outnumber live ones the index is
+ * rebuilt from the live texts.
+ *
+ * Not thread-safe.
+ */
+class TrigramIndex {
+
+    private static final int COMPACT_MIN_DELETED = 1024;
+    private static final UUID[] NO_BOOKS = new UUID[0];
+
+    /**
+     * A match of a lookup.
+     *
+     * @param bookId The book whose text matched
+     * @param similarity Share of the query's trigrams found in the text, between 0 and 1
+     */
+    record Match(UUID bookId, double similarity) {
+    }
+
+    private final Map<UUID, Integer> documentsByBook = new HashMap<>();
+    private final Map<String, Integer> documentsByText = new HashMap<>();
+    private String[] texts = new String[1024];
+    private int[] trigramCounts = new int[1024];
+    private UUID[][] documentBooks = new UUID[1024][];
+    private int[] documentBookCounts = new int[1024];
+    private final BitSet deleted = new BitSet();
+    private int documentCount;
+    private int deletedCount;
+
+    private long[] trigrams = new long[1024];
+    private PostingList[] postings = new PostingList[1024];
+    private int trigramCount;
+
+    // Scratch space of lookups, overlap by document and the documents touched
+    private int[] overlaps = new int[0];
+    private int[] touched = new int[0];
+
+    /**
+     * Indexes the text of a book, replacing any text indexed for it before.
+     */
+    void put(UUID bookId, String text) {
+        Integer current = documentsByBook.get(bookId);
+        if (current != null && texts[current].equals(text)) {
+            return;
+        }
+        remove(bookId);
+        if (text == null) {
+            return;
+        }
+        Integer document = documentsByText.get(text);
+        if (document == null) {
+            long[] textTrigrams = trigrams(text);
+            if (textTrigrams.length == 0) {
+                return;
+            }
+            document = addDocument(text, textTrigrams);
+        }
+        UUID[] books = documentBooks[document];
+        int count = documentBookCounts[document];
+        if (count == books.length) {
+            books = Arrays.copyOf(books, Math.max(1, count * 2));
+            documentBooks[document] = books;
+        }
+        books[count] = bookId;
+        documentBookCounts[document] = count + 1;
+        documentsByBook.put(bookId, document);
+    }
+
+    void remove(UUID bookId) {
+        Integer document = documentsByBook.remove(bookId);
+        if (document == null) {
+            return;
+        }
+        UUID[] books = documentBooks[document];
+        int count = documentBookCounts[document];
+        for (int i = 0; i < count; i++) {
+            if (books[i].equals(bookId)) {
+                books[i] = books[count - 1];
+                books[count - 1] = null;
+                break;
+            }
+        }
+        documentBookCounts[document] = --count;
+        if (count > 0) {
+            return;
+        }
+        deleted.set(document);
+        documentsByText.remove(texts[document]);
+        texts[document] = null;
+        documentBooks[document] = NO_BOOKS;
+        deletedCount++;
+        if (deletedCount >= COMPACT_MIN_DELETED && deletedCount > documentCount - deletedCount) {
+            compact();
+        }
+    }
+
+    /**
+     * @return The number of books with an indexed text
+     */
+    int size() {
+        return documentsByBook.size();
+    }
+
+    /**
+     * @return The number of distinct texts indexed
+     */
+    int documentCount() {
+        return documentCount - deletedCount;
+    }
+
+    /**
+     * @return The total bytes of all posting lists
+     */
+    long postingBytes() {
+        long bytes = 0;
+        for (int slot = 0; slot < postings.length; slot++) {
+            if (postings[slot] != null) {
+                bytes += postings[slot].length;
+            }
+        }
+        return bytes;
+    }
+
+    private int addDocument(String text, long[] textTrigrams) {
+        int document = documentCount++;
+        if (document == texts.length) {
+            int capacity = texts.length * 2;
+            texts = Arrays.copyOf(texts, capacity);
+            trigramCounts = Arrays.copyOf(trigramCounts, capacity);
+            documentBooks = Arrays.copyOf(documentBooks, capacity);
+            documentBookCounts = Arrays.copyOf(documentBookCounts, capacity);
+        }
+        texts[document] = text;
+        trigramCounts[document] = textTrigrams.length;
+        documentBooks[document] = NO_BOOKS;
+        documentBookCounts[document] = 0;
+        documentsByText.put(text, document);
+        for (long trigram : textTrigrams) {
+            postingList(trigram).add(document);
+        }
+        return document;
+    }
+
+    /**
+     * Finds the texts sharing the most trigrams with a query.
+     *
+     * @param minSimilarity Smallest share of the query's trigrams a text must contain
+     * @return Up to {@code limit} matches, most similar first; equally similar texts with fewer
+     *         other trigrams first
+     */
+    List<Match> search(String query, int limit, double minSimilarity) {
+        long[] queryTrigrams = trigrams(query);
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        int minOverlap = Math.max(1, (int) Math.ceil(queryTrigrams.length * minSimilarity));
+
+        PostingList[] lists = new PostingList[queryTrigrams.length];
+        int listCount = 0;
+        for (long trigram : queryTrigrams) {
+            PostingList list = find(trigram);
+            if (list != null) {
+                lists[listCount++] = list;
+            }
+        }
+        if (listCount < minOverlap) {
+            return List.of();
+        }
+        // A text with enough overlap contains at least one of the rarest trigrams, so only those
+        // lists add candidates and the longer ones just count for candidates already found
+        Arrays.sort(lists, 0, listCount, (a, b) -> Integer.compare(a.count, b.count));
+        int candidateLists = listCount - minOverlap + 1;
+
+        if (overlaps.length < documentCount) {
+            overlaps = new int[Math.max(documentCount, overlaps.length * 2)];
+        }
+        int touchedCount = 0;
+        for (int i = 0; i < listCount; i++) {
+            PostingList list = lists[i];
+            boolean addsCandidates = i < candidateLists;
+            byte[] bytes = list.bytes;
+            int position = 0;
+            int document = 0;
+            for (int n = 0; n < list.count; n++) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    gap |= (b & 0x7f) << shift;
+                    shift += 7;
+                } while (b < 0);
+                document += gap;
+                if (overlaps[document] > 0) {
+                    overlaps[document]++;
+                } else if (addsCandidates && !deleted.get(document)) {
+                    overlaps[document] = 1;
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, Math.max(64, touched.length * 2));
+                    }
+                    touched[touchedCount++] = document;
+                }
+            }
+        }
+
+        List<int[]> matches = new ArrayList<>();
+        for (int i = 0; i < touchedCount; i++) {
+            int document = touched[i];
+            if (overlaps[document] >= minOverlap) {
+                matches.add(new int[]{document, overlaps[document]});
+            }
+            overlaps[document] = 0;
+        }
+        matches.sort((a, b) -> a[1] != b[1]
+                ? Integer.compare(b[1], a[1])
+                : Integer.compare(trigramCounts[a[0]], trigramCounts[b[0]]));
+        List<Match> results = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int[] match : matches) {
+            double similarity = (double) match[1] / queryTrigrams.length;
+            UUID[] books = documentBooks[match[0]];
+            for (int i = 0; i < documentBookCounts[match[0]]; i++) {
+                if (results.size() == limit) {
+                    return results;
+                }
+                results.add(new Match(books[i], similarity));
+            }
+        }
+        return results;
+    }
+
+    private void compact() {
+        Map<UUID, Integer> liveBooks = new HashMap<>(documentsByBook);
+        String[] liveTexts = texts;
+        documentsByBook.clear();
+        documentsByText.clear();
+        int capacity = Math.max(1024, documentCount() * 2);
+        texts = new String[capacity];
+        trigramCounts = new int[capacity];
+        documentBooks = new UUID[capacity][];
+        documentBookCounts = new int[capacity];
+        deleted.clear();
+        documentCount = 0;
+        deletedCount = 0;
+        trigrams = new long[1024];
+        postings = new PostingList[1024];
+        trigramCount = 0;
+        overlaps = new int[0];
+        liveBooks.forEach((bookId, document) -> put(bookId, liveTexts[document]));
+    }
+
+    /**
+     * @return The distinct trigrams of a text, each packed into the low 48 bits of a long
+     */
+    static long[] trigrams(String text) {
+        if (text == null) {
+            return new long[0];
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+        long[] result = new long[folded.length() * 2 + 2];
+        int count = 0;
+        char first = ' ';
+        char second = ' ';
+        boolean inWord = false;
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                c = Character.toLowerCase(c);
+                inWord = true;
+            } else if (inWord) {
+                c = ' ';
+                inWord = false;
+            } else {
+                continue;
+            }
+            result[count++] = ((long) first << 32) | ((long) second << 16) | c;
+            first = second;
+            second = c;
+            if (c == ' ') {
+                // The next word starts over with a padded first trigram
+                first = ' ';
+            }
+        }
+        long[] distinct = Arrays.copyOf(result, count);
+        Arrays.sort(distinct);
+        int unique = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[unique++] = distinct[i];
+            }
+        }
+        return Arrays.copyOf(distinct, unique);
+    }
+
+    private PostingList find(long trigram) {
+        int slot = slot(trigram);
+        while (postings[slot] != null) {
+            if (trigrams[slot] == trigram) {
+                return postings[slot];
+            }
+            slot = (slot + 1) & (trigrams.length - 1);
+        }
+        return null;
+    }
+
+    private PostingList postingList(long trigram) {
+        int slot = slot(trigram);
+        while (postings[slot] != null) {
+            if (trigrams[slot] == trigram) {
+                return postings[slot];
+            }
+            slot = (slot + 1) & (trigrams.length - 1);
+        }
+        PostingList list = new PostingList();
+        trigrams[slot] = trigram;
+        postings[slot] = list;
+        if (++trigramCount * 2 > trigrams.length) {
+            grow();
+        }
+        return list;
+    }
+
+    private void grow() {
+        long[] oldTrigrams = trigrams;
+        PostingList[] oldPostings = postings;
+        trigrams = new long[oldTrigrams.length * 2];
+        postings = new PostingList[oldPostings.length * 2];
+        for (int i = 0; i < oldPostings.length; i++) {
+            if (oldPostings[i] != null) {
+                int slot = slot(oldTrigrams[i]);
+                while (postings[slot] != null) {
+                    slot = (slot + 1) & (trigrams.length - 1);
+                }
+                trigrams[slot] = oldTrigrams[i];
+                postings[slot] = oldPostings[i];
+            }
+        }
+    }
+
+    private int slot(long trigram) {
+        long hash = trigram * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 40) & (trigrams.length - 1);
+    }
+
+    /**
+     * Ascending document numbers, stored as gaps of seven bits per byte with the high bit set on
+     * all but the last byte of a gap.
+     */
+    private static final class PostingList {
+
+        private byte[] bytes = new byte[4];
+        private int length;
+        private int count;
+        private int last;
+
+        void add(int document) {
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            int gap = document - last;
+            while ((gap & ~0x7f) != 0) {
+                bytes[length++] = (byte) ((gap & 0x7f) | 0x80);
+                gap >>>= 7;
+            }
+            bytes[length++] = (byte) gap;
+            last = document;
+            count++;
+        }
+    }
+}
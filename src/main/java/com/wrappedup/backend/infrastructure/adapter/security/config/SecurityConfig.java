@@ -54,6 +54,7 @@ public class SecurityConfig {
                     .requestMatchers(HttpMethod.GET, "/api/profiles/public/*").permitAll()
                     .requestMatchers(HttpMethod.POST, "/api/books").authenticated()
                     .requestMatchers(HttpMethod.GET, "/api/books/**").authenticated()
+                    .requestMatchers(HttpMethod.GET, "/api/covers/**").permitAll()
                     .requestMatchers("/error").permitAll()
                     .requestMatchers("/status").permitAll()
                     .anyRequest().authenticated();
@@ -77,7 +78,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Next-Cursor"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -1,27 +1,43 @@
 package com.wrappedup.backend.infrastructure.adapter.web;
 
 import com.wrappedup.backend.application.service.GetBookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookCursor;
 import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.BookSummary;
+import com.wrappedup.backend.domain.model.BookSummaryPage;
+import com.wrappedup.backend.domain.model.BookUpsertResult;
 import com.wrappedup.backend.domain.port.in.CreateBookUseCase;
 import com.wrappedup.backend.domain.port.in.DeleteBookUseCase;
 import com.wrappedup.backend.domain.port.in.UpdateBookUseCase;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.refresh.RecentBookViews;
+import com.wrappedup.backend.infrastructure.adapter.web.dto.BookBatchItemResultDTO;
 import com.wrappedup.backend.infrastructure.adapter.web.dto.BookDTO;
+import com.wrappedup.backend.infrastructure.adapter.web.dto.BookSummaryDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -33,10 +49,17 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BookController {
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+    static final int MAX_BATCH_SIZE = 1000;
+    
     private final CreateBookUseCase createBookUseCase;
     private final GetBookService getBookService;
     private final UpdateBookUseCase updateBookUseCase;
     private final DeleteBookUseCase deleteBookUseCase;
+    private final RecentBookViews recentBookViews;
+    private final CoverProxyUrls coverProxyUrls;
+    private final ObjectMapper objectMapper;
     
     /**
      * Get book by ID
@@ -46,7 +69,8 @@ public class BookController {
         log.debug("REST request to get Book by id: {}", id);
         BookId bookId = BookId.of(id);
         Optional<Book> book = getBookService.getBookById(bookId);
-        return book.map(b -> ResponseEntity.ok(BookDTO.fromDomain(b)))
+        book.ifPresent(b -> recentBookViews.record(b.getId().getValue()));
+        return book.map(b -> ResponseEntity.ok(toDto(b)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -57,57 +81,92 @@ public class BookController {
     public ResponseEntity<BookDTO> getBookByIsbn(@PathVariable String isbn) {
         log.debug("REST request to get Book by ISBN: {}", isbn);
         Optional<Book> book = getBookService.getBookByIsbn(isbn);
-        return book.map(b -> ResponseEntity.ok(BookDTO.fromDomain(b)))
+        return book.map(b -> ResponseEntity.ok(toDto(b)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     /**
-     * Get all books with pagination
+     * Get all books a page at a time, in the order they were added. Each response carries the
+     * cursor of the next page in the X-Next-Cursor header, absent on the last page. Passing a
+     * page number instead of a cursor still selects pages by offset.
      */
     @GetMapping
-    public ResponseEntity<List<BookDTO>> getAllBooks(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<List<BookSummaryDTO>> getAllBooks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer page,
             @RequestParam(defaultValue = "20") int size) {
-        log.debug("REST request to get all Books, page: {}, size: {}", page, size);
-        List<Book> books = getBookService.getAllBooks(page, size);
-        List<BookDTO> bookDTOs = books.stream()
-                .map(BookDTO::fromDomain)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(bookDTOs);
+        if (page != null) {
+            log.debug("REST request to get all Books, page: {}, size: {}", page, size);
+            List<BookSummary> books = getBookService.getBookSummaries(page, size);
+            return ResponseEntity.ok(books.stream()
+                    .map(this::toSummaryDto)
+                    .collect(Collectors.toList()));
+        }
+        log.debug("REST request to get all Books, cursor: {}, size: {}", cursor, size);
+        BookCursor after = cursor != null ? BookCursor.fromToken(cursor) : null;
+        BookSummaryPage books = getBookService.getBookSummaryPage(after, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        books.getNextCursor().ifPresent(next -> response.header(NEXT_CURSOR_HEADER, next.toToken()));
+        return response.body(books.getBooks().stream()
+                .map(this::toSummaryDto)
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Stream all books as newline-delimited JSON, one summary per line, in the order of the pages
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public void streamAllBooks(HttpServletResponse response) throws IOException {
+        log.debug("REST request to stream all Books");
+        response.setContentType(NDJSON);
+        OutputStream out = response.getOutputStream();
+        getBookService.forEachBookSummary(summary -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(toSummaryDto(summary)));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write book " + summary.getId(), e);
+            }
+        });
+        out.flush();
     }
     
     /**
-     * Count all books
+     * Count all books, or the books in a genre
      */
     @GetMapping("/count")
-    public ResponseEntity<Long> countBooks() {
-        log.debug("REST request to count all Books");
-        long count = getBookService.countBooks();
+    public ResponseEntity<Long> countBooks(@RequestParam(required = false) String genre) {
+        log.debug("REST request to count Books, genre: {}", genre);
+        long count = genre != null ? getBookService.countBooksByGenre(genre) : getBookService.countBooks();
         return ResponseEntity.ok(count);
     }
     
     /**
-     * Search books by title
+     * Search books by the words of their title, most relevant first
      */
     @GetMapping("/search/title")
-    public ResponseEntity<List<BookDTO>> searchBooksByTitle(@RequestParam String query) {
+    public ResponseEntity<List<BookSummaryDTO>> searchBooksByTitle(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "20") int limit) {
         log.debug("REST request to search Books by title: {}", query);
-        List<Book> books = getBookService.searchBooksByTitle(query);
-        List<BookDTO> bookDTOs = books.stream()
-                .map(BookDTO::fromDomain)
+        List<BookSummary> books = getBookService.searchBookSummariesByTitle(query, limit);
+        List<BookSummaryDTO> bookDTOs = books.stream()
+                .map(this::toSummaryDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(bookDTOs);
     }
     
     /**
-     * Search books by author
+     * Search books by the words of their author, most relevant first
      */
     @GetMapping("/search/author")
-    public ResponseEntity<List<BookDTO>> searchBooksByAuthor(@RequestParam String query) {
+    public ResponseEntity<List<BookSummaryDTO>> searchBooksByAuthor(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "20") int limit) {
         log.debug("REST request to search Books by author: {}", query);
-        List<Book> books = getBookService.searchBooksByAuthor(query);
-        List<BookDTO> bookDTOs = books.stream()
-                .map(BookDTO::fromDomain)
+        List<BookSummary> books = getBookService.searchBookSummariesByAuthor(query, limit);
+        List<BookSummaryDTO> bookDTOs = books.stream()
+                .map(this::toSummaryDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(bookDTOs);
     }
@@ -116,11 +175,11 @@ public class BookController {
      * Search books by genre
      */
     @GetMapping("/search/genre")
-    public ResponseEntity<List<BookDTO>> getBooksByGenre(@RequestParam String genre) {
+    public ResponseEntity<List<BookSummaryDTO>> getBooksByGenre(@RequestParam String genre) {
         log.debug("REST request to get Books by genre: {}", genre);
-        List<Book> books = getBookService.getBooksByGenre(genre);
-        List<BookDTO> bookDTOs = books.stream()
-                .map(BookDTO::fromDomain)
+        List<BookSummary> books = getBookService.getBookSummariesByGenre(genre);
+        List<BookSummaryDTO> bookDTOs = books.stream()
+                .map(this::toSummaryDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(bookDTOs);
     }
@@ -133,7 +192,7 @@ public class BookController {
         log.debug("REST request to search OpenLibrary: {}", query);
         List<Book> books = getBookService.searchBooksInOpenLibrary(query);
         List<BookDTO> bookDTOs = books.stream()
-                .map(BookDTO::fromDomain)
+                .map(this::toDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(bookDTOs);
     }
@@ -145,7 +204,8 @@ public class BookController {
     public ResponseEntity<BookDTO> getBookFromOpenLibraryByKey(@PathVariable String key) {
         log.debug("REST request to get and persist book from OpenLibrary by key: {}", key);
         Optional<Book> book = getBookService.getAndPersistBookByOpenLibraryKey(key);
-        return book.map(b -> ResponseEntity.ok(BookDTO.fromDomain(b)))
+        book.ifPresent(b -> recentBookViews.record(b.getId().getValue()));
+        return book.map(b -> ResponseEntity.ok(toDto(b)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -175,10 +235,63 @@ public class BookController {
         Optional<Book> createdBook = getBookService.getBookById(bookId);
         
         return createdBook
-                .map(book -> ResponseEntity.status(HttpStatus.CREATED).body(BookDTO.fromDomain(book)))
+                .map(book -> ResponseEntity.status(HttpStatus.CREATED).body(toDto(book)))
                 .orElse(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
     }
     
+    /**
+     * Create or update up to 1000 books in one request. Books with the OpenLibrary key or ISBN of
+     * a stored book update it. The response reports the outcome of every book by its position in
+     * the request; invalid books are reported as failed and the others are still written.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<List<BookBatchItemResultDTO>> createBooks(@RequestBody List<BatchBookRequest> requests) {
+        log.debug("REST request to create or update {} Books", requests.size());
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_SIZE + " books");
+        }
+        
+        BookBatchItemResultDTO[] results = new BookBatchItemResultDTO[requests.size()];
+        List<CreateBookUseCase.CreateBookCommand> commands = new ArrayList<>(requests.size());
+        List<Integer> commandIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            BatchBookRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = BookBatchItemResultDTO.failed(i, "Book cannot be null");
+                continue;
+            }
+            try {
+                commands.add(new CreateBookUseCase.CreateBookCommand(
+                        request.getTitle(),
+                        request.getAuthor(),
+                        request.getIsbn(),
+                        request.getDescription(),
+                        request.getCoverImageUrl(),
+                        request.getPageCount(),
+                        request.getGenres(),
+                        request.getLanguage(),
+                        request.getPublicationDate(),
+                        request.getPublisher(),
+                        request.getOpenLibraryKey()
+                ));
+                commandIndexes.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = BookBatchItemResultDTO.failed(i, e.getMessage());
+            }
+        }
+        
+        if (!commands.isEmpty()) {
+            List<BookUpsertResult> written = createBookUseCase.createOrUpdateBooks(commands);
+            for (int i = 0; i < written.size(); i++) {
+                int index = commandIndexes.get(i);
+                results[index] = BookBatchItemResultDTO.fromDomain(index, written.get(i));
+            }
+        }
+        
+        return ResponseEntity.ok(List.of(results));
+    }
+    
     /**
      * Update an existing book
      */
@@ -207,7 +320,7 @@ public class BookController {
         
         try {
             Book updatedBook = updateBookUseCase.updateBook(command);
-            return ResponseEntity.ok(BookDTO.fromDomain(updatedBook));
+            return ResponseEntity.ok(toDto(updatedBook));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -243,6 +356,9 @@ public class BookController {
     @GetMapping("/search")
     public ResponseEntity<List<BookDTO>> searchBooks(@RequestParam String query) {
         log.debug("REST request to search Books with query: {}", query);
+        // Start the OpenLibrary search first so it overlaps with the local queries
+        CompletableFuture<List<Book>> openLibrarySearch = getBookService.searchBooksInOpenLibraryAsync(query);
+        
         // For backward compatibility, search in both title and author
         List<Book> booksByTitle = getBookService.searchBooksByTitle(query);
         List<Book> booksByAuthor = getBookService.searchBooksByAuthor(query);
@@ -263,11 +379,16 @@ public class BookController {
         }
         
         // Always search OpenLibrary to augment local results
-        List<Book> openLibraryResults = getBookService.searchBooksInOpenLibrary(query);
+        List<Book> openLibraryResults = openLibrarySearch.join();
         
-        // Add OpenLibrary results (if not already added by ID)
+        // Add OpenLibrary results (if not already added by ID). Books stored before ids were
+        // derived from work keys have random ids, so they are matched by their key instead
+        Set<String> localKeys = bookMap.values().stream()
+                .map(Book::getOpenLibraryKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
         for (Book book : openLibraryResults) {
-            if (!bookMap.containsKey(book.getId())) {
+            if (!bookMap.containsKey(book.getId()) && !localKeys.contains(book.getOpenLibraryKey())) {
                 bookMap.put(book.getId(), book);
             }
         }
@@ -276,11 +397,25 @@ public class BookController {
         List<Book> combinedResults = new ArrayList<>(bookMap.values());
         
         List<BookDTO> bookDTOs = combinedResults.stream()
-                .map(BookDTO::fromDomain)
+                .map(this::toDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(bookDTOs);
     }
     
+    private BookDTO toDto(Book book) {
+        BookDTO dto = BookDTO.fromDomain(book);
+        String coverUrl = coverProxyUrls.rewrite(dto.getCoverImageUrl());
+        dto.setCoverImageUrl(coverUrl);
+        dto.setCoverUrl(coverUrl);
+        return dto;
+    }
+    
+    private BookSummaryDTO toSummaryDto(BookSummary summary) {
+        BookSummaryDTO dto = BookSummaryDTO.fromDomain(summary);
+        dto.setCoverImageUrl(coverProxyUrls.rewrite(dto.getCoverImageUrl()));
+        return dto;
+    }
+    
     /**
      * Request object for creating a new book
      */
@@ -319,6 +454,16 @@ public class BookController {
         public void setPublisher(String publisher) { this.publisher = publisher; }
     }
     
+    /**
+     * Request object for one book of a batch, which may come from OpenLibrary
+     */
+    public static class BatchBookRequest extends CreateBookRequest {
+        private String openLibraryKey;
+        
+        public String getOpenLibraryKey() { return openLibraryKey; }
+        public void setOpenLibraryKey(String openLibraryKey) { this.openLibraryKey = openLibraryKey; }
+    }
+    
     /**
      * Request object for updating an existing book
      */
@@ -0,0 +1,115 @@
+package com.wrappedup.backend.infrastructure.adapter.web;
+
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryGuard;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.covers.CoverImage;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.covers.CoverImageStore;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.covers.CoverSize;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Serves OpenLibrary cover images from the local {@link CoverImageStore}.
+ *
+ * Images never change for a cover id, so responses carry a strong ETag (the image hash) and a
+ * long, immutable {@code Cache-Control}. Files are handed to Tomcat's sendfile support when the
+ * connector offers it, so the kernel copies them to the socket; otherwise they are streamed
+ * with {@link FileChannel#transferTo}.
+ */
+@RestController
+@RequestMapping("/api/covers")
+@Slf4j
+public class CoverController {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final CoverImageStore coverImageStore;
+    private final String cacheControl;
+
+    public CoverController(
+            CoverImageStore coverImageStore,
+            @Value("${openlibrary.covers.max-age:365d}") Duration maxAge) {
+        this.coverImageStore = coverImageStore;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic().immutable().getHeaderValue();
+    }
+
+    /**
+     * Get a cover image
+     */
+    @GetMapping("/{coverId}/{size}")
+    public void getCover(@PathVariable long coverId, @PathVariable String size,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<CoverSize> coverSize = CoverSize.parse(size);
+        if (coverId <= 0 || coverSize.isEmpty()) {
+            response.sendError(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        Optional<CoverImage> image;
+        try {
+            image = coverImageStore.get(coverId, coverSize.get());
+        } catch (OpenLibraryGuard.CallNotPermittedException e) {
+            // Rate limited or shed by the guard, OpenLibrary was not asked
+            log.debug("Not fetching cover {}-{}: {}", coverId, coverSize.get(), e.getMessage());
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Could not fetch cover {}-{}: {}", coverId, coverSize.get(), e.getMessage());
+            response.sendError(HttpStatus.BAD_GATEWAY.value());
+            return;
+        }
+        if (image.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        CoverImage cover = image.get();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + cover.etag() + "\"")) {
+            return;
+        }
+        response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+        response.setContentLengthLong(cover.length());
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, cover.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, cover.length());
+            return;
+        }
+        try (FileChannel file = FileChannel.open(cover.file(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < cover.length()) {
+                position += file.transferTo(position, cover.length() - position, out);
+            }
+        } catch (NoSuchFileException e) {
+            // Evicted between lookup and transfer
+            coverImageStore.forget(coverId, coverSize.get());
+            response.reset();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.wrappedup.backend.infrastructure.adapter.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites OpenLibrary cover URLs to the cover proxy ({@link CoverController}) when enabled,
+ * so clients load covers from us instead of the OpenLibrary CDN.
+ */
+@Component
+public class CoverProxyUrls {
+
+    private static final Pattern OPENLIBRARY_COVER =
+            Pattern.compile("https?://covers\\.openlibrary\\.org/b/id/(\\d+)-([SML])\\.jpg");
+
+    private final boolean enabled;
+    private final String baseUrl;
+
+    /**
+     * @param enabled Whether to rewrite cover URLs
+     * @param baseUrl Public base URL of this API, empty for URLs relative to the host
+     */
+    public CoverProxyUrls(
+            @Value("${openlibrary.covers.proxy-urls:false}") boolean enabled,
+            @Value("${openlibrary.covers.proxy-base-url:}") String baseUrl) {
+        this.enabled = enabled;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    /**
+     * @param coverUrl A cover URL, may be null
+     * @return The proxy URL for OpenLibrary covers, any other URL unchanged
+     */
+    public String rewrite(String coverUrl) {
+        if (!enabled || coverUrl == null) {
+            return coverUrl;
+        }
+        Matcher matcher = OPENLIBRARY_COVER.matcher(coverUrl);
+        if (!matcher.matches()) {
+            return coverUrl;
+        }
+        return baseUrl + "/api/covers/" + matcher.group(1) + "/" + matcher.group(2);
+    }
+}
@@ -236,6 +236,14 @@ public class ReviewController {
         }
     }
 
+    /**
+     * GET /api/reviews/book/{bookId}/count : Count the public reviews for a book.
+     */
+    @GetMapping("/book/{bookId}/count")
+    public ResponseEntity<Long> countPublicReviewsByBookId(@PathVariable UUID bookId) {
+        return ResponseEntity.ok(getReviewUseCase.countPublicReviewsByBookId(BookId.fromUUID(bookId)));
+    }
+
     /**
      * PUT /api/reviews/{id} : Update a review.
      */
@@ -0,0 +1,54 @@
+package com.wrappedup.backend.infrastructure.adapter.web.dto;
+
+import com.wrappedup.backend.domain.model.BookUpsertResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for the result of one book of a batch write.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBatchItemResultDTO {
+
+    public static final String FAILED = "FAILED";
+
+    /**
+     * Position of the book in the request
+     */
+    private int index;
+    /**
+     * CREATED, UPDATED or FAILED
+     */
+    private String status;
+    private UUID id;
+    private String error;
+
+    /**
+     * Creates a DTO from the domain result of a written book.
+     */
+    public static BookBatchItemResultDTO fromDomain(int index, BookUpsertResult result) {
+        return BookBatchItemResultDTO.builder()
+                .index(index)
+                .status(result.getOutcome().name())
+                .id(result.getBookId().getValue())
+                .build();
+    }
+
+    /**
+     * Creates a DTO for a book that was not written.
+     */
+    public static BookBatchItemResultDTO failed(int index, String error) {
+        return BookBatchItemResultDTO.builder()
+                .index(index)
+                .status(FAILED)
+                .error(error)
+                .build();
+    }
+}
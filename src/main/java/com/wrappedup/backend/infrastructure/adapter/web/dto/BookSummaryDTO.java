@@ -0,0 +1,46 @@
+package com.wrappedup.backend.infrastructure.adapter.web.dto;
+
+import com.wrappedup.backend.domain.model.BookSummary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for book lists and search results, a subset of {@link BookDTO}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSummaryDTO {
+    private UUID id;
+    private String title;
+    private String author;
+    private String coverImageUrl;
+    private Integer firstPublishYear;
+    private String openLibraryKey;
+
+    /**
+     * Creates a DTO from a domain summary.
+     */
+    public static BookSummaryDTO fromDomain(BookSummary summary) {
+        return BookSummaryDTO.builder()
+                .id(summary.getId().getValue())
+                .title(summary.getTitle())
+                .author(summary.getAuthor())
+                .coverImageUrl(summary.getCoverImageUrl())
+                .firstPublishYear(summary.getFirstPublishYear())
+                .openLibraryKey(summary.getOpenLibraryKey())
+                .build();
+    }
+
+    /**
+     * Same as the cover image URL, for compatibility with old frontend.
+     */
+    public String getCoverUrl() {
+        return coverImageUrl;
+    }
+}
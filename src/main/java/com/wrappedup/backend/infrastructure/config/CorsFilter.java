@@ -35,7 +35,7 @@ public class CorsFilter implements Filter {
     
     private List<String> ALLOWED_HEADERS;
     
-    @Value("${cors.exposed-headers:Authorization,Content-Type,Accept,Origin,Access-Control-Allow-Origin,Access-Control-Allow-Credentials,Access-Control-Allow-Headers,Access-Control-Allow-Methods,X-Total-Count,Content-Disposition}")
+    @Value("${cors.exposed-headers:Authorization,Content-Type,Accept,Origin,Access-Control-Allow-Origin,Access-Control-Allow-Credentials,Access-Control-Allow-Headers,Access-Control-Allow-Methods,X-Total-Count,Content-Disposition,X-Next-Cursor}")
     private String exposedHeadersString;
     
     private List<String> EXPOSED_HEADERS;
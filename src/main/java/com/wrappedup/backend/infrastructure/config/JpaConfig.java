@@ -1,5 +1,9 @@
 package com.wrappedup.backend.infrastructure.config;
 
+import com.wrappedup.backend.infrastructure.adapter.persistence.BookCacheRegions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.orm.jpa.JpaTransactionManager;
@@ -33,4 +37,19 @@ public class JpaConfig {
         
         return hibernateProperties;
     }
+    
+    /**
+     * Takes the second-level and query cache regions from the bounded book cache. Regions that
+     * are not configured there fail the startup rather than becoming unbounded caches.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(BookCacheRegions regions) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, regions.isEnabled());
+            properties.put(AvailableSettings.USE_QUERY_CACHE, regions.isEnabled());
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, regions.getCacheManager());
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
 } 
\ No newline at end of file
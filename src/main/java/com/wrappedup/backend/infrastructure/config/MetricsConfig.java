@@ -0,0 +1,308 @@
+package com.wrappedup.backend.infrastructure.config;
+
+import com.wrappedup.backend.application.service.GetBookService;
+import com.wrappedup.backend.application.service.SingleFlight;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.CachingOpenLibraryAdapter;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.CircuitBreaker;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryGuard;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryRateLimiter;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryResponseStore;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.RequestHedger;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.RequestLane;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.covers.CoverImageStore;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.refresh.BookMetadataRefresher;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.refresh.RecentBookViews;
+import com.wrappedup.backend.infrastructure.adapter.persistence.BookCacheRegions;
+import com.wrappedup.backend.infrastructure.adapter.persistence.Counters;
+import com.wrappedup.backend.infrastructure.adapter.search.LuceneBookSearchIndex;
+import com.wrappedup.backend.infrastructure.adapter.search.TrigramBookIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for application-specific metrics.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder openLibraryPersistMetrics(GetBookService getBookService) {
+        return registry -> {
+            SingleFlight<?, ?> flights = getBookService.getPersistByKeyFlights();
+            FunctionCounter.builder("openlibrary.persist.calls", flights, SingleFlight::getExecutionCount)
+                    .description("OpenLibrary fetch-and-persist calls that did their own work")
+                    .tag("outcome", "executed")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.persist.calls", flights, SingleFlight::getCoalescedCount)
+                    .description("OpenLibrary fetch-and-persist calls that joined a call already in flight")
+                    .tag("outcome", "coalesced")
+                    .register(registry);
+            Gauge.builder("openlibrary.persist.in_flight", flights, SingleFlight::getInFlightCount)
+                    .description("OpenLibrary keys currently being fetched and persisted")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder openLibraryResilienceMetrics(OpenLibraryGuard guard) {
+        return registry -> {
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                Gauge.builder("openlibrary.circuit.state", guard, g -> g.getCircuitState() == state ? 1 : 0)
+                        .description("1 for the current OpenLibrary circuit breaker state, 0 otherwise")
+                        .tag("state", state.name().toLowerCase())
+                        .register(registry);
+            }
+            FunctionCounter.builder("openlibrary.calls.rejected", guard, OpenLibraryGuard::getCircuitRejectedCount)
+                    .description("OpenLibrary calls rejected because the circuit was open")
+                    .tag("reason", "circuit_open")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.calls.rejected", guard, OpenLibraryGuard::getBulkheadRejectedCount)
+                    .description("OpenLibrary calls rejected because too many calls were in flight")
+                    .tag("reason", "bulkhead_full")
+                    .register(registry);
+            Gauge.builder("openlibrary.calls.in_flight", guard, OpenLibraryGuard::getInFlightCount)
+                    .description("OpenLibrary calls currently in flight")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.retries", guard, OpenLibraryGuard::getRetriesAllowedCount)
+                    .description("OpenLibrary fallback calls allowed by the retry budget")
+                    .tag("outcome", "allowed")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.retries", guard, OpenLibraryGuard::getRetriesRejectedCount)
+                    .description("OpenLibrary fallback calls skipped because the retry budget was exhausted")
+                    .tag("outcome", "rejected")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder openLibraryRateLimitMetrics(OpenLibraryRateLimiter rateLimiter) {
+        return registry -> {
+            for (RequestLane lane : RequestLane.values()) {
+                String tag = lane.name().toLowerCase(Locale.ROOT);
+                Gauge.builder("openlibrary.rate_limit.queue_depth", rateLimiter, r -> r.getQueueDepth(lane))
+                        .description("OpenLibrary requests waiting for a rate limit token")
+                        .tag("lane", tag)
+                        .register(registry);
+                FunctionTimer.builder("openlibrary.rate_limit.wait", rateLimiter,
+                                r -> r.getGrantedCount(lane), r -> r.getTotalWait(lane).toNanos(), TimeUnit.NANOSECONDS)
+                        .description("Time granted OpenLibrary requests waited for a rate limit token")
+                        .tag("lane", tag)
+                        .register(registry);
+                FunctionCounter.builder("openlibrary.rate_limit.rejected", rateLimiter, r -> r.getRejectedCount(lane))
+                        .description("OpenLibrary requests failed because they could not get a token in time")
+                        .tag("lane", tag)
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder openLibraryResponseStoreMetrics(OpenLibraryResponseStore store) {
+        return registry -> {
+            FunctionCounter.builder("openlibrary.store.lookups", store, OpenLibraryResponseStore::getHitCount)
+                    .description("OpenLibrary requests answered from a fresh stored response")
+                    .tag("outcome", "hit")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.store.lookups", store, OpenLibraryResponseStore::getMissCount)
+                    .description("OpenLibrary requests with no fresh stored response")
+                    .tag("outcome", "miss")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.store.lookups", store, OpenLibraryResponseStore::getStaleHitCount)
+                    .description("Failed OpenLibrary requests answered from an expired stored response")
+                    .tag("outcome", "stale")
+                    .register(registry);
+            Gauge.builder("openlibrary.store.entries", store, OpenLibraryResponseStore::getEntryCount)
+                    .description("URLs with a stored OpenLibrary response")
+                    .register(registry);
+            Gauge.builder("openlibrary.store.size", store, OpenLibraryResponseStore::getWrittenBytes)
+                    .description("Bytes written to the OpenLibrary response store segments")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder openLibraryHedgingMetrics(RequestHedger hedger) {
+        return registry -> {
+            FunctionCounter.builder("openlibrary.hedges", hedger, RequestHedger::getHedgedCount)
+                    .description("Hedged OpenLibrary requests sent because the first request was slow")
+                    .tag("outcome", "sent")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.hedges", hedger, RequestHedger::getHedgeWonCount)
+                    .description("Hedged OpenLibrary requests that answered before the first request")
+                    .tag("outcome", "won")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.hedges", hedger, RequestHedger::getBudgetRejectedCount)
+                    .description("Hedges skipped because the hedge budget was exhausted")
+                    .tag("outcome", "budget_exhausted")
+                    .register(registry);
+            Gauge.builder("openlibrary.hedges.delay", hedger, h -> h.currentDelay().toNanos() / 1_000_000d)
+                    .description("Current delay before an OpenLibrary request is hedged")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder openLibraryPrefetchMetrics(CachingOpenLibraryAdapter adapter) {
+        return registry -> {
+            FunctionCounter.builder("openlibrary.prefetches", adapter, CachingOpenLibraryAdapter::getPrefetchIssuedCount)
+                    .description("Works details prefetched for top search results")
+                    .tag("outcome", "issued")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.prefetches", adapter, CachingOpenLibraryAdapter::getPrefetchHitCount)
+                    .description("Prefetched works details later served to a detail lookup")
+                    .tag("outcome", "hit")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.prefetches", adapter, CachingOpenLibraryAdapter::getPrefetchWastedCount)
+                    .description("Prefetched works details that expired or were evicted unused")
+                    .tag("outcome", "wasted")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.prefetches", adapter, CachingOpenLibraryAdapter::getPrefetchRejectedCount)
+                    .description("Prefetches dropped because the prefetch queue was full")
+                    .tag("outcome", "rejected")
+                    .register(registry);
+            Gauge.builder("openlibrary.prefetches.hit_ratio", adapter, a -> {
+                        long used = a.getPrefetchHitCount();
+                        long settled = used + a.getPrefetchWastedCount();
+                        return settled == 0 ? 0 : (double) used / settled;
+                    })
+                    .description("Share of settled prefetches that were used before they expired")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder openLibraryRefreshMetrics(BookMetadataRefresher refresher, RecentBookViews recentViews) {
+        return registry -> {
+            FunctionCounter.builder("openlibrary.refresh.books", refresher, BookMetadataRefresher::getChangedCount)
+                    .description("Books whose OpenLibrary metadata changed and were written back")
+                    .tag("outcome", "changed")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.refresh.books", refresher, BookMetadataRefresher::getUnchangedCount)
+                    .description("Books refreshed from OpenLibrary without changes")
+                    .tag("outcome", "unchanged")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.refresh.books", refresher, BookMetadataRefresher::getFailedCount)
+                    .description("Books whose OpenLibrary refresh failed and stay stale")
+                    .tag("outcome", "failed")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.refresh.deferred", refresher, BookMetadataRefresher::getDeferredCount)
+                    .description("Refresh runs cut short to leave OpenLibrary to interactive requests")
+                    .register(registry);
+            Gauge.builder("openlibrary.refresh.recent_views", recentViews, RecentBookViews::size)
+                    .description("Recently viewed books refreshed ahead of the others")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder coverImageStoreMetrics(CoverImageStore store) {
+        return registry -> {
+            FunctionCounter.builder("openlibrary.covers.requests", store, CoverImageStore::getHitCount)
+                    .description("Cover requests served from the local disk cache")
+                    .tag("outcome", "hit")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.covers.requests", store, CoverImageStore::getFetchCount)
+                    .description("Cover requests fetched from OpenLibrary")
+                    .tag("outcome", "fetched")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.covers.not_found", store, CoverImageStore::getNotFoundCount)
+                    .description("Cover fetches OpenLibrary answered with 404")
+                    .register(registry);
+            FunctionCounter.builder("openlibrary.covers.evictions", store, CoverImageStore::getEvictionCount)
+                    .description("Cover images deleted to keep the cache within its size")
+                    .register(registry);
+            Gauge.builder("openlibrary.covers.size", store, CoverImageStore::getTotalBytes)
+                    .description("Bytes of cover images on local disk")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("openlibrary.covers.images", store, CoverImageStore::getImageCount)
+                    .description("Cover images on local disk")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder bookSearchIndexMetrics(LuceneBookSearchIndex index) {
+        return registry -> {
+            Gauge.builder("books.search.index.documents", index, LuceneBookSearchIndex::getDocumentCount)
+                    .description("Books in the full-text search index")
+                    .register(registry);
+            Gauge.builder("books.search.index.ready", index, i -> i.isReady() ? 1 : 0)
+                    .description("1 once the full-text search index holds every stored book, 0 while it is built")
+                    .register(registry);
+            FunctionCounter.builder("books.search.queries", index, LuceneBookSearchIndex::getSearchCount)
+                    .description("Searches answered from the full-text search index")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder bookTrigramIndexMetrics(TrigramBookIndex index) {
+        return registry -> {
+            Gauge.builder("books.search.trigrams.books", index, TrigramBookIndex::getBookCount)
+                    .description("Books in the typo-tolerant trigram index")
+                    .register(registry);
+            Gauge.builder("books.search.trigrams.size", index, TrigramBookIndex::getPostingBytes)
+                    .description("Bytes of compressed posting lists in the trigram index")
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("books.search.trigrams.lookups", index, TrigramBookIndex::getLookupCount)
+                    .description("Typo-tolerant lookups answered from the trigram index")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder countersMetrics(Counters counters) {
+        return registry -> {
+            Gauge.builder("counters.size", counters, Counters::getCounterCount)
+                    .description("Counts kept in memory")
+                    .register(registry);
+            Gauge.builder("counters.ready", counters, c -> c.isReady() ? 1 : 0)
+                    .description("1 once counts are answered from memory, 0 while they are counted in the database")
+                    .register(registry);
+            FunctionCounter.builder("counters.corrections", counters, Counters::getCorrectionCount)
+                    .description("Counts corrected by reconciliation with the database")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder bookCacheMetrics(BookCacheRegions regions) {
+        return registry -> {
+            for (String region : regions.getRegionNames()) {
+                FunctionCounter.builder("books.cache.lookups", regions, r -> r.getStats(region).hitCount())
+                        .description("Second-level cache lookups that found the book, collection or query result")
+                        .tag("region", region)
+                        .tag("outcome", "hit")
+                        .register(registry);
+                FunctionCounter.builder("books.cache.lookups", regions, r -> r.getStats(region).missCount())
+                        .description("Second-level cache lookups that had to read the database")
+                        .tag("region", region)
+                        .tag("outcome", "miss")
+                        .register(registry);
+                Gauge.builder("books.cache.hit_ratio", regions, r -> r.getStats(region).hitRate())
+                        .description("Share of second-level cache lookups that were hits since the start")
+                        .tag("region", region)
+                        .register(registry);
+                FunctionCounter.builder("books.cache.evictions", regions, r -> r.getStats(region).evictionCount())
+                        .description("Second-level cache entries evicted to stay within the region's size or expired")
+                        .tag("region", region)
+                        .register(registry);
+                Gauge.builder("books.cache.entries", regions, r -> r.getEntryCount(region))
+                        .description("Entries in the second-level cache region")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+}
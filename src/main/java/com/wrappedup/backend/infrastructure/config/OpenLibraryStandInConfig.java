@@ -0,0 +1,37 @@
+package com.wrappedup.backend.infrastructure.config;
+
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.standin.FaultProfile;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.standin.OpenLibraryStandInServer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Starts the OpenLibrary stand-in server in the {@code openlibrary-standin} profile, which also
+ * points {@code openlibrary.base-url} at it (see application-openlibrary-standin.properties).
+ */
+@Configuration
+@Profile("openlibrary-standin")
+public class OpenLibraryStandInConfig {
+
+    @Bean(destroyMethod = "close")
+    public OpenLibraryStandInServer openLibraryStandInServer(
+            @Value("${openlibrary.standin.port:8089}") int port,
+            @Value("${openlibrary.standin.fixtures-directory:}") String fixturesDirectory,
+            @Value("${openlibrary.standin.latency.median:0ms}") Duration medianLatency,
+            @Value("${openlibrary.standin.latency.p99:0ms}") Duration p99Latency,
+            @Value("${openlibrary.standin.error-rate:0}") double errorRate,
+            @Value("${openlibrary.standin.error-status:503}") int errorStatus,
+            @Value("${openlibrary.standin.timeout-rate:0}") double timeoutRate,
+            @Value("${openlibrary.standin.timeout-delay:30s}") Duration timeoutDelay) {
+        FaultProfile faultProfile = FaultProfile.latency(medianLatency, p99Latency)
+                .withErrors(errorRate, errorStatus)
+                .withTimeouts(timeoutRate, timeoutDelay);
+        return new OpenLibraryStandInServer(port, fixturesDirectory.isBlank() ? null : Path.of(fixturesDirectory),
+                faultProfile).start();
+    }
+}
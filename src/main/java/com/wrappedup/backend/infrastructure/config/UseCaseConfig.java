@@ -7,6 +7,8 @@ import com.wrappedup.backend.application.service.UpdateBookService;
 import com.wrappedup.backend.domain.port.in.CreateBookUseCase;
 import com.wrappedup.backend.domain.port.in.DeleteBookUseCase;
 import com.wrappedup.backend.domain.port.in.UpdateBookUseCase;
+import com.wrappedup.backend.domain.port.out.BookSearchPort;
+import com.wrappedup.backend.domain.port.out.FuzzyBookSearchPort;
 import com.wrappedup.backend.domain.port.out.OpenLibraryPort;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,7 +33,9 @@ public class UseCaseConfig {
 
     @Bean
     public GetBookService getBookService(com.wrappedup.backend.domain.port.out.BookRepository bookRepository, 
-                                         OpenLibraryPort openLibraryPort) {
-        return new GetBookService(bookRepository, openLibraryPort);
+                                         OpenLibraryPort openLibraryPort,
+                                         BookSearchPort bookSearchPort,
+                                         FuzzyBookSearchPort fuzzyBookSearchPort) {
+        return new GetBookService(bookRepository, openLibraryPort, bookSearchPort, fuzzyBookSearchPort);
     }
 } 
\ No newline at end of file
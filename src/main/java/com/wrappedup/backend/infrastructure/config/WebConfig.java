@@ -1,15 +1,39 @@
 package com.wrappedup.backend.infrastructure.config;
 
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.GzipDecodingInterceptor;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryGuard;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryGuardInterceptor;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryHttpClient;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryRateLimitInterceptor;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryRateLimiter;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryResponseStore;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.ResponseStoreInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+    /**
+     * RestTemplate backed by the pooled OpenLibrary HTTP client, so blocking calls share
+     * its connections, timeouts and compression settings, as well as its rate limiter, bulkhead and
+     * circuit breaker. GET requests are answered from the on-disk response store first.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(OpenLibraryHttpClient openLibraryHttpClient, OpenLibraryGuard openLibraryGuard,
+                                     OpenLibraryRateLimiter openLibraryRateLimiter,
+                                     OpenLibraryResponseStore openLibraryResponseStore) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                openLibraryHttpClient.getHttpClient(), openLibraryHttpClient.getExecutor());
+        requestFactory.setReadTimeout(openLibraryHttpClient.getRequestTimeout());
+        
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new ResponseStoreInterceptor(openLibraryResponseStore));
+        restTemplate.getInterceptors().add(new OpenLibraryRateLimitInterceptor(openLibraryRateLimiter));
+        restTemplate.getInterceptors().add(new OpenLibraryGuardInterceptor(openLibraryGuard));
+        restTemplate.getInterceptors().add(new GzipDecodingInterceptor());
+        return restTemplate;
     }
 } 
-
@@ -3,6 +3,7 @@ package com.wrappedup.backend.application.service;
 import com.wrappedup.backend.domain.exception.BookPersistenceException;
 import com.wrappedup.backend.domain.model.Book;
 import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.BookUpsertResult;
 import com.wrappedup.backend.domain.port.in.CreateBookUseCase.CreateBookCommand;
 import com.wrappedup.backend.domain.port.out.BookRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +23,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -195,4 +197,32 @@ class CreateBookServiceTest {
         assertTrue(exception.getMessage().contains("Failed to create book"));
         assertTrue(exception.getCause() instanceof IllegalStateException);
     }
+
+    @Test
+    @DisplayName("Should save a batch of books with their OpenLibrary keys in one call")
+    void createOrUpdateBooks_ShouldSaveAllBooksAtOnce() {
+        // Arrange
+        CreateBookCommand fromOpenLibrary = new CreateBookCommand(
+                title, author, " ", description, coverImageUrl,
+                pageCount, genres, language, publicationDate, publisher, "/works/OL45804W"
+        );
+        List<BookUpsertResult> saved = List.of(BookUpsertResult.created(bookId), BookUpsertResult.updated(BookId.generate()));
+        when(bookRepository.saveAll(anyList())).thenReturn(saved);
+
+        // Act
+        List<BookUpsertResult> results = createBookService.createOrUpdateBooks(List.of(createCommand, fromOpenLibrary));
+
+        // Assert
+        assertEquals(saved, results);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Book>> booksCaptor = ArgumentCaptor.forClass(List.class);
+        verify(bookRepository).saveAll(booksCaptor.capture());
+        List<Book> books = booksCaptor.getValue();
+        assertEquals(isbn, books.get(0).getIsbn());
+        assertNull(books.get(0).getOpenLibraryKey());
+        assertNull(books.get(1).getIsbn());
+        assertEquals(BookId.forOpenLibraryKey("/works/OL45804W"), books.get(1).getId());
+        verify(bookRepository, never()).existsByIsbn(any());
+        verify(bookRepository, never()).save(any(Book.class));
+    }
 } 
\ No newline at end of file
@@ -1,8 +1,15 @@
 package com.wrappedup.backend.application.service;
 
+import com.wrappedup.backend.domain.exception.BookPersistenceException;
 import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookCursor;
 import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.BookSummary;
+import com.wrappedup.backend.domain.model.BookSummaryPage;
+import com.wrappedup.backend.domain.model.OpenLibraryWorkKey;
 import com.wrappedup.backend.domain.port.out.BookRepository;
+import com.wrappedup.backend.domain.port.out.BookSearchPort;
+import com.wrappedup.backend.domain.port.out.FuzzyBookSearchPort;
 import com.wrappedup.backend.domain.port.out.OpenLibraryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +25,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +42,12 @@ class GetBookServiceTest {
     @Mock
     private OpenLibraryPort openLibraryPort;
 
+    @Mock
+    private BookSearchPort bookSearchPort;
+
+    @Mock
+    private FuzzyBookSearchPort fuzzyBookSearchPort;
+
     @InjectMocks
     private GetBookService getBookService;
 
@@ -229,6 +244,165 @@ class GetBookServiceTest {
         verify(bookRepository, never()).findAll(anyInt(), anyInt());
     }
 
+    @Test
+    @DisplayName("Should return book summaries with pagination")
+    void getBookSummaries_WithValidPagination_ShouldReturnSummaries() {
+        // Arrange
+        List<BookSummary> summaries = Collections.singletonList(BookSummary.of(testBook));
+        when(bookRepository.findSummaries(0, 10)).thenReturn(summaries);
+
+        // Act
+        List<BookSummary> result = getBookService.getBookSummaries(0, 10);
+
+        // Assert
+        assertEquals(summaries, result);
+        verify(bookRepository, never()).findAll(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return empty summaries for invalid pagination")
+    void getBookSummaries_WithInvalidPagination_ShouldReturnEmptyList() {
+        // Act & Assert
+        assertTrue(getBookService.getBookSummaries(-1, 10).isEmpty());
+        assertTrue(getBookService.getBookSummaries(0, 0).isEmpty());
+
+        // Verify repository was not called
+        verify(bookRepository, never()).findSummaries(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should continue book summary pages after the cursor")
+    void getBookSummaryPage_WithCursor_ShouldReturnRepositoryPage() {
+        // Arrange
+        BookCursor cursor = BookCursor.of(LocalDateTime.now(), BookId.generate());
+        BookSummaryPage page = new BookSummaryPage(List.of(BookSummary.of(testBook)), null);
+        when(bookRepository.findSummaryPage(cursor, 10)).thenReturn(page);
+
+        // Act
+        BookSummaryPage result = getBookService.getBookSummaryPage(cursor, 10);
+
+        // Assert
+        assertEquals(page, result);
+        assertEquals(BookSummaryPage.empty(), getBookService.getBookSummaryPage(cursor, 0));
+        verify(bookRepository, never()).findSummaries(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should search book summaries in the search index once it is ready")
+    void searchBookSummaries_WhenIndexReady_ShouldReturnIndexResultsInOrder() {
+        // Arrange
+        List<BookId> ids = List.of(BookId.generate(), bookId);
+        List<BookSummary> summaries = Collections.singletonList(BookSummary.of(testBook));
+        when(bookSearchPort.isReady()).thenReturn(true);
+        when(bookSearchPort.searchByTitle("test bo", 20)).thenReturn(ids);
+        when(bookSearchPort.searchByAuthor("author", 20)).thenReturn(ids);
+        when(bookRepository.findSummariesByIds(ids)).thenReturn(summaries);
+
+        // Act & Assert
+        assertEquals(summaries, getBookService.searchBookSummariesByTitle("test bo", 20));
+        assertEquals(summaries, getBookService.searchBookSummariesByAuthor("author", 20));
+        verify(bookRepository, never()).findSummariesByTitleContaining(anyString());
+    }
+
+    @Test
+    @DisplayName("Should search books in the search index once it is ready")
+    void searchBooks_WhenIndexReady_ShouldReturnIndexResultsInOrder() {
+        // Arrange
+        List<BookId> ids = List.of(BookId.generate(), bookId);
+        List<Book> books = Collections.singletonList(testBook);
+        when(bookSearchPort.isReady()).thenReturn(true);
+        when(bookSearchPort.searchByTitle("test bo", GetBookService.MAX_SEARCH_RESULTS)).thenReturn(ids);
+        when(bookSearchPort.searchByAuthor("author", GetBookService.MAX_SEARCH_RESULTS)).thenReturn(ids);
+        when(bookRepository.findByIds(ids)).thenReturn(books);
+
+        // Act & Assert
+        assertEquals(books, getBookService.searchBooksByTitle("test bo"));
+        assertEquals(books, getBookService.searchBooksByAuthor("author"));
+        verify(bookRepository, never()).findByTitleContaining(anyString());
+        verify(bookRepository, never()).findByAuthorContaining(anyString());
+    }
+
+    @Test
+    @DisplayName("Should search book summaries in the database while the search index is built")
+    void searchBookSummaries_WhenIndexNotReady_ShouldFallBackToSubstringSearch() {
+        // Arrange
+        Book other = Book.createNewBook("Test Book 2", AUTHOR, null, null, null, null,
+                Collections.emptyList(), null, null, null, null);
+        List<BookSummary> summaries = List.of(BookSummary.of(testBook), BookSummary.of(other));
+        when(bookSearchPort.isReady()).thenReturn(false);
+        when(bookRepository.findSummariesByTitleContaining("Test")).thenReturn(summaries);
+        when(bookRepository.findSummariesByGenre("Fiction")).thenReturn(summaries);
+
+        // Act & Assert
+        assertEquals(summaries.subList(0, 1), getBookService.searchBookSummariesByTitle("Test", 1));
+        assertEquals(summaries, getBookService.getBookSummariesByGenre("Fiction"));
+        verify(bookSearchPort, never()).searchByTitle(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should look up similarly spelled books when nothing matches")
+    void searchBookSummaries_WhenNothingMatches_ShouldFallBackToSimilarSpellings() {
+        // Arrange
+        List<BookId> ids = List.of(bookId);
+        List<BookSummary> summaries = Collections.singletonList(BookSummary.of(testBook));
+        when(bookSearchPort.isReady()).thenReturn(true);
+        when(bookSearchPort.searchByAuthor("tset athor", 20)).thenReturn(List.of());
+        when(bookRepository.findSummariesByIds(List.of())).thenReturn(List.of());
+        when(fuzzyBookSearchPort.isReady()).thenReturn(true);
+        when(fuzzyBookSearchPort.findSimilarAuthors("tset athor", 20)).thenReturn(ids);
+        when(bookRepository.findSummariesByIds(ids)).thenReturn(summaries);
+
+        // Act
+        List<BookSummary> result = getBookService.searchBookSummariesByAuthor("tset athor", 20);
+
+        // Assert
+        assertEquals(summaries, result);
+    }
+
+    @Test
+    @DisplayName("Should return similarly spelled books when no title contains the text")
+    void searchBooksByTitle_WhenNothingContainsText_ShouldFallBackToSimilarSpellings() {
+        // Arrange
+        List<BookId> ids = List.of(bookId);
+        when(bookRepository.findByTitleContaining("Tset Bok")).thenReturn(List.of());
+        when(fuzzyBookSearchPort.isReady()).thenReturn(true);
+        when(fuzzyBookSearchPort.findSimilarTitles("Tset Bok", GetBookService.MAX_SEARCH_RESULTS)).thenReturn(ids);
+        when(bookRepository.findByIds(ids)).thenReturn(List.of(testBook));
+
+        // Act
+        List<Book> result = getBookService.searchBooksByTitle("Tset Bok");
+
+        // Assert
+        assertEquals(List.of(testBook), result);
+    }
+
+    @Test
+    @DisplayName("Should cap the number of search results")
+    void searchBookSummaries_WithLargeLimit_ShouldCapLimit() {
+        // Arrange
+        when(bookSearchPort.isReady()).thenReturn(true);
+        when(bookSearchPort.searchByTitle("test", GetBookService.MAX_SEARCH_RESULTS)).thenReturn(List.of());
+
+        // Act
+        getBookService.searchBookSummariesByTitle("test", 10_000);
+
+        // Assert
+        verify(bookSearchPort).searchByTitle("test", GetBookService.MAX_SEARCH_RESULTS);
+    }
+
+    @Test
+    @DisplayName("Should return empty summaries for blank search input")
+    void searchBookSummaries_WithBlankInput_ShouldReturnEmptyList() {
+        // Act & Assert
+        assertTrue(getBookService.searchBookSummariesByTitle(" ", 20).isEmpty());
+        assertTrue(getBookService.searchBookSummariesByAuthor(null, 20).isEmpty());
+        assertTrue(getBookService.searchBookSummariesByAuthor("Author", 0).isEmpty());
+        assertTrue(getBookService.getBookSummariesByGenre("").isEmpty());
+
+        // Verify repository was not called
+        verifyNoInteractions(bookRepository, bookSearchPort);
+    }
+
     @Test
     @DisplayName("Should return count of books")
     void countBooks_ShouldReturnCount() {
@@ -242,6 +416,18 @@ class GetBookServiceTest {
         assertEquals(10L, result);
     }
 
+    @Test
+    @DisplayName("Should return count of books in a genre")
+    void countBooksByGenre_ShouldReturnCount() {
+        // Arrange
+        when(bookRepository.countByGenre("Fiction")).thenReturn(4L);
+
+        // Act & Assert
+        assertEquals(4L, getBookService.countBooksByGenre("Fiction"));
+        assertEquals(0L, getBookService.countBooksByGenre(" "));
+        verify(bookRepository, never()).findSummariesByGenre(any());
+    }
+
     @Test
     @DisplayName("Should return books from OpenLibrary when searching")
     void searchBooksInOpenLibrary_WithValidQuery_ShouldReturnBooks() {
@@ -287,9 +473,9 @@ class GetBookServiceTest {
     @DisplayName("Should persist and return book from OpenLibrary")
     void getAndPersistBookByOpenLibraryKey_WhenBookNotInDatabase_ShouldPersistAndReturnBook() {
         // Arrange
-        String openLibraryKey = "OL12345";
-        when(bookRepository.findByOpenLibraryKey(openLibraryKey)).thenReturn(Optional.empty());
-        when(openLibraryPort.getBookByKey(openLibraryKey)).thenReturn(Collections.singletonList(testBook));
+        String openLibraryKey = "OL12345W";
+        when(bookRepository.findByOpenLibraryKey(OpenLibraryWorkKey.of(openLibraryKey))).thenReturn(Optional.empty());
+        when(openLibraryPort.getBookByKey("/works/" + openLibraryKey)).thenReturn(Collections.singletonList(testBook));
         when(bookRepository.findByIsbn(testBook.getIsbn())).thenReturn(Optional.empty());
         when(bookRepository.save(any(Book.class))).thenReturn(testBook);
 
@@ -306,8 +492,8 @@ class GetBookServiceTest {
     @DisplayName("Should return existing book when OpenLibrary key already exists in database")
     void getAndPersistBookByOpenLibraryKey_WhenBookExistsByKey_ShouldReturnExistingBook() {
         // Arrange
-        String openLibraryKey = "OL12345";
-        when(bookRepository.findByOpenLibraryKey(openLibraryKey)).thenReturn(Optional.of(testBook));
+        String openLibraryKey = "OL12345W";
+        when(bookRepository.findByOpenLibraryKey(OpenLibraryWorkKey.of(openLibraryKey))).thenReturn(Optional.of(testBook));
 
         // Act
         Optional<Book> result = getBookService.getAndPersistBookByOpenLibraryKey(openLibraryKey);
@@ -323,9 +509,9 @@ class GetBookServiceTest {
     @DisplayName("Should return existing book when ISBN already exists in database")
     void getAndPersistBookByOpenLibraryKey_WhenBookExistsByIsbn_ShouldReturnExistingBook() {
         // Arrange
-        String openLibraryKey = "OL12345";
-        when(bookRepository.findByOpenLibraryKey(openLibraryKey)).thenReturn(Optional.empty());
-        when(openLibraryPort.getBookByKey(openLibraryKey)).thenReturn(Collections.singletonList(testBook));
+        String openLibraryKey = "OL12345W";
+        when(bookRepository.findByOpenLibraryKey(OpenLibraryWorkKey.of(openLibraryKey))).thenReturn(Optional.empty());
+        when(openLibraryPort.getBookByKey("/works/" + openLibraryKey)).thenReturn(Collections.singletonList(testBook));
         when(bookRepository.findByIsbn(testBook.getIsbn())).thenReturn(Optional.of(testBook));
 
         // Act
@@ -346,7 +532,7 @@ class GetBookServiceTest {
         assertTrue(getBookService.getAndPersistBookByOpenLibraryKey("  ").isEmpty());
         
         // Verify repository and port were not called
-        verify(bookRepository, never()).findByOpenLibraryKey(anyString());
+        verify(bookRepository, never()).findByOpenLibraryKey(any());
         verify(openLibraryPort, never()).getBookByKey(anyString());
     }
 
@@ -354,8 +540,8 @@ class GetBookServiceTest {
     @DisplayName("Should handle exceptions gracefully when retrieving from OpenLibrary")
     void getAndPersistBookByOpenLibraryKey_WhenExceptionOccurs_ShouldReturnEmpty() {
         // Arrange
-        String openLibraryKey = "OL12345";
-        when(bookRepository.findByOpenLibraryKey(openLibraryKey)).thenReturn(Optional.empty());
+        String openLibraryKey = "OL12345W";
+        when(bookRepository.findByOpenLibraryKey(OpenLibraryWorkKey.of(openLibraryKey))).thenReturn(Optional.empty());
         when(openLibraryPort.getBookByKey(anyString())).thenThrow(new RuntimeException("API error"));
 
         // Act
@@ -365,4 +551,102 @@ class GetBookServiceTest {
         assertTrue(result.isEmpty());
         verify(bookRepository, never()).save(any(Book.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return the concurrently persisted book when save hits the unique key")
+    void getAndPersistBookByOpenLibraryKey_WhenSaveConflicts_ShouldReturnConcurrentlySavedBook() {
+        // Arrange
+        String openLibraryKey = "OL12345W";
+        Book openLibraryBook = Book.reconstitute(BookId.generate(), TITLE, AUTHOR, null, null, null, null,
+                null, null, null, null, "/works/OL12345W", LocalDateTime.now(), LocalDateTime.now());
+        when(bookRepository.findByOpenLibraryKey(OpenLibraryWorkKey.of(openLibraryKey))).thenReturn(Optional.empty(), Optional.of(testBook));
+        when(openLibraryPort.getBookByKey("/works/" + openLibraryKey)).thenReturn(Collections.singletonList(openLibraryBook));
+        when(bookRepository.save(any(Book.class)))
+                .thenThrow(new BookPersistenceException("Book could not be saved due to a data conflict"));
+
+        // Act
+        Optional<Book> result = getBookService.getAndPersistBookByOpenLibraryKey(openLibraryKey);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(testBook, result.get());
+        assertEquals(1, getBookService.getPersistByKeyFlights().getExecutionCount());
+    }
+
+    @Test
+    @DisplayName("Should record a redirected key as an alias of the book already stored under its target")
+    void getAndPersistBookByOpenLibraryKey_WhenKeyRedirectsToStoredBook_ShouldAddAlias() {
+        // Arrange
+        Book redirectTarget = Book.reconstitute(BookId.generate(), TITLE, AUTHOR, null, null, null, null,
+                null, null, null, null, "/works/OL999W", LocalDateTime.now(), LocalDateTime.now());
+        when(bookRepository.findByOpenLibraryKey(OpenLibraryWorkKey.of("OL12345W"))).thenReturn(Optional.empty());
+        when(openLibraryPort.getBookByKey("/works/OL12345W")).thenReturn(Collections.singletonList(redirectTarget));
+        when(bookRepository.findByOpenLibraryKey(OpenLibraryWorkKey.of("OL999W"))).thenReturn(Optional.of(testBook));
+
+        // Act
+        Optional<Book> result = getBookService.getAndPersistBookByOpenLibraryKey("https://openlibrary.org/works/ol12345w/Some_Title");
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(testBook, result.get());
+        verify(bookRepository).addOpenLibraryKeyAliases(bookId, List.of(OpenLibraryWorkKey.of("OL12345W")));
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+
+    @Test
+    @DisplayName("Should store a redirected key as an alias of a newly persisted book")
+    void getAndPersistBookByOpenLibraryKey_WhenKeyRedirectsToNewBook_ShouldSaveWithAlias() {
+        // Arrange
+        Book redirectTarget = Book.reconstitute(BookId.generate(), TITLE, AUTHOR, null, null, null, null,
+                null, null, null, null, "/works/OL999W", LocalDateTime.now(), LocalDateTime.now());
+        when(bookRepository.findByOpenLibraryKey(any())).thenReturn(Optional.empty());
+        when(openLibraryPort.getBookByKey("/works/OL12345W")).thenReturn(Collections.singletonList(redirectTarget));
+        when(bookRepository.save(redirectTarget)).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Optional<Book> result = getBookService.getAndPersistBookByOpenLibraryKey("OL12345W");
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(Set.of("/works/OL12345W"), result.get().getOpenLibraryKeyAliases());
+        assertTrue(redirectTarget.getOpenLibraryKeyAliases().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not call OpenLibrary for a key that is not a work key")
+    void getAndPersistBookByOpenLibraryKey_WithInvalidKey_ShouldReturnEmpty() {
+        // Act
+        Optional<Book> result = getBookService.getAndPersistBookByOpenLibraryKey("/authors/OL1A");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(openLibraryPort, never()).getBookByKey(anyString());
+    }
+
+    @Test
+    @DisplayName("Should search OpenLibrary asynchronously")
+    void searchBooksInOpenLibraryAsync_WithValidQuery_ShouldReturnBooks() {
+        // Arrange
+        when(openLibraryPort.searchBooksAsync("Dune"))
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(testBook)));
+
+        // Act
+        List<Book> result = getBookService.searchBooksInOpenLibraryAsync("Dune").join();
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(testBook, result.get(0));
+    }
+
+    @Test
+    @DisplayName("Should complete with empty list when asynchronous OpenLibrary search fails")
+    void searchBooksInOpenLibraryAsync_WhenSearchFails_ShouldReturnEmptyList() {
+        // Arrange
+        when(openLibraryPort.searchBooksAsync("Dune"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("API error")));
+
+        // Act & Assert
+        assertTrue(getBookService.searchBooksInOpenLibraryAsync("Dune").join().isEmpty());
+        assertTrue(getBookService.searchBooksInOpenLibraryAsync(" ").join().isEmpty());
+    }
+}
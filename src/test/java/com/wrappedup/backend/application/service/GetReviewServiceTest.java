@@ -232,4 +232,17 @@ class GetReviewServiceTest {
         verify(reviewRepository, never()).findPublicReviewsByBookId(any());
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    @DisplayName("Should count public reviews for book ID")
+    void countPublicReviewsByBookId_ShouldReturnRepositoryCount() {
+        // Arrange
+        BookId bookId = BookId.generate();
+        when(reviewRepository.countPublicReviewsByBookId(bookId)).thenReturn(3L);
+
+        // Act & Assert
+        assertEquals(3, getReviewService.countPublicReviewsByBookId(bookId));
+        assertEquals(0, getReviewService.countPublicReviewsByBookId(null));
+        verify(reviewRepository, never()).findPublicReviewsByBookId(any());
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.wrappedup.backend.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Should run the work once for concurrent callers with the same key")
+    void execute_ShouldCoalesceConcurrentCalls() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute("OL1W", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "book";
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("OL1W", () -> {
+                    runs.incrementAndGet();
+                    return "other";
+                })));
+            }
+            while (singleFlight.getCoalescedCount() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("book", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, runs.get());
+        assertEquals(1, singleFlight.getExecutionCount());
+        assertEquals(callers - 1, singleFlight.getCoalescedCount());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should run the work again once the previous call has finished")
+    void execute_ShouldNotCacheCompletedCalls() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        singleFlight.execute("key", runs::incrementAndGet);
+        singleFlight.execute("key", runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+        assertEquals(0, singleFlight.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("Should propagate failures and release the key")
+    void execute_ShouldPropagateExceptions() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("ok", singleFlight.execute("key", () -> "ok"));
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
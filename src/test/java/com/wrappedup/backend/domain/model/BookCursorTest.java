@@ -0,0 +1,44 @@
+package com.wrappedup.backend.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCursorTest {
+
+    @Test
+    @DisplayName("Should read back the cursor a token was made from")
+    void fromToken_WithTokenOfCursor_ShouldReturnEqualCursor() {
+        // Arrange
+        BookCursor cursor = BookCursor.of(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123456000), BookId.generate());
+
+        // Act
+        String token = cursor.toToken();
+        BookCursor read = BookCursor.fromToken(token);
+
+        // Assert
+        assertEquals(cursor, read);
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "not a token", "MjAyNC0wMy0wMVQxMjozMA", "fDEyMw"})
+    @DisplayName("Should reject tokens it did not create")
+    void fromToken_WithInvalidToken_ShouldThrow(String token) {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> BookCursor.fromToken(token));
+    }
+
+    @Test
+    @DisplayName("Should require both keys")
+    void of_WithMissingKey_ShouldThrow() {
+        // Act & Assert
+        assertThrows(NullPointerException.class, () -> BookCursor.of(null, BookId.generate()));
+        assertThrows(NullPointerException.class, () -> BookCursor.of(LocalDateTime.now(), null));
+    }
+}
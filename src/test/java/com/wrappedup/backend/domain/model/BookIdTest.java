@@ -120,4 +120,43 @@ class BookIdTest {
         // Assert
         assertEquals(uuid.toString(), bookId.toString());
     }
-} 
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Should derive the same name-based UUID for every spelling of a work key")
+    void forOpenLibraryWork_ShouldBeDeterministic() {
+        // Act
+        BookId bookId = BookId.forOpenLibraryWork(OpenLibraryWorkKey.of("OL45804W"));
+        BookId sameWork = BookId.forOpenLibraryKey("https://openlibrary.org/works/ol45804w/Fantastic_Mr_Fox");
+        BookId otherWork = BookId.forOpenLibraryKey("/works/OL45805W");
+        
+        // Assert
+        assertEquals(UUID.fromString("7ee924da-d8fb-5b0f-84f2-5e69cefa0ea7"), bookId.getValue());
+        assertEquals(5, bookId.getValue().version());
+        assertEquals(2, bookId.getValue().variant());
+        assertEquals(bookId, sameWork);
+        assertNotEquals(bookId, otherWork);
+    }
+    
+    @Test
+    @DisplayName("Should generate a time-ordered BookId for books without a work key")
+    void forOpenLibraryKey_WithoutWorkKey_ShouldGenerateTimeOrderedId() {
+        // Act
+        BookId first = BookId.forOpenLibraryKey(null);
+        BookId second = BookId.forOpenLibraryKey("OL12345M");
+        
+        // Assert
+        assertEquals(7, first.getValue().version());
+        assertNotEquals(first, second);
+    }
+    
+    @Test
+    @DisplayName("Should match the RFC 4122 version 5 algorithm")
+    void nameBasedUuid_ShouldMatchReferenceValue() {
+        // Arrange
+        UUID dnsNamespace = UUID.fromString("6ba7b810-9dad-11d1-80b4-00c04fd430c8");
+        
+        // Act & Assert
+        assertEquals(UUID.fromString("886313e1-3b8a-5372-9b90-0c9aee199e5d"),
+                BookId.nameBasedUuid(dnsNamespace, "python.org"));
+    }
+}
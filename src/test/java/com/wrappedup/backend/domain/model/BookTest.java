@@ -7,6 +7,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -192,4 +193,29 @@ class BookTest {
         assertEquals(createdAt, book.getCreatedAt());
         assertEquals(updatedAt, book.getUpdatedAt());
     }
+
+    @Test
+    @DisplayName("Should copy a book so changing the copy leaves the original alone")
+    void copy_ShouldBeIndependentOfTheOriginal() {
+        // Arrange
+        Book book = Book.reconstitute(
+                bookId, title, author, isbn, description, coverImageUrl,
+                pageCount, genres, language, publicationDate, publisher, "/works/OL1W",
+                createdAt, updatedAt
+        );
+        book.addOpenLibraryKeyAliases(List.of("/works/OL2W"));
+        
+        // Act
+        Book copy = book.copy();
+        copy.addOpenLibraryKeyAliases(List.of("/works/OL3W"));
+        copy.updateDetails("Other title", null, null, null, null, null, null, null, null, null, null);
+        
+        // Assert
+        assertEquals(book, copy);
+        assertEquals(Set.of("/works/OL2W"), book.getOpenLibraryKeyAliases());
+        assertEquals(Set.of("/works/OL2W", "/works/OL3W"), copy.getOpenLibraryKeyAliases());
+        assertEquals(title, book.getTitle());
+        assertEquals(genres, copy.getGenres());
+        assertEquals(createdAt, copy.getCreatedAt());
+    }
 } 
\ No newline at end of file
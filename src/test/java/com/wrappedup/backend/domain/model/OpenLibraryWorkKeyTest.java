@@ -0,0 +1,73 @@
+package com.wrappedup.backend.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLibraryWorkKeyTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "OL45804W",
+        "ol45804w",
+        "/works/OL45804W",
+        "works/OL45804W",
+        "/works/OL45804W.json",
+        "/works/OL45804W/Fantastic_Mr_Fox",
+        "https://openlibrary.org/works/OL45804W",
+        "http://openlibrary.org/works/ol45804w/Fantastic_Mr_Fox?edition=key",
+        "  /works/OL45804W  "
+    })
+    @DisplayName("Should normalize every spelling of a work key")
+    void of_WithVariousSpellings_ShouldNormalize(String spelling) {
+        // Act
+        OpenLibraryWorkKey key = OpenLibraryWorkKey.of(spelling);
+        
+        // Assert
+        assertEquals("/works/OL45804W", key.getValue());
+        assertEquals("OL45804W", key.getId());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"", "  ", "OL45804M", "/books/OL45804M", "/authors/OL1A", "OLW", "works/45804"})
+    @DisplayName("Should reject keys that are not work keys")
+    void parse_WithInvalidKey_ShouldReturnEmpty(String invalid) {
+        // Act & Assert
+        assertTrue(OpenLibraryWorkKey.parse(invalid).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> OpenLibraryWorkKey.of(invalid));
+    }
+    
+    @Test
+    @DisplayName("Should return empty for null")
+    void parse_WithNull_ShouldReturnEmpty() {
+        // Act & Assert
+        assertTrue(OpenLibraryWorkKey.parse(null).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Should canonicalize valid keys and leave others unchanged")
+    void canonicalize_ShouldOnlyRewriteWorkKeys() {
+        // Act & Assert
+        assertEquals("/works/OL45804W", OpenLibraryWorkKey.canonicalize("ol45804w"));
+        assertEquals("OL12345M", OpenLibraryWorkKey.canonicalize("OL12345M"));
+        assertNull(OpenLibraryWorkKey.canonicalize(null));
+    }
+    
+    @Test
+    @DisplayName("Should be equal for different spellings of the same work")
+    void equals_WithDifferentSpellings_ShouldBeEqual() {
+        // Arrange
+        OpenLibraryWorkKey key1 = OpenLibraryWorkKey.of("OL45804W");
+        OpenLibraryWorkKey key2 = OpenLibraryWorkKey.of("https://openlibrary.org/works/ol45804w");
+        OpenLibraryWorkKey key3 = OpenLibraryWorkKey.of("OL45805W");
+        
+        // Assert
+        assertEquals(key1, key2);
+        assertEquals(key1.hashCode(), key2.hashCode());
+        assertNotEquals(key1, key3);
+        assertEquals("/works/OL45804W", key1.toString());
+    }
+}
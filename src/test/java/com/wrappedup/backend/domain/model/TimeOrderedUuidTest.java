@@ -0,0 +1,85 @@
+package com.wrappedup.backend.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidTest {
+
+    @Test
+    @DisplayName("Should generate version 7 UUIDs carrying the time they were generated at")
+    void generate_ShouldEncodeVersionVariantAndTime() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID uuid = TimeOrderedUuid.generate();
+
+        // Assert
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long millis = TimeOrderedUuid.epochMillisOf(uuid);
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1, uuid.toString());
+    }
+
+    @Test
+    @DisplayName("Should keep ids increasing within a millisecond and when the clock goes back")
+    void next_WithStillOrBackwardClock_ShouldStayIncreasing() {
+        // Arrange
+        TimeOrderedUuid generator = new TimeOrderedUuid();
+        long now = System.currentTimeMillis();
+        List<UUID> uuids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            uuids.add(generator.next(now));
+        }
+        uuids.add(generator.next(now - 1_000));
+
+        // Assert
+        for (int i = 1; i < uuids.size(); i++) {
+            assertTrue(uuids.get(i - 1).compareTo(uuids.get(i)) < 0, uuids.get(i).toString());
+        }
+        assertEquals(uuids.size(), new HashSet<>(uuids).size());
+        assertEquals(now, TimeOrderedUuid.epochMillisOf(uuids.get(0)));
+    }
+
+    @Test
+    @DisplayName("Should sort ids of later milliseconds after earlier ones")
+    void next_InLaterMillisecond_ShouldSortAfter() {
+        // Arrange
+        TimeOrderedUuid generator = new TimeOrderedUuid();
+        long now = System.currentTimeMillis();
+        UUID earlier = generator.next(now);
+
+        // Act
+        UUID later = generator.next(now + 5_000);
+
+        // Assert
+        assertTrue(earlier.compareTo(later) < 0);
+        assertEquals(now + 5_000, TimeOrderedUuid.epochMillisOf(later));
+    }
+
+    @Test
+    @DisplayName("Should keep accepting the random ids created before")
+    void ids_WithRandomUuid_ShouldStayCompatible() {
+        // Arrange
+        UUID random = UUID.randomUUID();
+
+        // Act
+        BookId bookId = BookId.of(random.toString());
+        ReviewId reviewId = ReviewId.fromUUID(random);
+
+        // Assert
+        assertEquals(random, bookId.getValue());
+        assertEquals(random, reviewId.getValue());
+        assertNotEquals(bookId, BookId.generate());
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuid.epochMillisOf(random));
+    }
+}
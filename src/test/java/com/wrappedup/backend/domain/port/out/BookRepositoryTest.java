@@ -2,6 +2,7 @@ package com.wrappedup.backend.domain.port.out;
 
 import com.wrappedup.backend.domain.model.Book;
 import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.OpenLibraryWorkKey;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -284,7 +285,7 @@ class BookRepositoryTest {
         BookRepository repository = Mockito.mock(BookRepository.class);
         
         // Create test data
-        String openLibraryKey = "OL12345";
+        OpenLibraryWorkKey openLibraryKey = OpenLibraryWorkKey.of("OL12345W");
         Book book = createMockBook("Test Book", "Test Author");
         
         // Mock the findByOpenLibraryKey behavior
@@ -0,0 +1,111 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.AuthorJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.AuthorJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorNameResolverTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private AuthorJpaRepository authorJpaRepository;
+
+    private AuthorNameResolver resolver;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        resolver = new AuthorNameResolver(restTemplate, authorJpaRepository,
+                new OpenLibraryEndpoints(OpenLibraryEndpoints.DEFAULT_BASE_URL), 100, true, 50);
+    }
+
+    private ObjectNode author(String name) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("name", name);
+        return node;
+    }
+
+    @Test
+    @DisplayName("Should fetch a single author once and serve it from memory afterwards")
+    void resolveName_ShouldCacheInMemory() {
+        when(authorJpaRepository.findAllById(Set.of("OL1A"))).thenReturn(List.of());
+        when(restTemplate.getForObject("https://openlibrary.org/authors/OL1A.json", JsonNode.class))
+                .thenReturn(author("Frank Herbert"));
+
+        assertEquals(Optional.of("Frank Herbert"), resolver.resolveName("/authors/OL1A"));
+        assertEquals(Optional.of("Frank Herbert"), resolver.resolveName("OL1A"));
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(JsonNode.class));
+        verify(authorJpaRepository).saveAll(anyIterable());
+    }
+
+    @Test
+    @DisplayName("Should use stored names before calling OpenLibrary")
+    void resolveName_ShouldUseStoredName() {
+        when(authorJpaRepository.findAllById(Set.of("OL1A")))
+                .thenReturn(List.of(new AuthorJpaEntity("OL1A", "Frank Herbert")));
+
+        assertEquals(Optional.of("Frank Herbert"), resolver.resolveName("/authors/OL1A"));
+
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Should resolve several unknown authors with one search request")
+    void resolveNames_ShouldBatchUnknownAuthors() {
+        ObjectNode first = objectMapper.createObjectNode();
+        first.put("key", "OL1A");
+        first.put("name", "Frank Herbert");
+        ObjectNode second = objectMapper.createObjectNode();
+        second.put("key", "OL2A");
+        second.put("name", "Ursula K. Le Guin");
+        ArrayNode docs = objectMapper.createArrayNode().add(first).add(second);
+        ObjectNode response = objectMapper.createObjectNode();
+        response.set("docs", docs);
+
+        when(authorJpaRepository.findAllById(anyIterable())).thenReturn(List.of());
+        when(restTemplate.getForObject(contains("/search/authors.json"), eq(JsonNode.class))).thenReturn(response);
+        when(restTemplate.getForObject("https://openlibrary.org/authors/OL3A.json", JsonNode.class))
+                .thenReturn(author("Octavia E. Butler"));
+
+        Map<String, String> names = resolver.resolveNames(List.of("/authors/OL1A", "OL2A", "/authors/OL3A"));
+
+        assertEquals(Map.of("OL1A", "Frank Herbert", "OL2A", "Ursula K. Le Guin", "OL3A", "Octavia E. Butler"), names);
+        verify(restTemplate, times(1)).getForObject(contains("/search/authors.json"), eq(JsonNode.class));
+        verify(restTemplate, times(1)).getForObject(contains("/authors/OL3A.json"), eq(JsonNode.class));
+    }
+
+    @Test
+    @DisplayName("Should return empty when the author cannot be resolved")
+    void resolveName_ShouldReturnEmpty_WhenRequestFails() {
+        AuthorNameResolver memoryOnly = new AuthorNameResolver(restTemplate, authorJpaRepository,
+                new OpenLibraryEndpoints(OpenLibraryEndpoints.DEFAULT_BASE_URL), 100, false, 50);
+        when(restTemplate.getForObject(anyString(), eq(JsonNode.class))).thenThrow(new RestClientException("down"));
+
+        assertTrue(memoryOnly.resolveName("OL1A").isEmpty());
+        verifyNoInteractions(authorJpaRepository);
+    }
+}
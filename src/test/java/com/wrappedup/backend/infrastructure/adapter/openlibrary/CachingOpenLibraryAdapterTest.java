@@ -0,0 +1,341 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingOpenLibraryAdapterTest {
+
+    @Mock
+    private OpenLibraryAdapter delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Runnable> scheduledRefreshes = new ArrayList<>();
+    private final List<Runnable> scheduledPrefetches = new ArrayList<>();
+
+    private CachingOpenLibraryAdapter cachingAdapter;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        cachingAdapter = new CachingOpenLibraryAdapter(
+                delegate,
+                100,
+                Duration.ofMinutes(10),
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(30),
+                Duration.ofHours(24),
+                nanos::get,
+                scheduledRefreshes::add,
+                0,
+                Duration.ofSeconds(2),
+                scheduledPrefetches::add);
+
+        LocalDateTime now = LocalDateTime.now();
+        book = Book.reconstitute(BookId.generate(), "Dune", "Frank Herbert", null, null, null,
+                null, null, null, null, null, "/works/OL893415W", now, now);
+    }
+
+    private CachingOpenLibraryAdapter prefetchingAdapter(int prefetchCount) {
+        return new CachingOpenLibraryAdapter(delegate, 100, Duration.ofMinutes(10), Duration.ofMinutes(1),
+                Duration.ofMinutes(30), Duration.ofHours(24), nanos::get, scheduledRefreshes::add,
+                prefetchCount, Duration.ofMillis(200), scheduledPrefetches::add);
+    }
+
+    private Book book(String title, String key) {
+        LocalDateTime now = LocalDateTime.now();
+        return Book.reconstitute(BookId.generate(), title, "Author", null, null, null,
+                null, null, null, null, null, key, now, now);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated searches from the cache")
+    void searchBooks_ShouldHitCache_ForSameNormalizedQuery() {
+        when(delegate.searchBooks("Dune")).thenReturn(List.of(book));
+
+        List<Book> first = cachingAdapter.searchBooks("Dune");
+        List<Book> second = cachingAdapter.searchBooks("  dune ");
+
+        assertEquals(List.of(book), first);
+        assertEquals(List.of(book), second);
+        verify(delegate, times(1)).searchBooks(anyString());
+    }
+
+    @Test
+    @DisplayName("Should cache empty results for the negative TTL only")
+    void searchBooks_ShouldCacheEmptyResults_ForNegativeTtl() {
+        when(delegate.searchBooks("nothing")).thenReturn(Collections.emptyList());
+
+        cachingAdapter.searchBooks("nothing");
+        advance(Duration.ofSeconds(30));
+        cachingAdapter.searchBooks("nothing");
+        verify(delegate, times(1)).searchBooks("nothing");
+
+        advance(Duration.ofMinutes(1));
+        cachingAdapter.searchBooks("nothing");
+        assertEquals(1, scheduledRefreshes.size());
+    }
+
+    @Test
+    @DisplayName("Should serve stale entry and refresh it in the background")
+    void searchBooks_ShouldServeStaleAndRevalidate() {
+        Book refreshed = Book.reconstitute(BookId.generate(), "Dune (Refreshed)", "Frank Herbert", null, null,
+                null, null, null, null, null, null, "/works/OL893415W", LocalDateTime.now(), LocalDateTime.now());
+        when(delegate.searchBooks("dune")).thenReturn(List.of(book), List.of(refreshed));
+
+        cachingAdapter.searchBooks("dune");
+        advance(Duration.ofMinutes(15));
+
+        List<Book> stale = cachingAdapter.searchBooks("dune");
+        assertEquals(List.of(book), stale);
+        assertEquals(1, scheduledRefreshes.size());
+
+        // A second stale read must not schedule a duplicate refresh
+        cachingAdapter.searchBooks("dune");
+        assertEquals(1, scheduledRefreshes.size());
+
+        scheduledRefreshes.get(0).run();
+        assertEquals(List.of(refreshed), cachingAdapter.searchBooks("dune"));
+    }
+
+    @Test
+    @DisplayName("Should refresh stale entries and prefetch works in the background lane")
+    void refreshAndPrefetch_ShouldRunInBackgroundLane() {
+        CachingOpenLibraryAdapter adapter = prefetchingAdapter(1);
+        List<RequestLane> lanes = new ArrayList<>();
+        when(delegate.searchBooks("dune")).thenAnswer(invocation -> {
+            lanes.add(RequestLane.forUrl("https://openlibrary.org/search.json?q=dune"));
+            return List.of(book);
+        });
+        when(delegate.getBooksByKeys(Set.of("/works/OL893415W"))).thenAnswer(invocation -> {
+            lanes.add(RequestLane.forUrl("https://openlibrary.org/works/OL893415W.json"));
+            return Map.of("/works/OL893415W", List.of(book));
+        });
+
+        adapter.searchBooks("dune");
+        scheduledPrefetches.forEach(Runnable::run);
+        advance(Duration.ofMinutes(15));
+        adapter.searchBooks("dune");
+        scheduledRefreshes.forEach(Runnable::run);
+
+        assertEquals(List.of(RequestLane.INTERACTIVE_SEARCH, RequestLane.BACKGROUND, RequestLane.BACKGROUND), lanes);
+    }
+
+    @Test
+    @DisplayName("Should serve stale entry when the upstream fails")
+    void searchBooks_ShouldServeStale_WhenRefetchFails() {
+        when(delegate.searchBooks("dune"))
+                .thenReturn(List.of(book))
+                .thenReturn(Collections.emptyList())
+                .thenThrow(new IllegalStateException("down"));
+
+        cachingAdapter.searchBooks("dune");
+        advance(Duration.ofHours(2));
+
+        assertEquals(List.of(book), cachingAdapter.searchBooks("dune"));
+        assertEquals(List.of(book), cachingAdapter.searchBooks("dune"));
+        verify(delegate, times(3)).searchBooks("dune");
+    }
+
+    @Test
+    @DisplayName("Should refetch after the stale-if-error window has passed")
+    void searchBooks_ShouldRefetch_AfterEntryExpired() {
+        when(delegate.searchBooks("dune")).thenReturn(List.of(book), Collections.emptyList());
+
+        cachingAdapter.searchBooks("dune");
+        advance(Duration.ofHours(25));
+
+        assertTrue(cachingAdapter.searchBooks("dune").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should share cache entries between key spellings")
+    void getBookByKey_ShouldNormalizeKeys() {
+        when(delegate.getBookByKey("OL893415W")).thenReturn(List.of(book));
+
+        cachingAdapter.getBookByKey("OL893415W");
+        cachingAdapter.getBookByKey("/works/OL893415W");
+        cachingAdapter.getBookByKey("works/ol893415w");
+
+        verify(delegate, times(1)).getBookByKey(anyString());
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache for blank queries")
+    void searchBooks_ShouldDelegate_ForBlankQuery() {
+        when(delegate.searchBooks(" ")).thenReturn(Collections.emptyList());
+
+        cachingAdapter.searchBooks(" ");
+        cachingAdapter.searchBooks(" ");
+
+        verify(delegate, times(2)).searchBooks(" ");
+    }
+
+    @Test
+    @DisplayName("Should share cache entries between blocking and async searches")
+    void searchBooksAsync_ShouldUseCache() {
+        when(delegate.searchBooksAsync("dune")).thenReturn(CompletableFuture.completedFuture(List.of(book)));
+
+        assertEquals(List.of(book), cachingAdapter.searchBooksAsync("dune").join());
+        assertEquals(List.of(book), cachingAdapter.searchBooks("Dune"));
+        assertEquals(List.of(book), cachingAdapter.searchBooksAsync("DUNE").join());
+
+        verify(delegate, times(1)).searchBooksAsync("dune");
+        verify(delegate, never()).searchBooks(anyString());
+    }
+
+    @Test
+    @DisplayName("Should serve stale entry when an async refetch fails")
+    void searchBooksAsync_ShouldServeStale_WhenRefetchFails() {
+        when(delegate.searchBooks("dune")).thenReturn(List.of(book));
+        when(delegate.searchBooksAsync("dune"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("down")));
+
+        cachingAdapter.searchBooks("dune");
+        advance(Duration.ofHours(2));
+
+        assertEquals(List.of(book), cachingAdapter.searchBooksAsync("dune").join());
+    }
+
+    @Test
+    @DisplayName("Should prefetch the top search results together and serve the detail lookup from the cache")
+    void searchBooks_ShouldPrefetchTopResults() {
+        CachingOpenLibraryAdapter adapter = prefetchingAdapter(2);
+        Book second = book("Dune Messiah", "/works/OL893527W");
+        Book third = book("Children of Dune", "/works/OL893528W");
+        when(delegate.searchBooks("dune")).thenReturn(List.of(book, second, third));
+        when(delegate.getBooksByKeys(Set.of("/works/OL893415W", "/works/OL893527W"))).thenReturn(Map.of(
+                "/works/OL893415W", List.of(book),
+                "/works/OL893527W", List.of(second)));
+
+        adapter.searchBooks("dune");
+        assertEquals(1, scheduledPrefetches.size());
+        scheduledPrefetches.forEach(Runnable::run);
+
+        assertEquals(List.of(book), adapter.getBookByKey("OL893415W"));
+        assertEquals(List.of(second), adapter.getBookByKey("/works/OL893527W"));
+        verify(delegate, times(1)).getBooksByKeys(any());
+        verify(delegate, never()).getBookByKey(anyString());
+        assertEquals(2, adapter.getPrefetchIssuedCount());
+        assertEquals(2, adapter.getPrefetchHitCount());
+    }
+
+    @Test
+    @DisplayName("Should count prefetches that expire unused as wasted")
+    void prefetch_ShouldCountUnusedEntriesAsWasted() {
+        CachingOpenLibraryAdapter adapter = prefetchingAdapter(1);
+        when(delegate.searchBooks("dune")).thenReturn(List.of(book));
+        when(delegate.getBooksByKeys(Set.of("/works/OL893415W"))).thenReturn(Map.of("/works/OL893415W", List.of(book)));
+
+        adapter.searchBooks("dune");
+        scheduledPrefetches.forEach(Runnable::run);
+        advance(Duration.ofMinutes(11));
+
+        assertEquals(1, adapter.getPrefetchWastedCount());
+        assertEquals(0, adapter.getPrefetchHitCount());
+    }
+
+    @Test
+    @DisplayName("Should not cache failed prefetches")
+    void prefetch_ShouldNotCacheEmptyResults() {
+        CachingOpenLibraryAdapter adapter = prefetchingAdapter(1);
+        when(delegate.searchBooks("dune")).thenReturn(List.of(book));
+        when(delegate.getBooksByKeys(Set.of("/works/OL893415W"))).thenReturn(Map.of("/works/OL893415W", List.of()));
+        when(delegate.getBookByKey("OL893415W")).thenReturn(List.of(book));
+
+        adapter.searchBooks("dune");
+        scheduledPrefetches.forEach(Runnable::run);
+
+        assertEquals(List.of(book), adapter.getBookByKey("OL893415W"));
+        assertEquals(0, adapter.getPrefetchHitCount());
+    }
+
+    @Test
+    @DisplayName("Should count prefetches rejected by a full queue")
+    void prefetch_ShouldCountRejections() {
+        CachingOpenLibraryAdapter adapter = new CachingOpenLibraryAdapter(delegate, 100, Duration.ofMinutes(10),
+                Duration.ofMinutes(1), Duration.ofMinutes(30), Duration.ofHours(24), nanos::get,
+                scheduledRefreshes::add, 3, Duration.ofSeconds(2), runnable -> {
+                    throw new RejectedExecutionException("full");
+                });
+        when(delegate.searchBooks("dune")).thenReturn(List.of(book));
+
+        adapter.searchBooks("dune");
+
+        assertEquals(1, adapter.getPrefetchRejectedCount());
+        assertEquals(0, adapter.getPrefetchIssuedCount());
+    }
+
+    @Test
+    @DisplayName("Should fetch a work directly while its prefetch is still queued")
+    void getBookByKey_WithQueuedPrefetch_ShouldNotWaitForIt() {
+        CachingOpenLibraryAdapter adapter = prefetchingAdapter(1);
+        when(delegate.searchBooks("dune")).thenReturn(List.of(book));
+        when(delegate.getBookByKey("OL893415W")).thenReturn(List.of(book));
+
+        adapter.searchBooks("dune");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertEquals(List.of(book), adapter.getBookByKey("OL893415W")));
+        assertEquals(1, scheduledPrefetches.size());
+        verify(delegate, never()).getBooksByKeys(any());
+    }
+
+    @Test
+    @DisplayName("Should wait a running prefetch out only up to the prefetch max-wait")
+    void getBookByKey_WithSlowPrefetch_ShouldFetchDirectlyAfterMaxWait() throws Exception {
+        CachingOpenLibraryAdapter adapter = prefetchingAdapter(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.searchBooks("dune")).thenReturn(List.of(book));
+        when(delegate.getBooksByKeys(Set.of("/works/OL893415W"))).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return Map.of("/works/OL893415W", List.of(book));
+        });
+        when(delegate.getBookByKey("OL893415W")).thenReturn(List.of(book));
+        adapter.searchBooks("dune");
+        Thread prefetchThread = new Thread(scheduledPrefetches.get(0));
+        prefetchThread.start();
+
+        try {
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            long start = System.nanoTime();
+            assertEquals(List.of(book), adapter.getBookByKey("OL893415W"));
+            long waited = System.nanoTime() - start;
+
+            assertTrue(waited >= Duration.ofMillis(200).toNanos(), "waited " + waited);
+            assertTrue(waited < Duration.ofSeconds(5).toNanos(), "waited " + waited);
+            verify(delegate).getBookByKey("OL893415W");
+        } finally {
+            release.countDown();
+            prefetchThread.join();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new CircuitBreaker("test", 50, 4, 4, Duration.ofSeconds(10), 2, nanos::get);
+    }
+
+    private void call(boolean success) {
+        long permission = breaker.tryAcquirePermission();
+        assertNotEquals(CircuitBreaker.NOT_PERMITTED, permission);
+        breaker.onResult(permission, success);
+    }
+
+    private void openBreaker() {
+        call(false);
+        call(false);
+        call(true);
+        call(false);
+    }
+
+    @Test
+    @DisplayName("Should stay closed until the minimum number of calls is reached")
+    void shouldStayClosed_BelowMinimumCalls() {
+        call(false);
+        call(false);
+        call(false);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should open when the failure rate reaches the threshold and reject calls")
+    void shouldOpen_WhenFailureRateReachesThreshold() {
+        openBreaker();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+        assertEquals(1, breaker.getNotPermittedCount());
+    }
+
+    @Test
+    @DisplayName("Should only count the most recent calls")
+    void shouldSlideWindow() {
+        for (int i = 0; i < 8; i++) {
+            call(true);
+        }
+        call(false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        call(false);
+
+        // Two failures in the last four calls, although only two of ten overall
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should close again after enough successful probes")
+    void shouldClose_AfterSuccessfulProbes() {
+        openBreaker();
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        long first = breaker.tryAcquirePermission();
+        long second = breaker.tryAcquirePermission();
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+
+        breaker.onResult(first, true);
+        breaker.onResult(second, true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should reopen when a probe fails")
+    void shouldReopen_WhenProbeFails() {
+        openBreaker();
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        call(false);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Should ignore results of calls started before a state change")
+    void shouldIgnoreStaleResults() {
+        long stale = breaker.tryAcquirePermission();
+        openBreaker();
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        long probe = breaker.tryAcquirePermission();
+
+        breaker.onResult(stale, false);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onResult(probe, true);
+        call(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -10,15 +10,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +38,18 @@ class OpenLibraryAdapterTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private OpenLibraryHttpClient openLibraryHttpClient;
+
+    @Mock
+    private AuthorNameResolver authorNameResolver;
+
+    @Mock
+    private OpenLibraryGuard openLibraryGuard;
+
+    @Spy
+    private OpenLibraryEndpoints endpoints = new OpenLibraryEndpoints(OpenLibraryEndpoints.DEFAULT_BASE_URL);
+
     @InjectMocks
     private OpenLibraryAdapter openLibraryAdapter;
 
@@ -37,23 +60,34 @@ class OpenLibraryAdapterTest {
         objectMapper = new ObjectMapper();
     }
 
+    @SuppressWarnings("unchecked")
+    private void stubSearchResponse(JsonNode response) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<List<Book>> extractor = invocation.getArgument(3);
+                    return extractor.extractData(new MockClientHttpResponse(body, HttpStatus.OK));
+                });
+    }
+
     @Test
     void searchBooks_ShouldReturnEmptyList_WhenApiReturnsNull() {
         // Arrange
-        when(restTemplate.getForObject(anyString(), eq(JsonNode.class))).thenReturn(null);
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenReturn(null);
 
         // Act
         List<Book> result = openLibraryAdapter.searchBooks("test query");
 
         // Assert
         assertTrue(result.isEmpty());
-        verify(restTemplate).getForObject(anyString(), eq(JsonNode.class));
+        verify(restTemplate).execute(anyString(), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
     }
 
     @Test
     void searchBooks_ShouldReturnEmptyList_WhenApiThrowsException() {
         // Arrange
-        when(restTemplate.getForObject(anyString(), eq(JsonNode.class)))
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
                 .thenThrow(new RestClientException("API Error"));
 
         // Act
@@ -61,25 +95,25 @@ class OpenLibraryAdapterTest {
 
         // Assert
         assertTrue(result.isEmpty());
-        verify(restTemplate).getForObject(anyString(), eq(JsonNode.class));
+        verify(restTemplate).execute(anyString(), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
     }
 
     @Test
-    void searchBooks_ShouldReturnEmptyList_WhenResponseDoesNotHaveDocs() {
+    void searchBooks_ShouldReturnEmptyList_WhenResponseDoesNotHaveDocs() throws IOException {
         // Arrange
         ObjectNode response = objectMapper.createObjectNode();
-        when(restTemplate.getForObject(anyString(), eq(JsonNode.class))).thenReturn(response);
+        stubSearchResponse(response);
 
         // Act
         List<Book> result = openLibraryAdapter.searchBooks("test query");
 
         // Assert
         assertTrue(result.isEmpty());
-        verify(restTemplate).getForObject(anyString(), eq(JsonNode.class));
+        verify(restTemplate).execute(anyString(), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
     }
 
     @Test
-    void searchBooks_ShouldReturnBooks_WhenResponseHasDocs() {
+    void searchBooks_ShouldReturnBooks_WhenResponseHasDocs() throws IOException {
         // Arrange
         ObjectNode doc = objectMapper.createObjectNode();
         doc.put("key", "/works/OL123W");
@@ -107,7 +141,7 @@ class OpenLibraryAdapterTest {
         ObjectNode response = objectMapper.createObjectNode();
         response.set("docs", docs);
 
-        when(restTemplate.getForObject(anyString(), eq(JsonNode.class))).thenReturn(response);
+        stubSearchResponse(response);
 
         // Act
         List<Book> result = openLibraryAdapter.searchBooks("test query");
@@ -124,7 +158,8 @@ class OpenLibraryAdapterTest {
         assertTrue(book.getGenres().contains("Adventure"));
         assertNotNull(book.getCoverImageUrl());
         
-        verify(restTemplate).getForObject(anyString(), eq(JsonNode.class));
+        verify(restTemplate).execute(contains("fields=" + SearchFieldProfile.SEARCH_LIST.fields()),
+                eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
     }
 
     @Test
@@ -146,10 +181,6 @@ class OpenLibraryAdapterTest {
         authors.add(authorRef);
         workData.set("authors", authors);
         
-        // Create author details
-        ObjectNode authorData = objectMapper.createObjectNode();
-        authorData.put("name", "Test Author");
-        
         // Create covers
         ArrayNode covers = objectMapper.createArrayNode();
         covers.add(12345);
@@ -168,7 +199,7 @@ class OpenLibraryAdapterTest {
         workData.put("first_publish_date", "2020");
         
         when(restTemplate.getForObject(contains(openLibraryKey), eq(JsonNode.class))).thenReturn(workData);
-        when(restTemplate.getForObject(contains("/authors/"), eq(JsonNode.class))).thenReturn(authorData);
+        when(authorNameResolver.resolveNames(List.of("/authors/OL123A"))).thenReturn(Map.of("OL123A", "Test Author"));
 
         // Act
         List<Book> result = openLibraryAdapter.getBookByKey(openLibraryKey);
@@ -187,6 +218,85 @@ class OpenLibraryAdapterTest {
         assertEquals(openLibraryKey, book.getOpenLibraryKey());
     }
 
+    @Test
+    void getBookByKey_ShouldFollowRedirect_AndKeepRequestedKeyAsAlias() {
+        // Arrange
+        ObjectNode redirect = objectMapper.createObjectNode();
+        redirect.putObject("type").put("key", "/type/redirect");
+        redirect.put("location", "/works/OL456W");
+        ObjectNode workData = objectMapper.createObjectNode();
+        workData.put("title", "Merged Book");
+        when(restTemplate.getForObject("https://openlibrary.org/works/OL123W.json", JsonNode.class)).thenReturn(redirect);
+        when(restTemplate.getForObject("https://openlibrary.org/works/OL456W.json", JsonNode.class)).thenReturn(workData);
+
+        // Act
+        List<Book> result = openLibraryAdapter.getBookByKey("https://openlibrary.org/works/ol123w/Old_Title");
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Merged Book", result.get(0).getTitle());
+        assertEquals("/works/OL456W", result.get(0).getOpenLibraryKey());
+        assertEquals(Set.of("/works/OL123W"), result.get(0).getOpenLibraryKeyAliases());
+    }
+
+    @Test
+    void getBooksByKeys_ShouldResolveAllAuthorsInOneCall() {
+        // Arrange
+        when(restTemplate.getForObject("https://openlibrary.org/works/OL1W.json", JsonNode.class))
+                .thenReturn(work("First Book", "/authors/OL1A"));
+        when(restTemplate.getForObject("https://openlibrary.org/works/OL2W.json", JsonNode.class))
+                .thenReturn(work("Second Book", "/authors/OL2A"));
+        when(restTemplate.getForObject("https://openlibrary.org/works/OL3W.json", JsonNode.class))
+                .thenReturn(work("Third Book", "/authors/OL1A"));
+        when(authorNameResolver.resolveNames(List.of("/authors/OL1A", "/authors/OL2A", "/authors/OL1A")))
+                .thenReturn(Map.of("OL1A", "First Author"));
+
+        // Act
+        Map<String, List<Book>> result = openLibraryAdapter.getBooksByKeys(
+                List.of("/works/OL1W", "/works/OL2W", "/works/OL3W"));
+
+        // Assert
+        assertEquals(List.of("/works/OL1W", "/works/OL2W", "/works/OL3W"), List.copyOf(result.keySet()));
+        assertEquals("First Author", result.get("/works/OL1W").get(0).getAuthor());
+        assertEquals("Author: OL2A", result.get("/works/OL2W").get(0).getAuthor());
+        assertEquals("First Author", result.get("/works/OL3W").get(0).getAuthor());
+        verify(authorNameResolver, times(1)).resolveNames(any());
+        verifyNoMoreInteractions(authorNameResolver);
+    }
+
+    @Test
+    void getBookByKey_ShouldUseHedgedClient_WhenHedgingIsEnabled() {
+        // Arrange
+        ObjectNode workData = objectMapper.createObjectNode();
+        workData.put("title", "Hedged Book");
+        when(openLibraryHttpClient.isHedgingEnabled()).thenReturn(true);
+        when(openLibraryHttpClient.getHedgedJsonAsync("https://openlibrary.org/works/OL123W.json"))
+                .thenReturn(CompletableFuture.completedFuture(workData));
+
+        // Act
+        List<Book> result = openLibraryAdapter.getBookByKey("OL123W");
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Hedged Book", result.get(0).getTitle());
+        verify(restTemplate, never()).getForObject(anyString(), eq(JsonNode.class));
+    }
+
+    @Test
+    void getBookByKey_ShouldSkipFallback_WhenHedgedCallIsNotPermitted() {
+        // Arrange
+        when(openLibraryHttpClient.isHedgingEnabled()).thenReturn(true);
+        when(openLibraryHttpClient.getHedgedJsonAsync(anyString())).thenReturn(CompletableFuture.failedFuture(
+                new OpenLibraryGuard.CallNotPermittedException("OpenLibrary circuit breaker is open")));
+
+        // Act
+        List<Book> result = openLibraryAdapter.getBookByKey("/works/OL123W");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(openLibraryGuard);
+    }
+
     @Test
     void getBookByKey_ShouldReturnEmptyList_WhenApiThrowsException() {
         // Arrange
@@ -201,6 +311,58 @@ class OpenLibraryAdapterTest {
         verify(restTemplate, atLeastOnce()).getForObject(anyString(), eq(JsonNode.class));
     }
 
+    @Test
+    void getBookByKey_ShouldFallBackToSearch_WhenRetryBudgetAllows() throws IOException {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(JsonNode.class)))
+                .thenThrow(new RestClientException("API Error"));
+        when(openLibraryGuard.tryAcquireRetry()).thenReturn(true);
+        ObjectNode doc = objectMapper.createObjectNode();
+        doc.put("key", "/works/OL123W");
+        doc.put("title", "Test Book");
+        ObjectNode response = objectMapper.createObjectNode();
+        response.set("docs", objectMapper.createArrayNode().add(doc));
+        stubSearchResponse(response);
+
+        // Act
+        List<Book> result = openLibraryAdapter.getBookByKey("/works/OL123W");
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Test Book", result.get(0).getTitle());
+        verify(openLibraryGuard, times(1)).tryAcquireRetry();
+    }
+
+    @Test
+    void getBookByKey_ShouldSkipFallback_WhenRetryBudgetIsExhausted() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(JsonNode.class)))
+                .thenThrow(new RestClientException("API Error"));
+        when(openLibraryGuard.tryAcquireRetry()).thenReturn(false);
+
+        // Act
+        List<Book> result = openLibraryAdapter.getBookByKey("/works/OL123W");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(restTemplate, never()).execute(anyString(), any(HttpMethod.class), any(), any(ResponseExtractor.class));
+    }
+
+    @Test
+    void getBookByKey_ShouldSkipFallback_WhenCallIsNotPermitted() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(JsonNode.class)))
+                .thenThrow(new OpenLibraryGuard.CallNotPermittedException("OpenLibrary circuit breaker is open"));
+
+        // Act
+        List<Book> result = openLibraryAdapter.getBookByKey("/works/OL123W");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(openLibraryGuard);
+        verify(restTemplate, never()).execute(anyString(), any(HttpMethod.class), any(), any(ResponseExtractor.class));
+    }
+
     @Test
     void getBookByKey_ShouldHandleNullFields() {
         // Arrange
@@ -227,4 +389,53 @@ class OpenLibraryAdapterTest {
         assertNull(book.getCoverImageUrl());
         assertEquals(openLibraryKey, book.getOpenLibraryKey());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void searchBooksAsync_ShouldReturnBooks_WhenResponseHasDocs() {
+        // Arrange
+        ObjectNode doc = objectMapper.createObjectNode();
+        doc.put("key", "/works/OL123W");
+        doc.put("title", "Test Book");
+
+        ArrayNode docs = objectMapper.createArrayNode();
+        docs.add(doc);
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.set("docs", docs);
+
+        when(openLibraryHttpClient.<List<Book>>getAsync(contains("q=test"), any()))
+                .thenAnswer(invocation -> {
+                    OpenLibraryHttpClient.BodyDecoder<List<Book>> decoder = invocation.getArgument(1);
+                    return CompletableFuture.completedFuture(
+                            decoder.decode(new ByteArrayInputStream(objectMapper.writeValueAsBytes(response))));
+                });
+
+        // Act
+        List<Book> result = openLibraryAdapter.searchBooksAsync("test").join();
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Test Book", result.get(0).getTitle());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void searchBooksAsync_ShouldReturnEmptyList_WhenRequestFails() {
+        // Arrange
+        when(openLibraryHttpClient.<List<Book>>getAsync(anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RestClientException("API Error")));
+
+        // Act
+        List<Book> result = openLibraryAdapter.searchBooksAsync("test").join();
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    private ObjectNode work(String title, String authorKey) {
+        ObjectNode work = objectMapper.createObjectNode();
+        work.put("title", title);
+        work.putArray("authors").addObject().putObject("author").put("key", authorKey);
+        return work;
+    }
+}
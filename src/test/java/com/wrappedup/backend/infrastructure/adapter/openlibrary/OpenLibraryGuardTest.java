@@ -0,0 +1,89 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLibraryGuardTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private OpenLibraryGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 50, 2, 2, Duration.ofSeconds(10), 1, nanos::get);
+        RetryBudget budget = new RetryBudget(0.5, 0, 10, nanos::get);
+        guard = new OpenLibraryGuard(breaker, budget, 2);
+    }
+
+    @Test
+    @DisplayName("Should reject calls over the bulkhead limit until a permit is closed")
+    void acquire_ShouldRejectCalls_WhenBulkheadIsFull() {
+        OpenLibraryGuard.Permit first = guard.acquire();
+        OpenLibraryGuard.Permit second = guard.acquire();
+
+        assertThrows(OpenLibraryGuard.CallNotPermittedException.class, guard::acquire);
+        assertEquals(2, guard.getInFlightCount());
+        assertEquals(1, guard.getBulkheadRejectedCount());
+
+        first.recordSuccess();
+        first.close();
+        second.recordSuccess();
+        second.close();
+        assertEquals(0, guard.getInFlightCount());
+        assertNotNull(guard.acquire());
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after failing calls and reject further calls")
+    void guardAsync_ShouldOpenCircuit_AfterFailures() {
+        guard.guardAsync(() -> CompletableFuture.failedFuture(new IOException("timeout")));
+        guard.guardAsync(() -> CompletableFuture.failedFuture(new IOException("timeout")));
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+        CompletableFuture<Object> rejected = guard.guardAsync(() -> CompletableFuture.completedFuture("never"));
+        assertTrue(rejected.isCompletedExceptionally());
+        assertEquals(0, guard.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should not count client errors as upstream failures")
+    void guardAsync_ShouldIgnoreClientErrors() {
+        guard.guardAsync(() -> CompletableFuture.failedFuture(
+                new OpenLibraryHttpClient.OpenLibraryHttpException(400, "http://localhost/bad")));
+        guard.guardAsync(() -> CompletableFuture.failedFuture(
+                new OpenLibraryHttpClient.OpenLibraryHttpException(400, "http://localhost/bad")));
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitState());
+    }
+
+    @Test
+    @DisplayName("Should count a permit closed without an outcome as a failure")
+    void permit_ShouldCountAsFailure_WhenClosedWithoutOutcome() {
+        guard.acquire().close();
+        guard.acquire().close();
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+    }
+
+    @Test
+    @DisplayName("Should allow retries only as regular calls fund them")
+    void tryAcquireRetry_ShouldFollowRegularCalls() {
+        assertFalse(guard.tryAcquireRetry());
+
+        guard.guardAsync(() -> CompletableFuture.completedFuture("ok"));
+        guard.guardAsync(() -> CompletableFuture.completedFuture("ok"));
+
+        assertTrue(guard.tryAcquireRetry());
+        assertFalse(guard.tryAcquireRetry());
+        assertEquals(1, guard.getRetriesAllowedCount());
+        assertEquals(2, guard.getRetriesRejectedCount());
+    }
+}
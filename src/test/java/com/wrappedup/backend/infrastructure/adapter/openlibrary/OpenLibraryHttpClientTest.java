@@ -0,0 +1,208 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLibraryHttpClientTest {
+
+    private static final OpenLibraryRateLimiter UNLIMITED = new OpenLibraryRateLimiter(false, 10, 20, Map.of());
+
+    private HttpServer server;
+    private OpenLibraryHttpClient client;
+    private String baseUrl;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger gzipRequests = new AtomicInteger();
+    private final AtomicInteger flakyRequests = new AtomicInteger();
+    private final AtomicInteger slowFirstRequests = new AtomicInteger();
+
+    @TempDir
+    Path storeDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gzip.json", exchange -> {
+            gzipRequests.incrementAndGet();
+            byte[] compressed = gzip("{\"title\":\"Dune\"}");
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            respond(exchange, 200, compressed);
+        });
+        server.createContext("/flaky.json", exchange -> {
+            if (flakyRequests.incrementAndGet() == 1) {
+                respond(exchange, 200, "{\"title\":\"Dune\"}".getBytes(StandardCharsets.UTF_8));
+            } else {
+                respond(exchange, 503, "unavailable".getBytes());
+            }
+        });
+        server.createContext("/slow-first.json", exchange -> {
+            if (slowFirstRequests.incrementAndGet() == 1) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            respond(exchange, 200, "{\"title\":\"Dune\"}".getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext("/missing.json", exchange -> respond(exchange, 404, new byte[0]));
+        server.createContext("/error.json", exchange -> respond(exchange, 503, "unavailable".getBytes()));
+        server.createContext("/slow.json", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}".getBytes());
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        client = newClient(Duration.ofDays(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        client.close();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should decode gzip-compressed JSON responses")
+    void getJsonAsync_ShouldDecodeGzip() throws Exception {
+        JsonNode json = client.getJsonAsync(baseUrl + "/gzip.json").get(5, TimeUnit.SECONDS);
+
+        assertEquals("Dune", json.get("title").asText());
+    }
+
+    @Test
+    @DisplayName("Should complete with null for missing documents")
+    void getJsonAsync_ShouldReturnNull_ForNotFound() throws Exception {
+        assertNull(client.getJsonAsync(baseUrl + "/missing.json").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should fail for server errors")
+    void getJsonAsync_ShouldFail_ForServerError() {
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.getJsonAsync(baseUrl + "/error.json").get(5, TimeUnit.SECONDS));
+
+        assertTrue(e.getCause() instanceof OpenLibraryHttpClient.OpenLibraryHttpException);
+        assertEquals(503, ((OpenLibraryHttpClient.OpenLibraryHttpException) e.getCause()).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should reject requests above the concurrency limit and release permits afterwards")
+    void getJsonAsync_ShouldRejectRequests_OverConcurrencyLimit() throws Exception {
+        CompletableFuture<JsonNode> slow = client.getJsonAsync(baseUrl + "/slow.json");
+
+        CompletableFuture<JsonNode> rejected = client.getJsonAsync(baseUrl + "/gzip.json");
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        assertNotNull(client.getJsonAsync(baseUrl + "/gzip.json").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should answer repeated requests from the response store")
+    void getJsonAsync_ShouldServeStoredResponse_WhenFresh() throws Exception {
+        client.getJsonAsync(baseUrl + "/gzip.json").get(5, TimeUnit.SECONDS);
+
+        JsonNode json = client.getJsonAsync(baseUrl + "/gzip.json").get(5, TimeUnit.SECONDS);
+
+        assertEquals("Dune", json.get("title").asText());
+        assertEquals(1, gzipRequests.get());
+    }
+
+    @Test
+    @DisplayName("Should serve an expired stored response when the server fails")
+    void getJsonAsync_ShouldServeStaleResponse_ForServerError() throws Exception {
+        client.close();
+        client = newClient(Duration.ZERO);
+
+        assertEquals("Dune", client.getJsonAsync(baseUrl + "/flaky.json").get(5, TimeUnit.SECONDS).get("title").asText());
+        JsonNode stale = client.getJsonAsync(baseUrl + "/flaky.json").get(5, TimeUnit.SECONDS);
+
+        assertEquals("Dune", stale.get("title").asText());
+        assertEquals(2, flakyRequests.get());
+    }
+
+    @Test
+    @DisplayName("Should answer from a hedged request when the first one is slow")
+    void getHedgedJsonAsync_ShouldUseHedge_WhenFirstRequestIsSlow() throws Exception {
+        RequestHedger hedger = new RequestHedger(true, 95, Duration.ofMillis(50), Duration.ofMillis(10),
+                new RetryBudget(1, 0, 10, Ticker.systemTicker()), Ticker.systemTicker());
+        OpenLibraryGuard guard = new OpenLibraryGuard(4, 50, 20, 10, Duration.ofSeconds(30), 3, 0.1, 1);
+        OpenLibraryResponseStore store = new OpenLibraryResponseStore(false, storeDirectory, Duration.ZERO,
+                DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        OpenLibraryHttpClient hedgedClient = new OpenLibraryHttpClient(new ObjectMapper(), guard, UNLIMITED, store, hedger,
+                Duration.ofSeconds(2), Duration.ofSeconds(5), 2);
+
+        try {
+            JsonNode json = hedgedClient.getHedgedJsonAsync(baseUrl + "/slow-first.json").get(2, TimeUnit.SECONDS);
+
+            assertEquals("Dune", json.get("title").asText());
+            assertEquals(2, slowFirstRequests.get());
+            assertEquals(1, hedger.getHedgeWonCount());
+        } finally {
+            hedgedClient.close();
+            hedger.close();
+        }
+    }
+
+    private OpenLibraryHttpClient newClient(Duration storeTtl) {
+        OpenLibraryGuard guard = new OpenLibraryGuard(1, 50, 20, 10, Duration.ofSeconds(30), 3, 0.1, 1);
+        OpenLibraryResponseStore store = new OpenLibraryResponseStore(true, storeDirectory.resolve(storeTtl.toString()),
+                storeTtl, DataSize.ofMegabytes(4), DataSize.ofMegabytes(1));
+        RequestHedger hedger = new RequestHedger(false, 95, Duration.ofMillis(300), Duration.ofMillis(20), 0.05);
+        return new OpenLibraryHttpClient(new ObjectMapper(), guard, UNLIMITED, store, hedger,
+                Duration.ofSeconds(2), Duration.ofSeconds(5), 2);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
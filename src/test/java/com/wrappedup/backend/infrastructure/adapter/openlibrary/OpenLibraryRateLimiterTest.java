@@ -0,0 +1,192 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLibraryRateLimiterTest {
+
+    private final AtomicLong time = new AtomicLong();
+    private OpenLibraryRateLimiter rateLimiter;
+
+    @AfterEach
+    void tearDown() {
+        if (rateLimiter != null) {
+            rateLimiter.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should grant requests up to the burst at once and queue the rest until tokens refill")
+    void acquireAsync_ShouldQueue_WhenBurstIsUsedUp() {
+        rateLimiter = newRateLimiter(1, 2, Map.of(
+                RequestLane.INTERACTIVE_SEARCH, new OpenLibraryRateLimiter.LaneLimit(10, 1, Duration.ofSeconds(5))));
+
+        assertTrue(rateLimiter.acquireAsync(RequestLane.INTERACTIVE_SEARCH).isDone());
+        assertTrue(rateLimiter.acquireAsync(RequestLane.INTERACTIVE_SEARCH).isDone());
+        CompletableFuture<Void> third = rateLimiter.acquireAsync(RequestLane.INTERACTIVE_SEARCH);
+        assertFalse(third.isDone());
+        assertEquals(1, rateLimiter.getQueueDepth(RequestLane.INTERACTIVE_SEARCH));
+
+        advance(Duration.ofMillis(1000));
+        rateLimiter.dispatch();
+
+        assertTrue(third.isDone());
+        assertFalse(third.isCompletedExceptionally());
+        assertEquals(0, rateLimiter.getQueueDepth(RequestLane.INTERACTIVE_SEARCH));
+        assertEquals(3, rateLimiter.getGrantedCount(RequestLane.INTERACTIVE_SEARCH));
+        assertEquals(Duration.ofSeconds(1), rateLimiter.getTotalWait(RequestLane.INTERACTIVE_SEARCH));
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the estimated wait exceeds the lane's maximum wait")
+    void acquireAsync_ShouldFailFast_WhenDeadlineCannotBeMet() {
+        rateLimiter = newRateLimiter(100, 100, Map.of(
+                RequestLane.INTERACTIVE_DETAIL, new OpenLibraryRateLimiter.LaneLimit(1, 1, Duration.ofMillis(500))));
+
+        assertTrue(rateLimiter.acquireAsync(RequestLane.INTERACTIVE_DETAIL).isDone());
+        CompletableFuture<Void> second = rateLimiter.acquireAsync(RequestLane.INTERACTIVE_DETAIL);
+
+        assertTrue(second.isCompletedExceptionally());
+        CompletionException e = assertThrows(CompletionException.class, second::join);
+        assertInstanceOf(OpenLibraryRateLimiter.RateLimitedException.class, e.getCause());
+        assertInstanceOf(OpenLibraryGuard.CallNotPermittedException.class, e.getCause());
+        assertEquals(1, rateLimiter.getRejectedCount(RequestLane.INTERACTIVE_DETAIL));
+        assertEquals(0, rateLimiter.getQueueDepth(RequestLane.INTERACTIVE_DETAIL));
+    }
+
+    @Test
+    @DisplayName("Should fail a queued request once its maximum wait has passed")
+    void dispatch_ShouldFailQueuedRequests_PastTheirDeadline() {
+        rateLimiter = newRateLimiter(1, 1, Map.of(
+                RequestLane.BACKGROUND, new OpenLibraryRateLimiter.LaneLimit(10, 1, Duration.ofMillis(1500))));
+
+        assertTrue(rateLimiter.acquireAsync(RequestLane.BACKGROUND).isDone());
+        CompletableFuture<Void> queued = rateLimiter.acquireAsync(RequestLane.BACKGROUND);
+        assertFalse(queued.isDone());
+
+        advance(Duration.ofSeconds(2));
+        rateLimiter.dispatch();
+
+        assertTrue(queued.isCompletedExceptionally());
+        assertEquals(1, rateLimiter.getRejectedCount(RequestLane.BACKGROUND));
+        assertEquals(0, rateLimiter.getQueueDepth(RequestLane.BACKGROUND));
+    }
+
+    @Test
+    @DisplayName("Should share the global rate between queued lanes by weight")
+    void dispatch_ShouldServeLanesByWeight() {
+        rateLimiter = newRateLimiter(1, 1, Map.of(
+                RequestLane.INTERACTIVE_SEARCH, new OpenLibraryRateLimiter.LaneLimit(100, 4, Duration.ofMinutes(1)),
+                RequestLane.BACKGROUND, new OpenLibraryRateLimiter.LaneLimit(100, 1, Duration.ofMinutes(1))));
+        assertTrue(rateLimiter.acquireAsync(RequestLane.INTERACTIVE_SEARCH).isDone());
+
+        List<CompletableFuture<Void>> background = new ArrayList<>();
+        List<CompletableFuture<Void>> search = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            background.add(rateLimiter.acquireAsync(RequestLane.BACKGROUND));
+        }
+        for (int i = 0; i < 10; i++) {
+            search.add(rateLimiter.acquireAsync(RequestLane.INTERACTIVE_SEARCH));
+        }
+        for (int i = 0; i < 10; i++) {
+            advance(Duration.ofSeconds(1));
+            rateLimiter.dispatch();
+        }
+
+        assertEquals(8, search.stream().filter(CompletableFuture::isDone).count());
+        assertEquals(2, background.stream().filter(CompletableFuture::isDone).count());
+        assertTrue(search.stream().noneMatch(CompletableFuture::isCompletedExceptionally));
+    }
+
+    @Test
+    @DisplayName("Should hold back a lane over its own rate while other lanes go through")
+    void acquireAsync_ShouldLimitEachLane() {
+        rateLimiter = newRateLimiter(100, 100, Map.of(
+                RequestLane.BACKGROUND, new OpenLibraryRateLimiter.LaneLimit(1, 1, Duration.ofSeconds(5))));
+
+        assertTrue(rateLimiter.acquireAsync(RequestLane.BACKGROUND).isDone());
+        CompletableFuture<Void> background = rateLimiter.acquireAsync(RequestLane.BACKGROUND);
+        CompletableFuture<Void> detail = rateLimiter.acquireAsync(RequestLane.INTERACTIVE_DETAIL);
+
+        assertFalse(background.isDone());
+        assertTrue(detail.isDone());
+
+        advance(Duration.ofSeconds(1));
+        rateLimiter.dispatch();
+        assertTrue(background.isDone());
+    }
+
+    @Test
+    @DisplayName("Should grant queued requests on its own once tokens refill")
+    void acquire_ShouldWakeUpQueuedRequests() {
+        rateLimiter = new OpenLibraryRateLimiter(true, 20, 1, Map.of());
+
+        long started = System.nanoTime();
+        rateLimiter.acquire(RequestLane.INTERACTIVE_SEARCH);
+        rateLimiter.acquire(RequestLane.INTERACTIVE_SEARCH);
+        rateLimiter.acquire(RequestLane.INTERACTIVE_SEARCH);
+
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(90));
+        assertEquals(3, rateLimiter.getGrantedCount(RequestLane.INTERACTIVE_SEARCH));
+    }
+
+    @Test
+    @DisplayName("Should schedule the next wake up when a scheduled dispatch finds no token yet")
+    void dispatch_ShouldRescheduleItself_WhenTokenIsNotYetAvailable() throws Exception {
+        rateLimiter = newRateLimiter(10, 1, Map.of());
+        assertTrue(rateLimiter.acquireAsync(RequestLane.INTERACTIVE_SEARCH).isDone());
+        CompletableFuture<Void> queued = rateLimiter.acquireAsync(RequestLane.INTERACTIVE_SEARCH);
+
+        // The first wake ups run while the clock stands still and find no token
+        Thread.sleep(250);
+        assertFalse(queued.isDone());
+        advance(Duration.ofMillis(100));
+
+        queued.get(1, TimeUnit.SECONDS);
+        assertEquals(2, rateLimiter.getGrantedCount(RequestLane.INTERACTIVE_SEARCH));
+    }
+
+    @Test
+    @DisplayName("Should grant a request when rounding leaves a bucket a hair short of a token")
+    void acquireAsync_ShouldGrant_WhenRefillIsShortByRounding() {
+        rateLimiter = newRateLimiter(3, 1, Map.of());
+        assertTrue(rateLimiter.acquireAsync(RequestLane.INTERACTIVE_SEARCH).isDone());
+
+        // A third of a second refills 0.999999999 tokens at three per second
+        advance(Duration.ofNanos(333_333_333));
+
+        assertTrue(rateLimiter.acquireAsync(RequestLane.INTERACTIVE_SEARCH).isDone());
+    }
+
+    @Test
+    @DisplayName("Should grant every request when disabled")
+    void acquireAsync_ShouldGrantAll_WhenDisabled() {
+        rateLimiter = new OpenLibraryRateLimiter(false, 1, 1, Map.of(), time::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimiter.acquireAsync(RequestLane.BACKGROUND).isDone());
+        }
+        assertEquals(0, rateLimiter.getRejectedCount(RequestLane.BACKGROUND));
+    }
+
+    private OpenLibraryRateLimiter newRateLimiter(double requestsPerSecond, int burst,
+                                                  Map<RequestLane, OpenLibraryRateLimiter.LaneLimit> limits) {
+        return new OpenLibraryRateLimiter(true, requestsPerSecond, burst, limits, time::get);
+    }
+
+    private void advance(Duration duration) {
+        time.addAndGet(duration.toNanos());
+    }
+}
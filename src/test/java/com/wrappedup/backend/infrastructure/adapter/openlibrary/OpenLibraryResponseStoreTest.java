@@ -0,0 +1,245 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLibraryResponseStoreTest {
+
+    private static final String WORK_URL = "https://openlibrary.org/works/OL45883W.json";
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock();
+    private final List<Runnable> compactions = new ArrayList<>();
+    private OpenLibraryResponseStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return stored responses while fresh")
+    void getFresh_ShouldReturnStoredBody() {
+        store = open(Duration.ofHours(1), DataSize.ofMegabytes(1));
+
+        store.put(WORK_URL, bytes("{\"title\":\"Dune\"}"));
+
+        assertEquals("{\"title\":\"Dune\"}", text(store.getFresh(WORK_URL).orElseThrow()));
+        assertTrue(store.getFresh("https://openlibrary.org/works/OL1W.json").isEmpty());
+        assertEquals(1, store.getHitCount());
+        assertEquals(1, store.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should keep expired responses available as stale")
+    void getFresh_ShouldMiss_WhenExpired() {
+        store = open(Duration.ofHours(1), DataSize.ofMegabytes(1));
+        store.put(WORK_URL, bytes("{}"));
+
+        clock.advance(Duration.ofHours(2));
+
+        assertTrue(store.getFresh(WORK_URL).isEmpty());
+        assertEquals("{}", text(store.getStale(WORK_URL).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should find stored responses again after a restart")
+    void open_ShouldRebuildIndexFromSegments() {
+        store = open(Duration.ofHours(1), DataSize.ofMegabytes(1));
+        store.put(WORK_URL, bytes("{\"title\":\"Dune\"}"));
+        store.put(WORK_URL, bytes("{\"title\":\"Dune Messiah\"}"));
+        store.close();
+
+        store = open(Duration.ofHours(1), DataSize.ofMegabytes(1));
+
+        assertEquals(1, store.getEntryCount());
+        assertEquals("{\"title\":\"Dune Messiah\"}", text(store.getFresh(WORK_URL).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should store identical bodies only once")
+    void put_ShouldDeduplicateBodies() {
+        store = open(Duration.ofHours(1), DataSize.ofMegabytes(1));
+        byte[] body = new byte[10_000];
+
+        store.put("https://openlibrary.org/works/OL1W.json", body);
+        long afterFirst = store.getWrittenBytes();
+        store.put("https://openlibrary.org/works/OL2W.json", body);
+
+        assertTrue(store.getWrittenBytes() - afterFirst < 200);
+        assertArrayEquals(body, store.getFresh("https://openlibrary.org/works/OL2W.json").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should drop expired and oldest entries when compacting")
+    void compact_ShouldDropExpiredAndOldestEntries() {
+        store = open(Duration.ofHours(1), DataSize.ofKilobytes(100));
+        store.put("https://openlibrary.org/works/OL1W.json", body(1, 30_000));
+        clock.advance(Duration.ofHours(2));
+        store.put("https://openlibrary.org/works/OL2W.json", body(2, 30_000));
+        clock.advance(Duration.ofMinutes(1));
+        store.put("https://openlibrary.org/works/OL3W.json", body(3, 30_000));
+        clock.advance(Duration.ofMinutes(1));
+        store.put("https://openlibrary.org/works/OL4W.json", body(4, 30_000));
+
+        store.compact();
+
+        assertTrue(store.getStale("https://openlibrary.org/works/OL1W.json").isEmpty());
+        assertTrue(store.getStale("https://openlibrary.org/works/OL2W.json").isEmpty());
+        assertTrue(store.getFresh("https://openlibrary.org/works/OL3W.json").isPresent());
+        assertTrue(store.getFresh("https://openlibrary.org/works/OL4W.json").isPresent());
+        assertTrue(store.getWrittenBytes() <= 80_000);
+    }
+
+    @Test
+    @DisplayName("Should compact in the background once above the maximum size")
+    void put_ShouldCompact_WhenAboveMaxSize() throws IOException {
+        store = open(Duration.ofHours(1), DataSize.ofKilobytes(100));
+
+        for (int i = 0; i < 20; i++) {
+            store.put("https://openlibrary.org/works/OL" + i + "W.json", body(i, 10_000));
+            clock.advance(Duration.ofSeconds(1));
+        }
+
+        // The writes return without compacting and schedule a single compaction
+        assertTrue(store.getWrittenBytes() > 100_000);
+        assertTrue(store.getStale("https://openlibrary.org/works/OL0W.json").isPresent());
+        assertEquals(1, compactions.size());
+
+        compactions.remove(0).run();
+
+        assertTrue(store.getWrittenBytes() <= 100_000);
+        assertTrue(store.getFresh("https://openlibrary.org/works/OL19W.json").isPresent());
+        assertTrue(store.getStale("https://openlibrary.org/works/OL0W.json").isEmpty());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() <= 2);
+        }
+        store.put("https://openlibrary.org/works/OL20W.json", body(20, 30_000));
+        assertEquals(1, compactions.size());
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn record at the end of a segment")
+    void open_ShouldIgnoreCorruptedTail() throws IOException {
+        store = open(Duration.ofHours(1), DataSize.ofMegabytes(1));
+        store.put("https://openlibrary.org/works/OL1W.json", bytes("{\"n\":1}"));
+        long intact = store.getWrittenBytes();
+        store.put("https://openlibrary.org/works/OL2W.json", bytes("{\"n\":2}"));
+        store.close();
+
+        try (FileChannel channel = FileChannel.open(directory.resolve("segment-000001.dat"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), intact + 60);
+        }
+        store = open(Duration.ofHours(1), DataSize.ofMegabytes(1));
+
+        assertTrue(store.getFresh("https://openlibrary.org/works/OL1W.json").isPresent());
+        assertTrue(store.getFresh("https://openlibrary.org/works/OL2W.json").isEmpty());
+        store.put("https://openlibrary.org/works/OL3W.json", bytes("{\"n\":3}"));
+        assertEquals("{\"n\":3}", text(store.getFresh("https://openlibrary.org/works/OL3W.json").orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should store nothing when disabled")
+    void put_ShouldDoNothing_WhenDisabled() {
+        store = new OpenLibraryResponseStore(false, directory.resolve("disabled"), Duration.ofHours(1),
+                DataSize.ofMegabytes(1), DataSize.ofMegabytes(1), clock, compactions::add);
+
+        store.put(WORK_URL, bytes("{}"));
+
+        assertTrue(store.getFresh(WORK_URL).isEmpty());
+        assertFalse(Files.exists(directory.resolve("disabled")));
+    }
+
+    @Test
+    @DisplayName("Should normalize host case and query parameter order")
+    void normalizeUrl_ShouldSortQueryParameters() {
+        assertEquals(
+                OpenLibraryResponseStore.normalizeUrl("https://openlibrary.org/search.json?q=dune&limit=10"),
+                OpenLibraryResponseStore.normalizeUrl("https://OpenLibrary.org/search.json?limit=10&q=dune"));
+        assertNotEquals(
+                OpenLibraryResponseStore.normalizeUrl("https://openlibrary.org/search.json?q=dune"),
+                OpenLibraryResponseStore.normalizeUrl("https://openlibrary.org/search.json?q=Dune"));
+    }
+
+    @Test
+    @DisplayName("Should give unencoded URLs and their encoded form the same key")
+    void normalizeUrl_ShouldIgnoreEncoding() {
+        String unencoded = "https://openlibrary.org/search.json?q=the lord of the rings&fields=key,title";
+        String encoded = new DefaultUriBuilderFactory().expand(unencoded).toString();
+
+        assertNotEquals(unencoded, encoded);
+        assertEquals(OpenLibraryResponseStore.normalizeUrl(unencoded), OpenLibraryResponseStore.normalizeUrl(encoded));
+        assertEquals(OpenLibraryResponseStore.normalizeUrl(encoded),
+                OpenLibraryResponseStore.normalizeUrl(OpenLibraryResponseStore.normalizeUrl(encoded)));
+        assertEquals("https://openlibrary.org/search.json?q=100%25",
+                OpenLibraryResponseStore.normalizeUrl("https://openlibrary.org/search.json?q=100%"));
+    }
+
+    private OpenLibraryResponseStore open(Duration ttl, DataSize maxSize) {
+        return new OpenLibraryResponseStore(true, directory, ttl, maxSize, DataSize.ofKilobytes(64), clock, compactions::add);
+    }
+
+    private static byte[] body(int seed, int size) {
+        byte[] body = new byte[size];
+        body[0] = (byte) seed;
+        return body;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.OpenLibraryWorkKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLibrarySearchDecoderTest {
+
+    private final OpenLibrarySearchDecoder decoder = new OpenLibrarySearchDecoder();
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should map every projected field of a doc")
+    void decode_ShouldMapProjectedFields() throws IOException {
+        String response = """
+                {"numFound": 1, "start": 0, "docs": [{
+                  "key": "/works/OL45883W",
+                  "title": "Dune",
+                  "author_name": ["Frank Herbert", "Someone Else"],
+                  "first_publish_year": 1965,
+                  "cover_i": 11481354,
+                  "isbn": ["9780441013593", "0441013597"],
+                  "first_sentence": ["A beginning is the time for taking the most delicate care."],
+                  "subject": ["Science fiction", "Deserts"],
+                  "language": ["eng", "fre"],
+                  "number_of_pages_median": 604,
+                  "publisher": ["Ace Books", "Chilton"]
+                }]}
+                """;
+
+        List<Book> books = decoder.decode(json(response));
+
+        assertEquals(1, books.size());
+        Book book = books.get(0);
+        assertEquals("/works/OL45883W", book.getOpenLibraryKey());
+        assertEquals("Dune", book.getTitle());
+        assertEquals("Frank Herbert", book.getAuthor());
+        assertEquals(LocalDate.of(1965, 1, 1), book.getPublicationDate());
+        assertEquals("https://covers.openlibrary.org/b/id/11481354-L.jpg", book.getCoverImageUrl());
+        assertEquals("9780441013593", book.getIsbn());
+        assertEquals("A beginning is the time for taking the most delicate care.", book.getDescription());
+        assertEquals(List.of("Science fiction", "Deserts"), book.getGenres());
+        assertEquals("eng", book.getLanguage());
+        assertEquals(604, book.getPageCount());
+        assertEquals("Ace Books", book.getPublisher());
+    }
+
+    @Test
+    @DisplayName("Should skip unknown and nested fields")
+    void decode_ShouldSkipUnknownFields() throws IOException {
+        String response = """
+                {"q": "dune", "facets": {"a": [1, {"b": 2}]}, "docs": [{
+                  "title": "Dune", "key": "OL45883W",
+                  "ratings": {"average": 4.2, "counts": [1, 2, 3]},
+                  "edition_key": ["OL1M", "OL2M"]
+                }], "offset": null}
+                """;
+
+        List<Book> books = decoder.decode(json(response));
+
+        assertEquals(1, books.size());
+        assertEquals("Dune", books.get(0).getTitle());
+        assertEquals("/works/OL45883W", books.get(0).getOpenLibraryKey());
+        assertEquals("Unknown Author", books.get(0).getAuthor());
+        assertNull(books.get(0).getCoverImageUrl());
+        assertNull(books.get(0).getPublicationDate());
+    }
+
+    @Test
+    @DisplayName("Should skip docs without a title")
+    void decode_ShouldSkipDocsWithoutTitle() throws IOException {
+        List<Book> books = decoder.decode(json("{\"docs\": [{\"key\": \"/works/OL1W\"}, {\"title\": \"Kept\"}]}"));
+
+        assertEquals(1, books.size());
+        assertEquals("Kept", books.get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should give the same work the same id in every response")
+    void decode_ShouldDeriveIdsFromWorkKeys() throws IOException {
+        String response = "{\"docs\": [{\"key\": \"/works/OL45804W\", \"title\": \"Fantastic Mr Fox\"}]}";
+
+        Book first = decoder.decode(json(response)).get(0);
+        Book second = decoder.decode(json(response)).get(0);
+
+        assertEquals(BookId.forOpenLibraryWork(OpenLibraryWorkKey.of("OL45804W")), first.getId());
+        assertEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    @DisplayName("Should return an empty list for responses without docs")
+    void decode_ShouldReturnEmpty_WhenNoDocs() throws IOException {
+        assertTrue(decoder.decode(json("{\"numFound\": 0}")).isEmpty());
+        assertTrue(decoder.decode(json("")).isEmpty());
+        assertTrue(decoder.decode(json("[]")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fail on malformed JSON")
+    void decode_ShouldThrow_WhenJsonIsMalformed() {
+        assertThrows(JsonParseException.class, () -> decoder.decode(json("{\"docs\": [{\"title\": }]}")));
+    }
+}
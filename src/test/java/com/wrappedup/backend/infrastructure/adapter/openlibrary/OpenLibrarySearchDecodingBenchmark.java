@@ -0,0 +1,183 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding OpenLibrary search responses into books.
+ *
+ * {@code treeModel} is the previous approach: every field requested, the whole response read
+ * into a {@link JsonNode} tree and mapped afterwards. The {@code streaming*} benchmarks use
+ * {@link OpenLibrarySearchDecoder} on a full and on a {@link SearchFieldProfile#SEARCH_LIST} payload.
+ * Run {@link #main} from the IDE with the test classpath; the GC profiler
+ * reports the allocation rate per operation next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OpenLibrarySearchDecodingBenchmark {
+
+    @Param({"10", "100"})
+    private int docs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OpenLibrarySearchDecoder decoder = new OpenLibrarySearchDecoder();
+
+    private byte[] fullDetailPayload;
+    private byte[] searchListPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        fullDetailPayload = objectMapper.writeValueAsBytes(response(SearchFieldProfile.FULL_DETAIL));
+        searchListPayload = objectMapper.writeValueAsBytes(response(SearchFieldProfile.SEARCH_LIST));
+    }
+
+    @Benchmark
+    public List<Book> treeModel() throws IOException {
+        JsonNode response = objectMapper.readTree(fullDetailPayload);
+        List<Book> books = new ArrayList<>();
+        for (JsonNode doc : response.get("docs")) {
+            books.add(mapToBook(doc));
+        }
+        return books;
+    }
+
+    @Benchmark
+    public List<Book> streamingFullDetail() throws IOException {
+        return decoder.decode(new ByteArrayInputStream(fullDetailPayload));
+    }
+
+    @Benchmark
+    public List<Book> streamingSearchList() throws IOException {
+        return decoder.decode(new ByteArrayInputStream(searchListPayload));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OpenLibrarySearchDecodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    /**
+     * Builds a search response shaped like OpenLibrary's, containing only the profile's fields.
+     */
+    private ObjectNode response(SearchFieldProfile profile) {
+        List<String> fields = List.of(profile.fields().split(","));
+        ArrayNode docArray = objectMapper.createArrayNode();
+        for (int i = 0; i < docs; i++) {
+            ObjectNode doc = docArray.addObject();
+            for (String field : fields) {
+                switch (field) {
+                    case "key" -> doc.put(field, "/works/OL" + (1000 + i) + "W");
+                    case "title" -> doc.put(field, "Title number " + i);
+                    case "first_publish_year" -> doc.put(field, 1950 + i % 70);
+                    case "cover_i", "edition_count", "number_of_pages_median", "ratings_count",
+                         "readinglog_count", "want_to_read_count", "currently_reading_count",
+                         "already_read_count", "ia_count" -> doc.put(field, 100 + i);
+                    case "has_fulltext" -> doc.put(field, i % 2 == 0);
+                    case "ebook_access", "title_suggest", "lcc_sort", "ddc_sort" -> doc.put(field, field + "-" + i);
+                    default -> {
+                        ArrayNode values = doc.putArray(field);
+                        for (int v = 0; v < 8; v++) {
+                            values.add(field + " value " + v + " of doc " + i);
+                        }
+                    }
+                }
+            }
+        }
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("numFound", docs);
+        response.put("start", 0);
+        response.set("docs", docArray);
+        return response;
+    }
+
+    // Tree based mapping as OpenLibraryAdapter did it before the streaming decoder
+
+    private static Book mapToBook(JsonNode doc) {
+        String title = textValue(doc, "title");
+        String author = doc.has("author_name") && doc.get("author_name").size() > 0
+                ? doc.get("author_name").get(0).asText() : "Unknown Author";
+        int firstPublishYear = doc.has("first_publish_year") ? doc.get("first_publish_year").asInt(0) : 0;
+
+        String coverUrl = null;
+        if (doc.has("cover_i")) {
+            long coverId = doc.get("cover_i").asLong(0);
+            if (coverId > 0) {
+                coverUrl = OpenLibraryAdapter.COVER_URL + coverId + "-L.jpg";
+            }
+        }
+
+        String key = textValue(doc, "key");
+        if (key != null && !key.startsWith("/works/") && !key.startsWith("works/")) {
+            key = "/works/" + key;
+        }
+
+        List<String> genres = new ArrayList<>();
+        if (doc.has("subject") && doc.get("subject").isArray()) {
+            doc.get("subject").forEach(subject -> genres.add(subject.asText()));
+        }
+
+        Integer pageCount = doc.hasNonNull("number_of_pages_median") ? doc.get("number_of_pages_median").asInt() : null;
+        LocalDate publicationDate = firstPublishYear > 0 ? LocalDate.of(firstPublishYear, 1, 1) : null;
+        LocalDateTime now = LocalDateTime.now();
+
+        return Book.reconstitute(
+            BookId.generate(),
+            title,
+            author,
+            firstValue(doc, "isbn"),
+            textValue(doc, "first_sentence"),
+            coverUrl,
+            pageCount,
+            genres,
+            firstValue(doc, "language"),
+            publicationDate,
+            firstValue(doc, "publisher"),
+            key,
+            now,
+            now
+        );
+    }
+
+    private static String textValue(JsonNode doc, String field) {
+        return doc.has(field) && !doc.get(field).isNull() ? doc.get(field).asText() : null;
+    }
+
+    private static String firstValue(JsonNode doc, String field) {
+        return doc.has(field) && doc.get(field).isArray() && doc.get(field).size() > 0
+                ? doc.get(field).get(0).asText() : null;
+    }
+}
@@ -0,0 +1,202 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+
+    private RequestHedger hedger;
+
+    @AfterEach
+    void tearDown() {
+        if (hedger != null) {
+            hedger.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not hedge requests that answer before the delay")
+    void execute_ShouldNotHedge_FastRequests() throws Exception {
+        hedger = newHedger(true, Duration.ofMillis(200), 1);
+        Attempts attempts = new Attempts();
+
+        CompletableFuture<String> result = hedger.execute(attempts::start);
+        attempts.get(0).complete("primary");
+
+        assertEquals("primary", result.get(1, TimeUnit.SECONDS));
+        Thread.sleep(300);
+        assertEquals(1, attempts.size());
+        assertEquals(0, hedger.getHedgedCount());
+    }
+
+    @Test
+    @DisplayName("Should send a hedge after the delay, take its answer and cancel the primary")
+    void execute_ShouldHedge_SlowRequests() throws Exception {
+        hedger = newHedger(true, Duration.ofMillis(20), 1);
+        Attempts attempts = new Attempts();
+
+        CompletableFuture<String> result = hedger.execute(attempts::start);
+        attempts.awaitSize(2);
+        attempts.get(1).complete("hedge");
+
+        assertEquals("hedge", result.get(1, TimeUnit.SECONDS));
+        assertTrue(attempts.cancelled(0).isDone());
+        assertEquals(1, hedger.getHedgedCount());
+        assertEquals(1, hedger.getHedgeWonCount());
+    }
+
+    @Test
+    @DisplayName("Should send the hedge in the lane of the caller")
+    void execute_ShouldSendHedge_InCallersLane() throws Exception {
+        hedger = newHedger(true, Duration.ofMillis(20), 1);
+        Attempts attempts = new Attempts();
+
+        CompletableFuture<String> result = RequestLane.callIn(RequestLane.BACKGROUND,
+                () -> hedger.execute(attempts::start));
+        attempts.awaitSize(2);
+        attempts.get(1).complete("hedge");
+
+        assertEquals("hedge", result.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(RequestLane.BACKGROUND, RequestLane.BACKGROUND), attempts.lanes);
+    }
+
+    @Test
+    @DisplayName("Should wait for the hedge when the primary fails")
+    void execute_ShouldUseHedge_WhenPrimaryFails() throws Exception {
+        hedger = newHedger(true, Duration.ofMillis(20), 1);
+        Attempts attempts = new Attempts();
+
+        CompletableFuture<String> result = hedger.execute(attempts::start);
+        attempts.awaitSize(2);
+        attempts.get(0).completeExceptionally(new IllegalStateException("reset"));
+        assertFalse(result.isDone());
+        attempts.get(1).complete("hedge");
+
+        assertEquals("hedge", result.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should fail when the primary fails before a hedge was sent")
+    void execute_ShouldFail_WhenPrimaryFailsBeforeHedge() {
+        hedger = newHedger(true, Duration.ofSeconds(10), 1);
+        Attempts attempts = new Attempts();
+
+        CompletableFuture<String> result = hedger.execute(attempts::start);
+        attempts.get(0).completeExceptionally(new IllegalStateException("reset"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    @DisplayName("Should not hedge when the budget is exhausted")
+    void execute_ShouldNotHedge_WhenBudgetIsExhausted() throws Exception {
+        hedger = newHedger(true, Duration.ofMillis(20), 0.5);
+        Attempts first = new Attempts();
+        Attempts second = new Attempts();
+
+        CompletableFuture<String> firstResult = hedger.execute(first::start);
+        CompletableFuture<String> secondResult = hedger.execute(second::start);
+        first.awaitSize(2);
+        Thread.sleep(100);
+        first.get(1).complete("hedge");
+        second.get(0).complete("primary");
+
+        assertEquals("hedge", firstResult.get(1, TimeUnit.SECONDS));
+        assertEquals("primary", secondResult.get(1, TimeUnit.SECONDS));
+        assertEquals(1, second.size());
+        assertEquals(1, hedger.getBudgetRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Should make a single attempt when disabled")
+    void execute_ShouldNotHedge_WhenDisabled() throws Exception {
+        hedger = newHedger(false, Duration.ofMillis(1), 1);
+        Attempts attempts = new Attempts();
+
+        CompletableFuture<String> result = hedger.execute(attempts::start);
+        Thread.sleep(50);
+        attempts.get(0).complete("primary");
+
+        assertEquals("primary", result.get(1, TimeUnit.SECONDS));
+        assertEquals(1, attempts.size());
+    }
+
+    @Test
+    @DisplayName("Should move the delay to the configured latency percentile")
+    void recordLatency_ShouldTrackPercentile() {
+        hedger = newHedger(true, Duration.ofMillis(300), 1);
+
+        for (int millis = 1; millis <= 100; millis++) {
+            hedger.recordLatency(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        assertEquals(Duration.ofMillis(95), hedger.currentDelay());
+    }
+
+    @Test
+    @DisplayName("Should not go below the minimum delay")
+    void recordLatency_ShouldRespectMinimumDelay() {
+        hedger = newHedger(true, Duration.ofMillis(300), 1);
+
+        for (int i = 0; i < 100; i++) {
+            hedger.recordLatency(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+
+        assertEquals(Duration.ofMillis(5), hedger.currentDelay());
+    }
+
+    private static RequestHedger newHedger(boolean enabled, Duration initialDelay, double budgetRatio) {
+        return new RequestHedger(enabled, 95, initialDelay, Duration.ofMillis(5),
+                new RetryBudget(budgetRatio, 0, 10, Ticker.systemTicker()), Ticker.systemTicker());
+    }
+
+    /**
+     * Records the attempts started by the hedger, to be completed by the test.
+     */
+    private static final class Attempts {
+
+        private final List<CompletableFuture<String>> futures = new CopyOnWriteArrayList<>();
+        private final List<CompletableFuture<Void>> cancellations = new CopyOnWriteArrayList<>();
+        private final List<RequestLane> lanes = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> start(CompletableFuture<Void> cancelled) {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            lanes.add(RequestLane.forUrl("https://openlibrary.org/works/OL1W.json"));
+            futures.add(future);
+            cancellations.add(cancelled);
+            return future;
+        }
+
+        CompletableFuture<String> get(int index) {
+            return futures.get(index);
+        }
+
+        CompletableFuture<Void> cancelled(int index) {
+            return cancellations.get(index);
+        }
+
+        int size() {
+            return futures.size();
+        }
+
+        void awaitSize(int size) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (futures.size() < size && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(size, futures.size());
+        }
+    }
+}
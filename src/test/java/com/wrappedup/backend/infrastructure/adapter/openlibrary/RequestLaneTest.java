@@ -0,0 +1,28 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestLaneTest {
+
+    @Test
+    @DisplayName("Should classify interactive requests by URL")
+    void forUrl_ShouldClassifyByUrl() {
+        assertEquals(RequestLane.INTERACTIVE_SEARCH, RequestLane.forUrl("https://openlibrary.org/search.json?q=dune"));
+        assertEquals(RequestLane.INTERACTIVE_DETAIL, RequestLane.forUrl("https://openlibrary.org/works/OL1W.json"));
+        assertEquals(RequestLane.INTERACTIVE_DETAIL, RequestLane.forUrl("https://openlibrary.org/authors/OL1A.json"));
+    }
+
+    @Test
+    @DisplayName("Should use the lane set for the current thread and restore the previous one")
+    void callIn_ShouldOverrideLane() {
+        String url = "https://openlibrary.org/search.json?q=dune";
+
+        RequestLane inside = RequestLane.callIn(RequestLane.BACKGROUND, () -> RequestLane.forUrl(url));
+
+        assertEquals(RequestLane.BACKGROUND, inside);
+        assertEquals(RequestLane.INTERACTIVE_SEARCH, RequestLane.forUrl(url));
+    }
+}
@@ -0,0 +1,133 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResponseStoreInterceptorTest {
+
+    private static final URI WORK_URI = URI.create("https://openlibrary.org/works/OL45883W.json");
+
+    @TempDir
+    Path directory;
+
+    private OpenLibraryResponseStore store;
+    private ResponseStoreInterceptor interceptor;
+    private final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+
+    @BeforeEach
+    void setUp() {
+        store = new OpenLibraryResponseStore(true, directory, Duration.ofHours(1),
+                DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        interceptor = new ResponseStoreInterceptor(store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Should store successful responses and answer the next request without calling OpenLibrary")
+    void intercept_ShouldServeFreshStoredResponse() throws IOException {
+        when(execution.execute(any(), any())).thenReturn(response(HttpStatus.OK, "{\"title\":\"Dune\"}"));
+
+        ClientHttpResponse first = interceptor.intercept(request(HttpMethod.GET), new byte[0], execution);
+        ClientHttpResponse second = interceptor.intercept(request(HttpMethod.GET), new byte[0], execution);
+
+        assertEquals("{\"title\":\"Dune\"}", body(first));
+        assertEquals("{\"title\":\"Dune\"}", body(second));
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        verify(execution, times(1)).execute(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should serve an expired stored response when OpenLibrary fails")
+    void intercept_ShouldServeStaleResponse_OnUpstreamFailure() throws IOException {
+        OpenLibraryResponseStore expiring = new OpenLibraryResponseStore(true, directory.resolve("expiring"),
+                Duration.ZERO, DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        ResponseStoreInterceptor expiringInterceptor = new ResponseStoreInterceptor(expiring);
+        expiring.put(WORK_URI.toString(), "{\"title\":\"Dune\"}".getBytes(StandardCharsets.UTF_8));
+        when(execution.execute(any(), any()))
+                .thenReturn(response(HttpStatus.SERVICE_UNAVAILABLE, ""))
+                .thenThrow(new IOException("Connection reset"));
+
+        try {
+            assertEquals("{\"title\":\"Dune\"}", body(expiringInterceptor.intercept(request(HttpMethod.GET), new byte[0], execution)));
+            assertEquals("{\"title\":\"Dune\"}", body(expiringInterceptor.intercept(request(HttpMethod.GET), new byte[0], execution)));
+        } finally {
+            expiring.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should pass through failures when nothing is stored")
+    void intercept_ShouldPassThroughErrors_WhenNothingStored() throws IOException {
+        when(execution.execute(any(), any())).thenReturn(response(HttpStatus.NOT_FOUND, ""));
+
+        ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET), new byte[0], execution);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertTrue(store.getStale(WORK_URI.toString()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not store responses to other methods")
+    void intercept_ShouldIgnoreNonGetRequests() throws IOException {
+        when(execution.execute(any(), any())).thenReturn(response(HttpStatus.OK, "{}"));
+
+        interceptor.intercept(request(HttpMethod.POST), new byte[0], execution);
+
+        assertTrue(store.getStale(WORK_URI.toString()).isEmpty());
+        assertEquals(0, store.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should share stored responses with the unencoded URLs of the async client")
+    void intercept_ShouldFindResponsesStoredUnderUnencodedUrl() throws IOException {
+        String url = "https://openlibrary.org/search.json?q=the lord of the rings";
+        store.put(url, "{\"numFound\":1}".getBytes(StandardCharsets.UTF_8));
+        URI encoded = new DefaultUriBuilderFactory().expand(url);
+
+        ClientHttpResponse response = interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, encoded), new byte[0], execution);
+
+        assertEquals("{\"numFound\":1}", body(response));
+        verify(execution, times(0)).execute(any(), any());
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method) {
+        return new MockClientHttpRequest(method, WORK_URI);
+    }
+
+    private static MockClientHttpResponse response(HttpStatus status, String body) {
+        return new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+    }
+
+    private static String body(ClientHttpResponse response) throws IOException {
+        return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,56 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    @DisplayName("Should allow one retry per ten regular calls")
+    void shouldAllowRetries_InProportionToCalls() {
+        RetryBudget budget = new RetryBudget(0.1, 0, 10, nanos::get);
+
+        assertFalse(budget.tryWithdraw());
+        for (int i = 0; i < 20; i++) {
+            budget.deposit();
+        }
+
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+        assertEquals(2, budget.getAllowedCount());
+        assertEquals(2, budget.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Should refill a minimum reserve over time")
+    void shouldRefillReserve_OverTime() {
+        RetryBudget budget = new RetryBudget(0.1, 1, 10, nanos::get);
+
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    @DisplayName("Should cap the balance so quiet periods do not build up bursts")
+    void shouldCapBalance() {
+        RetryBudget budget = new RetryBudget(0.1, 1, 3, nanos::get);
+
+        nanos.addAndGet(Duration.ofHours(1).toNanos());
+
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+}
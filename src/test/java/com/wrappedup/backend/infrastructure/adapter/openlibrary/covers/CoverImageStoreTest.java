@@ -0,0 +1,184 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.covers;
+
+import com.sun.net.httpserver.HttpServer;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.CircuitBreaker;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryGuard;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryHttpClient;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryRateLimiter;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.RequestLane;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoverImageStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private HttpServer server;
+    private HttpClient httpClient;
+    private OpenLibraryGuard guard;
+    private OpenLibraryRateLimiter rateLimiter;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/b/id/", exchange -> {
+            requests.incrementAndGet();
+            String name = exchange.getRequestURI().getPath().substring("/b/id/".length());
+            int status = name.startsWith("500-") ? 500 : name.startsWith("404-") ? 404 : 200;
+            // Every image is 100 bytes of its cover id's last digit
+            byte[] body = new byte[status == 200 ? 100 : 0];
+            Arrays.fill(body, (byte) name.charAt(name.indexOf('-') - 1));
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        httpClient = HttpClient.newHttpClient();
+        guard = new OpenLibraryGuard(4, 50, 20, 10, Duration.ofSeconds(30), 3, 0.1, 1);
+        rateLimiter = new OpenLibraryRateLimiter(true, 100, 100, Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        httpClient.shutdownNow();
+        rateLimiter.close();
+    }
+
+    private CoverImageStore newStore(DataSize maxSize) {
+        return new CoverImageStore(httpClient, guard, rateLimiter, Duration.ofSeconds(5),
+                "http://127.0.0.1:" + server.getAddress().getPort(), directory, maxSize);
+    }
+
+    @Test
+    void get_ShouldFetchOnce_AndServeFromDiskAfterwards() throws IOException {
+        CoverImageStore store = newStore(DataSize.ofKilobytes(10));
+
+        CoverImage first = store.get(12345, CoverSize.L).orElseThrow();
+        CoverImage second = store.get(12345, CoverSize.L).orElseThrow();
+
+        assertEquals(first, second);
+        assertEquals(1, requests.get());
+        assertEquals(100, Files.size(first.file()));
+        assertEquals(16, first.etag().length());
+        assertEquals(1, store.getHitCount());
+        assertEquals(1, store.getFetchCount());
+    }
+
+    @Test
+    void get_ShouldKeepSizesApart() {
+        CoverImageStore store = newStore(DataSize.ofKilobytes(10));
+
+        CoverImage large = store.get(12345, CoverSize.L).orElseThrow();
+        CoverImage small = store.get(12345, CoverSize.S).orElseThrow();
+
+        assertNotEquals(large.file(), small.file());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void get_ShouldReturnEmpty_WhenOpenLibraryHasNoCover() {
+        CoverImageStore store = newStore(DataSize.ofKilobytes(10));
+
+        assertEquals(Optional.empty(), store.get(404, CoverSize.M));
+        assertEquals(1, store.getNotFoundCount());
+    }
+
+    @Test
+    void get_ShouldThrow_OnUpstreamError() {
+        CoverImageStore store = newStore(DataSize.ofKilobytes(10));
+
+        OpenLibraryHttpClient.OpenLibraryHttpException e = assertThrows(
+                OpenLibraryHttpClient.OpenLibraryHttpException.class, () -> store.get(500, CoverSize.M));
+        assertEquals(500, e.getStatusCode());
+        assertEquals(0, store.getImageCount());
+    }
+
+    @Test
+    void get_ShouldEvictLeastRecentlyUsedImages_ByTotalBytes() {
+        CoverImageStore store = newStore(DataSize.ofBytes(250));
+
+        CoverImage first = store.get(1, CoverSize.S).orElseThrow();
+        CoverImage second = store.get(2, CoverSize.S).orElseThrow();
+        store.get(1, CoverSize.S);
+        store.get(3, CoverSize.S);
+
+        assertEquals(200, store.getTotalBytes());
+        assertEquals(1, store.getEvictionCount());
+        assertTrue(Files.exists(first.file()));
+        assertFalse(Files.exists(second.file()));
+        store.get(2, CoverSize.S);
+        assertEquals(4, requests.get());
+    }
+
+    @Test
+    void open_ShouldIndexStoredImages_AndDropUnfinishedWrites() throws IOException {
+        CoverImage stored = newStore(DataSize.ofKilobytes(10)).get(7, CoverSize.M).orElseThrow();
+        Path unfinished = Files.writeString(directory.resolve("8-M-123.tmp"), "partial");
+
+        CoverImageStore reopened = newStore(DataSize.ofKilobytes(10));
+
+        assertEquals(stored, reopened.get(7, CoverSize.M).orElseThrow());
+        assertEquals(1, requests.get());
+        assertEquals(100, reopened.getTotalBytes());
+        assertFalse(Files.exists(unfinished));
+    }
+
+    @Test
+    void get_ShouldFetchInTheDetailLane_AndServeStoredImagesWithoutAToken() {
+        CoverImageStore store = newStore(DataSize.ofKilobytes(10));
+
+        store.get(12345, CoverSize.L);
+        store.get(12345, CoverSize.L);
+
+        assertEquals(1, rateLimiter.getGrantedCount(RequestLane.INTERACTIVE_DETAIL));
+        assertEquals(0, guard.getInFlightCount());
+    }
+
+    @Test
+    void get_ShouldStopFetching_OnceUpstreamErrorsOpenTheCircuit() {
+        guard = new OpenLibraryGuard(4, 50, 2, 2, Duration.ofSeconds(30), 1, 0.1, 1);
+        CoverImageStore store = newStore(DataSize.ofKilobytes(10));
+
+        assertThrows(OpenLibraryHttpClient.OpenLibraryHttpException.class, () -> store.get(500, CoverSize.M));
+        assertThrows(OpenLibraryHttpClient.OpenLibraryHttpException.class, () -> store.get(500, CoverSize.S));
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+        assertThrows(OpenLibraryGuard.CallNotPermittedException.class, () -> store.get(12345, CoverSize.L));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void get_ShouldNotFetch_WhenTheRateLimitIsReached() {
+        rateLimiter.close();
+        rateLimiter = new OpenLibraryRateLimiter(true, 100, 100, Map.of(RequestLane.INTERACTIVE_DETAIL,
+                new OpenLibraryRateLimiter.LaneLimit(1, 1, Duration.ZERO)));
+        CoverImageStore store = newStore(DataSize.ofKilobytes(10));
+
+        store.get(1, CoverSize.S);
+
+        assertThrows(OpenLibraryRateLimiter.RateLimitedException.class, () -> store.get(2, CoverSize.S));
+        assertEquals(1, requests.get());
+        assertEquals(1, rateLimiter.getRejectedCount(RequestLane.INTERACTIVE_DETAIL));
+    }
+}
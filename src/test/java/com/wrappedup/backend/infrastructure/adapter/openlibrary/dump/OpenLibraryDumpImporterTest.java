@@ -0,0 +1,160 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.dump;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.infrastructure.adapter.persistence.BookImportWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OpenLibraryDumpImporterTest {
+
+    @Mock
+    private BookImportWriter writer;
+
+    @TempDir
+    private Path tempDir;
+
+    private OpenLibraryDumpImporter importer;
+    private ImportCheckpoint checkpoint;
+    private final List<Book> written = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        importer = new OpenLibraryDumpImporter(writer, new ObjectMapper(), 2, 2, Duration.ofMinutes(1));
+        checkpoint = new ImportCheckpoint(tempDir.resolve("import.checkpoint"));
+    }
+
+    private static String work(int number, String authorKey) {
+        return "/type/work\t/works/OL" + number + "W\t3\t2023-01-01T00:00:00\t"
+                + "{\"title\": \"Work " + number + "\", \"first_publish_date\": \"March 1965\", \"covers\": [42],"
+                + " \"subjects\": [\"Fiction\"], \"description\": {\"type\": \"/type/text\", \"value\": \"About " + number + "\"},"
+                + " \"authors\": [{\"author\": {\"key\": \"" + authorKey + "\"}}]}";
+    }
+
+    private Path dump(String name, List<String> lines) throws IOException {
+        Path file = tempDir.resolve(name);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void captureBooks() {
+        when(writer.upsertBooks(anyCollection())).thenAnswer(invocation -> {
+            Collection<Book> books = invocation.getArgument(0);
+            written.addAll(books);
+            return books.size();
+        });
+    }
+
+    @Test
+    @DisplayName("Should map work records like the Works API and resolve stored author names")
+    void importWorks_ShouldMapWorks() throws IOException {
+        captureBooks();
+        when(writer.findAuthorNames(anyCollection())).thenReturn(Map.of("OL1A", "Frank Herbert"));
+        Path file = dump("works.txt.gz", List.of(
+                work(1, "/authors/OL1A"),
+                "/type/redirect\t/works/OL9W\t1\t2023-01-01T00:00:00\t{\"location\": \"/works/OL1W\"}",
+                work(2, "/authors/OL2A"),
+                "/type/work\t/works/OL3W\t1\t2023-01-01T00:00:00\t{not json",
+                "garbage"));
+
+        ImportReport report = importer.importWorks(file, checkpoint);
+
+        assertTrue(report.isComplete());
+        assertEquals(5, report.linesRead());
+        assertEquals(2, report.imported());
+        assertEquals(3, report.skipped());
+        assertEquals(5, checkpoint.linesDone(file));
+
+        Book first = written.stream().filter(b -> b.getOpenLibraryKey().equals("/works/OL1W")).findFirst().orElseThrow();
+        assertEquals("Work 1", first.getTitle());
+        assertEquals("Frank Herbert", first.getAuthor());
+        assertEquals("About 1", first.getDescription());
+        assertEquals(1965, first.getPublicationDate().getYear());
+        assertEquals(List.of("Fiction"), first.getGenres());
+        assertTrue(first.getCoverImageUrl().endsWith("/42-L.jpg"));
+        Book second = written.stream().filter(b -> b.getOpenLibraryKey().equals("/works/OL2W")).findFirst().orElseThrow();
+        assertEquals("Author: OL2A", second.getAuthor());
+    }
+
+    @Test
+    @DisplayName("Should resume after the checkpointed line")
+    void importWorks_ShouldResumeFromCheckpoint() throws IOException {
+        captureBooks();
+        when(writer.findAuthorNames(anyCollection())).thenReturn(Map.of());
+        Path file = dump("works.txt.gz", List.of(work(1, "OL1A"), work(2, "OL1A"), work(3, "OL1A")));
+        checkpoint.save(file, 2);
+
+        ImportReport report = importer.importWorks(file, new ImportCheckpoint(tempDir.resolve("import.checkpoint")));
+
+        assertEquals(1, report.linesRead());
+        assertEquals(List.of("/works/OL3W"), written.stream().map(Book::getOpenLibraryKey).toList());
+    }
+
+    @Test
+    @DisplayName("Should stop and keep the checkpoint before a chunk that could not be written")
+    void importWorks_ShouldNotCheckpointPastFailedChunk() throws IOException {
+        importer = new OpenLibraryDumpImporter(writer, new ObjectMapper(), 1, 2, Duration.ofMinutes(1));
+        when(writer.findAuthorNames(anyCollection())).thenReturn(Map.of());
+        when(writer.upsertBooks(anyCollection()))
+                .thenReturn(2)
+                .thenThrow(new IllegalStateException("database down"));
+        Path file = dump("works.txt.gz", List.of(work(1, "OL1A"), work(2, "OL1A"), work(3, "OL1A"),
+                work(4, "OL1A"), work(5, "OL1A"), work(6, "OL1A")));
+
+        ImportReport report = importer.importWorks(file, checkpoint);
+
+        assertFalse(report.isComplete());
+        assertEquals(2, checkpoint.linesDone(file));
+    }
+
+    @Test
+    @DisplayName("Should import author names from the authors dump")
+    void importAuthors_ShouldWriteNames() throws IOException {
+        Map<String, String> names = new ConcurrentHashMap<>();
+        when(writer.upsertAuthors(anyMap())).thenAnswer(invocation -> {
+            Map<String, String> chunk = invocation.getArgument(0);
+            names.putAll(chunk);
+            return chunk.size();
+        });
+        Path file = dump("authors.txt.gz", List.of(
+                "/type/author\t/authors/OL1A\t2\t2023-01-01T00:00:00\t{\"name\": \"Frank Herbert\"}",
+                "/type/author\t/authors/OL2A\t2\t2023-01-01T00:00:00\t{\"personal_name\": \"No Name\"}",
+                "/type/author\t/authors/OL3A\t2\t2023-01-01T00:00:00\t{\"name\": \"Ursula K. Le Guin\"}"));
+
+        ImportReport report = importer.importAuthors(file, checkpoint);
+
+        assertEquals(2, report.imported());
+        assertEquals(1, report.skipped());
+        assertEquals(Map.of("OL1A", "Frank Herbert", "OL3A", "Ursula K. Le Guin"), names);
+        verify(writer, never()).upsertBooks(any());
+    }
+}
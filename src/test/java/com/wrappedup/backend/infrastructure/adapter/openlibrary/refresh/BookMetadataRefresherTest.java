@@ -0,0 +1,159 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.refresh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.CircuitBreaker;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryEndpoints;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryGuard;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryHttpClient;
+import com.wrappedup.backend.infrastructure.adapter.persistence.BookMetadata;
+import com.wrappedup.backend.infrastructure.adapter.persistence.BookMetadataWriter;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookRefreshCandidate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookMetadataRefresherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private BookMetadataWriter writer;
+
+    @Mock
+    private OpenLibraryHttpClient httpClient;
+
+    @Mock
+    private OpenLibraryGuard guard;
+
+    private BookMetadataRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        refresher = new BookMetadataRefresher(writer, new RecentBookViews(100, Duration.ofHours(1)), httpClient, guard,
+                new OpenLibraryEndpoints("http://openlibrary.test"), false, Duration.ofMinutes(1), Duration.ofDays(7),
+                10, 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refresher.close();
+    }
+
+    private static BookRefreshCandidate candidate(String key) {
+        UUID id = UUID.randomUUID();
+        return new BookRefreshCandidate() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getOpenLibraryKey() {
+                return key;
+            }
+        };
+    }
+
+    private JsonNode json(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+
+    private void upstreamIdle() {
+        when(guard.getCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        when(guard.getInFlightCount()).thenReturn(0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshOnce_ShouldMergeCountersAndWorks_AndWriteThemBack() throws Exception {
+        // Arrange
+        upstreamIdle();
+        when(writer.findRefreshCandidates(anyList(), any(LocalDateTime.class), eq(10)))
+                .thenReturn(List.of(candidate("/works/OL1W"), candidate("/works/OL2W")));
+        when(httpClient.getJsonAsync(startsWith("http://openlibrary.test/search.json")))
+                .thenReturn(CompletableFuture.completedFuture(json(
+                        "{\"docs\": [{\"key\": \"/works/OL1W\", \"ratings_count\": 12, \"edition_count\": 3}]}")));
+        when(httpClient.getJsonAsync("http://openlibrary.test/works/OL1W.json"))
+                .thenReturn(CompletableFuture.completedFuture(json(
+                        "{\"title\": \"Dune\", \"description\": {\"value\": \"Spice\"}, \"covers\": [42]}")));
+        when(httpClient.getJsonAsync("http://openlibrary.test/works/OL2W.json"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(writer.applyRefresh(anyMap(), any())).thenReturn(1);
+
+        // Act
+        int changed = refresher.refreshOnce();
+
+        // Assert
+        ArgumentCaptor<Map<String, BookMetadata>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(writer).applyRefresh(captor.capture(), any());
+        BookMetadata dune = captor.getValue().get("/works/OL1W");
+        assertEquals("Dune", dune.title());
+        assertEquals("Spice", dune.description());
+        assertEquals(42L, dune.coverId());
+        assertEquals(12, dune.ratingsCount());
+        assertEquals(3, dune.editionCount());
+        assertEquals(BookMetadata.EMPTY, captor.getValue().get("/works/OL2W"));
+        assertEquals(1, changed);
+        assertEquals(1, refresher.getChangedCount());
+        assertEquals(1, refresher.getUnchangedCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshOnce_ShouldLeaveFailedBooksStale() throws Exception {
+        upstreamIdle();
+        when(writer.findRefreshCandidates(anyList(), any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(candidate("/works/OL1W")));
+        when(httpClient.getJsonAsync(anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("reset")));
+
+        refresher.refreshOnce();
+
+        ArgumentCaptor<Map<String, BookMetadata>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(writer).applyRefresh(captor.capture(), any());
+        assertTrue(captor.getValue().isEmpty());
+        assertEquals(1, refresher.getFailedCount());
+    }
+
+    @Test
+    void refreshOnce_ShouldDefer_WhenCircuitIsNotClosed() {
+        when(guard.getCircuitState()).thenReturn(CircuitBreaker.State.OPEN);
+
+        assertEquals(0, refresher.refreshOnce());
+
+        verifyNoInteractions(writer, httpClient);
+        assertEquals(1, refresher.getDeferredCount());
+    }
+
+    @Test
+    void refreshOnce_ShouldDefer_WhileInteractiveRequestsAreInFlight() {
+        when(guard.getCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        when(guard.getInFlightCount()).thenReturn(1);
+
+        assertEquals(0, refresher.refreshOnce());
+
+        verifyNoInteractions(writer, httpClient);
+        assertEquals(1, refresher.getDeferredCount());
+    }
+}
@@ -0,0 +1,46 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.refresh;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentBookViewsTest {
+
+    @Test
+    void mostRecent_ShouldReturnLatestViewsFirst() {
+        AtomicLong nanos = new AtomicLong();
+        RecentBookViews views = new RecentBookViews(100, Duration.ofHours(1), nanos::get);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        views.record(first);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        views.record(second);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        views.record(third);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        views.record(first);
+
+        assertEquals(List.of(first, third), views.mostRecent(2));
+    }
+
+    @Test
+    void mostRecent_ShouldForgetOldViews() {
+        AtomicLong nanos = new AtomicLong();
+        RecentBookViews views = new RecentBookViews(100, Duration.ofMinutes(10), nanos::get);
+        UUID old = UUID.randomUUID();
+        views.record(old);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        UUID recent = UUID.randomUUID();
+        views.record(recent);
+
+        assertEquals(List.of(recent), views.mostRecent(10));
+    }
+}
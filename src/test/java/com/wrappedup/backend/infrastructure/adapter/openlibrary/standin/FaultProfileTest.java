@@ -0,0 +1,68 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.standin;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaultProfileTest {
+
+    @Test
+    @DisplayName("Should draw latencies matching the configured median and 99th percentile")
+    void sampleLatency_ShouldMatchPercentiles() {
+        FaultProfile profile = FaultProfile.latency(Duration.ofMillis(100), Duration.ofMillis(1000));
+        SplittableRandom random = new SplittableRandom(42);
+
+        long[] samples = new long[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = profile.sampleLatency(random).toMillis();
+        }
+        Arrays.sort(samples);
+
+        assertEquals(100, samples[samples.length / 2], 5);
+        assertEquals(1000, samples[samples.length * 99 / 100], 60);
+    }
+
+    @Test
+    @DisplayName("Should use a fixed latency when median and p99 are equal")
+    void sampleLatency_ShouldBeFixed_WithoutSpread() {
+        FaultProfile profile = FaultProfile.latency(Duration.ofMillis(20), Duration.ofMillis(20));
+
+        assertEquals(Duration.ofMillis(20), profile.sampleLatency(new SplittableRandom(1)));
+        assertEquals(Duration.ZERO, FaultProfile.none().sampleLatency(new SplittableRandom(1)));
+    }
+
+    @Test
+    @DisplayName("Should draw errors and timeouts at the configured rates")
+    void sampleOutcome_ShouldMatchRates() {
+        FaultProfile profile = FaultProfile.none().withErrors(0.2, 503).withTimeouts(0.05, Duration.ofSeconds(1));
+        SplittableRandom random = new SplittableRandom(7);
+
+        int errors = 0;
+        int timeouts = 0;
+        for (int i = 0; i < 100_000; i++) {
+            switch (profile.sampleOutcome(random)) {
+                case ERROR -> errors++;
+                case TIMEOUT -> timeouts++;
+                case OK -> { }
+            }
+        }
+
+        assertEquals(20_000, errors, 800);
+        assertEquals(5_000, timeouts, 400);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid profiles")
+    void constructor_ShouldRejectInvalidValues() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FaultProfile.latency(Duration.ofMillis(100), Duration.ofMillis(50)));
+        assertThrows(IllegalArgumentException.class, () -> FaultProfile.none().withErrors(1.5, 503));
+        assertThrows(IllegalArgumentException.class,
+                () -> FaultProfile.none().withErrors(0.6, 503).withTimeouts(0.6, Duration.ZERO));
+    }
+}
@@ -0,0 +1,162 @@
+package com.wrappedup.backend.infrastructure.adapter.openlibrary.standin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.AuthorNameResolver;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryAdapter;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryEndpoints;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryGuard;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryHttpClient;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryRateLimiter;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryResponseStore;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.RequestHedger;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.AuthorJpaRepository;
+import com.wrappedup.backend.infrastructure.config.WebConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class OpenLibraryStandInServerTest {
+
+    @TempDir
+    Path storeDirectory;
+
+    private OpenLibraryStandInServer server;
+    private OpenLibraryRateLimiter rateLimiter;
+    private OpenLibraryHttpClient httpClient;
+    private OpenLibraryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        server = new OpenLibraryStandInServer(0, null, FaultProfile.none()).start();
+
+        OpenLibraryEndpoints endpoints = new OpenLibraryEndpoints(server.getBaseUrl());
+        OpenLibraryGuard guard = new OpenLibraryGuard(16, 50, 20, 10, Duration.ofSeconds(30), 3, 0.1, 1);
+        OpenLibraryResponseStore store = new OpenLibraryResponseStore(false, storeDirectory, Duration.ofDays(1),
+                DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        rateLimiter = new OpenLibraryRateLimiter(true, 100, 100, Map.of());
+        httpClient = new OpenLibraryHttpClient(new ObjectMapper(), guard, rateLimiter, store,
+                new RequestHedger(false, 95, Duration.ofMillis(300), Duration.ofMillis(20), 0.05),
+                Duration.ofSeconds(1), Duration.ofMillis(500), 2);
+        RestTemplate restTemplate = new WebConfig().restTemplate(httpClient, guard, rateLimiter, store);
+        AuthorNameResolver authorNameResolver = new AuthorNameResolver(restTemplate, mock(AuthorJpaRepository.class),
+                endpoints, 100, false, 50);
+        adapter = new OpenLibraryAdapter(restTemplate, httpClient, authorNameResolver, guard, endpoints);
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        rateLimiter.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should serve works with their author through the adapter")
+    void getBookByKey_ShouldReturnFixture() {
+        List<Book> books = adapter.getBookByKey("OL893415W");
+
+        assertEquals(1, books.size());
+        assertEquals("Dune", books.get(0).getTitle());
+        assertEquals("Frank Herbert", books.get(0).getAuthor());
+        assertEquals(1965, books.get(0).getPublicationDate().getYear());
+    }
+
+    @Test
+    @DisplayName("Should serve search fixtures by query and fall back to the default one")
+    void searchBooks_ShouldReturnFixture() throws Exception {
+        assertEquals(List.of("Dune"), adapter.searchBooks("Dune").stream().map(Book::getTitle).toList());
+        assertEquals(2, adapter.searchBooksAsync("anything else").get(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    @DisplayName("Should answer author searches from the author fixtures")
+    void searchAuthors_ShouldReturnKnownAuthors() throws Exception {
+        JsonNode response = httpClient.getJsonAsync(server.getBaseUrl()
+                + "/search/authors.json?q=key:(OL79034A OR OL26320A OR OL1A)&fields=key,name").get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, response.get("numFound").asInt());
+        assertEquals("Frank Herbert", response.get("docs").get(0).get("name").asText());
+    }
+
+    @Test
+    @DisplayName("Should answer unknown keys with 404")
+    void get_ShouldReturnNotFound_ForUnknownWork() throws Exception {
+        assertNull(httpClient.getJsonAsync(server.getBaseUrl() + "/works/OL1W.json").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should inject errors at the configured rate")
+    void faultProfile_ShouldInjectErrors() {
+        server.setFaultProfile(FaultProfile.none().withErrors(1, 503));
+
+        RestTemplate restTemplate = new RestTemplate();
+        HttpServerErrorException e = assertThrows(HttpServerErrorException.class,
+                () -> restTemplate.getForObject(server.getBaseUrl() + "/works/OL893415W.json", String.class));
+
+        assertEquals(503, e.getStatusCode().value());
+        assertEquals(1, server.getErrorCount());
+    }
+
+    @Test
+    @DisplayName("Should hang timed-out requests past the client's request timeout")
+    void faultProfile_ShouldInjectTimeouts() {
+        server.setFaultProfile(FaultProfile.none().withTimeouts(1, Duration.ofSeconds(2)));
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> httpClient.getJsonAsync(server.getBaseUrl() + "/works/OL893415W.json").get(5, TimeUnit.SECONDS));
+
+        assertTrue(e.getCause() instanceof HttpTimeoutException);
+        assertEquals(1, server.getTimeoutCount());
+    }
+
+    @Test
+    @DisplayName("Should delay responses by the configured latency")
+    void faultProfile_ShouldDelayResponses() throws Exception {
+        server.setFaultProfile(FaultProfile.latency(Duration.ofMillis(150), Duration.ofMillis(150)));
+
+        long started = System.nanoTime();
+        httpClient.getJsonAsync(server.getBaseUrl() + "/works/OL893415W.json").get(5, TimeUnit.SECONDS);
+
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(150));
+    }
+
+    @Test
+    @DisplayName("Should serve fixtures from a directory")
+    void fixturesDirectory_ShouldOverrideClasspath(@TempDir Path fixtures) throws IOException {
+        Files.createDirectories(fixtures.resolve("works"));
+        Files.writeString(fixtures.resolve("works/OL1W.json"), "{\"key\":\"/works/OL1W\",\"title\":\"Recorded\"}");
+
+        try (OpenLibraryStandInServer recorded = new OpenLibraryStandInServer(0, fixtures, FaultProfile.none()).start()) {
+            String body = new RestTemplate().getForObject(recorded.getBaseUrl() + "/works/OL1W.json", String.class);
+
+            assertTrue(body.contains("Recorded"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should turn queries into fixture names")
+    void slug_ShouldNormalizeQuery() {
+        assertEquals("the-lord-of-the-rings", OpenLibraryStandInServer.slug("The Lord of the Rings!"));
+        assertEquals("key-works-ol1w", OpenLibraryStandInServer.slug("key:/works/OL1W"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.Cache;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCacheRegionsTest {
+
+    private BookCacheRegions regions;
+
+    @BeforeEach
+    void setUp() {
+        regions = new BookCacheRegions(true, 10, 5, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        regions.close();
+    }
+
+    @Test
+    void constructor_ShouldCreateEveryRegion() {
+        // Act & Assert
+        for (String region : regions.getRegionNames()) {
+            assertNotNull(regions.getCacheManager().getCache(region), region);
+        }
+    }
+
+    @Test
+    void getEntryCount_BeyondMaximumSize_ShouldEvictEntries() {
+        // Arrange
+        Cache<Object, Object> books = regions.getCacheManager().getCache(BookCacheRegions.BOOKS);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            books.put(i, "book " + i);
+        }
+        books.unwrap(com.github.benmanes.caffeine.cache.Cache.class).cleanUp();
+
+        // Assert
+        assertTrue(regions.getEntryCount(BookCacheRegions.BOOKS) <= 10);
+        assertTrue(regions.getStats(BookCacheRegions.BOOKS).evictionCount() >= 90);
+    }
+
+    @Test
+    void getStats_ShouldCountHitsAndMisses() {
+        // Arrange
+        Cache<Object, Object> isbns = regions.getCacheManager().getCache(BookCacheRegions.ISBNS);
+        isbns.put("9780306406157", "isbns");
+
+        // Act
+        isbns.get("9780306406157");
+        isbns.get("9780306406157");
+        isbns.get("9781861972712");
+
+        // Assert
+        assertEquals(2, regions.getStats(BookCacheRegions.ISBNS).hitCount());
+        assertEquals(1, regions.getStats(BookCacheRegions.ISBNS).missCount());
+    }
+
+    @Test
+    void getStats_WithUnknownRegion_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> regions.getStats("reviews"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookChangeNotifierTest {
+
+    @Mock
+    private BookChangeListener first;
+
+    @Mock
+    private BookChangeListener second;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void saved_OutsideATransaction_ShouldNotifyRightAway() {
+        // Arrange
+        BookChangeNotifier notifier = new BookChangeNotifier(List.of(first));
+        List<BookJpaEntity> books = List.of(new BookJpaEntity());
+
+        // Act
+        notifier.saved(books);
+
+        // Assert
+        verify(first).booksSaved(books);
+    }
+
+    @Test
+    void deleted_InATransaction_ShouldNotifyOnlyAfterCommit() {
+        // Arrange
+        BookChangeNotifier notifier = new BookChangeNotifier(List.of(first));
+        List<UUID> ids = List.of(UUID.randomUUID());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        notifier.deleted(ids);
+
+        // Assert
+        verifyNoInteractions(first);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(first).booksDeleted(ids);
+    }
+
+    @Test
+    void saved_WhenAListenerFails_ShouldStillNotifyTheOthers() {
+        // Arrange
+        BookChangeNotifier notifier = new BookChangeNotifier(List.of(first, second));
+        doThrow(new IllegalStateException("broken")).when(first).booksSaved(any());
+
+        // Act
+        notifier.saved(List.of(new BookJpaEntity()));
+
+        // Assert
+        verify(second).booksSaved(any());
+    }
+
+    @Test
+    void saved_WithNoBooks_ShouldNotNotify() {
+        // Arrange
+        BookChangeNotifier notifier = new BookChangeNotifier(List.of(first));
+
+        // Act
+        notifier.saved(List.of());
+
+        // Assert
+        verifyNoInteractions(first);
+    }
+}
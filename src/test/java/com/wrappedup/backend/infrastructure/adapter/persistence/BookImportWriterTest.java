@@ -0,0 +1,123 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.AuthorJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.AuthorJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportWriterTest {
+
+    @Mock
+    private BookJpaRepository bookJpaRepository;
+
+    @Mock
+    private AuthorJpaRepository authorJpaRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private BookKeyAliasWriter keyAliasWriter;
+
+    @Mock
+    private BookChangeNotifier changeNotifier;
+
+    @Mock
+    private Counters counters;
+
+    private BookImportWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new BookImportWriter(bookJpaRepository, authorJpaRepository,
+                new JpaBookRepositoryAdapter(bookJpaRepository, keyAliasWriter, BookListStorage.COMPACT, changeNotifier,
+                        counters),
+                keyAliasWriter, changeNotifier, counters);
+        ReflectionTestUtils.setField(writer, "entityManager", entityManager);
+    }
+
+    private static Book book(String key, String title) {
+        LocalDateTime now = LocalDateTime.now();
+        return Book.reconstitute(BookId.generate(), title, "Author", null, null, null, null, List.of(), null,
+                null, null, key, now, now);
+    }
+
+    @Test
+    void upsertBooks_ShouldPersistNewBooks_AndUpdateExistingOnesInPlace() {
+        // Arrange
+        BookJpaEntity stored = new BookJpaEntity();
+        UUID storedId = UUID.randomUUID();
+        LocalDateTime storedAt = LocalDateTime.of(2020, 1, 1, 0, 0);
+        stored.setId(storedId);
+        stored.setCreatedAt(storedAt);
+        stored.setOpenLibraryKey("/works/OL1W");
+        when(bookJpaRepository.findByOpenLibraryKeyIn(any())).thenReturn(List.of(stored));
+
+        // Act
+        int written = writer.upsertBooks(List.of(
+                book("/works/OL1W", "Updated"),
+                book("/works/OL2W", "New"),
+                book(null, "Without key")));
+
+        // Assert
+        assertEquals(2, written);
+        assertEquals(storedId, stored.getId());
+        assertEquals(storedAt, stored.getCreatedAt());
+        assertEquals("Updated", stored.getTitle());
+        assertNotNull(stored.getLists());
+        verify(entityManager, never()).merge(any());
+
+        ArgumentCaptor<BookJpaEntity> persisted = ArgumentCaptor.forClass(BookJpaEntity.class);
+        verify(entityManager).persist(persisted.capture());
+        assertEquals("/works/OL2W", persisted.getValue().getOpenLibraryKey());
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void upsertAuthors_ShouldPersistNewAuthors_AndRenameExistingOnes() {
+        // Arrange
+        AuthorJpaEntity stored = new AuthorJpaEntity("OL1A", "Old Name");
+        when(authorJpaRepository.findAllById(any())).thenReturn(List.of(stored));
+
+        // Act
+        int written = writer.upsertAuthors(Map.of("OL1A", "Frank Herbert", "OL2A", "Ursula K. Le Guin"));
+
+        // Assert
+        assertEquals(2, written);
+        assertEquals("Frank Herbert", stored.getName());
+        ArgumentCaptor<AuthorJpaEntity> persisted = ArgumentCaptor.forClass(AuthorJpaEntity.class);
+        verify(entityManager).persist(persisted.capture());
+        assertEquals("OL2A", persisted.getValue().getAuthorKey());
+    }
+
+    @Test
+    void findAuthorNames_ShouldNotQuery_WhenNoKeys() {
+        // Act
+        Map<String, String> names = writer.findAuthorNames(List.of());
+
+        // Assert
+        assertTrue(names.isEmpty());
+        verifyNoInteractions(authorJpaRepository);
+    }
+}
@@ -0,0 +1,190 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.domain.model.OpenLibraryWorkKey;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookKeyAliasJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookKeyAliasJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookKeyAliasWriterTest {
+
+    @Mock
+    private BookKeyAliasJpaRepository aliasRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Query insert;
+
+    private BookKeyAliasWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new BookKeyAliasWriter(aliasRepository);
+        ReflectionTestUtils.setField(writer, "entityManager", entityManager);
+    }
+
+    private static BookJpaEntity entity(UUID id, String key, String... redirects) {
+        BookJpaEntity entity = new BookJpaEntity();
+        entity.setId(id);
+        entity.setOpenLibraryKey(key);
+        entity.setRedirects(new ArrayList<>(List.of(redirects)));
+        return entity;
+    }
+
+    /**
+     * @return The aliases bound to the insert statements, which bind an alias and then its book id per row
+     */
+    private Map<String, UUID> inserted() {
+        ArgumentCaptor<Object> values = ArgumentCaptor.forClass(Object.class);
+        verify(insert, atLeastOnce()).setParameter(anyString(), values.capture());
+        Map<String, UUID> rows = new HashMap<>();
+        for (int i = 0; i < values.getAllValues().size(); i += 2) {
+            rows.put((String) values.getAllValues().get(i), (UUID) values.getAllValues().get(i + 1));
+        }
+        return rows;
+    }
+
+    @Test
+    void registerBooks_ShouldPersistOwnKeysAndRedirects_InCanonicalForm() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(aliasRepository.findAllById(anyIterable())).thenReturn(List.of());
+        when(entityManager.createQuery(anyString())).thenReturn(insert);
+
+        // Act
+        int written = writer.registerBooks(List.of(entity(id, "/works/OL1W", "ol2w", "not-a-key")));
+
+        // Assert
+        assertEquals(2, written);
+        assertEquals(Map.of("/works/OL1W", id, "/works/OL2W", id), inserted());
+        verify(insert, times(2)).executeUpdate();
+    }
+
+    @Test
+    void registerBooks_ShouldMoveOwnKeyToBook_ButKeepRedirectsOfOtherBooks() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        BookKeyAliasJpaEntity ownKey = new BookKeyAliasJpaEntity("/works/OL1W", other);
+        BookKeyAliasJpaEntity redirect = new BookKeyAliasJpaEntity("/works/OL2W", other);
+        when(aliasRepository.findAllById(anyIterable())).thenReturn(List.of(ownKey, redirect));
+
+        // Act
+        int written = writer.registerBooks(List.of(entity(id, "/works/OL1W", "/works/OL2W")));
+
+        // Assert
+        assertEquals(1, written);
+        assertEquals(id, ownKey.getBookId());
+        assertEquals(other, redirect.getBookId());
+        verify(entityManager, never()).createQuery(anyString());
+    }
+
+    @Test
+    void registerBooks_ShouldInsertOwnKeysOverConcurrentRedirects_AndRedirectsOnlyIfStillMissing() {
+        // Arrange
+        when(aliasRepository.findAllById(anyIterable())).thenReturn(List.of());
+        when(entityManager.createQuery(anyString())).thenReturn(insert);
+
+        // Act
+        writer.registerBooks(List.of(entity(UUID.randomUUID(), "/works/OL1W", "/works/OL2W")));
+
+        // Assert
+        InOrder order = inOrder(entityManager);
+        order.verify(entityManager).createQuery(endsWith("ON CONFLICT (alias) DO UPDATE SET bookId = excluded.bookId"));
+        order.verify(entityManager).createQuery(endsWith("ON CONFLICT DO NOTHING"));
+    }
+
+    @Test
+    void registerBooks_ShouldInsertManyAliasesInFewStatements() {
+        // Arrange
+        List<BookJpaEntity> books = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            books.add(entity(UUID.randomUUID(), "/works/OL" + i + "W"));
+        }
+        when(aliasRepository.findAllById(anyIterable())).thenReturn(List.of());
+        when(entityManager.createQuery(anyString())).thenReturn(insert);
+
+        // Act
+        int written = writer.registerBooks(books);
+
+        // Assert
+        assertEquals(250, written);
+        assertEquals(250, inserted().size());
+        verify(insert, times(3)).executeUpdate();
+    }
+
+    @Test
+    void unregister_ShouldDeleteEveryAliasOfTheBook() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(aliasRepository.deleteByBookId(id)).thenReturn(2);
+
+        // Act & Assert
+        assertEquals(2, writer.unregister(id));
+    }
+
+    @Test
+    void registerBooks_ShouldSkipBooksWithoutWorkKeys() {
+        // Act
+        int written = writer.registerBooks(List.of(entity(UUID.randomUUID(), "OL12345M")));
+
+        // Assert
+        assertEquals(0, written);
+        verifyNoInteractions(aliasRepository, entityManager);
+    }
+
+    @Test
+    void register_ShouldOnlyAddMissingAliases() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(aliasRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(new BookKeyAliasJpaEntity("/works/OL1W", UUID.randomUUID())));
+        when(entityManager.createQuery(anyString())).thenReturn(insert);
+
+        // Act
+        int written = writer.register(id, List.of(OpenLibraryWorkKey.of("OL1W"), OpenLibraryWorkKey.of("OL3W")));
+
+        // Assert
+        assertEquals(1, written);
+        assertEquals(Map.of("/works/OL3W", id), inserted());
+        verify(entityManager).createQuery(endsWith("ON CONFLICT DO NOTHING"));
+    }
+
+    @Test
+    void backfill_ShouldInsertMissingKeysAndRedirects() {
+        // Arrange
+        when(aliasRepository.insertMissingOpenLibraryKeys()).thenReturn(3);
+        when(aliasRepository.insertMissingRedirects()).thenReturn(1);
+
+        // Act
+        writer.backfill();
+
+        // Assert
+        verify(aliasRepository).insertMissingOpenLibraryKeys();
+        verify(aliasRepository).insertMissingRedirects();
+    }
+}
@@ -0,0 +1,113 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.WrappedUpBackendApplication;
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.port.out.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading and saving books in {@link BookListStorage#NORMALIZED} and
+ * {@link BookListStorage#COMPACT} list storage, on the embedded database.
+ *
+ * {@code readPage} loads a page of 20 books like {@code GET /api/books}, {@code saveUnchanged}
+ * saves a stored book again. Next to the latency, the tear down prints the JDBC statements per
+ * operation from Hibernate's statistics. Run {@link #main} from the IDE with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookListStorageBenchmark {
+
+    private static final int BOOKS = 200;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"NORMALIZED", "COMPACT"})
+    private BookListStorage storage;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private Statistics statistics;
+    private final List<Book> books = new ArrayList<>();
+    private long operations;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(WrappedUpBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "persistence.books.list-storage=" + storage,
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "logging.level.root=WARN",
+                        "logging.level.com.wrappedup=WARN",
+                        "jwt.secret=404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970",
+                        "jwt.expiration=86400000")
+                .run();
+        bookRepository = context.getBean(BookRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(bookRepository.save(book(i)));
+        }
+        statistics.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%s: %.1f statements per operation (%d collection loads, %d collection rewrites)%n",
+                storage, (double) statistics.getPrepareStatementCount() / Math.max(1, operations),
+                statistics.getCollectionLoadCount(), statistics.getCollectionRecreateCount());
+        context.close();
+    }
+
+    @Benchmark
+    public List<Book> readPage() {
+        return bookRepository.findAll((int) (operations++ % (BOOKS / PAGE_SIZE)), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Book saveUnchanged() {
+        return bookRepository.save(books.get((int) (operations++ % BOOKS)));
+    }
+
+    private static Book book(int i) {
+        LocalDateTime now = LocalDateTime.now();
+        return Book.reconstitute(BookId.generate(), "Book " + i, "Author " + i, "978000000" + i, "Description",
+                null, 300, List.of("Fiction", "Adventure"), "eng", LocalDate.of(2001, 1, 1), "Publisher",
+                "/works/OL" + i + "W", now, now);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookListStorageBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
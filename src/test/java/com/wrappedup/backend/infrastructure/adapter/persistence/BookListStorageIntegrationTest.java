@@ -0,0 +1,401 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookCursor;
+import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.BookSummary;
+import com.wrappedup.backend.domain.model.BookSummaryPage;
+import com.wrappedup.backend.domain.model.BookUpsertResult;
+import com.wrappedup.backend.domain.model.OpenLibraryWorkKey;
+import com.wrappedup.backend.domain.port.out.BookRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the statements books cost in compact list storage, on the embedded database.
+ */
+@SpringBootTest(properties = {
+        "persistence.books.list-storage=compact",
+        "jwt.secret=404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970",
+        "jwt.expiration=86400000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class BookListStorageIntegrationTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookJpaRepository bookJpaRepository;
+
+    @Autowired
+    private BookKeyAliasWriter keyAliasWriter;
+
+    @Autowired
+    private BookListMigrator migrator;
+
+    @Autowired
+    private BookChangeNotifier changeNotifier;
+
+    @Autowired
+    private Counters counters;
+
+    @Autowired
+    private BookCacheRegions cacheRegions;
+
+    @Autowired
+    private BookMetadataWriter metadataWriter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Book book(String title) {
+        LocalDateTime now = LocalDateTime.now();
+        return Book.reconstitute(BookId.generate(), title, "Author", "978" + Math.abs(title.hashCode()),
+                "Description", null, 300, List.of("Fiction", "Adventure"), "eng", LocalDate.of(2001, 1, 1),
+                "Publisher", null, now, now);
+    }
+
+    @Test
+    void findAll_ShouldReadAPageWithoutSideTableQueries() {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            bookRepository.save(book("Paged " + i));
+        }
+        statistics.clear();
+
+        // Act
+        List<Book> page = bookRepository.findAll(0, 20);
+
+        // Assert
+        assertEquals(20, page.size());
+        assertEquals(List.of("Fiction", "Adventure"), page.get(0).getGenres());
+        assertEquals("eng", page.get(0).getLanguage());
+        // The page and its count
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void findSummaries_ShouldReadAPageWithOneStatement() {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            bookRepository.save(book("Summary " + i));
+        }
+        statistics.clear();
+
+        // Act
+        List<BookSummary> page = bookRepository.findSummaries(0, 20);
+        List<BookSummary> byGenre = bookRepository.findSummariesByGenre("Adventure");
+
+        // Assert
+        assertEquals(20, page.size());
+        assertEquals(2001, page.get(0).getFirstPublishYear());
+        assertFalse(byGenre.isEmpty());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findSummaryPage_ShouldWalkTheCatalogInTheOrderOfTheStream() {
+        // Arrange
+        for (int i = 0; i < 25; i++) {
+            bookRepository.save(book("Keyset " + i));
+        }
+        List<BookId> streamed = new ArrayList<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                bookRepository.forEachSummary(summary -> streamed.add(summary.getId())));
+
+        // Act
+        List<BookId> walked = new ArrayList<>();
+        BookCursor cursor = null;
+        int pages = 0;
+        do {
+            BookSummaryPage page = bookRepository.findSummaryPage(cursor, 10);
+            page.getBooks().forEach(summary -> walked.add(summary.getId()));
+            cursor = page.getNextCursor().orElse(null);
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(bookRepository.count(), walked.size());
+        assertEquals(walked.size(), new HashSet<>(walked).size());
+        assertEquals(streamed, walked);
+        assertEquals((walked.size() + 9) / 10, pages);
+    }
+
+    @Test
+    void saveAll_ShouldInsertInBatchesAndUpdateByIsbn() {
+        // Arrange
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            books.add(book("Batched " + i));
+        }
+        long before = bookJpaRepository.count();
+        statistics.clear();
+
+        // Act
+        List<BookUpsertResult> created = bookRepository.saveAll(books);
+        long statements = statistics.getPrepareStatementCount();
+        List<BookUpsertResult> updated = bookRepository.saveAll(books.stream()
+                .map(book -> Book.createNewBook(book.getTitle() + " revised", book.getAuthor(), book.getIsbn(),
+                        book.getDescription(), book.getCoverImageUrl(), book.getPageCount(), book.getGenres(),
+                        book.getLanguage(), book.getPublicationDate(), book.getPublisher(), null))
+                .toList());
+
+        // Assert
+        assertEquals(before + 40, bookJpaRepository.count());
+        assertTrue(created.stream().allMatch(result -> result.getOutcome() == BookUpsertResult.Outcome.CREATED));
+        assertEquals(books.get(0).getId(), created.get(0).getBookId());
+        // One lookup, then a few batches per table instead of a statement per row
+        assertTrue(statements < books.size() / 4, "statements: " + statements);
+        assertTrue(updated.stream().allMatch(result -> result.getOutcome() == BookUpsertResult.Outcome.UPDATED));
+        assertEquals(created.stream().map(BookUpsertResult::getBookId).toList(),
+                updated.stream().map(BookUpsertResult::getBookId).toList());
+        assertEquals("Batched 7 revised", bookRepository.findById(books.get(7).getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void saveAll_WithRedirectOfStoredWork_ShouldUpdateTheStoredBook() {
+        // Arrange
+        long work = System.nanoTime();
+        OpenLibraryWorkKey key = OpenLibraryWorkKey.parse("/works/OL" + work + "W").orElseThrow();
+        OpenLibraryWorkKey redirect = OpenLibraryWorkKey.parse("/works/OL" + (work + 1) + "W").orElseThrow();
+        Book stored = book("Redirected");
+        Book saved = bookRepository.save(Book.reconstitute(stored.getId(), stored.getTitle(), stored.getAuthor(),
+                null, stored.getDescription(), null, stored.getPageCount(), stored.getGenres(), stored.getLanguage(),
+                stored.getPublicationDate(), stored.getPublisher(), key.getValue(),
+                stored.getCreatedAt(), stored.getUpdatedAt()));
+        bookRepository.addOpenLibraryKeyAliases(saved.getId(), List.of(redirect));
+        long before = bookJpaRepository.count();
+
+        // Act
+        List<BookUpsertResult> results = bookRepository.saveAll(List.of(Book.createNewBook("Redirected revised",
+                "Author", null, null, null, null, null, null, null, null, redirect.getValue())));
+
+        // Assert
+        assertEquals(List.of(BookUpsertResult.updated(saved.getId())), results);
+        assertEquals(before, bookJpaRepository.count());
+        Book updated = bookRepository.findByOpenLibraryKey(redirect).orElseThrow();
+        assertEquals(saved.getId(), updated.getId());
+        assertEquals("Redirected revised", updated.getTitle());
+        assertEquals(key.getValue(), updated.getOpenLibraryKey());
+        assertEquals(saved.getId(), bookRepository.findByOpenLibraryKey(key).orElseThrow().getId());
+    }
+
+    @Test
+    void deleteById_ShouldFreeTheKeysOfTheBook() {
+        // Arrange
+        long work = System.nanoTime();
+        OpenLibraryWorkKey key = OpenLibraryWorkKey.parse("/works/OL" + work + "W").orElseThrow();
+        OpenLibraryWorkKey redirect = OpenLibraryWorkKey.parse("/works/OL" + (work + 1) + "W").orElseThrow();
+        Book stored = book("Deleted");
+        Book deleted = bookRepository.save(Book.reconstitute(stored.getId(), stored.getTitle(), stored.getAuthor(),
+                null, stored.getDescription(), null, stored.getPageCount(), stored.getGenres(), stored.getLanguage(),
+                stored.getPublicationDate(), stored.getPublisher(), key.getValue(),
+                stored.getCreatedAt(), stored.getUpdatedAt()));
+        bookRepository.addOpenLibraryKeyAliases(deleted.getId(), List.of(redirect));
+        Book other = bookRepository.save(book("Redirect target after delete"));
+
+        // Act
+        bookRepository.deleteById(deleted.getId());
+        bookRepository.addOpenLibraryKeyAliases(other.getId(), List.of(redirect));
+
+        // Assert
+        assertTrue(bookRepository.findByOpenLibraryKey(key).isEmpty());
+        assertEquals(other.getId(), bookRepository.findByOpenLibraryKey(redirect).orElseThrow().getId());
+    }
+
+    @Test
+    void register_WhileAnotherTransactionRecordsTheSameKey_ShouldKeepTheFirstBook() throws Exception {
+        // Arrange
+        OpenLibraryWorkKey key = OpenLibraryWorkKey.parse("/works/OL" + System.nanoTime() + "W").orElseThrow();
+        Book first = bookRepository.save(book("First redirect target"));
+        Book second = bookRepository.save(book("Second redirect target"));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch inserted = new CountDownLatch(1);
+        ExecutorService other = Executors.newSingleThreadExecutor();
+
+        // Act
+        try {
+            Future<Integer> firstWritten = other.submit(() -> transaction.execute(status -> {
+                int written = keyAliasWriter.register(first.getId().getValue(), List.of(key));
+                inserted.countDown();
+                // Commits only once the second transaction is waiting on the uncommitted alias
+                sleep(Duration.ofMillis(300));
+                return written;
+            }));
+            assertTrue(inserted.await(10, TimeUnit.SECONDS));
+            transaction.executeWithoutResult(status ->
+                    keyAliasWriter.register(second.getId().getValue(), List.of(key)));
+
+            // Assert
+            assertEquals(1, firstWritten.get(10, TimeUnit.SECONDS));
+        } finally {
+            other.shutdownNow();
+        }
+        assertEquals(first.getId(), bookRepository.findByOpenLibraryKey(key).orElseThrow().getId());
+    }
+
+    @Test
+    void findById_ShouldReadCachedBooksWithoutStatementsAndSeeTheirWrites() {
+        // Arrange
+        Book saved = bookRepository.save(book("Cached"));
+        bookRepository.findById(saved.getId());
+        long hitsBefore = cacheRegions.getStats(BookCacheRegions.BOOKS).hitCount();
+        statistics.clear();
+
+        // Act
+        Book cached = bookRepository.findById(saved.getId()).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+        saved.updateDetails("Cached revised", null, null, null, null, null, null, null, null, null, null);
+        bookRepository.save(saved);
+        Book updated = bookRepository.findById(saved.getId()).orElseThrow();
+        bookRepository.deleteById(saved.getId());
+
+        // Assert
+        assertEquals("Cached", cached.getTitle());
+        assertEquals(0, statements);
+        assertTrue(cacheRegions.getStats(BookCacheRegions.BOOKS).hitCount() > hitsBefore);
+        assertEquals("Cached revised", updated.getTitle());
+        assertTrue(bookRepository.findById(saved.getId()).isEmpty());
+    }
+
+    @Test
+    void applyRefresh_ShouldKeepBooksCachedAndTheirUpdateTimes() {
+        // Arrange
+        long work = System.nanoTime();
+        Book stored = book("Refreshed");
+        Book refreshed = bookRepository.save(Book.reconstitute(stored.getId(), stored.getTitle(), stored.getAuthor(),
+                null, stored.getDescription(), null, stored.getPageCount(), stored.getGenres(), stored.getLanguage(),
+                stored.getPublicationDate(), stored.getPublisher(), "/works/OL" + work + "W",
+                stored.getCreatedAt(), stored.getUpdatedAt()));
+        Book other = bookRepository.save(book("Not refreshed"));
+        // Read back at the precision of the column
+        entityManagerFactory.getCache().evict(BookJpaEntity.class, refreshed.getId().getValue());
+        LocalDateTime updatedAt = bookJpaRepository.findById(refreshed.getId().getValue()).orElseThrow().getUpdatedAt();
+        bookRepository.findById(refreshed.getId());
+        bookRepository.findById(other.getId());
+        LocalDateTime refreshedAt = LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+
+        // Act
+        metadataWriter.applyRefresh(Map.of(refreshed.getOpenLibraryKey(), BookMetadata.EMPTY), refreshedAt);
+        statistics.clear();
+        bookRepository.findById(refreshed.getId());
+        bookRepository.findById(other.getId());
+        long statements = statistics.getPrepareStatementCount();
+
+        // Assert
+        assertEquals(0, statements);
+        BookJpaEntity entity = bookJpaRepository.findById(refreshed.getId().getValue()).orElseThrow();
+        assertEquals(refreshedAt, entity.getMetadataRefreshedAt());
+        assertEquals(updatedAt, entity.getUpdatedAt());
+        bookRepository.deleteById(refreshed.getId());
+        bookRepository.deleteById(other.getId());
+    }
+
+    @Test
+    void findByIsbn_ShouldAnswerRepeatedLookupsFromTheQueryCache() {
+        // Arrange
+        Book saved = bookRepository.save(book("Query cached"));
+        bookRepository.findByIsbn(saved.getIsbn());
+        statistics.clear();
+
+        // Act
+        Book cached = bookRepository.findByIsbn(saved.getIsbn()).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+        bookRepository.deleteById(saved.getId());
+
+        // Assert
+        assertEquals(saved.getId(), cached.getId());
+        assertEquals(0, statements);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertTrue(bookRepository.findByIsbn(saved.getIsbn()).isEmpty());
+    }
+
+    @Test
+    void save_ShouldNotRewriteUnchangedLists() {
+        // Arrange
+        Book saved = bookRepository.save(book("Unchanged lists"));
+        statistics.clear();
+
+        // Act
+        bookRepository.save(saved);
+
+        // Assert
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        assertEquals(0, statistics.getCollectionRemoveCount());
+    }
+
+    @Test
+    void migrateAll_ShouldMoveNormalizedRowsIntoTheListsColumn() {
+        // Arrange
+        Book legacy = book("Legacy");
+        JpaBookRepositoryAdapter normalized =
+                new JpaBookRepositoryAdapter(bookJpaRepository, keyAliasWriter, BookListStorage.NORMALIZED, changeNotifier,
+                        counters);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> normalized.save(legacy));
+        assertNull(bookJpaRepository.findById(legacy.getId().getValue()).orElseThrow().getLists());
+
+        // Act
+        long migrated = migrator.migrateAll();
+
+        // Assert
+        assertTrue(migrated >= 1);
+        statistics.clear();
+        Book read = bookRepository.findById(legacy.getId()).orElseThrow();
+        assertEquals(legacy.getIsbn(), read.getIsbn());
+        assertEquals(List.of("Fiction", "Adventure"), read.getGenres());
+        assertEquals("eng", read.getLanguage());
+        assertEquals("Publisher", read.getPublisher());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(legacy.getId(), bookRepository.findByIsbn(legacy.getIsbn()).orElseThrow().getId());
+        assertEquals(1, bookRepository.findByGenre("Adventure").stream()
+                .filter(book -> book.getId().equals(legacy.getId())).count());
+    }
+}
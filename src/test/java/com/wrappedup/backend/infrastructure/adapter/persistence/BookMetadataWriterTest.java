@@ -0,0 +1,136 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookRefreshCandidate;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookMetadataWriterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Mock
+    private BookJpaRepository bookJpaRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private BookChangeNotifier changeNotifier;
+
+    private BookMetadataWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new BookMetadataWriter(bookJpaRepository, changeNotifier);
+        ReflectionTestUtils.setField(writer, "entityManager", entityManager);
+    }
+
+    private static BookRefreshCandidate candidate(UUID id, String key) {
+        return new BookRefreshCandidate() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getOpenLibraryKey() {
+                return key;
+            }
+        };
+    }
+
+    private static BookJpaEntity entity(String key, Integer ratingsCount) {
+        BookJpaEntity entity = new BookJpaEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setOpenLibraryKey(key);
+        entity.setTitle("Dune");
+        entity.setRatingsCount(ratingsCount);
+        return entity;
+    }
+
+    @Test
+    void findRefreshCandidates_ShouldPutStalePreferredBooksFirst_InPreferredOrder() {
+        // Arrange
+        UUID viewedA = UUID.randomUUID();
+        UUID viewedB = UUID.randomUUID();
+        UUID oldest = UUID.randomUUID();
+        when(bookJpaRepository.findStaleAmong(List.of(viewedA, viewedB), NOW))
+                .thenReturn(List.of(candidate(viewedB, "/works/OL2W"), candidate(viewedA, "/works/OL1W")));
+        when(bookJpaRepository.findStalest(eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(candidate(viewedB, "/works/OL2W"), candidate(oldest, "/works/OL3W")));
+
+        // Act
+        List<BookRefreshCandidate> candidates = writer.findRefreshCandidates(List.of(viewedA, viewedB), NOW, 3);
+
+        // Assert
+        assertEquals(List.of(viewedA, viewedB, oldest), candidates.stream().map(BookRefreshCandidate::getId).toList());
+    }
+
+    @Test
+    void findRefreshCandidates_ShouldSkipStalestQuery_WhenPreferredBooksFillTheBatch() {
+        UUID viewed = UUID.randomUUID();
+        when(bookJpaRepository.findStaleAmong(List.of(viewed), NOW)).thenReturn(List.of(candidate(viewed, "/works/OL1W")));
+
+        List<BookRefreshCandidate> candidates = writer.findRefreshCandidates(List.of(viewed), NOW, 1);
+
+        assertEquals(1, candidates.size());
+        verify(bookJpaRepository, never()).findStalest(any(), any());
+    }
+
+    @Test
+    void applyRefresh_ShouldUpdateChangedBooks_AndOnlyMarkUnchangedOnes() {
+        // Arrange
+        BookJpaEntity changed = entity("/works/OL1W", 10);
+        BookJpaEntity unchanged = entity("/works/OL2W", 20);
+        when(bookJpaRepository.findByOpenLibraryKeyIn(anyCollection())).thenReturn(List.of(changed, unchanged));
+
+        // Act
+        int result = writer.applyRefresh(Map.of(
+                "/works/OL1W", BookMetadata.builder().ratingsCount(11).build(),
+                "/works/OL2W", BookMetadata.builder().ratingsCount(20).title("Dune").build()), NOW);
+
+        // Assert
+        assertEquals(1, result);
+        assertEquals(11, changed.getRatingsCount());
+        assertEquals(NOW, changed.getMetadataRefreshedAt());
+        assertEquals(NOW, unchanged.getMetadataRefreshedAt());
+        assertTrue(unchanged.isRefreshOnly());
+        assertFalse(changed.isRefreshOnly());
+        verify(changeNotifier).saved(List.of(changed));
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void applyTo_ShouldKeepStoredValues_ForUnknownFields() {
+        BookJpaEntity entity = entity("/works/OL1W", 10);
+        entity.setDescription("Stored description");
+
+        boolean changed = BookMetadata.builder().coverId(42L).coverUrl("https://covers/42-L.jpg").build().applyTo(entity);
+
+        assertTrue(changed);
+        assertEquals("Stored description", entity.getDescription());
+        assertEquals(10, entity.getRatingsCount());
+        assertEquals(42L, entity.getCoverId());
+        assertFalse(BookMetadata.EMPTY.applyTo(entity));
+    }
+}
@@ -0,0 +1,186 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.CounterJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookReviewCountRow;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.CounterJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.GenreCountRow;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.ReviewJpaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CountersTest {
+
+    @Mock
+    private CounterJpaRepository counterJpaRepository;
+
+    @Mock
+    private BookJpaRepository bookJpaRepository;
+
+    @Mock
+    private ReviewJpaRepository reviewJpaRepository;
+
+    private Counters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new Counters(counterJpaRepository, bookJpaRepository, reviewJpaRepository,
+                Duration.ofSeconds(30), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void add_FromManyThreads_ShouldCountEveryChange() throws InterruptedException {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> counters.add(Counters.BOOKS, 1));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(10_000, counters.get(Counters.BOOKS));
+        assertEquals(0, counters.get(Counters.booksInGenre("Unknown")));
+    }
+
+    @Test
+    void add_InATransaction_ShouldCountOnlyAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        counters.add(Counters.BOOKS, 1);
+        long beforeCommit = counters.get(Counters.BOOKS);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(0, beforeCommit);
+        assertEquals(1, counters.get(Counters.BOOKS));
+    }
+
+    @Test
+    void addBookChange_ShouldCountInsertsDeletesAndGenreChanges() {
+        // Arrange
+        Map<String, Long> deltas = new HashMap<>();
+
+        // Act
+        Counters.addBookChange(deltas, null, List.of("Fantasy", "Fiction"));
+        Counters.addBookChange(deltas, List.of("Fiction"), List.of("Fiction", "Horror"));
+        Counters.addBookChange(deltas, List.of("Fantasy"), null);
+
+        // Assert
+        assertEquals(Map.of(
+                Counters.BOOKS, 0L,
+                Counters.booksInGenre("Fiction"), 1L,
+                Counters.booksInGenre("Horror"), 1L,
+                Counters.booksInGenre("Fantasy"), 0L), deltas);
+    }
+
+    @Test
+    void load_ShouldAddCheckpointToChangesSinceStart() {
+        // Arrange
+        counters.add(Counters.BOOKS, 2);
+        when(counterJpaRepository.findAll())
+                .thenReturn(List.of(new CounterJpaEntity(Counters.BOOKS, 40, LocalDateTime.now())));
+
+        // Act
+        counters.load();
+
+        // Assert
+        assertTrue(counters.isReady());
+        assertEquals(42, counters.get(Counters.BOOKS));
+    }
+
+    @Test
+    void checkpoint_ShouldWriteOnlyChangedCounts() {
+        // Arrange
+        when(counterJpaRepository.findAll()).thenReturn(List.of());
+        counters.load();
+        counters.add(Counters.BOOKS, 3);
+        when(bookJpaRepository.count()).thenReturn(3L);
+        counters.reconcile();
+
+        // Act
+        counters.checkpoint();
+        counters.checkpoint();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CounterJpaEntity>> rows = ArgumentCaptor.forClass(List.class);
+        verify(counterJpaRepository, times(1)).saveAll(rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals(Counters.BOOKS, rows.getValue().get(0).getName());
+        assertEquals(3, rows.getValue().get(0).getValue());
+    }
+
+    @Test
+    void checkpoint_BeforeLoading_ShouldNotOverwriteStoredCounts() {
+        // Arrange
+        counters.add(Counters.BOOKS, 1);
+
+        // Act
+        counters.checkpoint();
+
+        // Assert
+        verify(counterJpaRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDriftedAndVanishedCounts() {
+        // Arrange
+        UUID bookId = UUID.randomUUID();
+        counters.add(Map.of(Counters.BOOKS, 5L, Counters.booksInGenre("Gone"), 2L));
+        GenreCountRow fiction = mock(GenreCountRow.class);
+        when(fiction.getGenre()).thenReturn("Fiction");
+        when(fiction.getBookCount()).thenReturn(4L);
+        BookReviewCountRow reviews = mock(BookReviewCountRow.class);
+        when(reviews.getBookId()).thenReturn(bookId);
+        when(reviews.getReviewCount()).thenReturn(2L);
+        when(bookJpaRepository.count()).thenReturn(6L);
+        when(bookJpaRepository.countByGenres()).thenReturn(List.of(fiction));
+        when(reviewJpaRepository.countPublicByBook()).thenReturn(List.of(reviews));
+
+        // Act
+        int corrected = counters.reconcile();
+
+        // Assert
+        assertEquals(4, corrected);
+        assertTrue(counters.isReady());
+        assertEquals(6, counters.get(Counters.BOOKS));
+        assertEquals(4, counters.get(Counters.booksInGenre("Fiction")));
+        assertEquals(0, counters.get(Counters.booksInGenre("Gone")));
+        assertEquals(2, counters.get(Counters.publicReviewsOf(bookId)));
+        assertEquals(0, counters.reconcile());
+    }
+}
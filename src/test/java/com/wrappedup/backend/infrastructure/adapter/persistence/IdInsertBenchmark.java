@@ -0,0 +1,130 @@
+package com.wrappedup.backend.infrastructure.adapter.persistence;
+
+import com.wrappedup.backend.WrappedUpBackendApplication;
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.Review;
+import com.wrappedup.backend.domain.model.ReviewId;
+import com.wrappedup.backend.domain.model.UserId;
+import com.wrappedup.backend.domain.port.out.BookRepository;
+import com.wrappedup.backend.domain.port.out.ReviewRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares inserting books and reviews with random (version 4), time-ordered (version 7) and
+ * OpenLibrary work (name-based version 5) ids.
+ *
+ * {@code insertBooks} inserts a batch of 100 books like {@code POST /api/books/batch},
+ * {@code insertReview} inserts one review. Both keep inserting, so the tables grow over the run.
+ * Books with an OpenLibrary work key get the name-based id of the work, which is what most
+ * imported and searched books have; reviews never do, so their work key case uses time-ordered ids.
+ * The embedded database hardly shows the difference; the point is the clustered primary key of
+ * InnoDB, so run {@link #main} from the IDE with the test classpath and
+ * {@code -Dspring.datasource.url=jdbc:mysql://...} plus the user and password of a scratch
+ * database, and compare the later iterations of both ids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    public enum Ids {
+        RANDOM, TIME_ORDERED, OPENLIBRARY_WORK
+    }
+
+    @Param({"RANDOM", "TIME_ORDERED", "OPENLIBRARY_WORK"})
+    private Ids ids;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private ReviewRepository reviewRepository;
+    private long books;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(WrappedUpBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "persistence.books.cache.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.wrappedup=WARN",
+                        "jwt.secret=404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970",
+                        "jwt.expiration=86400000")
+                .run();
+        bookRepository = context.getBean(BookRepository.class);
+        reviewRepository = context.getBean(ReviewRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int insertBooks() {
+        List<Book> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(book(books++));
+        }
+        return bookRepository.saveAll(batch).size();
+    }
+
+    @Benchmark
+    public Review insertReview() {
+        LocalDateTime now = LocalDateTime.now();
+        UUID id = ids == Ids.RANDOM ? UUID.randomUUID() : ReviewId.generate().getValue();
+        return reviewRepository.save(Review.reconstitute(ReviewId.fromUUID(id), UserId.generate(),
+                BookId.generate(), 4, "A review", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1),
+                true, now, now));
+    }
+
+    private Book book(long i) {
+        LocalDateTime now = LocalDateTime.now();
+        String workKey = ids == Ids.OPENLIBRARY_WORK ? "/works/OL" + (i + 1) + "W" : null;
+        BookId id = switch (ids) {
+            case RANDOM -> BookId.of(UUID.randomUUID());
+            case TIME_ORDERED -> BookId.generate();
+            case OPENLIBRARY_WORK -> BookId.forOpenLibraryKey(workKey);
+        };
+        return Book.reconstitute(id, "Book " + i, "Author " + i, null, "Description",
+                null, 300, List.of("Fiction"), "eng", LocalDate.of(2001, 1, 1), "Publisher",
+                workKey, now, now);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdInsertBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
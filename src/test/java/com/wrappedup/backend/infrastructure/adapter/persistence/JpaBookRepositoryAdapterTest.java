@@ -2,12 +2,23 @@ package com.wrappedup.backend.infrastructure.adapter.persistence;
 
 import com.wrappedup.backend.domain.exception.BookPersistenceException;
 import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookCursor;
 import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.model.BookSummary;
+import com.wrappedup.backend.domain.model.BookSummaryPage;
+import com.wrappedup.backend.domain.model.BookUpsertResult;
+import com.wrappedup.backend.domain.model.OpenLibraryWorkKey;
 import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookIsbnRow;
 import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookKeyAliasRow;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookSummaryKeysetRow;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookSummaryRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -15,6 +26,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -22,11 +34,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -36,9 +53,26 @@ class JpaBookRepositoryAdapterTest {
     @Mock
     private BookJpaRepository bookJpaRepository;
 
-    @InjectMocks
+    @Mock
+    private BookKeyAliasWriter keyAliasWriter;
+
+    @Mock
+    private BookChangeNotifier changeNotifier;
+
+    @Mock
+    private Counters counters;
+
+    @Mock
+    private EntityManager entityManager;
+
     private JpaBookRepositoryAdapter adapter;
 
+    @BeforeEach
+    void setUp() {
+        adapter = new JpaBookRepositoryAdapter(bookJpaRepository, keyAliasWriter, BookListStorage.COMPACT, changeNotifier, counters);
+        ReflectionTestUtils.setField(adapter, "entityManager", entityManager);
+    }
+
     @Test
     void save_ShouldReturnSavedBook_WhenBookIsSaved() {
         // Arrange
@@ -59,6 +93,119 @@ class JpaBookRepositoryAdapterTest {
         verify(bookJpaRepository).save(any(BookJpaEntity.class));
     }
     
+    @Test
+    void saveAll_ShouldInsertNewBooksAndUpdateStoredOnesInPlace() {
+        // Arrange
+        Book byKey = createNewBook("/works/OL1W", "1111111111");
+        Book byIsbn = createNewBook(null, "2222222222");
+        Book created = createNewBook("/works/OL3W", "3333333333");
+        Book repeated = createNewBook("/works/OL3W", null);
+        UUID storedByKeyId = UUID.randomUUID();
+        UUID storedByIsbnId = UUID.randomUUID();
+        BookJpaEntity storedByKey = createStoredBookEntity(storedByKeyId, byKey.getOpenLibraryKey());
+        BookJpaEntity storedByIsbn = createStoredBookEntity(storedByIsbnId, null);
+        BookIsbnRow isbnRow = mock(BookIsbnRow.class);
+        when(isbnRow.getIsbn()).thenReturn("2222222222");
+        when(isbnRow.getBookId()).thenReturn(storedByIsbnId);
+        when(bookJpaRepository.findByOpenLibraryKeyIn(any())).thenReturn(List.of(storedByKey));
+        when(bookJpaRepository.findIdsByIsbnIn(any())).thenReturn(List.of(isbnRow));
+        when(bookJpaRepository.findAllById(Set.of(storedByIsbnId))).thenReturn(List.of(storedByIsbn));
+        
+        // Act
+        List<BookUpsertResult> results = adapter.saveAll(List.of(byKey, byIsbn, created, repeated));
+        
+        // Assert
+        assertEquals(List.of(
+                BookUpsertResult.updated(BookId.of(storedByKeyId)),
+                BookUpsertResult.updated(BookId.of(storedByIsbnId)),
+                BookUpsertResult.created(created.getId()),
+                BookUpsertResult.updated(created.getId())), results);
+        assertEquals(byKey.getTitle(), storedByKey.getTitle());
+        verify(entityManager, times(1)).persist(any(BookJpaEntity.class));
+        verify(entityManager).flush();
+        verify(bookJpaRepository, never()).save(any(BookJpaEntity.class));
+        verify(changeNotifier).saved(argThat(written -> written.size() == 3));
+    }
+    
+    @Test
+    void saveAll_WithIsbnOfBookWithOtherKey_ShouldInsertBook() {
+        // Arrange
+        Book book = createNewBook("/works/OL1W", "1111111111");
+        UUID storedId = UUID.randomUUID();
+        BookIsbnRow isbnRow = mock(BookIsbnRow.class);
+        when(isbnRow.getIsbn()).thenReturn("1111111111");
+        when(isbnRow.getBookId()).thenReturn(storedId);
+        when(bookJpaRepository.findByOpenLibraryKeyIn(any())).thenReturn(List.of());
+        when(bookJpaRepository.findIdsByIsbnIn(any())).thenReturn(List.of(isbnRow));
+        when(bookJpaRepository.findAllById(Set.of(storedId)))
+                .thenReturn(List.of(createStoredBookEntity(storedId, "/works/OL2W")));
+        
+        // Act
+        List<BookUpsertResult> results = adapter.saveAll(List.of(book));
+        
+        // Assert
+        assertEquals(List.of(BookUpsertResult.created(book.getId())), results);
+        verify(entityManager).persist(any(BookJpaEntity.class));
+    }
+    
+    @Test
+    void saveAll_WithRedirectOfStoredWork_ShouldUpdateStoredBook() {
+        // Arrange
+        Book book = createNewBook("/works/OL2W", null);
+        UUID storedId = UUID.randomUUID();
+        BookJpaEntity stored = createStoredBookEntity(storedId, "/works/OL1W");
+        BookKeyAliasRow aliasRow = mock(BookKeyAliasRow.class);
+        when(aliasRow.getAlias()).thenReturn("/works/OL2W");
+        when(aliasRow.getBookId()).thenReturn(storedId);
+        when(bookJpaRepository.findByOpenLibraryKeyIn(any())).thenReturn(List.of());
+        when(bookJpaRepository.findIdsByKeyAliasIn(Set.of("/works/OL2W"))).thenReturn(List.of(aliasRow));
+        when(bookJpaRepository.findAllById(Set.of(storedId))).thenReturn(List.of(stored));
+        
+        // Act
+        List<BookUpsertResult> results = adapter.saveAll(List.of(book));
+        
+        // Assert
+        assertEquals(List.of(BookUpsertResult.updated(BookId.of(storedId))), results);
+        assertEquals("/works/OL1W", stored.getOpenLibraryKey());
+        assertEquals(List.of("/works/OL2W"), stored.getLists().getRedirects());
+        assertEquals(book.getTitle(), stored.getTitle());
+        verify(entityManager, never()).persist(any());
+    }
+    
+    @Test
+    void saveAll_WhenFlushFails_ShouldThrowPersistenceException() {
+        // Arrange
+        Book book = createNewBook(null, null);
+        doThrow(new PersistenceException("Duplicate entry")).when(entityManager).flush();
+        
+        // Act & Assert
+        assertThrows(BookPersistenceException.class, () -> adapter.saveAll(List.of(book)));
+        verify(counters, never()).add(anyMap());
+    }
+    
+    @Test
+    void save_ShouldCountNewBooksAndChangedGenres() {
+        // Arrange
+        UUID newId = UUID.randomUUID();
+        UUID storedId = UUID.randomUUID();
+        BookJpaEntity stored = createTestBookEntity(storedId);
+        stored.setIsbns(new ArrayList<>(stored.getIsbns()));
+        stored.setGenres(new ArrayList<>(List.of("fantasy", "horror")));
+        stored.setLanguages(new ArrayList<>(stored.getLanguages()));
+        stored.setPublishers(new ArrayList<>(stored.getPublishers()));
+        when(bookJpaRepository.findById(newId)).thenReturn(Optional.empty());
+        when(bookJpaRepository.findById(storedId)).thenReturn(Optional.of(stored));
+        when(bookJpaRepository.save(any(BookJpaEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // Act
+        adapter.save(createTestBook(newId));
+        adapter.save(createTestBook(storedId));
+        
+        // Assert
+        verify(counters).add(Map.of(Counters.BOOKS, 1L, Counters.booksInGenre("fantasy"), 1L));
+        verify(counters).add(Map.of(Counters.booksInGenre("horror"), -1L));
+    }
+    
     @Test
     void save_ShouldThrowBookPersistenceException_WhenDataIntegrityViolationOccurs() {
         // Arrange
@@ -211,15 +358,23 @@ class JpaBookRepositoryAdapterTest {
     }
 
     @Test
-    void deleteById_ShouldDeleteBook() {
+    void deleteById_ShouldDeleteBookAndUncountIt() {
         // Arrange
         UUID id = UUID.randomUUID();
+        BookJpaEntity entity = createTestBookEntity(id);
+        entity.setGenres(new ArrayList<>(List.of("Fiction", "Fantasy")));
+        when(bookJpaRepository.findById(id)).thenReturn(Optional.of(entity));
         
         // Act
         adapter.deleteById(BookId.of(id.toString()));
         
         // Assert
-        verify(bookJpaRepository).deleteById(id);
+        verify(bookJpaRepository).delete(entity);
+        verify(keyAliasWriter).unregister(id);
+        verify(counters).add(Map.of(Counters.BOOKS, -1L,
+                Counters.booksInGenre("Fiction"), -1L,
+                Counters.booksInGenre("Fantasy"), -1L));
+        verify(changeNotifier).deleted(List.of(id));
     }
 
     @Test
@@ -273,6 +428,104 @@ class JpaBookRepositoryAdapterTest {
         verify(bookJpaRepository).findAll(eq(PageRequest.of(page, size)));
     }
 
+    @Test
+    void findSummaries_ShouldMapProjectedRows() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        BookSummaryRow row = mock(BookSummaryRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getTitle()).thenReturn("Test Book");
+        when(row.getAuthor()).thenReturn("Test Author");
+        when(row.getCoverUrl()).thenReturn("https://covers.openlibrary.org/b/id/1-M.jpg");
+        when(row.getFirstPublishYear()).thenReturn(2001);
+        when(row.getOpenLibraryKey()).thenReturn("/works/OL1W");
+        when(bookJpaRepository.findSummariesBy(any(Pageable.class))).thenReturn(List.of(row));
+        
+        // Act
+        List<BookSummary> result = adapter.findSummaries(2, 5);
+        
+        // Assert
+        assertEquals(List.of(new BookSummary(BookId.of(id), "Test Book", "Test Author",
+                "https://covers.openlibrary.org/b/id/1-M.jpg", 2001, "/works/OL1W")), result);
+        verify(bookJpaRepository).findSummariesBy(eq(PageRequest.of(2, 5)));
+        verify(bookJpaRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void findSummaryPage_WithMoreRows_ShouldReturnCursorOfLastBookOfPage() {
+        // Arrange
+        BookCursor after = BookCursor.of(LocalDateTime.of(2024, 1, 1, 0, 0), BookId.generate());
+        List<BookSummaryKeysetRow> rows = List.of(
+                keysetRow(UUID.randomUUID(), LocalDateTime.of(2024, 1, 2, 0, 0)),
+                keysetRow(UUID.randomUUID(), LocalDateTime.of(2024, 1, 3, 0, 0)),
+                keysetRow(UUID.randomUUID(), LocalDateTime.of(2024, 1, 4, 0, 0)));
+        when(bookJpaRepository.findKeysetPageAfter(after.getCreatedAt(), after.getBookId().getValue(),
+                PageRequest.of(0, 3))).thenReturn(rows);
+        
+        // Act
+        BookSummaryPage page = adapter.findSummaryPage(after, 2);
+        
+        // Assert
+        assertEquals(2, page.getBooks().size());
+        assertEquals(Optional.of(BookCursor.of(LocalDateTime.of(2024, 1, 3, 0, 0), BookId.of(rows.get(1).getId()))),
+                page.getNextCursor());
+        verify(bookJpaRepository, never()).findSummariesBy(any(Pageable.class));
+    }
+
+    @Test
+    void findSummaryPage_WithoutCursorOnLastPage_ShouldReturnNoCursor() {
+        // Arrange
+        List<BookSummaryKeysetRow> rows = List.of(keysetRow(UUID.randomUUID(), LocalDateTime.now()));
+        when(bookJpaRepository.findKeysetPage(PageRequest.of(0, 3))).thenReturn(rows);
+        
+        // Act
+        BookSummaryPage page = adapter.findSummaryPage(null, 2);
+        
+        // Assert
+        assertEquals(1, page.getBooks().size());
+        assertTrue(page.getNextCursor().isEmpty());
+    }
+
+    @Test
+    void forEachSummary_ShouldPassEveryStreamedRowAndCloseTheStream() {
+        // Arrange
+        List<BookSummaryKeysetRow> rows = List.of(
+                keysetRow(UUID.randomUUID(), LocalDateTime.now()),
+                keysetRow(UUID.randomUUID(), LocalDateTime.now()));
+        AtomicBoolean closed = new AtomicBoolean();
+        when(bookJpaRepository.streamKeysetOrdered()).thenReturn(rows.stream().onClose(() -> closed.set(true)));
+        List<BookId> seen = new ArrayList<>();
+        
+        // Act
+        adapter.forEachSummary(summary -> seen.add(summary.getId()));
+        
+        // Assert
+        assertEquals(List.of(BookId.of(rows.get(0).getId()), BookId.of(rows.get(1).getId())), seen);
+        assertTrue(closed.get());
+    }
+
+    private static BookSummaryKeysetRow keysetRow(UUID id, LocalDateTime createdAt) {
+        BookSummaryKeysetRow row = mock(BookSummaryKeysetRow.class);
+        // Rows past the page and before its last one are never fully read
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getTitle()).thenReturn("Title " + id);
+        lenient().when(row.getCreatedAt()).thenReturn(createdAt);
+        return row;
+    }
+
+    @Test
+    void findSummariesByGenre_ShouldQueryProjection() {
+        // Arrange
+        when(bookJpaRepository.findSummariesByGenre("Fiction")).thenReturn(Collections.emptyList());
+        
+        // Act
+        List<BookSummary> result = adapter.findSummariesByGenre("Fiction");
+        
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(bookJpaRepository, never()).findByGenre(any());
+    }
+
     @Test
     void count_ShouldReturnNumberOfBooks() {
         // Arrange
@@ -288,6 +541,20 @@ class JpaBookRepositoryAdapterTest {
         verify(bookJpaRepository).count();
     }
 
+    @Test
+    void count_WhenCountersReady_ShouldNotQuery() {
+        // Arrange
+        when(counters.isReady()).thenReturn(true);
+        when(counters.get(Counters.BOOKS)).thenReturn(42L);
+        when(counters.get(Counters.booksInGenre("Fiction"))).thenReturn(7L);
+        
+        // Act & Assert
+        assertEquals(42, adapter.count());
+        assertEquals(7, adapter.countByGenre("Fiction"));
+        verify(bookJpaRepository, never()).count();
+        verify(bookJpaRepository, never()).countByGenre(any());
+    }
+
     @Test
     void findByOpenLibraryKey_ShouldReturnBook_WhenBookExists() {
         // Arrange
@@ -296,18 +563,96 @@ class JpaBookRepositoryAdapterTest {
         BookJpaEntity entity = createTestBookEntity(id);
         entity.setOpenLibraryKey(openLibraryKey);
         
-        when(bookJpaRepository.findByOpenLibraryKey(openLibraryKey)).thenReturn(Optional.of(entity));
+        when(bookJpaRepository.findByKeyAlias(openLibraryKey)).thenReturn(Optional.of(entity));
         
         // Act
-        Optional<Book> result = adapter.findByOpenLibraryKey(openLibraryKey);
+        Optional<Book> result = adapter.findByOpenLibraryKey(OpenLibraryWorkKey.of("ol123w"));
         
         // Assert
         assertTrue(result.isPresent());
         assertEquals(id.toString(), result.get().getId().getValue().toString());
         assertEquals(openLibraryKey, result.get().getOpenLibraryKey());
-        verify(bookJpaRepository).findByOpenLibraryKey(openLibraryKey);
+        verify(bookJpaRepository).findByKeyAlias(openLibraryKey);
     }
 
+    @Test
+    void mapToJpaEntity_InCompactStorage_ShouldKeepOnlyLookupListsInTables() {
+        // Arrange
+        Book book = createTestBook(UUID.randomUUID());
+        book.addOpenLibraryKeyAliases(List.of("OL9W"));
+        
+        // Act
+        BookJpaEntity entity = adapter.mapToJpaEntity(book);
+        
+        // Assert
+        assertEquals(List.of("1234567890"), entity.getIsbns());
+        assertEquals(List.of("fantasy"), entity.getGenres());
+        assertTrue(entity.getLanguages().isEmpty());
+        assertTrue(entity.getPublishers().isEmpty());
+        assertTrue(entity.getRedirects().isEmpty());
+        assertEquals(List.of("1234567890"), entity.getLists().getIsbns());
+        assertEquals(List.of("en"), entity.getLists().getLanguages());
+        assertEquals(List.of("Test Publisher"), entity.getLists().getPublishers());
+        assertEquals(List.of("/works/OL9W"), entity.getLists().getRedirects());
+    }
+    
+    @Test
+    void mapToJpaEntity_InNormalizedStorage_ShouldWriteTables() {
+        // Arrange
+        adapter = new JpaBookRepositoryAdapter(bookJpaRepository, keyAliasWriter, BookListStorage.NORMALIZED, changeNotifier, counters);
+        
+        // Act
+        BookJpaEntity entity = adapter.mapToJpaEntity(createTestBook(UUID.randomUUID()));
+        
+        // Assert
+        assertNull(entity.getLists());
+        assertEquals(List.of("en"), entity.getLanguages());
+        assertEquals(List.of("Test Publisher"), entity.getPublishers());
+    }
+    
+    @Test
+    void findById_ShouldReadCompactRows_FromListsColumn() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        BookJpaEntity entity = adapter.mapToJpaEntity(createTestBook(id));
+        entity.setIsbns(null);
+        entity.setGenres(null);
+        when(bookJpaRepository.findById(id)).thenReturn(Optional.of(entity));
+        
+        // Act
+        Book result = adapter.findById(BookId.of(id)).orElseThrow();
+        
+        // Assert
+        assertEquals("1234567890", result.getIsbn());
+        assertEquals(List.of("fantasy"), result.getGenres());
+        assertEquals("en", result.getLanguage());
+        assertEquals("Test Publisher", result.getPublisher());
+    }
+    
+    @Test
+    void save_ShouldUpdateStoredBookInPlace_AndMoveItsListsOutOfTheTables() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        BookJpaEntity stored = createTestBookEntity(id);
+        stored.setIsbns(new ArrayList<>(List.of("1234567890")));
+        stored.setLanguages(new ArrayList<>(List.of("en")));
+        stored.setPublishers(new ArrayList<>(List.of("Test Publisher")));
+        stored.setSubjects(new ArrayList<>(List.of("Dragons")));
+        List<String> storedIsbns = stored.getIsbns();
+        when(bookJpaRepository.findById(id)).thenReturn(Optional.of(stored));
+        when(bookJpaRepository.save(stored)).thenReturn(stored);
+        
+        // Act
+        adapter.save(createTestBook(id));
+        
+        // Assert
+        assertSame(storedIsbns, stored.getIsbns());
+        assertTrue(stored.getLanguages().isEmpty());
+        assertTrue(stored.getSubjects().isEmpty());
+        assertEquals(List.of("Dragons"), stored.getLists().getSubjects());
+        assertEquals(List.of("en"), stored.getLists().getLanguages());
+    }
+    
     private Book createTestBook(UUID id) {
         return Book.reconstitute(
                 BookId.of(id.toString()),
@@ -327,6 +672,21 @@ class JpaBookRepositoryAdapterTest {
         );
     }
 
+    private Book createNewBook(String openLibraryKey, String isbn) {
+        return Book.createNewBook("Batch Book", "Batch Author", isbn, null, null, null,
+                List.of("fantasy"), null, null, null, openLibraryKey);
+    }
+
+    private BookJpaEntity createStoredBookEntity(UUID id, String openLibraryKey) {
+        BookJpaEntity entity = createTestBookEntity(id);
+        entity.setOpenLibraryKey(openLibraryKey);
+        entity.setIsbns(new ArrayList<>(entity.getIsbns()));
+        entity.setGenres(new ArrayList<>(entity.getGenres()));
+        entity.setLanguages(new ArrayList<>(entity.getLanguages()));
+        entity.setPublishers(new ArrayList<>(entity.getPublishers()));
+        return entity;
+    }
+
     private BookJpaEntity createTestBookEntity(UUID id) {
         BookJpaEntity entity = new BookJpaEntity();
         entity.setId(id);
@@ -20,11 +20,13 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +38,9 @@ class JpaReviewRepositoryAdapterTest {
     @Mock
     private EntityManager entityManager;
 
+    @Mock
+    private Counters counters;
+
     @InjectMocks
     private JpaReviewRepositoryAdapter adapter;
 
@@ -61,7 +66,7 @@ class JpaReviewRepositoryAdapterTest {
     @Test
     void save_ShouldReturnSavedReview_WhenSavingNewReview() {
         // Arrange
-        when(jpaRepository.existsById(reviewId)).thenReturn(false);
+        when(jpaRepository.findById(reviewId)).thenReturn(Optional.empty());
         when(jpaRepository.save(any(ReviewJpaEntity.class))).thenReturn(testJpaEntity);
         
         // Act
@@ -77,12 +82,15 @@ class JpaReviewRepositoryAdapterTest {
         verify(jpaRepository).save(any(ReviewJpaEntity.class));
         verify(entityManager, never()).merge(any());
         verify(entityManager, never()).flush();
+        verify(counters).add(Map.of(Counters.publicReviewsOf(bookId), 1L));
     }
     
     @Test
     void save_ShouldReturnSavedReview_WhenUpdatingExistingReview() {
         // Arrange
-        when(jpaRepository.existsById(reviewId)).thenReturn(true);
+        ReviewJpaEntity stored = createTestJpaEntity(reviewId, userId, bookId);
+        stored.setPublic(false);
+        when(jpaRepository.findById(reviewId)).thenReturn(Optional.of(stored));
         when(entityManager.merge(any(ReviewJpaEntity.class))).thenReturn(testJpaEntity);
         
         // Act
@@ -98,6 +106,8 @@ class JpaReviewRepositoryAdapterTest {
         verify(jpaRepository, never()).save(any(ReviewJpaEntity.class));
         verify(entityManager).merge(any(ReviewJpaEntity.class));
         verify(entityManager).flush();
+        // The review was made public
+        verify(counters).add(Map.of(Counters.publicReviewsOf(bookId), 1L));
     }
 
     @Test
@@ -233,35 +243,54 @@ class JpaReviewRepositoryAdapterTest {
     @Test
     void deleteById_ShouldDeleteReview_WhenReviewExists() {
         // Arrange
-        when(jpaRepository.existsById(reviewId)).thenReturn(true);
+        when(jpaRepository.findById(reviewId)).thenReturn(Optional.of(testJpaEntity));
         
         // Act
         adapter.deleteById(ReviewId.fromUUID(reviewId));
         
         // Assert
-        verify(jpaRepository).deleteById(reviewId);
+        verify(jpaRepository).delete(testJpaEntity);
+        verify(counters).add(Map.of(Counters.publicReviewsOf(bookId), -1L));
     }
     
     @Test
     void deleteById_ShouldNotThrowException_WhenReviewDoesNotExist() {
         // Arrange
-        when(jpaRepository.existsById(reviewId)).thenReturn(false);
+        when(jpaRepository.findById(reviewId)).thenReturn(Optional.empty());
         
         // Act & Assert
         assertDoesNotThrow(() -> adapter.deleteById(ReviewId.fromUUID(reviewId)));
-        verify(jpaRepository, never()).deleteById(reviewId);
+        verify(jpaRepository, never()).delete(any());
+        verify(counters, never()).add(anyMap());
     }
     
     @Test
     void deleteById_ShouldPropagateException_WhenExceptionIsThrown() {
         // Arrange
-        when(jpaRepository.existsById(reviewId)).thenReturn(true);
-        doThrow(new RuntimeException("Database error")).when(jpaRepository).deleteById(reviewId);
+        when(jpaRepository.findById(reviewId)).thenReturn(Optional.of(testJpaEntity));
+        doThrow(new RuntimeException("Database error")).when(jpaRepository).delete(testJpaEntity);
         
         // Act & Assert
         assertThrows(RuntimeException.class, () -> adapter.deleteById(ReviewId.fromUUID(reviewId)));
     }
 
+    @Test
+    void countPublicReviewsByBookId_ShouldUseCountersOnceReady() {
+        // Arrange
+        when(jpaRepository.countByBookIdAndIsPublicTrue(bookId)).thenReturn(3L);
+        when(counters.get(Counters.publicReviewsOf(bookId))).thenReturn(4L);
+        
+        // Act
+        long beforeReady = adapter.countPublicReviewsByBookId(BookId.fromUUID(bookId));
+        when(counters.isReady()).thenReturn(true);
+        long afterReady = adapter.countPublicReviewsByBookId(BookId.fromUUID(bookId));
+        
+        // Assert
+        assertEquals(3, beforeReady);
+        assertEquals(4, afterReady);
+        verify(jpaRepository, times(1)).countByBookIdAndIsPublicTrue(bookId);
+    }
+
     private Review createTestReview(UUID reviewId, UUID userId, UUID bookId) {
         return Review.reconstitute(
                 ReviewId.fromUUID(reviewId),
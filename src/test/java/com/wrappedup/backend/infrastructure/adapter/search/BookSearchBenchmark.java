@@ -0,0 +1,164 @@
+package com.wrappedup.backend.infrastructure.adapter.search;
+
+import com.wrappedup.backend.domain.model.BookId;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares title and author searches in the {@link LuceneBookSearchIndex} with the
+ * {@code lower(column) like '%text%'} queries they replace, over a generated catalog.
+ *
+ * The catalog is stored in an embedded H2 table and indexed in memory. Titles are three to five
+ * words out of a vocabulary of 5000, authors one of 40000 names, so queries range from common to
+ * rare words. Like the repository queries, the {@code like} searches return every match. Run
+ * {@link #main} from the IDE with the test classpath; it needs about 2 GB of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class BookSearchBenchmark {
+
+    private static final int VOCABULARY = 5000;
+    private static final int NAMES = 200;
+    private static final int LIMIT = 20;
+
+    @Param({"1000000"})
+    private int books;
+
+    private Connection connection;
+    private PreparedStatement likeTitle;
+    private PreparedStatement likeAuthor;
+    private LuceneBookSearchIndex index;
+    private final List<String> titleQueries = new ArrayList<>();
+    private final List<String> authorQueries = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:search-benchmark;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE books (id UUID PRIMARY KEY, title VARCHAR(255), author VARCHAR(255))");
+        }
+        index = new LuceneBookSearchIndex(null, new ByteBuffersDirectory(), 1000);
+
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO books VALUES (?, ?, ?)")) {
+            for (int i = 0; i < books; i++) {
+                UUID id = new UUID(random.nextLong(), random.nextLong());
+                StringBuilder title = new StringBuilder(word(random.nextInt(VOCABULARY)));
+                for (int words = 2 + random.nextInt(3); words > 0; words--) {
+                    title.append(' ').append(word(random.nextInt(VOCABULARY)));
+                }
+                String author = word(random.nextInt(NAMES)) + " " + word(NAMES + random.nextInt(NAMES));
+                insert.setObject(1, id);
+                insert.setString(2, title.toString());
+                insert.setString(3, author);
+                insert.addBatch();
+                index.index(id, title.toString(), author);
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        index.refresh();
+
+        likeTitle = connection.prepareStatement("SELECT id FROM books WHERE LOWER(title) LIKE ?");
+        likeAuthor = connection.prepareStatement("SELECT id FROM books WHERE LOWER(author) LIKE ?");
+        for (int i = 0; i < 64; i++) {
+            titleQueries.add(word(random.nextInt(VOCABULARY)));
+            authorQueries.add(word(random.nextInt(NAMES)) + " " + word(NAMES + random.nextInt(NAMES)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        index.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<BookId> indexTitle() {
+        return index.searchByTitle(titleQueries.get(next++ & 63), LIMIT);
+    }
+
+    @Benchmark
+    public List<BookId> indexAuthor() {
+        return index.searchByAuthor(authorQueries.get(next++ & 63), LIMIT);
+    }
+
+    @Benchmark
+    public List<UUID> likeTitle() throws SQLException {
+        return like(likeTitle, titleQueries.get(next++ & 63));
+    }
+
+    @Benchmark
+    public List<UUID> likeAuthor() throws SQLException {
+        return like(likeAuthor, authorQueries.get(next++ & 63));
+    }
+
+    private static List<UUID> like(PreparedStatement query, String text) throws SQLException {
+        query.setString(1, "%" + text + "%");
+        List<UUID> ids = new ArrayList<>();
+        try (ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                ids.add(rows.getObject(1, UUID.class));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * @return A made-up lower case word, distinct for every number
+     */
+    private static String word(int number) {
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append("bcdfghklmnprstvz".charAt(number % 16)).append("aeiou".charAt(number / 16 % 5));
+            number /= 80;
+        } while (number > 0);
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookSearchBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,51 @@
+package com.wrappedup.backend.infrastructure.adapter.search;
+
+import com.wrappedup.backend.domain.model.Book;
+import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.domain.port.out.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keeps the search index in step with books written through the repository, on the embedded database.
+ */
+@SpringBootTest(properties = {
+        "persistence.books.list-storage=compact",
+        "jwt.secret=404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970",
+        "jwt.expiration=86400000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class LuceneBookSearchIndexIntegrationTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private LuceneBookSearchIndex index;
+
+    @Test
+    void saveAndDelete_ShouldUpdateTheIndexAfterCommit() {
+        // Arrange
+        index.rebuild();
+        Book book = Book.createNewBook("Zyxwvut Chronicles", "Quillon Marsh", null, null, null, null,
+                List.of(), null, null, null, null);
+
+        // Act
+        bookRepository.save(book);
+        List<BookId> byTitle = index.searchByTitle("zyxwvut chron", 10);
+        List<BookId> byAuthor = index.searchByAuthor("quillon", 10);
+        bookRepository.deleteById(book.getId());
+
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(List.of(book.getId()), byTitle);
+        assertEquals(List.of(book.getId()), byAuthor);
+        assertTrue(index.searchByTitle("zyxwvut", 10).isEmpty());
+    }
+}
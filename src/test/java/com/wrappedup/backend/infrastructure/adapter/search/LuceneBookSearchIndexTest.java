@@ -0,0 +1,143 @@
+package com.wrappedup.backend.infrastructure.adapter.search;
+
+import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookSummaryRow;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LuceneBookSearchIndexTest {
+
+    private static final UUID HOBBIT = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID RINGS = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID DUNE = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @Mock
+    private BookJpaRepository bookJpaRepository;
+
+    private LuceneBookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LuceneBookSearchIndex(bookJpaRepository, new ByteBuffersDirectory(), 2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    private static BookSummaryRow row(UUID id, String title, String author) {
+        BookSummaryRow row = mock(BookSummaryRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getTitle()).thenReturn(title);
+        when(row.getAuthor()).thenReturn(author);
+        return row;
+    }
+
+    private static BookJpaEntity entity(UUID id, String title, String author) {
+        BookJpaEntity entity = new BookJpaEntity();
+        entity.setId(id);
+        entity.setTitle(title);
+        entity.setAuthor(author);
+        return entity;
+    }
+
+    private void buildCatalog() {
+        List<BookSummaryRow> first = List.of(
+                row(HOBBIT, "The Hobbit", "J.R.R. Tolkien"),
+                row(RINGS, "The Lord of the Rings", "J.R.R. Tolkien"));
+        List<BookSummaryRow> second = List.of(row(DUNE, "Dune", "Frank Herbert"));
+        when(bookJpaRepository.findSummariesAfter(any(), any())).thenReturn(first, second);
+        index.rebuild();
+    }
+
+    @Test
+    void rebuild_ShouldIndexAllPagesAndBecomeReady() {
+        // Arrange
+        assertFalse(index.isReady());
+
+        // Act
+        buildCatalog();
+
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(3, index.getDocumentCount());
+        verify(bookJpaRepository).findSummariesAfter(eq(new UUID(0, 0)), eq(PageRequest.of(0, 2)));
+        verify(bookJpaRepository).findSummariesAfter(eq(RINGS), eq(PageRequest.of(0, 2)));
+    }
+
+    @Test
+    void searchByTitle_ShouldRequireEveryWordAndMatchTheLastAsPrefix() {
+        // Arrange
+        buildCatalog();
+
+        // Act & Assert
+        assertEquals(List.of(BookId.of(RINGS)), index.searchByTitle("lord of the ri", 10));
+        assertEquals(List.of(BookId.of(HOBBIT)), index.searchByTitle("HOBBIT", 10));
+        assertEquals(List.of(BookId.of(DUNE)), index.searchByTitle("du", 10));
+        assertTrue(index.searchByTitle("dune hobbit", 10).isEmpty());
+        assertTrue(index.searchByTitle("  ", 10).isEmpty());
+    }
+
+    @Test
+    void searchByTitle_ShouldRankWholeWordsFirstAndRespectTheLimit() {
+        // Arrange
+        buildCatalog();
+        UUID dunes = UUID.randomUUID();
+        index.booksSaved(List.of(entity(dunes, "Dunestone", "Someone")));
+
+        // Act
+        List<BookId> all = index.searchByTitle("dune", 10);
+        List<BookId> top = index.searchByTitle("dune", 1);
+
+        // Assert
+        assertEquals(List.of(BookId.of(DUNE), BookId.of(dunes)), all);
+        assertEquals(List.of(BookId.of(DUNE)), top);
+    }
+
+    @Test
+    void searchByAuthor_ShouldFindAllBooksOfTheAuthor() {
+        // Arrange
+        buildCatalog();
+
+        // Act
+        List<BookId> result = index.searchByAuthor("tolk", 10);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertTrue(result.containsAll(List.of(BookId.of(HOBBIT), BookId.of(RINGS))));
+    }
+
+    @Test
+    void booksSavedAndDeleted_ShouldUpdateTheIndex() {
+        // Arrange
+        buildCatalog();
+
+        // Act
+        index.booksSaved(List.of(entity(DUNE, "Dune Messiah", "Frank Herbert")));
+        index.booksDeleted(List.of(HOBBIT));
+
+        // Assert
+        assertEquals(List.of(BookId.of(DUNE)), index.searchByTitle("messiah", 10));
+        assertTrue(index.searchByTitle("hobbit", 10).isEmpty());
+        assertEquals(2, index.getDocumentCount());
+    }
+}
@@ -0,0 +1,89 @@
+package com.wrappedup.backend.infrastructure.adapter.search;
+
+import com.wrappedup.backend.domain.model.BookId;
+import com.wrappedup.backend.infrastructure.adapter.persistence.entity.BookJpaEntity;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookJpaRepository;
+import com.wrappedup.backend.infrastructure.adapter.persistence.repository.BookSummaryRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramBookIndexTest {
+
+    private static final UUID HOBBIT = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID DUNE = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Mock
+    private BookJpaRepository bookJpaRepository;
+
+    private TrigramBookIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramBookIndex(bookJpaRepository, 0.4, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    private static BookSummaryRow row(UUID id, String title, String author) {
+        BookSummaryRow row = mock(BookSummaryRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getTitle()).thenReturn(title);
+        when(row.getAuthor()).thenReturn(author);
+        return row;
+    }
+
+    @Test
+    void rebuild_ShouldIndexTitlesAndAuthorsSeparately() {
+        // Arrange
+        List<BookSummaryRow> rows = List.of(
+                row(HOBBIT, "The Hobbit", "J.R.R. Tolkien"),
+                row(DUNE, "Dune", "Frank Herbert"));
+        when(bookJpaRepository.findSummariesAfter(any(), any())).thenReturn(rows);
+
+        // Act
+        long indexed = index.rebuild();
+
+        // Assert
+        assertEquals(2, indexed);
+        assertTrue(index.isReady());
+        assertEquals(List.of(BookId.of(HOBBIT)), index.findSimilarAuthors("tolkein", 10));
+        assertTrue(index.findSimilarTitles("tolkein", 10).isEmpty());
+        assertEquals(List.of(BookId.of(HOBBIT)), index.findSimilarTitles("the hobit", 10));
+        assertTrue(index.getPostingBytes() > 0);
+    }
+
+    @Test
+    void booksSavedAndDeleted_ShouldUpdateBothIndexes() {
+        // Arrange
+        BookJpaEntity dune = new BookJpaEntity();
+        dune.setId(DUNE);
+        dune.setTitle("Dune Messiah");
+        dune.setAuthor("Frank Herbert");
+
+        // Act
+        index.booksSaved(List.of(dune));
+        List<BookId> beforeDelete = index.findSimilarTitles("dune mesiah", 10);
+        index.booksDeleted(List.of(DUNE));
+
+        // Assert
+        assertEquals(List.of(BookId.of(DUNE)), beforeDelete);
+        assertTrue(index.findSimilarAuthors("frank herbert", 10).isEmpty());
+        assertEquals(0, index.getBookCount());
+        assertEquals(2, index.getLookupCount());
+    }
+}
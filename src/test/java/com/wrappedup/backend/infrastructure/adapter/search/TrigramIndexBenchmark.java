@@ -0,0 +1,109 @@
+package com.wrappedup.backend.infrastructure.adapter.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures misspelled author lookups in a {@link TrigramIndex} of generated author names.
+ *
+ * Every book gets one of 200000 authors made of a first and a last name, as many books share an
+ * author. Queries are author names with one letter swapped, dropped or replaced. The tear down
+ * prints the number of distinct names and the size of the compressed posting lists. Run {@link #main} from the IDE with the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrigramIndexBenchmark {
+
+    private static final String[] FIRST = {"john", "mary", "robert", "patricia", "michael", "jennifer", "william",
+            "linda", "david", "elizabeth", "richard", "barbara", "joseph", "susan", "thomas", "jessica", "charles",
+            "sarah", "christopher", "karen", "daniel", "nancy", "matthew", "lisa", "anthony", "betty", "mark",
+            "margaret", "donald", "sandra", "steven", "ashley", "paul", "kimberly", "andrew", "emily", "joshua",
+            "donna", "kenneth", "michelle"};
+    private static final int LAST_NAMES = 5000;
+
+    @Param({"100000", "1000000"})
+    private int books;
+
+    private TrigramIndex index;
+    private final List<String> queries = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new TrigramIndex();
+        for (int i = 0; i < books; i++) {
+            index.put(UUID.randomUUID(), author(random));
+        }
+        for (int i = 0; i < 64; i++) {
+            queries.add(misspell(author(random), random));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%d books, %d names: %d bytes of postings%n",
+                index.size(), index.documentCount(), index.postingBytes());
+    }
+
+    @Benchmark
+    public List<TrigramIndex.Match> misspelledAuthor() {
+        return index.search(queries.get(next++ & 63), 20, 0.4);
+    }
+
+    private static String author(Random random) {
+        return FIRST[random.nextInt(FIRST.length)] + " " + lastName(random.nextInt(LAST_NAMES));
+    }
+
+    /**
+     * @return A made-up last name, distinct for every number
+     */
+    private static String lastName(int number) {
+        StringBuilder name = new StringBuilder();
+        do {
+            name.append("bcdfghklmnprstvz".charAt(number % 16)).append("aeiou".charAt(number / 16 % 5));
+            number /= 80;
+        } while (number > 0);
+        return name.toString();
+    }
+
+    private static String misspell(String name, Random random) {
+        int at = 1 + random.nextInt(name.length() - 2);
+        return switch (random.nextInt(3)) {
+            case 0 -> name.substring(0, at) + name.charAt(at + 1) + name.charAt(at) + name.substring(at + 2);
+            case 1 -> name.substring(0, at) + name.substring(at + 1);
+            default -> name.substring(0, at) + 'x' + name.substring(at + 1);
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TrigramIndexBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.wrappedup.backend.infrastructure.adapter.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private static final UUID TOLKIEN = UUID.randomUUID();
+    private static final UUID TOLSTOY = UUID.randomUUID();
+    private static final UUID HERBERT = UUID.randomUUID();
+
+    private static List<UUID> ids(List<TrigramIndex.Match> matches) {
+        return matches.stream().map(TrigramIndex.Match::bookId).toList();
+    }
+
+    private static TrigramIndex authors() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(TOLKIEN, "J.R.R. Tolkien");
+        index.put(TOLSTOY, "Leo Tolstoy");
+        index.put(HERBERT, "Frank Herbert");
+        return index;
+    }
+
+    @Test
+    void trigrams_ShouldPadWordsAndFoldCaseAndAccents() {
+        // Act
+        long[] accented = TrigramIndex.trigrams("Émile  ZOLA!");
+        long[] plain = TrigramIndex.trigrams("emile zola");
+
+        // Assert
+        assertArrayEquals(plain, accented);
+        // "  e", " em", "emi", "mil", "ile", "le ", "  z", " zo", "zol", "ola", "la "
+        assertEquals(11, plain.length);
+        assertEquals(0, TrigramIndex.trigrams(" -- ").length);
+    }
+
+    @Test
+    void search_ShouldTolerateMisspellings() {
+        // Arrange
+        TrigramIndex index = authors();
+
+        // Act & Assert
+        assertEquals(List.of(TOLKIEN), ids(index.search("tolkein", 10, 0.4)));
+        assertEquals(List.of(HERBERT), ids(index.search("frank herbet", 10, 0.4)));
+        assertTrue(index.search("asimov", 10, 0.4).isEmpty());
+    }
+
+    @Test
+    void search_ShouldRankByOverlapAndRespectTheLimit() {
+        // Arrange
+        TrigramIndex index = authors();
+
+        // Act
+        List<TrigramIndex.Match> matches = index.search("tolstoi", 10, 0.2);
+
+        // Assert
+        assertEquals(List.of(TOLSTOY, TOLKIEN), ids(matches));
+        assertTrue(matches.get(0).similarity() > matches.get(1).similarity());
+        assertEquals(List.of(TOLSTOY), ids(index.search("tolstoi", 1, 0.2)));
+    }
+
+    @Test
+    void putAndRemove_ShouldReplaceAndDropTexts() {
+        // Arrange
+        TrigramIndex index = authors();
+
+        // Act
+        index.put(TOLKIEN, "Christopher Tolkien");
+        index.remove(HERBERT);
+
+        // Assert
+        assertEquals(List.of(TOLKIEN), ids(index.search("christofer", 10, 0.4)));
+        assertTrue(index.search("herbert", 10, 0.4).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void remove_WhenMostDocumentsAreDeleted_ShouldCompactAndKeepLiveTexts() {
+        // Arrange
+        TrigramIndex index = new TrigramIndex();
+        UUID kept = UUID.randomUUID();
+        index.put(kept, "Ursula K. Le Guin");
+        List<UUID> others = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            UUID other = UUID.randomUUID();
+            others.add(other);
+            index.put(other, "Author number " + i);
+        }
+        long bytesBefore = index.postingBytes();
+
+        // Act
+        others.forEach(index::remove);
+
+        // Assert
+        assertEquals(1, index.size());
+        assertEquals(List.of(kept), ids(index.search("ursula leguin", 10, 0.4)));
+        assertTrue(index.postingBytes() < bytesBefore / 2, "postings: " + index.postingBytes());
+    }
+}
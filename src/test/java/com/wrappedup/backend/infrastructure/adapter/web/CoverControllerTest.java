@@ -0,0 +1,128 @@
+package com.wrappedup.backend.infrastructure.adapter.web;
+
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryRateLimiter;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.covers.CoverImage;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.covers.CoverImageStore;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.covers.CoverSize;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoverControllerTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private CoverImageStore coverImageStore;
+
+    private CoverController controller;
+    private CoverImage cover;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        controller = new CoverController(coverImageStore, Duration.ofDays(365));
+        Path file = Files.write(directory.resolve("42-L-0123456789abcdef.jpg"), new byte[]{1, 2, 3, 4});
+        cover = new CoverImage(file, 4, "0123456789abcdef");
+    }
+
+    private MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/covers/42/L");
+    }
+
+    @Test
+    void getCover_ShouldStreamImage_WithCachingHeaders() throws Exception {
+        when(coverImageStore.get(42, CoverSize.L)).thenReturn(Optional.of(cover));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getCover(42, "l", request(), response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("image/jpeg", response.getContentType());
+        assertEquals("\"0123456789abcdef\"", response.getHeader("ETag"));
+        assertEquals("max-age=31536000, public, immutable", response.getHeader("Cache-Control"));
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, response.getContentAsByteArray());
+    }
+
+    @Test
+    void getCover_ShouldAnswerNotModified_ForMatchingETag() throws Exception {
+        when(coverImageStore.get(42, CoverSize.L)).thenReturn(Optional.of(cover));
+        MockHttpServletRequest request = request();
+        request.addHeader("If-None-Match", "\"0123456789abcdef\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getCover(42, "L", request, response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void getCover_ShouldHandFileToSendfile_WhenTheConnectorSupportsIt() throws Exception {
+        when(coverImageStore.get(42, CoverSize.L)).thenReturn(Optional.of(cover));
+        MockHttpServletRequest request = request();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getCover(42, "L", request, response);
+
+        assertEquals(cover.file().toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(4L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void getCover_ShouldRejectUnknownSizes() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getCover(42, "XL", request(), response);
+
+        assertEquals(400, response.getStatus());
+        verifyNoInteractions(coverImageStore);
+    }
+
+    @Test
+    void getCover_ShouldAnswerNotFound_ForUnknownCovers() throws Exception {
+        when(coverImageStore.get(42, CoverSize.L)).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getCover(42, "L", request(), response);
+
+        assertEquals(404, response.getStatus());
+    }
+
+    @Test
+    void getCover_ShouldAnswerBadGateway_WhenOpenLibraryFails() throws Exception {
+        when(coverImageStore.get(42, CoverSize.L)).thenThrow(new IllegalStateException("down"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getCover(42, "L", request(), response);
+
+        assertEquals(502, response.getStatus());
+    }
+
+    @Test
+    void getCover_ShouldAnswerServiceUnavailable_WhenOpenLibraryMayNotBeCalled() throws Exception {
+        when(coverImageStore.get(42, CoverSize.L))
+                .thenThrow(new OpenLibraryRateLimiter.RateLimitedException("rate limited"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getCover(42, "L", request(), response);
+
+        assertEquals(503, response.getStatus());
+    }
+}
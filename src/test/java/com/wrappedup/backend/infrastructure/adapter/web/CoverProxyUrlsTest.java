@@ -0,0 +1,30 @@
+package com.wrappedup.backend.infrastructure.adapter.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoverProxyUrlsTest {
+
+    private static final String COVER = "https://covers.openlibrary.org/b/id/8231856-L.jpg";
+
+    @Test
+    void rewrite_ShouldPointOpenLibraryCoversAtTheProxy() {
+        assertEquals("/api/covers/8231856/L", new CoverProxyUrls(true, "").rewrite(COVER));
+        assertEquals("https://api.example.com/api/covers/8231856/L",
+                new CoverProxyUrls(true, "https://api.example.com/").rewrite(COVER));
+    }
+
+    @Test
+    void rewrite_ShouldLeaveOtherUrlsAlone() {
+        CoverProxyUrls urls = new CoverProxyUrls(true, "");
+
+        assertEquals("https://example.com/cover.jpg", urls.rewrite("https://example.com/cover.jpg"));
+        assertNull(urls.rewrite(null));
+    }
+
+    @Test
+    void rewrite_ShouldDoNothing_WhenDisabled() {
+        assertEquals(COVER, new CoverProxyUrls(false, "").rewrite(COVER));
+    }
+}
@@ -16,7 +16,6 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -96,17 +95,6 @@ class ApplicationConfigTest {
         assertTrue(passwordEncoder instanceof BCryptPasswordEncoder);
     }
     
-    @Test
-    @DisplayName("Should create RestTemplate")
-    void restTemplate_ShouldReturnRestTemplate() {
-        // Act
-        RestTemplate restTemplate = applicationConfig.restTemplate();
-        
-        // Assert
-        assertNotNull(restTemplate);
-        assertEquals(RestTemplate.class, restTemplate.getClass());
-    }
-    
     private User createMockUser(String email) {
         LocalDateTime now = LocalDateTime.now();
         return User.reconstitute(
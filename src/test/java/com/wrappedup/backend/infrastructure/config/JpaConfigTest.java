@@ -1,12 +1,19 @@
 package com.wrappedup.backend.infrastructure.config;
 
+import com.wrappedup.backend.infrastructure.adapter.persistence.BookCacheRegions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class JpaConfigTest {
 
@@ -26,4 +33,23 @@ class JpaConfigTest {
         assertEquals("true", properties.getProperty("hibernate.order_inserts"));
         assertEquals("true", properties.getProperty("hibernate.order_updates"));
     }
+
+    @Test
+    @DisplayName("Should take the cache regions from the book cache")
+    void secondLevelCacheCustomizer_ShouldUseBookCacheRegions() {
+        // Arrange
+        JpaConfig jpaConfig = new JpaConfig();
+        BookCacheRegions regions = new BookCacheRegions(true, 100, 100, Duration.ofMinutes(1));
+        Map<String, Object> properties = new HashMap<>();
+
+        // Act
+        jpaConfig.secondLevelCacheCustomizer(regions).customize(properties);
+
+        // Assert
+        assertEquals(true, properties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertEquals(true, properties.get(AvailableSettings.USE_QUERY_CACHE));
+        assertSame(regions.getCacheManager(), properties.get(ConfigSettings.CACHE_MANAGER));
+        assertEquals("fail", properties.get(ConfigSettings.MISSING_CACHE_STRATEGY));
+        regions.close();
+    }
 } 
\ No newline at end of file
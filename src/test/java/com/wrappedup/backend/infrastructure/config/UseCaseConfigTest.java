@@ -8,6 +8,8 @@ import com.wrappedup.backend.domain.port.in.CreateBookUseCase;
 import com.wrappedup.backend.domain.port.in.DeleteBookUseCase;
 import com.wrappedup.backend.domain.port.in.UpdateBookUseCase;
 import com.wrappedup.backend.domain.port.out.BookRepository;
+import com.wrappedup.backend.domain.port.out.BookSearchPort;
+import com.wrappedup.backend.domain.port.out.FuzzyBookSearchPort;
 import com.wrappedup.backend.domain.port.out.OpenLibraryPort;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -27,6 +29,12 @@ class UseCaseConfigTest {
     @Mock
     private OpenLibraryPort openLibraryPort;
 
+    @Mock
+    private BookSearchPort bookSearchPort;
+
+    @Mock
+    private FuzzyBookSearchPort fuzzyBookSearchPort;
+
     @Test
     @DisplayName("Should create CreateBookUseCase")
     void createBookUseCase_ShouldReturnCreateBookService() {
@@ -76,7 +84,7 @@ class UseCaseConfigTest {
         UseCaseConfig useCaseConfig = new UseCaseConfig();
         
         // Act
-        GetBookService service = useCaseConfig.getBookService(bookRepository, openLibraryPort);
+        GetBookService service = useCaseConfig.getBookService(bookRepository, openLibraryPort, bookSearchPort, fuzzyBookSearchPort);
         
         // Assert
         assertNotNull(service);
@@ -1,25 +1,57 @@
 package com.wrappedup.backend.infrastructure.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.GzipDecodingInterceptor;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryGuard;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryGuardInterceptor;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryHttpClient;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryRateLimitInterceptor;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryRateLimiter;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.OpenLibraryResponseStore;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.RequestHedger;
+import com.wrappedup.backend.infrastructure.adapter.openlibrary.ResponseStoreInterceptor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class WebConfigTest {
 
     @Test
-    @DisplayName("Should create RestTemplate")
+    @DisplayName("Should create RestTemplate backed by the pooled OpenLibrary client")
     void restTemplate_ShouldReturnRestTemplate() {
         // Arrange
         WebConfig webConfig = new WebConfig();
+        OpenLibraryGuard guard = new OpenLibraryGuard(4, 50, 20, 10, Duration.ofSeconds(30), 3, 0.1, 1);
+        OpenLibraryResponseStore store = new OpenLibraryResponseStore(
+                false, Path.of("unused"), Duration.ofDays(1), DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        OpenLibraryRateLimiter rateLimiter = new OpenLibraryRateLimiter(false, 10, 20, Map.of());
+        OpenLibraryHttpClient httpClient = new OpenLibraryHttpClient(
+                new ObjectMapper(), guard, rateLimiter, store,
+                new RequestHedger(false, 95, Duration.ofMillis(300), Duration.ofMillis(20), 0.05), Duration.ofSeconds(1), Duration.ofSeconds(2), 1);
         
-        // Act
-        RestTemplate restTemplate = webConfig.restTemplate();
-        
-        // Assert
-        assertNotNull(restTemplate);
-        assertEquals(RestTemplate.class, restTemplate.getClass());
+        try {
+            // Act
+            RestTemplate restTemplate = webConfig.restTemplate(httpClient, guard, rateLimiter, store);
+            
+            // Assert
+            assertNotNull(restTemplate);
+            assertEquals(RestTemplate.class, restTemplate.getClass());
+            assertTrue(restTemplate.getInterceptors().stream().anyMatch(GzipDecodingInterceptor.class::isInstance));
+            assertTrue(restTemplate.getInterceptors().get(0) instanceof ResponseStoreInterceptor);
+            assertTrue(restTemplate.getInterceptors().get(1) instanceof OpenLibraryRateLimitInterceptor);
+            assertTrue(restTemplate.getInterceptors().get(2) instanceof OpenLibraryGuardInterceptor);
+        } finally {
+            httpClient.close();
+            rateLimiter.close();
+        }
     }
-} 
\ No newline at end of file
+} 